@@ -0,0 +1,48 @@
+package io.github.devtae.taskmanagementsystem.benchmark;
+
+import io.github.devtae.taskmanagementsystem.TaskManagementSystemApplication;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the real application against an in-memory H2 database standing in for PostgreSQL.
+ * Settings are passed as command-line arguments so they take precedence over application.properties.
+ * Rate limiting is off, since benchmarks deliberately send far more than one client's share.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.sql.init.mode=never",
+                "--tasks.reminders.enabled=false",
+                "--tasks.rate-limit.enabled=false",
+                "--server.port=0",
+                "--logging.level.root=WARN"));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(TaskManagementSystemApplication.class)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+    }
+
+    static Task task(int i) {
+        Task task = new Task();
+        task.setTitle("Benchmark task " + i);
+        task.setDescription("Description of benchmark task number " + i + ", long enough to be realistic");
+        task.setDueDate(LocalDateTime.of(2024, 1, 1, 9, 0).plusHours(i));
+        return task;
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.devtae.taskmanagementsystem.benchmark;
+
+import io.github.devtae.taskmanagementsystem.dto.ScheduledTask;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import io.github.devtae.taskmanagementsystem.recurrence.RecurringTasks;
+import io.github.devtae.taskmanagementsystem.repository.TaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing the occurrences due in one day among 100,000 recurring tasks, a third each daily, weekly on three
+ * days and monthly, started over the past two years. {@code dueToday} asks for the same day each time and is
+ * served from the cache; {@code expandDay} moves the window on by a minute each call, so every call expands
+ * all the schedules.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecurrenceBenchmark {
+    private static final int SCHEDULES = 100_000;
+    private static final String[] RULES = {"FREQ=DAILY", "FREQ=WEEKLY;BYDAY=MO,WE,FR", "FREQ=MONTHLY"};
+
+    private ConfigurableApplicationContext context;
+    private RecurringTasks recurringTasks;
+    private LocalDateTime today;
+    private int minute;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        recurringTasks = context.getBean(RecurringTasks.class);
+        TaskRepository taskRepository = context.getBean(TaskRepository.class);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+
+        today = LocalDate.now().atStartOfDay();
+        for (int chunk = 0; chunk < SCHEDULES; chunk += 1000) {
+            List<Task> tasks = new ArrayList<>(1000);
+            for (int i = chunk; i < chunk + 1000; i++) {
+                tasks.add(BenchmarkApplication.task(i));
+            }
+            List<Object[]> recurrences = new ArrayList<>(1000);
+            for (Task task : taskRepository.saveAll(tasks)) {
+                int i = recurrences.size() + chunk;
+                LocalDateTime startsAt = today.minusDays(i % 730).plusMinutes(i % 1440);
+                recurrences.add(new Object[]{task.getId(), RULES[i % RULES.length], Timestamp.valueOf(startsAt),
+                        Timestamp.valueOf(today)});
+            }
+            jdbc.batchUpdate("insert into task_recurrences (task_id, rule, starts_at, updated_at) values (?, ?, ?, ?)",
+                    recurrences);
+        }
+        // Loads the schedules, which happens once per cacheTtl rather than per listing
+        recurringTasks.occurrences(today, today.plusDays(1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ScheduledTask> dueToday() {
+        return recurringTasks.occurrences(today, today.plusDays(1));
+    }
+
+    @Benchmark
+    public List<ScheduledTask> expandDay() {
+        LocalDateTime from = today.plusMinutes(minute++);
+        return recurringTasks.occurrences(from, from.plusDays(1));
+    }
+}
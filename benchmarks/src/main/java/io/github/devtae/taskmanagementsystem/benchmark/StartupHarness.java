@@ -0,0 +1,294 @@
+package io.github.devtae.taskmanagementsystem.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Starts the application in a fresh JVM several times per launch mode, with the prod profile against an
+ * in-memory H2 database, and records how long each start took and how much memory the process holds once
+ * idle. Not a JMH benchmark: startup only happens once per JVM.
+ * <p>
+ * Launch modes:
+ * <ul>
+ *   <li>{@code jvm}: a plain start.</li>
+ *   <li>{@code cds}: with a class data sharing archive, recorded first by a training run that exits as soon
+ *       as the application is ready.</li>
+ *   <li>{@code aot} and {@code aot-cds}: the same, with the context Spring AOT generated at build time.
+ *       Only available when the application was installed with {@code -Paot}.</li>
+ * </ul>
+ * Startup time is what Spring Boot reports as the process running time once the application is ready, so
+ * it includes JVM startup. Memory is the resident set size after {@code --idle}.
+ * <p>
+ * Results are written as JSON to {@code --result}. Given a {@code --baseline} written by an earlier run on
+ * the same machine, the harness exits with status 1 when any mode's median startup time or memory exceeds
+ * the baseline's by more than {@code --tolerance}.
+ * <p>
+ * The application runs from its installed jar, so install it again after changing it.
+ * <p>
+ * Options: {@code --modes jvm,cds,aot,aot-cds}, {@code --runs 5}, {@code --idle 10}, {@code --result <file>},
+ * {@code --baseline <file>}, {@code --tolerance 0.15}; arguments after {@code --} are passed to the
+ * application and override the defaults, for example to point it at a real PostgreSQL database.
+ */
+public final class StartupHarness {
+    private static final String MAIN_CLASS = "io.github.devtae.taskmanagementsystem.TaskManagementSystemApplication";
+    private static final String AOT_INITIALIZER = MAIN_CLASS + "__ApplicationContextInitializer";
+    private static final Pattern STARTED = Pattern.compile(
+            "Started \\w+ in [0-9.]+ seconds \\(process running for ([0-9.]+)\\)");
+    // Jars only: the JVM refuses to archive classes when the class path holds a non-empty directory, and the
+    // application comes from its installed jar, not from the benchmark classes
+    private static final String APPLICATION_CLASS_PATH = Arrays.stream(
+                    System.getProperty("java.class.path").split(File.pathSeparator))
+            .filter(entry -> !Files.isDirectory(Path.of(entry)))
+            .collect(Collectors.joining(File.pathSeparator));
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(2);
+    private static final List<String> APPLICATION_ARGS = List.of(
+            "--spring.profiles.active=prod",
+            "--spring.datasource.url=jdbc:h2:mem:startup;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                    + "DEFAULT_NULL_ORDERING=HIGH",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--server.port=0");
+
+    private final List<String> modes;
+    private final int runs;
+    private final Duration idle;
+    private final Path result;
+    private final Path baseline;
+    private final double tolerance;
+    private final List<String> applicationArgs;
+    private final Path workDirectory;
+
+    private StartupHarness(Map<String, String> options, List<String> applicationArgs) throws IOException {
+        this.modes = List.of(options.getOrDefault("modes", "jvm,cds,aot,aot-cds").split(","));
+        this.runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        this.idle = Duration.ofSeconds(Long.parseLong(options.getOrDefault("idle", "10")));
+        this.result = Path.of(options.getOrDefault("result", "target/startup-result.json"));
+        this.baseline = options.containsKey("baseline") ? Path.of(options.get("baseline")) : null;
+        this.tolerance = Double.parseDouble(options.getOrDefault("tolerance", "0.15"));
+        // Spring would join repeated arguments into one value, so a default that is given again is left out
+        this.applicationArgs = new ArrayList<>();
+        for (String defaultArg : APPLICATION_ARGS) {
+            String key = defaultArg.substring(0, defaultArg.indexOf('=') + 1);
+            if (applicationArgs.stream().noneMatch(arg -> arg.startsWith(key))) {
+                this.applicationArgs.add(defaultArg);
+            }
+        }
+        this.applicationArgs.addAll(applicationArgs);
+        this.workDirectory = Files.createTempDirectory("startup-harness");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        int i = 0;
+        for (; i < args.length && !args[i].equals("--"); i += 2) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Expected --option value, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        List<String> applicationArgs = i < args.length ? Arrays.asList(args).subList(i + 1, args.length) : List.of();
+        System.exit(new StartupHarness(options, applicationArgs).run());
+    }
+
+    private int run() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode results = objectMapper.createObjectNode();
+        System.out.printf("%-8s %6s %22s %22s%n", "mode", "runs", "startup ms (median)", "idle RSS MB (median)");
+        for (String mode : modes) {
+            if (mode.startsWith("aot") && !aotAvailable()) {
+                System.out.printf("%-8s skipped: install the application with -Paot to generate the AOT context%n",
+                        mode);
+                continue;
+            }
+            List<String> jvmArgs = jvmArgs(mode);
+            long[] startup = new long[runs];
+            long[] rss = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                Measurement measurement = measure(jvmArgs);
+                startup[run] = measurement.startupMillis();
+                rss[run] = measurement.rssKilobytes();
+            }
+            long medianStartup = median(startup);
+            long medianRss = median(rss) / 1024;
+            System.out.printf("%-8s %6d %22d %22d%n", mode, runs, medianStartup, medianRss);
+            results.putObject(mode)
+                    .put("startupMillis", medianStartup)
+                    .put("rssMegabytes", medianRss)
+                    .put("runs", runs);
+        }
+
+        Files.createDirectories(result.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(result.toFile(), results);
+        System.out.println("Results written to " + result);
+        return baseline == null ? 0 : compare(results, objectMapper.readTree(baseline.toFile()));
+    }
+
+    /**
+     * Returns the JVM options for a mode, running the training run that records the archive first for the
+     * CDS modes. Archives are tied to the JVM and class path, so each harness run records its own.
+     */
+    private List<String> jvmArgs(String mode) throws Exception {
+        List<String> jvmArgs = new ArrayList<>();
+        if (mode.startsWith("aot")) {
+            jvmArgs.add("-Dspring.aot.enabled=true");
+        }
+        if (mode.endsWith("cds")) {
+            Path archive = workDirectory.resolve(mode + ".jsa");
+            List<String> training = new ArrayList<>(jvmArgs);
+            training.add("-XX:ArchiveClassesAtExit=" + archive);
+            training.add("-Dtasks.startup.exit-when-ready=true");
+            Process process = start(training);
+            Deque<String> lastLines = new ArrayDeque<>();
+            drain(process, lastLines);
+            if (!process.waitFor(START_TIMEOUT.toSeconds(), TimeUnit.SECONDS) || !Files.exists(archive)) {
+                process.destroyForcibly();
+                throw new IllegalStateException("The " + mode + " training run did not write " + archive
+                        + ". Last output:\n" + String.join("\n", lastLines));
+            }
+            jvmArgs.add("-XX:SharedArchiveFile=" + archive);
+        } else if (!mode.equals("jvm") && !mode.equals("aot")) {
+            throw new IllegalArgumentException("Unknown mode " + mode);
+        }
+        return jvmArgs;
+    }
+
+    private Measurement measure(List<String> jvmArgs) throws Exception {
+        Process process = start(jvmArgs);
+        try {
+            Deque<String> lastLines = new ArrayDeque<>();
+            CompletableFuture<Long> started = drain(process, lastLines);
+            long startupMillis;
+            try {
+                startupMillis = started.get(START_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException("The application did not start. Last output:\n"
+                        + String.join("\n", lastLines), e);
+            }
+            Thread.sleep(idle.toMillis());
+            return new Measurement(startupMillis, residentKilobytes(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private Process start(List<String> jvmArgs) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(APPLICATION_CLASS_PATH);
+        command.add(MAIN_CLASS);
+        command.addAll(applicationArgs);
+        return new ProcessBuilder(command).redirectErrorStream(true).start();
+    }
+
+    /**
+     * Reads the process's output until it ends, keeping the last lines for error messages. The future
+     * completes with the reported startup time once the application says it has started.
+     */
+    private static CompletableFuture<Long> drain(Process process, Deque<String> lastLines) {
+        CompletableFuture<Long> started = new CompletableFuture<>();
+        Thread reader = new Thread(() -> {
+            try (BufferedReader output = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = output.readLine()) != null) {
+                    synchronized (lastLines) {
+                        lastLines.addLast(line);
+                        if (lastLines.size() > 20) {
+                            lastLines.removeFirst();
+                        }
+                    }
+                    Matcher matcher = STARTED.matcher(line);
+                    if (matcher.find()) {
+                        started.complete(Math.round(Double.parseDouble(matcher.group(1)) * 1000));
+                    }
+                }
+            } catch (IOException e) {
+                started.completeExceptionally(e);
+            }
+            started.completeExceptionally(new IllegalStateException("The process exited"));
+        }, "startup-harness-output");
+        reader.setDaemon(true);
+        reader.start();
+        return started;
+    }
+
+    private static long residentKilobytes(long pid) throws IOException, InterruptedException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (Files.exists(status)) {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        }
+        Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", Long.toString(pid)).start();
+        String rss = new String(ps.getInputStream().readAllBytes(), StandardCharsets.US_ASCII).trim();
+        ps.waitFor();
+        return Long.parseLong(rss);
+    }
+
+    private static boolean aotAvailable() {
+        try {
+            Class.forName(AOT_INITIALIZER, false, StartupHarness.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private int compare(JsonNode results, JsonNode baseline) {
+        int regressions = 0;
+        for (String mode : modes) {
+            JsonNode current = results.get(mode);
+            JsonNode previous = baseline.get(mode);
+            if (current == null || previous == null) {
+                continue;
+            }
+            for (String metric : List.of("startupMillis", "rssMegabytes")) {
+                long now = current.get(metric).asLong();
+                long before = previous.get(metric).asLong();
+                if (now > before * (1 + tolerance)) {
+                    System.out.printf("Regression: %s %s is %d, baseline %d%n", mode, metric, now, before);
+                    regressions++;
+                }
+            }
+        }
+        return regressions == 0 ? 0 : 1;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private record Measurement(long startupMillis, long rssKilobytes) {
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.devtae.taskmanagementsystem.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.devtae.taskmanagementsystem.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Request round trips through the full MVC stack (dispatcher, controller, validation, JSON) and down
+ * to the service and repository, without the socket layer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskApiBenchmark {
+
+    private static final int SEEDED_TASKS = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private long taskId;
+    private byte[] createBody;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        TaskService taskService = context.getBean(TaskService.class);
+        for (int i = 0; i < SEEDED_TASKS; i++) {
+            taskId = taskService.saveTask(BenchmarkApplication.task(i)).getId();
+        }
+        createBody = context.getBean(ObjectMapper.class).writeValueAsBytes(BenchmarkApplication.task(0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] getTask() throws Exception {
+        return mockMvc.perform(get("/api/tasks/{taskId}", taskId))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] getTaskPage() throws Exception {
+        return mockMvc.perform(get("/api/tasks/page").param("size", "50"))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] createTask() throws Exception {
+        return mockMvc.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON).content(createBody))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+}
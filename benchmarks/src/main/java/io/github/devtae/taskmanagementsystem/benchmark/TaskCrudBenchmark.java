@@ -0,0 +1,81 @@
+package io.github.devtae.taskmanagementsystem.benchmark;
+
+import io.github.devtae.taskmanagementsystem.model.Task;
+import io.github.devtae.taskmanagementsystem.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full task lifecycle (create, read, update, complete, delete) through {@link TaskService}, including
+ * transactions and the persistence layer.
+ * <p>
+ * Runs against both storage engines: {@code jpa} with H2, and {@code memory} with the in-memory store and
+ * its write-ahead log in a temporary directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskCrudBenchmark {
+
+    @Param({"jpa", "memory"})
+    public String engine;
+
+    private ConfigurableApplicationContext context;
+    private Path storeDirectory;
+    private TaskService taskService;
+    private Long seededTaskId;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        storeDirectory = Files.createTempDirectory("task-store");
+        context = BenchmarkApplication.start(
+                "--spring.profiles.active=" + (engine.equals("memory") ? "memory" : "default"),
+                "--tasks.storage.directory=" + storeDirectory);
+        taskService = context.getBean(TaskService.class);
+        seededTaskId = taskService.saveTask(BenchmarkApplication.task(0)).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(storeDirectory);
+    }
+
+    @Benchmark
+    public Task createReadUpdateDelete() {
+        Task created = taskService.saveTask(BenchmarkApplication.task(counter++));
+        Task read = taskService.getTaskById(created.getId());
+        read.setTitle(read.getTitle() + " (edited)");
+        taskService.updateTask(created.getId(), read);
+        Task completed = taskService.completeTask(created.getId());
+        taskService.deleteTask(created.getId());
+        return completed;
+    }
+
+    @Benchmark
+    public Task getTask() {
+        return taskService.getTaskById(seededTaskId);
+    }
+}
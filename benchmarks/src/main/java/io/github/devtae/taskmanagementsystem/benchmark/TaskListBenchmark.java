@@ -0,0 +1,103 @@
+package io.github.devtae.taskmanagementsystem.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.github.devtae.taskmanagementsystem.dto.TaskFilter;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.dto.TaskSummary;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import io.github.devtae.taskmanagementsystem.repository.TaskRepository;
+import io.github.devtae.taskmanagementsystem.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and serializing every task, as GET /api/tasks and GET /api/tasks/summaries do. {@code entities}
+ * is the previous read path (managed entities in a read-only transaction) kept as a baseline for the
+ * projection-based ones. Run with {@code -prof gc} to compare allocation per listing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskListBenchmark {
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskRepository taskRepository;
+    private TransactionTemplate readOnly;
+    private ObjectWriter entityWriter;
+    private ObjectWriter snapshotWriter;
+    private ObjectWriter summaryWriter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        taskService = context.getBean(TaskService.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        entityWriter = listWriter(objectMapper, Task.class);
+        snapshotWriter = listWriter(objectMapper, TaskSnapshot.class);
+        summaryWriter = listWriter(objectMapper, TaskSummary.class);
+
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(BenchmarkApplication.task(i));
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void entities() throws IOException {
+        entityWriter.writeValue(OutputStream.nullOutputStream(), readOnly.execute(status -> taskRepository.findAll()));
+    }
+
+    @Benchmark
+    public void snapshots() throws IOException {
+        snapshotWriter.writeValue(OutputStream.nullOutputStream(), taskService.getAllTasks());
+    }
+
+    @Benchmark
+    public void summaries() throws IOException {
+        summaryWriter.writeValue(OutputStream.nullOutputStream(),
+                taskService.findTaskSummaries(TaskFilter.none(), Sort.unsorted()));
+    }
+
+    private static ObjectWriter listWriter(ObjectMapper objectMapper, Class<?> type) {
+        return objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, type));
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.devtae.taskmanagementsystem.benchmark;
+
+import io.github.devtae.taskmanagementsystem.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load test over real HTTP, comparing Tomcat's platform-thread pool with one virtual
+ * thread per request. More clients run than Tomcat has worker threads (200 by default), and the
+ * connection pool is deliberately small so it, not the thread count, should be the limiter.
+ * Throughput mode reports requests per second; sample mode reports the latency distribution,
+ * including p0.99.
+ *
+ * <p>The {@code virtual} case needs Java 21; on older JVMs its setup fails and JMH moves on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(1)
+public class TaskLoadBenchmark {
+
+    private static final int SEEDED_TASKS = 1_000;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"false", "true"})
+    public String fairQueue;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "--tasks.execution.threads=" + threads,
+                "--tasks.execution.fair-queue=" + fairQueue,
+                "--tasks.cache.enabled=false",
+                "--spring.datasource.hikari.maximum-pool-size=10",
+                "--spring.datasource.hikari.minimum-idle=10");
+        TaskService taskService = context.getBean(TaskService.class);
+        firstId = taskService.saveTask(BenchmarkApplication.task(0)).getId();
+        for (int i = 1; i < SEEDED_TASKS; i++) {
+            taskService.saveTask(BenchmarkApplication.task(i));
+        }
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api/tasks";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getTask() throws Exception {
+        long id = firstId + ThreadLocalRandom.current().nextInt(SEEDED_TASKS);
+        return send(baseUrl + "/" + id);
+    }
+
+    @Benchmark
+    public int getTaskPage() throws Exception {
+        return send(baseUrl + "/page?size=50");
+    }
+
+    private int send(String url) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).GET().build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + url + " returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.devtae.taskmanagementsystem.benchmark;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskFilter;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.memory.StorageProperties;
+import io.github.devtae.taskmanagementsystem.memory.TaskStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory task store on its own, filled with {@code size} tasks: lookups by id, a due date range
+ * listing, and how long a restart takes to replay the write-ahead log or to load a snapshot.
+ * <p>
+ * The heap the filled store retains is printed once per trial as bytes per task, measured after full
+ * collections before and after filling it. The store's own log and snapshot files are not on the heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class TaskStoreBenchmark {
+    private static final LocalDateTime FIRST_DUE = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @Param({"1000000"})
+    public int size;
+
+    private Path directory;
+    private TaskStore store;
+    private TaskFilter dueInOneDay;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("task-store");
+        long before = usedHeap();
+        store = open(directory);
+        for (int i = 0; i < size; i++) {
+            store.insert(TaskSnapshot.from(BenchmarkApplication.task(i)));
+        }
+        long after = usedHeap();
+        System.out.printf("%nHeap retained by %,d tasks: %,d bytes, %d bytes per task%n", size, after - before,
+                (after - before) / size);
+        // Tasks are due an hour apart, so a day's range holds 24 of them
+        LocalDateTime from = FIRST_DUE.plusHours(size / 2);
+        dueInOneDay = new TaskFilter(false, from.plusDays(1), from, null, null, false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public Optional<TaskSnapshot> getTask() {
+        return store.get(1 + ThreadLocalRandom.current().nextInt(size));
+    }
+
+    @Benchmark
+    public List<TaskSnapshot> selectDueRange() {
+        return store.select(dueInOneDay);
+    }
+
+    /**
+     * Reopens the store from its log alone, as after a crash before the first snapshot.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public int replayLog() throws IOException {
+        return open(directory).size();
+    }
+
+    /**
+     * Reopens the store from a snapshot, as after a clean shutdown.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public int loadSnapshot(SnapshotState snapshot) throws IOException {
+        return open(snapshot.directory).size();
+    }
+
+    @State(Scope.Benchmark)
+    public static class SnapshotState {
+        private Path directory;
+
+        @Setup(Level.Trial)
+        public void setUp(TaskStoreBenchmark benchmark) throws IOException {
+            directory = Files.createTempDirectory("task-store-snapshot");
+            TaskStore store = open(directory);
+            for (int i = 0; i < benchmark.size; i++) {
+                store.insert(TaskSnapshot.from(BenchmarkApplication.task(i)));
+            }
+            store.stop();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            FileSystemUtils.deleteRecursively(directory);
+        }
+    }
+
+    private static TaskStore open(Path directory) throws IOException {
+        return new TaskStore(new StorageProperties(StorageProperties.Engine.MEMORY, directory,
+                DataSize.ofMegabytes(64), Duration.ofHours(1), false), new SimpleMeterRegistry());
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
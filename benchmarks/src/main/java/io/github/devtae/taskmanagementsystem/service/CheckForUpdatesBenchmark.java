@@ -0,0 +1,67 @@
+package io.github.devtae.taskmanagementsystem.service;
+
+import io.github.devtae.taskmanagementsystem.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link TaskServiceImpl#checkForUpdates} when nothing changed and when every field changed.
+ * Lives in the service package because the method is package-private.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckForUpdatesBenchmark {
+
+    private Task unchangedTarget;
+    private Task unchangedDetails;
+    private Task changedTarget;
+    private Task first;
+    private Task second;
+    private boolean toggle;
+
+    @Setup
+    public void setUp() {
+        unchangedTarget = task("Title", "Description", LocalDateTime.of(2024, 1, 1, 9, 0), false);
+        unchangedDetails = task("Title", "Description", LocalDateTime.of(2024, 1, 1, 9, 0), false);
+        changedTarget = task("Title", "Description", LocalDateTime.of(2024, 1, 1, 9, 0), false);
+        first = task("First title", "First description", LocalDateTime.of(2024, 1, 2, 9, 0), true);
+        second = task("Second title", "Second description", LocalDateTime.of(2024, 1, 3, 9, 0), false);
+    }
+
+    @Benchmark
+    public boolean unchanged() {
+        return TaskServiceImpl.checkForUpdates(unchangedTarget, unchangedDetails);
+    }
+
+    @Benchmark
+    public boolean allFieldsChanged() {
+        // Alternate between two bodies so every call sees four changed fields.
+        toggle = !toggle;
+        return TaskServiceImpl.checkForUpdates(changedTarget, toggle ? first : second);
+    }
+
+    private static Task task(String title, String description, LocalDateTime dueDate, boolean completed) {
+        Task task = new Task();
+        task.setId(1L);
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setDueDate(dueDate);
+        task.setCompleted(completed);
+        return task;
+    }
+}
@@ -2,12 +2,31 @@ package io.github.devtae.taskmanagementsystem;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@ImportRuntimeHints(TaskManagementSystemRuntimeHints.class)
 public class TaskManagementSystemApplication {
 
+	/**
+	 * Set to {@code true} to exit as soon as the application is ready, for a training run that records the
+	 * classes startup loads into a class data sharing archive.
+	 */
+	static final String EXIT_WHEN_READY = "tasks.startup.exit-when-ready";
+
 	public static void main(String[] args) {
-		SpringApplication.run(TaskManagementSystemApplication.class, args);
+		SpringApplication application = new SpringApplication(TaskManagementSystemApplication.class);
+		if (Boolean.getBoolean(EXIT_WHEN_READY)) {
+			application.addListeners(event -> {
+				if (event instanceof ApplicationReadyEvent ready) {
+					System.exit(SpringApplication.exit(ready.getApplicationContext()));
+				}
+			});
+		}
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,21 @@
+package io.github.devtae.taskmanagementsystem;
+
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.sql.Connection;
+
+/**
+ * What a native image needs beyond the hints Spring derives on its own.
+ */
+class TaskManagementSystemRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Spring Boot registers db/migration itself, but not the vendor-specific migrations beside it
+        hints.resources().registerPattern("db/postgresql/*.sql");
+        hints.resources().registerPattern("db/h2/*.sql");
+        // FairQueueDataSource hands out JDK proxies of the pool's connections
+        hints.proxies().registerJdkProxy(Connection.class);
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.devtae.taskmanagementsystem.archive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for moving old completed tasks out of the tasks table.
+ *
+ * @param enabled whether completed tasks are archived at all
+ * @param age how long a task must have been completed, by its last update, before it is archived
+ * @param batchSize the most tasks moved in one transaction
+ * @param interval how often the archiver looks for tasks to move
+ * @param pause how long the archiver waits between batches, so it leaves room for the application's own writes
+ */
+@ConfigurationProperties(prefix = "tasks.archive")
+public record ArchiveProperties(@DefaultValue("false") boolean enabled,
+                                @DefaultValue("90d") Duration age,
+                                @DefaultValue("500") int batchSize,
+                                @DefaultValue("1h") Duration interval,
+                                @DefaultValue("100ms") Duration pause) {
+}
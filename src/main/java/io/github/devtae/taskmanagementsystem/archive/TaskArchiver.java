@@ -0,0 +1,153 @@
+package io.github.devtae.taskmanagementsystem.archive;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskDueState;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent.ChangeType;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import io.github.devtae.taskmanagementsystem.repository.ArchivedTaskRepository;
+import io.github.devtae.taskmanagementsystem.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves completed tasks that have not changed for {@code age} from {@code tasks} to {@code tasks_archive},
+ * so the table every listing scans only holds tasks that are still in use.
+ * <p>
+ * Tasks are moved {@code batchSize} at a time, each batch in its own short transaction: the rows are
+ * locked, copied with one INSERT ... SELECT and removed with one DELETE. A task cannot be reopened halfway
+ * through, and application writes only ever wait for one batch. Every moved task is published as
+ * {@link ChangeType#ARCHIVED}, which evicts it from the cache and records it in the change feed.
+ */
+@Component
+@ConditionalOnProperty(prefix = "tasks.archive", name = "enabled", havingValue = "true")
+public class TaskArchiver implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(TaskArchiver.class);
+
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    // Deliberately not read-only: the rows are locked and moved on the primary.
+    private final TransactionTemplate transaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ArchiveProperties properties;
+    private final Clock clock;
+    private final Counter archived;
+
+    private ScheduledExecutorService executor;
+
+    @Autowired
+    public TaskArchiver(TaskRepository taskRepository, ArchivedTaskRepository archivedTaskRepository,
+                        PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                        ArchiveProperties properties, MeterRegistry meterRegistry) {
+        this(taskRepository, archivedTaskRepository, transactionManager, eventPublisher, properties, meterRegistry,
+                Clock.systemDefaultZone());
+    }
+
+    TaskArchiver(TaskRepository taskRepository, ArchivedTaskRepository archivedTaskRepository,
+                 PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                 ArchiveProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.clock = clock;
+        this.archived = Counter.builder("tasks.archive.moved")
+                .description("Completed tasks moved to the archive table")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::archiveSafely, properties.interval().toMillis(),
+                properties.interval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return executor != null;
+    }
+
+    /**
+     * Moves batches until no task is old enough, pausing between them.
+     *
+     * @return the number of tasks moved
+     */
+    long archive() throws InterruptedException {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(properties.age());
+        long moved = 0;
+        int batch;
+        do {
+            batch = archiveBatch(cutoff);
+            moved += batch;
+            if (batch == properties.batchSize() && !properties.pause().isZero()) {
+                Thread.sleep(properties.pause().toMillis());
+            }
+        } while (batch == properties.batchSize() && !Thread.currentThread().isInterrupted());
+        return moved;
+    }
+
+    /**
+     * Moves up to {@code batchSize} tasks completed and last updated before {@code cutoff}.
+     *
+     * @return the number of tasks moved
+     */
+    int archiveBatch(LocalDateTime cutoff) {
+        Integer moved = transaction.execute(status -> {
+            List<Task> tasks = taskRepository.findArchivable(cutoff, PageRequest.of(0, properties.batchSize()));
+            if (tasks.isEmpty()) {
+                return 0;
+            }
+            List<Long> ids = tasks.stream().map(Task::getId).toList();
+            archivedTaskRepository.copyFromTasks(ids, LocalDateTime.now(clock));
+            taskRepository.deleteTasksByIds(ids);
+            tasks.forEach(task -> eventPublisher.publishEvent(
+                    TaskChangedEvent.of(ChangeType.ARCHIVED, task, TaskDueState.of(task))));
+            return tasks.size();
+        });
+        archived.increment(moved);
+        return moved;
+    }
+
+    private void archiveSafely() {
+        try {
+            long moved = archive();
+            if (moved > 0) {
+                log.info("Archived {} completed tasks", moved);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Archiving completed tasks failed", e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.devtae.taskmanagementsystem.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of task snapshots keyed by id, bounded by size and time-to-live.
+ * <p>
+ * Entries are invalidated once a write commits. To stop a read that started before the commit from
+ * putting the old row back afterwards, every invalidation bumps a per-stripe generation and loads only
+ * keep their result when the generation they started with is still current.
+ */
+@Component
+public class TaskCache {
+    static final String CACHE_NAME = "tasks";
+    private static final int STRIPES = 1024;
+
+    private final Cache<Long, TaskSnapshot> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    @Autowired
+    public TaskCache(TaskCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, Ticker.systemTicker());
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+    }
+
+    TaskCache(TaskCacheProperties properties, Ticker ticker) {
+        this.cache = properties.enabled()
+                ? Caffeine.newBuilder()
+                        .maximumSize(properties.maximumSize())
+                        .expireAfterWrite(properties.ttl())
+                        .ticker(ticker)
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    /**
+     * Returns a cache that always delegates to the loader.
+     */
+    public static TaskCache disabled() {
+        return new TaskCache(new TaskCacheProperties(false, 0, null), Ticker.systemTicker());
+    }
+
+    public Optional<TaskSnapshot> get(Long taskId, Function<Long, Optional<TaskSnapshot>> loader) {
+        if (cache == null) {
+            return loader.apply(taskId);
+        }
+        TaskSnapshot cached = cache.getIfPresent(taskId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        int stripe = stripe(taskId);
+        long generation = generations.get(stripe);
+        Optional<TaskSnapshot> loaded = loader.apply(taskId);
+        loaded.ifPresent(snapshot -> {
+            if (generations.get(stripe) == generation) {
+                cache.put(taskId, snapshot);
+                // An invalidation may have slipped in between the check and the put.
+                if (generations.get(stripe) != generation) {
+                    cache.asMap().remove(taskId, snapshot);
+                }
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Returns the cached snapshot without loading it on a miss.
+     */
+    public Optional<TaskSnapshot> getIfPresent(Long taskId) {
+        return cache == null ? Optional.empty() : Optional.ofNullable(cache.getIfPresent(taskId));
+    }
+
+    public void invalidate(Long taskId) {
+        generations.incrementAndGet(stripe(taskId));
+        if (cache != null) {
+            cache.invalidate(taskId);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        invalidate(event.taskId());
+    }
+
+    long estimatedSize() {
+        return cache == null ? 0 : cache.estimatedSize();
+    }
+
+    private static int stripe(Long taskId) {
+        return (Long.hashCode(taskId) & Integer.MAX_VALUE) % STRIPES;
+    }
+}
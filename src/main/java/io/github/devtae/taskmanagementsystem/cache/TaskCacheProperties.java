@@ -0,0 +1,19 @@
+package io.github.devtae.taskmanagementsystem.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-process task cache.
+ *
+ * @param enabled whether single-task reads are cached at all
+ * @param maximumSize the maximum number of cached tasks
+ * @param ttl how long a cached task is served after it was loaded
+ */
+@ConfigurationProperties(prefix = "tasks.cache")
+public record TaskCacheProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("10000") long maximumSize,
+                                  @DefaultValue("30s") Duration ttl) {
+}
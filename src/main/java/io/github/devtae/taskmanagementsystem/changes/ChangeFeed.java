@@ -0,0 +1,470 @@
+package io.github.devtae.taskmanagementsystem.changes;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.devtae.taskmanagementsystem.dto.TaskChangeBatch;
+import io.github.devtae.taskmanagementsystem.dto.TaskChangeRecord;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent;
+import io.github.devtae.taskmanagementsystem.exception.ChangesExpiredException;
+import io.github.devtae.taskmanagementsystem.exception.InvalidRequestException;
+import io.github.devtae.taskmanagementsystem.exception.ServiceBusyException;
+import io.github.devtae.taskmanagementsystem.model.TaskChange;
+import io.github.devtae.taskmanagementsystem.model.TaskChangeWriter;
+import io.github.devtae.taskmanagementsystem.repository.TaskChangeRepository;
+import io.github.devtae.taskmanagementsystem.repository.TaskChangeWriterRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A monotonically sequenced log of task changes that consumers can follow from any position.
+ * <p>
+ * Every change is written to the {@code task_changes} table inside the transaction that makes it, so the
+ * log and the tasks never disagree. Sequence numbers are handed out when a change is recorded, but
+ * transactions commit in any order, so a change only becomes visible once every lower number has
+ * committed or rolled back. A consumer that has read up to some number therefore never misses a change
+ * that commits later with a lower one.
+ * <p>
+ * The newest {@code bufferSize} changes are kept in a ring buffer; older positions are read from the table.
+ * Subscribers hold nothing but their position, and each is served by at most one delivery at a time, so a
+ * slow consumer falls behind on its own without holding memory or delaying anyone else.
+ * <p>
+ * Sequence numbers are assigned in this process, so only one application instance may record changes. That
+ * instance holds a lease in the {@code task_change_writer} table, taken at startup and renewed while it runs;
+ * another instance with the feed enabled fails to start. If the lease is ever lost to another instance, task
+ * writes here fail rather than record changes under sequence numbers the other one also hands out.
+ */
+@Component
+@ConditionalOnProperty(prefix = "tasks.changes", name = "enabled", havingValue = "true")
+public class ChangeFeed implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeed.class);
+
+    private final TaskChangeRepository changeRepository;
+    private final TaskChangeWriterRepository writerRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ChangeFeedProperties properties;
+    private final AtomicReferenceArray<TaskChangeRecord> ring;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private final Object lock = new Object();
+    // Guarded by lock.
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+    private final TreeSet<Long> committedAhead = new TreeSet<>();
+    // Written under lock.
+    private volatile long lastAllocated;
+    private volatile long visibleTip;
+    // Positions at or below this were loaded before the ring existed and are only in the table.
+    private volatile long ringFloor;
+    private volatile long purgedThrough;
+
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+    // System.nanoTime() up to which the lease is certainly held, counted from before it was last claimed.
+    private volatile long leaseValidUntil;
+    private volatile boolean leaseLost;
+
+    private ExecutorService deliveryExecutor;
+    private ScheduledExecutorService maintenanceExecutor;
+
+    public ChangeFeed(TaskChangeRepository changeRepository, TaskChangeWriterRepository writerRepository,
+                      EntityManager entityManager, ObjectMapper objectMapper, ChangeFeedProperties properties,
+                      MeterRegistry meterRegistry) {
+        this.changeRepository = changeRepository;
+        this.writerRepository = writerRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.ring = new AtomicReferenceArray<>(properties.bufferSize());
+        Gauge.builder("tasks.changes.subscribers", subscriptions, Set::size)
+                .description("Open change streams and waiting long-polls")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!writerRepository.existsById(TaskChangeWriter.ID)) {
+            TaskChangeWriter writer = new TaskChangeWriter();
+            writer.setId(TaskChangeWriter.ID);
+            writer.setOwner(owner);
+            writer.setExpiresAt(LocalDateTime.now());
+            try {
+                writerRepository.save(writer);
+            } catch (DataIntegrityViolationException e) {
+                // Another instance created the row first; the claim below settles which one writes.
+            }
+        }
+        if (!claimLease()) {
+            throw new IllegalStateException("Another instance is recording task changes, and the change feed "
+                    + "allows only one; stop it or disable tasks.changes.enabled here");
+        }
+        synchronized (lock) {
+            Long max = changeRepository.findMaxSeq();
+            lastAllocated = max == null ? 0 : max;
+            visibleTip = lastAllocated;
+            ringFloor = lastAllocated;
+        }
+        Long min = changeRepository.findMinSeq();
+        purgedThrough = min == null ? lastAllocated : min - 1;
+
+        deliveryExecutor = Executors.newCachedThreadPool(daemonThreads("task-changes"));
+        maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(daemonThreads("task-changes-maintenance"));
+        long heartbeat = properties.heartbeat().toMillis();
+        maintenanceExecutor.scheduleWithFixedDelay(() -> runSafely(this::heartbeat), heartbeat, heartbeat,
+                TimeUnit.MILLISECONDS);
+        long renewal = properties.leaseTtl().toMillis() / 3;
+        maintenanceExecutor.scheduleWithFixedDelay(() -> runSafely(this::renewLease), renewal, renewal,
+                TimeUnit.MILLISECONDS);
+        long cleanup = properties.cleanupInterval().toMillis();
+        maintenanceExecutor.scheduleWithFixedDelay(() -> runSafely(this::purgeExpired), cleanup, cleanup,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (maintenanceExecutor != null) {
+            maintenanceExecutor.shutdownNow();
+            deliveryExecutor.shutdownNow();
+            maintenanceExecutor = null;
+            deliveryExecutor = null;
+            writerRepository.release(owner, LocalDateTime.now());
+        }
+        subscriptions.clear();
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return maintenanceExecutor != null;
+    }
+
+    /**
+     * Records a change in the publishing transaction. If the row cannot be written, the task write fails too.
+     */
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Task changes must be recorded inside a transaction");
+        }
+        if (leaseLost || System.nanoTime() - leaseValidUntil >= 0) {
+            throw new IllegalStateException("This instance does not hold the change feed writer lease");
+        }
+        long seq;
+        synchronized (lock) {
+            seq = ++lastAllocated;
+            inFlight.add(seq);
+        }
+        TaskChangeRecord record = new TaskChangeRecord(seq, event.type(), event.taskId(), event.task(),
+                LocalDateTime.now());
+        try {
+            entityManager.persist(toEntity(record));
+        } catch (RuntimeException e) {
+            completed(seq, null);
+            throw e;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                completed(seq, status == STATUS_COMMITTED ? record : null);
+            }
+        });
+    }
+
+    /**
+     * The highest sequence number currently visible; {@code since} for a consumer that wants only new changes.
+     */
+    public long tip() {
+        return visibleTip;
+    }
+
+    /**
+     * Returns up to {@code limit} visible changes after {@code since}, without waiting.
+     *
+     * @throws ChangesExpiredException if changes after {@code since} have already been deleted
+     */
+    public TaskChangeBatch read(long since, int limit) {
+        checkPosition(since);
+        long tip = visibleTip;
+        if (since >= tip) {
+            return TaskChangeBatch.empty(since);
+        }
+        int max = Math.min(Math.max(limit, 1), properties.maxBatchSize());
+        List<TaskChangeRecord> changes = readFromRing(since, tip, max);
+        if (changes == null) {
+            changes = readFromTable(since, tip, max);
+        }
+        long next = changes.isEmpty() ? since : changes.get(changes.size() - 1).seq();
+        return new TaskChangeBatch(changes, next, next < tip);
+    }
+
+    /**
+     * Delivers changes after {@code since} to the sink as they become visible, in batches of at most
+     * {@code limit}. A one-shot subscription ends after its first batch.
+     *
+     * @throws ServiceBusyException if {@code maxSubscribers} subscriptions are already open
+     * @throws ChangesExpiredException if changes after {@code since} have already been deleted
+     */
+    public Subscription subscribe(long since, int limit, boolean oneShot, ChangeSink sink) {
+        checkPosition(since);
+        if (subscriptions.size() >= properties.maxSubscribers()) {
+            throw new ServiceBusyException("Too many open change feed subscriptions");
+        }
+        Subscription subscription = new Subscription(since, Math.min(Math.max(limit, 1), properties.maxBatchSize()),
+                oneShot, sink);
+        subscriptions.add(subscription);
+        if (since < visibleTip) {
+            schedule(subscription);
+        }
+        return subscription;
+    }
+
+    private void checkPosition(long since) {
+        if (since < 0) {
+            throw new InvalidRequestException("since cannot be negative");
+        }
+        if (since < purgedThrough) {
+            throw new ChangesExpiredException("Changes after " + since + " are no longer retained; "
+                    + "resynchronise and continue from " + visibleTip);
+        }
+    }
+
+    private void completed(long seq, TaskChangeRecord record) {
+        long tip;
+        synchronized (lock) {
+            inFlight.remove(seq);
+            if (record != null) {
+                ring.set(slot(seq), record);
+                committedAhead.add(seq);
+            }
+            long settled = inFlight.isEmpty() ? lastAllocated : inFlight.first() - 1;
+            Long newest = committedAhead.floor(settled);
+            if (newest == null) {
+                return;
+            }
+            committedAhead.headSet(newest, true).clear();
+            visibleTip = newest;
+            tip = newest;
+        }
+        for (Subscription subscription : subscriptions) {
+            if (subscription.cursor < tip) {
+                schedule(subscription);
+            }
+        }
+    }
+
+    /**
+     * Reads (since, tip] from the ring, or returns null if part of that range has already been overwritten.
+     */
+    private List<TaskChangeRecord> readFromRing(long since, long tip, int max) {
+        if (since < ringFloor || since + 1 <= lastAllocated - ring.length()) {
+            return null;
+        }
+        List<TaskChangeRecord> changes = new ArrayList<>();
+        for (long seq = since + 1; seq <= tip && changes.size() < max; seq++) {
+            TaskChangeRecord record = ring.get(slot(seq));
+            if (record != null && record.seq() == seq) {
+                changes.add(record);
+            } else if (seq <= lastAllocated - ring.length()) {
+                return null;
+            }
+            // Otherwise the transaction holding this number rolled back.
+        }
+        return changes;
+    }
+
+    private List<TaskChangeRecord> readFromTable(long since, long tip, int max) {
+        return changeRepository.findRange(since, tip, PageRequest.of(0, max)).stream()
+                .map(this::toRecord)
+                .toList();
+    }
+
+    private void schedule(Subscription subscription) {
+        ExecutorService executor = deliveryExecutor;
+        if (executor != null && !subscription.closed && subscription.busy.compareAndSet(false, true)) {
+            executor.execute(() -> deliver(subscription));
+        }
+    }
+
+    private void deliver(Subscription subscription) {
+        try {
+            while (!subscription.closed && subscription.cursor < visibleTip) {
+                TaskChangeBatch batch = read(subscription.cursor, subscription.limit);
+                if (batch.changes().isEmpty()) {
+                    break;
+                }
+                // Move on before sending, so the position already covers the batch when the consumer sees it.
+                // A failed send cancels the subscription, so nothing is skipped over.
+                subscription.cursor = batch.next();
+                subscription.sink.send(batch);
+                if (subscription.oneShot) {
+                    subscription.cancel();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            subscription.cancel();
+            subscription.sink.failed(e);
+        } finally {
+            subscription.busy.set(false);
+        }
+        // A change may have become visible after the loop last looked.
+        if (!subscription.closed && subscription.cursor < visibleTip) {
+            schedule(subscription);
+        }
+    }
+
+    void heartbeat() {
+        ExecutorService executor = deliveryExecutor;
+        for (Subscription subscription : subscriptions) {
+            if (executor != null && !subscription.oneShot && subscription.busy.compareAndSet(false, true)) {
+                executor.execute(() -> {
+                    try {
+                        subscription.sink.heartbeat();
+                    } catch (IOException | RuntimeException e) {
+                        subscription.cancel();
+                        subscription.sink.failed(e);
+                    } finally {
+                        subscription.busy.set(false);
+                    }
+                    // A change that became visible while the heartbeat held the subscription was not delivered
+                    if (!subscription.closed && subscription.cursor < visibleTip) {
+                        schedule(subscription);
+                    }
+                });
+            }
+        }
+    }
+
+    void renewLease() {
+        if (!leaseLost && !claimLease()) {
+            // The lease expired and another instance took it, so sequence numbers from here would collide
+            leaseLost = true;
+            log.error("Lost the change feed writer lease to another instance; task writes fail until restart");
+        }
+    }
+
+    private boolean claimLease() {
+        long claimedAt = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        if (writerRepository.claim(owner, now, now.plus(properties.leaseTtl())) == 0) {
+            return false;
+        }
+        leaseValidUntil = claimedAt + properties.leaseTtl().toNanos();
+        return true;
+    }
+
+    /**
+     * Deletes changes older than the retention period. The newest visible change is always kept, so the
+     * sequence resumes above it after a restart.
+     */
+    void purgeExpired() {
+        Long through = changeRepository.findLastRecordedBefore(LocalDateTime.now().minus(properties.retention()),
+                visibleTip);
+        if (through == null || through <= purgedThrough) {
+            return;
+        }
+        // Raised before deleting, so a read that starts meanwhile is refused instead of missing rows
+        purgedThrough = through;
+        int deleted = changeRepository.deleteThrough(through);
+        log.info("Deleted {} task changes older than {}", deleted, properties.retention());
+    }
+
+    private TaskChange toEntity(TaskChangeRecord record) {
+        TaskChange change = new TaskChange();
+        change.setSeq(record.seq());
+        change.setType(record.type());
+        change.setTaskId(record.taskId());
+        change.setChangedAt(record.changedAt());
+        try {
+            change.setPayload(record.task() == null ? null : objectMapper.writeValueAsString(record.task()));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        return change;
+    }
+
+    private TaskChangeRecord toRecord(TaskChange change) {
+        try {
+            TaskSnapshot task = change.getPayload() == null
+                    ? null
+                    : objectMapper.readValue(change.getPayload(), TaskSnapshot.class);
+            return new TaskChangeRecord(change.getSeq(), change.getType(), change.getTaskId(), task,
+                    change.getChangedAt());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int slot(long seq) {
+        return (int) (seq % ring.length());
+    }
+
+    private static void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.warn("Change feed maintenance failed", e);
+        }
+    }
+
+    private static java.util.concurrent.ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * An open subscription. Holds only the consumer's position.
+     */
+    public final class Subscription {
+        private final int limit;
+        private final boolean oneShot;
+        private final ChangeSink sink;
+        private final AtomicBoolean busy = new AtomicBoolean();
+        private volatile long cursor;
+        private volatile boolean closed;
+
+        private Subscription(long since, int limit, boolean oneShot, ChangeSink sink) {
+            this.cursor = since;
+            this.limit = limit;
+            this.oneShot = oneShot;
+            this.sink = sink;
+        }
+
+        public long position() {
+            return cursor;
+        }
+
+        public void cancel() {
+            closed = true;
+            subscriptions.remove(this);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.devtae.taskmanagementsystem.changes;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the task change feed.
+ *
+ * @param enabled whether changes are recorded and the feed is served; only one instance may have it on
+ * @param bufferSize how many of the most recent changes are served from memory; older ones are read from the table
+ * @param maxBatchSize the most changes returned by one poll or sent in one burst to a stream
+ * @param maxWait the longest a long-poll request waits for new changes
+ * @param maxSubscribers the most open streams and waiting long-polls at once
+ * @param heartbeat how often idle streams receive a keep-alive comment
+ * @param retention how long changes are kept in the table
+ * @param cleanupInterval how often expired changes are deleted
+ * @param leaseTtl how long the writer lease lasts without renewal; it is renewed every third of this
+ */
+@ConfigurationProperties(prefix = "tasks.changes")
+public record ChangeFeedProperties(@DefaultValue("false") boolean enabled,
+                                   @DefaultValue("10000") int bufferSize,
+                                   @DefaultValue("500") int maxBatchSize,
+                                   @DefaultValue("30s") Duration maxWait,
+                                   @DefaultValue("256") int maxSubscribers,
+                                   @DefaultValue("15s") Duration heartbeat,
+                                   @DefaultValue("7d") Duration retention,
+                                   @DefaultValue("1h") Duration cleanupInterval,
+                                   @DefaultValue("1m") Duration leaseTtl) {
+}
@@ -0,0 +1,26 @@
+package io.github.devtae.taskmanagementsystem.changes;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskChangeBatch;
+
+import java.io.IOException;
+
+/**
+ * Receives changes for one subscription. Calls for a subscription never overlap, and a slow
+ * {@link #send} only delays that subscription.
+ */
+public interface ChangeSink {
+
+    void send(TaskChangeBatch batch) throws IOException;
+
+    /**
+     * Called periodically while there is nothing to send, so dead connections are noticed.
+     */
+    default void heartbeat() throws IOException {
+    }
+
+    /**
+     * Called once when the subscription ends because delivery failed or the position expired.
+     */
+    default void failed(Exception cause) {
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.devtae.taskmanagementsystem.controller;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskBatchRequest;
+import io.github.devtae.taskmanagementsystem.dto.TaskBatchResponse;
+import io.github.devtae.taskmanagementsystem.service.TaskBatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/tasks/batch")
+@ConditionalOnProperty(prefix = "tasks.storage", name = "engine", havingValue = "jpa", matchIfMissing = true)
+public class TaskBatchController {
+    private final TaskBatchService taskBatchService;
+
+    @Autowired
+    public TaskBatchController(TaskBatchService taskBatchService) {
+        this.taskBatchService = taskBatchService;
+    }
+
+    @Operation(summary = "Apply a batch of task writes",
+            description = "Creates, updates, completes and deletes tasks in one request. Each operation gets its own "
+                    + "result; with `atomic` set, any failure rolls back the whole batch",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Batch processed, see per-operation results",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "400", description = "Malformed or oversized batch"),
+                    @ApiResponse(responseCode = "422", description = "Atomic batch rolled back",
+                            content = @Content(mediaType = "application/json"))
+            })
+    @PostMapping
+    public ResponseEntity<TaskBatchResponse> executeBatch(@Valid @RequestBody TaskBatchRequest request) {
+        TaskBatchResponse response = taskBatchService.execute(request);
+        HttpStatus status = request.atomic() && response.failed() > 0 ? HttpStatus.UNPROCESSABLE_ENTITY : HttpStatus.OK;
+        return ResponseEntity.status(status).body(response);
+    }
+}
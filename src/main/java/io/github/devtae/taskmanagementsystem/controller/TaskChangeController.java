@@ -0,0 +1,166 @@
+package io.github.devtae.taskmanagementsystem.controller;
+
+import io.github.devtae.taskmanagementsystem.changes.ChangeFeed;
+import io.github.devtae.taskmanagementsystem.changes.ChangeFeedProperties;
+import io.github.devtae.taskmanagementsystem.changes.ChangeSink;
+import io.github.devtae.taskmanagementsystem.dto.TaskChangeBatch;
+import io.github.devtae.taskmanagementsystem.dto.TaskChangeRecord;
+import io.github.devtae.taskmanagementsystem.exception.ChangesExpiredException;
+import io.github.devtae.taskmanagementsystem.exception.InvalidRequestException;
+import io.github.devtae.taskmanagementsystem.exception.ServiceBusyException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/tasks/changes")
+@ConditionalOnProperty(prefix = "tasks.changes", name = "enabled", havingValue = "true")
+public class TaskChangeController {
+    private final ChangeFeed changeFeed;
+    private final ChangeFeedProperties properties;
+
+    @Autowired
+    public TaskChangeController(ChangeFeed changeFeed, ChangeFeedProperties properties) {
+        this.changeFeed = changeFeed;
+        this.properties = properties;
+    }
+
+    @Operation(summary = "Poll for task changes",
+            description = "Returns the changes after sequence number `since`, oldest first. If there are none yet, "
+                    + "waits up to `timeout` seconds for one and otherwise returns an empty batch. Continue with the "
+                    + "returned `next`. Without `since`, returns an empty batch positioned at the newest change",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Changes, possibly none",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "410", description = "Changes after `since` are no longer retained"),
+                    @ApiResponse(responseCode = "503", description = "Too many waiting requests")
+            })
+    @GetMapping
+    public DeferredResult<TaskChangeBatch> pollChanges(@RequestParam(required = false) Long since,
+                                                       @RequestParam(defaultValue = "100") int limit,
+                                                       @RequestParam(defaultValue = "30") long timeout) {
+        Duration wait = Duration.ofSeconds(Math.max(timeout, 0));
+        if (wait.compareTo(properties.maxWait()) > 0) {
+            wait = properties.maxWait();
+        }
+        DeferredResult<TaskChangeBatch> result = new DeferredResult<>(wait.toMillis());
+        if (since == null) {
+            result.setResult(TaskChangeBatch.empty(changeFeed.tip()));
+            return result;
+        }
+
+        TaskChangeBatch batch = changeFeed.read(since, limit);
+        if (!batch.changes().isEmpty() || wait.isZero()) {
+            result.setResult(batch);
+            return result;
+        }
+
+        ChangeFeed.Subscription subscription = changeFeed.subscribe(since, limit, true, new ChangeSink() {
+            @Override
+            public void send(TaskChangeBatch changes) {
+                result.setResult(changes);
+            }
+
+            @Override
+            public void failed(Exception cause) {
+                result.setErrorResult(cause);
+            }
+        });
+        result.onTimeout(() -> result.setResult(TaskChangeBatch.empty(since)));
+        result.onCompletion(subscription::cancel);
+        return result;
+    }
+
+    @Operation(summary = "Stream task changes",
+            description = "Sends each change as a server-sent `change` event whose id is its sequence number. "
+                    + "Starts after `since`, or after the standard `Last-Event-ID` header when reconnecting, or "
+                    + "at the newest change. An `expired` event means the position is no longer retained",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Event stream",
+                            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)),
+                    @ApiResponse(responseCode = "503", description = "Too many open streams")
+            })
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(@RequestParam(required = false) Long since,
+                                                    @RequestHeader(name = "Last-Event-ID", required = false)
+                                                    String lastEventId) {
+        long position = since != null ? since : lastEventId != null ? parseEventId(lastEventId) : changeFeed.tip();
+        SseEmitter emitter = new SseEmitter(0L);
+        ChangeFeed.Subscription subscription;
+        try {
+            subscription = changeFeed.subscribe(position, properties.maxBatchSize(), false, new EmitterSink(emitter));
+        } catch (ChangesExpiredException e) {
+            sendExpired(emitter, e);
+            return ResponseEntity.ok(emitter);
+        } catch (ServiceBusyException e) {
+            // The error body cannot be written as an event stream, so answer with the status alone
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+        return ResponseEntity.ok(emitter);
+    }
+
+    private static long parseEventId(String lastEventId) {
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Last-Event-ID must be a change sequence number");
+        }
+    }
+
+    private static void sendExpired(SseEmitter emitter, ChangesExpiredException e) {
+        try {
+            emitter.send(SseEmitter.event().name("expired").data(Map.of("errors", e.getMessage()),
+                    MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (IOException closed) {
+            emitter.completeWithError(closed);
+        }
+    }
+
+    private record EmitterSink(SseEmitter emitter) implements ChangeSink {
+
+        @Override
+        public void send(TaskChangeBatch batch) throws IOException {
+            for (TaskChangeRecord change : batch.changes()) {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(change.seq()))
+                        .name("change")
+                        .data(change, MediaType.APPLICATION_JSON));
+            }
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("keepalive"));
+        }
+
+        @Override
+        public void failed(Exception cause) {
+            if (cause instanceof ChangesExpiredException expired) {
+                sendExpired(emitter, expired);
+            } else {
+                emitter.completeWithError(cause);
+            }
+        }
+    }
+}
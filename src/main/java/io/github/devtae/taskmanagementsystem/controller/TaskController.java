@@ -1,93 +1,300 @@
 package io.github.devtae.taskmanagementsystem.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.devtae.taskmanagementsystem.dto.TaskFilter;
+import io.github.devtae.taskmanagementsystem.dto.TaskIngestStatus;
+import io.github.devtae.taskmanagementsystem.dto.TaskPage;
+import io.github.devtae.taskmanagementsystem.dto.TaskPatch;
+import io.github.devtae.taskmanagementsystem.dto.TaskSearchResults;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.dto.TaskSummary;
+import io.github.devtae.taskmanagementsystem.dto.TaskVersion;
+import io.github.devtae.taskmanagementsystem.exception.PreconditionFailedException;
+import io.github.devtae.taskmanagementsystem.format.ResponseFormats;
+import io.github.devtae.taskmanagementsystem.idempotency.IdempotencyStore;
+import io.github.devtae.taskmanagementsystem.ingest.TaskIngestor;
 import io.github.devtae.taskmanagementsystem.model.Task;
 import io.github.devtae.taskmanagementsystem.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskController {
+    static final String NDJSON = ResponseFormats.NDJSON_VALUE;
+    private static final String CBOR_ETAG_SUFFIX = "-cbor";
+    private static final String SMILE_ETAG_SUFFIX = "-smile";
+
     private final TaskService taskService;
+    private final ResponseFormats responseFormats;
+    // Only present when asynchronous ingestion is enabled
+    private final ObjectProvider<TaskIngestor> taskIngestor;
+    // Absent when idempotency keys are disabled
+    private final ObjectProvider<IdempotencyStore> idempotencyStore;
+    private final Validator validator;
 
     @Autowired
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, ResponseFormats responseFormats,
+                          ObjectProvider<TaskIngestor> taskIngestor,
+                          ObjectProvider<IdempotencyStore> idempotencyStore, Validator validator) {
         this.taskService = taskService;
+        this.responseFormats = responseFormats;
+        this.taskIngestor = taskIngestor;
+        this.idempotencyStore = idempotencyStore;
+        this.validator = validator;
     }
 
     @Operation(summary = "Get a task by its ID",
-            description = "Returns a single task",
+            description = "Returns a single task with `ETag` and `Last-Modified` headers. Send them back as "
+                    + "`If-None-Match` or `If-Modified-Since` to get a 304 when the task has not changed. "
+                    + "Archived tasks are found too",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Task found",
                             content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "304", description = "Task not modified"),
                     @ApiResponse(responseCode = "404", description = "Task not found")
             })
 
     @GetMapping("/{taskId}")
-    public ResponseEntity<Task> getTask(@PathVariable Long taskId) {
+    public ResponseEntity<Task> getTask(@PathVariable Long taskId, WebRequest request,
+                                        HttpServletResponse response) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        // Set before the check below, so that a 304 varies by Accept as the 200 does
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        // Validate a conditional request against the version alone, before loading or serializing the task
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            TaskVersion version = taskService.getTaskVersion(taskId);
+            if (request.checkNotModified(etag(version.version(), accept), lastModified(version.updatedAt()))) {
+                return null;
+            }
+        }
         Task task = taskService.getTaskById(taskId);
-        return ResponseEntity.ok(task);
+        return withValidators(ResponseEntity.ok(), task, accept).body(task);
     }
 
     @Operation(summary = "Get all tasks",
-            description = "Returns a list of tasks",
+            description = "Returns a list of tasks, optionally filtered by `completed`, `dueBefore`, `dueAfter`, "
+                    + "`createdSince` and `updatedSince` (ISO date-times) and ordered by `sort=property,direction`. "
+                    + "Archived tasks are only listed with `includeArchived=true`",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully",
-                            content = @Content(mediaType = "application/json"))
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "304", description = "No matching task changed since the given ETag"),
+                    @ApiResponse(responseCode = "400", description = "Invalid filter or sort property")
             })
     @GetMapping
-    public List<Task> getAllTasks() {
-        return taskService.getAllTasks();
+    public ResponseEntity<List<TaskSnapshot>> getAllTasks(TaskFilter filter, Sort sort, WebRequest request,
+                                                          HttpServletResponse response) {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        String etag = collectionEtag(filter);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        List<TaskSnapshot> tasks = filter.isEmpty() && !filter.includeArchived() && sort.isUnsorted()
+                ? taskService.getAllTasks()
+                : taskService.findTasks(filter, sort);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(tasks);
+    }
+
+    @Operation(summary = "Get task summaries",
+            description = "Like `GET /api/tasks`, with the same filters and sorting, but leaves out each task's "
+                    + "description. Use it for list views; it reads and sends much less for long lists",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Summaries retrieved successfully",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "304", description = "No matching task changed since the given ETag"),
+                    @ApiResponse(responseCode = "400", description = "Invalid filter or sort property")
+            })
+    @GetMapping("/summaries")
+    public ResponseEntity<List<TaskSummary>> getTaskSummaries(TaskFilter filter, Sort sort, WebRequest request,
+                                                              HttpServletResponse response) {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        String etag = collectionEtag(filter);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        List<TaskSummary> summaries = taskService.findTaskSummaries(filter, sort);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(summaries);
+    }
+
+    @Operation(summary = "Get a page of tasks",
+            description = "Returns up to `size` tasks ordered by creation time, plus an opaque cursor for the next page",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Page retrieved successfully",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+            })
+    @GetMapping("/page")
+    public TaskPage getTaskPage(@RequestParam(required = false) String cursor,
+                                @RequestParam(defaultValue = "50") int size) {
+        return taskService.getTaskPage(cursor, size);
+    }
+
+    @Operation(summary = "Search tasks",
+            description = "Full-text search over task titles and descriptions, ranked by relevance. "
+                    + "Supports quoted phrases, `or` and `-excluded` words",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Search results retrieved successfully",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "400", description = "Blank query or page beyond the result limit")
+            })
+    @GetMapping("/search")
+    public TaskSearchResults searchTasks(@RequestParam String q,
+                                         @RequestParam(defaultValue = "0") int page,
+                                         @RequestParam(defaultValue = "20") int size) {
+        return taskService.searchTasks(q, page, size);
+    }
+
+    @Operation(summary = "Stream all tasks",
+            description = "Streams every task without buffering the result set, as newline-delimited JSON by "
+                    + "default, or as a CBOR sequence or Smile values when `Accept` asks for them",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks streamed successfully",
+                            content = {@Content(mediaType = NDJSON),
+                                    @Content(mediaType = ResponseFormats.CBOR_SEQ_VALUE),
+                                    @Content(mediaType = ResponseFormats.SMILE_VALUE)})
+            })
+    @GetMapping(value = "/stream",
+            produces = {NDJSON, ResponseFormats.CBOR_SEQ_VALUE, ResponseFormats.SMILE_VALUE})
+    public void streamTasks(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                            HttpServletResponse response) throws IOException {
+        MediaType format = ResponseFormats.streamFormat(accept);
+        response.setContentType(format.toString());
+        OutputStream out = response.getOutputStream();
+        try (ResponseFormats.ValueStream<TaskSnapshot> values =
+                     responseFormats.openStream(format, TaskSnapshot.class, out)) {
+            taskService.streamAllTasks(task -> {
+                try {
+                    values.write(task);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        out.flush();
     }
 
     @Operation(summary = "Create a new task",
-            description = "Creates a new task and returns the created task",
+            description = "Creates a new task and returns the created task. When asynchronous ingestion is "
+                    + "enabled, `Prefer: respond-async` instead queues the task and returns its id at once; "
+                    + "follow `Location` to see when it has been written. Retries sent with the same "
+                    + "`Idempotency-Key` get the first response again instead of creating another task",
             responses = {
                     @ApiResponse(responseCode = "201", description = "Task created successfully",
-                            content = @Content(mediaType = "application/json"))
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "202", description = "Task accepted and queued",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "422", description = "`Idempotency-Key` was used for another request"),
+                    @ApiResponse(responseCode = "503", description = "Ingestion queue is full")
             })
     @PostMapping
-    public ResponseEntity<Task> createTask(@Valid @RequestBody Task task) {
+    public ResponseEntity<?> createTask(@Valid @RequestBody Task task,
+                                        @RequestHeader(value = "Prefer", required = false) String prefer,
+                                        @RequestHeader(value = IdempotencyStore.HEADER, required = false)
+                                        String idempotencyKey,
+                                        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return idempotent(idempotencyKey, "POST /api/tasks", task, () -> create(task, prefer, accept));
+    }
+
+    private ResponseEntity<?> create(Task task, String prefer, String accept) {
+        TaskIngestor ingestor = taskIngestor.getIfAvailable();
+        if (ingestor != null && ingestor.accepts(prefer)) {
+            TaskIngestStatus status = ingestor.submit(task);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/tasks/ingest/" + status.id()))
+                    .header("Preference-Applied", "respond-async")
+                    .body(status);
+        }
         Task savedTask = taskService.saveTask(task);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedTask);
+        return withValidators(ResponseEntity.status(HttpStatus.CREATED), savedTask, accept).body(savedTask);
     }
 
     @Operation(summary = "Update a task",
-            description = "Updates an existing task identified by its ID",
+            description = "Updates an existing task identified by its ID. With `If-Match`, the update only "
+                    + "applies if the task still has that ETag",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Task updated successfully",
                             content = @Content(mediaType = "application/json")),
-                    @ApiResponse(responseCode = "404", description = "Task not found")
+                    @ApiResponse(responseCode = "404", description = "Task not found"),
+                    @ApiResponse(responseCode = "409", description = "Task was modified concurrently"),
+                    @ApiResponse(responseCode = "412", description = "Task no longer matches `If-Match`")
             })
     @PutMapping("/{taskId}")
-    public ResponseEntity<Task> updateTask(@PathVariable Long taskId, @Valid @RequestBody Task taskDetails) {
-        Task updatedTask = taskService.updateTask(taskId, taskDetails);
-        return ResponseEntity.ok(updatedTask);
+    public ResponseEntity<Task> updateTask(@PathVariable Long taskId, @Valid @RequestBody Task taskDetails,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                           String ifMatch,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Task updatedTask = taskService.updateTask(taskId, taskDetails, expectedVersion(ifMatch));
+        return withValidators(ResponseEntity.ok(), updatedTask, accept).body(updatedTask);
+    }
+
+    @Operation(summary = "Patch a task",
+            description = "Changes only the fields present in a JSON Merge Patch: `title`, `description`, `dueDate` "
+                    + "and `completed`. A field set to `null` is cleared. Only the changed columns are written, "
+                    + "and a patch that changes nothing writes nothing. With `If-Match`, the patch only applies "
+                    + "if the task still has that ETag",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Task patched successfully",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "400", description = "Invalid value or a field that cannot be patched"),
+                    @ApiResponse(responseCode = "404", description = "Task not found"),
+                    @ApiResponse(responseCode = "412", description = "Task no longer matches `If-Match`")
+            })
+    @PatchMapping(value = "/{taskId}", consumes = {TaskPatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Task> patchTask(@PathVariable Long taskId, @RequestBody JsonNode patch,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                          String ifMatch,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Task patchedTask = taskService.patchTask(taskId, TaskPatch.from(patch, validator), expectedVersion(ifMatch));
+        return withValidators(ResponseEntity.ok(), patchedTask, accept).body(patchedTask);
     }
 
     @Operation(summary = "Complete a task",
-            description = "Marks a task as complete by its ID",
+            description = "Marks a task as complete by its ID. Retries sent with the same `Idempotency-Key` "
+                    + "get the first response again without touching the task",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Task completed successfully",
                             content = @Content(mediaType = "application/json")),
-                    @ApiResponse(responseCode = "404", description = "Task not found")
+                    @ApiResponse(responseCode = "404", description = "Task not found"),
+                    @ApiResponse(responseCode = "422", description = "`Idempotency-Key` was used for another request")
             })
     @PutMapping("/{taskId}/complete")
-    public ResponseEntity<Task> completeTask(@PathVariable Long taskId) {
-        Task completedTask = taskService.completeTask(taskId);
-        return ResponseEntity.ok(completedTask);
+    public ResponseEntity<?> completeTask(@PathVariable Long taskId,
+                                          @RequestHeader(value = IdempotencyStore.HEADER, required = false)
+                                          String idempotencyKey,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return idempotent(idempotencyKey, "PUT /api/tasks/" + taskId + "/complete", null, () -> {
+            Task completedTask = taskService.completeTask(taskId);
+            return withValidators(ResponseEntity.ok(), completedTask, accept).body(completedTask);
+        });
     }
 
     @Operation(summary = "Delete a task",
-            description = "Deletes a task by its ID",
+            description = "Deletes a task by its ID, whether or not it has been archived",
             responses = {
                     @ApiResponse(responseCode = "204", description = "Task deleted successfully"),
                     @ApiResponse(responseCode = "404", description = "Task not found")
@@ -97,4 +304,69 @@ public class TaskController {
         taskService.deleteTask(taskId);
         return ResponseEntity.noContent().build();
     }
+
+    private ResponseEntity<?> idempotent(String key, String operation, Object request,
+                                         Supplier<ResponseEntity<?>> action) {
+        IdempotencyStore store = idempotencyStore.getIfAvailable();
+        return key == null || store == null ? action.get() : store.execute(key, operation, request, action);
+    }
+
+    private static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder, Task task,
+                                                             String accept) {
+        builder.eTag(etag(task.getVersion(), accept));
+        long lastModified = lastModified(task.getUpdatedAt());
+        if (lastModified >= 0) {
+            builder.lastModified(lastModified);
+        }
+        return builder;
+    }
+
+    /**
+     * A strong ETag for one task in the format {@code Accept} selects. JSON, the default, is tagged with the
+     * bare version; CBOR and Smile bodies are different bytes, so their tags carry the format as well.
+     */
+    static String etag(long version, String accept) {
+        MediaType format = ResponseFormats.bodyFormat(accept);
+        String suffix = MediaType.APPLICATION_CBOR.equals(format) ? CBOR_ETAG_SUFFIX
+                : ResponseFormats.SMILE.equals(format) ? SMILE_ETAG_SUFFIX
+                : "";
+        return "\"" + version + suffix + "\"";
+    }
+
+    /**
+     * A weak ETag for a list, which tells every format and content coding of the same tasks apart from
+     * any other list without claiming to identify their bytes. That also leaves the server free to gzip
+     * the response, which it never does under a strong ETag.
+     */
+    private String collectionEtag(TaskFilter filter) {
+        return "W/\"" + taskService.getTasksVersion(filter) + '"';
+    }
+
+    private static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Reads the version a client expects from {@code If-Match}. The header is compared strongly, so anything
+     * other than {@code *} or a single strong ETag of this API can never match.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            // Any format's tag names the same version
+            String version = tag.substring(1, tag.length() - 1);
+            if (version.endsWith(CBOR_ETAG_SUFFIX) || version.endsWith(SMILE_ETAG_SUFFIX)) {
+                version = version.substring(0, version.lastIndexOf('-'));
+            }
+            try {
+                return Long.parseLong(version);
+            } catch (NumberFormatException ignored) {
+                // Fall through: not an ETag this API issued
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current ETag");
+    }
 }
@@ -0,0 +1,57 @@
+package io.github.devtae.taskmanagementsystem.controller;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskIngestStatus;
+import io.github.devtae.taskmanagementsystem.exception.TaskNotFoundException;
+import io.github.devtae.taskmanagementsystem.ingest.TaskIngestor;
+import io.github.devtae.taskmanagementsystem.repository.TaskRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/tasks/ingest")
+@ConditionalOnProperty(prefix = "tasks.ingestion", name = "enabled", havingValue = "true")
+public class TaskIngestController {
+    private final TaskIngestor taskIngestor;
+    private final TaskRepository taskRepository;
+
+    @Autowired
+    public TaskIngestController(TaskIngestor taskIngestor, TaskRepository taskRepository) {
+        this.taskIngestor = taskIngestor;
+        this.taskRepository = taskRepository;
+    }
+
+    @Operation(summary = "Get the status of an accepted create",
+            description = "Returns whether a task accepted with `202` is still queued, has been created or "
+                    + "failed. Once created, `Location` points at the task",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Status found",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "404", description = "No create with this id is known")
+            })
+    @GetMapping("/{taskId}")
+    public ResponseEntity<TaskIngestStatus> getStatus(@PathVariable Long taskId) {
+        TaskIngestStatus status = taskIngestor.status(taskId);
+        if (status == null) {
+            // Outcomes are only remembered for a while; after that, the task either exists or never will
+            if (!taskRepository.existsById(taskId)) {
+                throw new TaskNotFoundException("No accepted create with id: " + taskId);
+            }
+            status = TaskIngestStatus.created(taskId);
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (status.state() == TaskIngestStatus.State.CREATED) {
+            response.location(URI.create("/api/tasks/" + taskId));
+        }
+        return response.body(status);
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.devtae.taskmanagementsystem.controller;
+
+import io.github.devtae.taskmanagementsystem.dto.ScheduledTask;
+import io.github.devtae.taskmanagementsystem.dto.TaskSchedule;
+import io.github.devtae.taskmanagementsystem.recurrence.RecurringTasks;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tasks")
+@ConditionalOnProperty(prefix = "tasks.recurrence", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskScheduleController {
+    private final RecurringTasks recurringTasks;
+
+    @Autowired
+    public TaskScheduleController(RecurringTasks recurringTasks) {
+        this.recurringTasks = recurringTasks;
+    }
+
+    @Operation(summary = "List task occurrences",
+            description = "Returns the occurrences of open recurring tasks in [`from`, `to`), soonest first, "
+                    + "leaving out skipped ones. Defaults to today. Occurrences are expanded from each task's rule "
+                    + "for the range asked for rather than stored",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Occurrences in the range",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "400", description = "Empty range or a range that is too long")
+            })
+    @GetMapping("/occurrences")
+    public List<ScheduledTask> getOccurrences(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return recurringTasks.occurrences(from, to);
+    }
+
+    @Operation(summary = "Get a task's schedule",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The task's rule and start",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "404", description = "Task not found or does not recur")
+            })
+    @GetMapping("/{taskId}/schedule")
+    public TaskSchedule getSchedule(@PathVariable Long taskId) {
+        return recurringTasks.getSchedule(taskId);
+    }
+
+    @Operation(summary = "Make a task recur",
+            description = "Sets the rule a task repeats by, such as `FREQ=WEEKLY;BYDAY=MO,TH;COUNT=10`. Without "
+                    + "`startsAt`, the first occurrence is the task's due date",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Schedule set, with the rule in canonical form",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "400", description = "Invalid rule or no start"),
+                    @ApiResponse(responseCode = "404", description = "Task not found")
+            })
+    @PutMapping("/{taskId}/schedule")
+    public TaskSchedule setSchedule(@PathVariable Long taskId, @Valid @RequestBody TaskSchedule schedule) {
+        return recurringTasks.setSchedule(taskId, schedule);
+    }
+
+    @Operation(summary = "Stop a task recurring",
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Schedule removed"),
+                    @ApiResponse(responseCode = "404", description = "Task not found or does not recur")
+            })
+    @DeleteMapping("/{taskId}/schedule")
+    public ResponseEntity<Void> removeSchedule(@PathVariable Long taskId) {
+        recurringTasks.removeSchedule(taskId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Complete an occurrence",
+            description = "Marks one occurrence of a recurring task as done. The task itself stays open",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Occurrence completed",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "404", description = "Task does not recur at that time")
+            })
+    @PutMapping("/{taskId}/occurrences/{occursAt}/complete")
+    public ScheduledTask completeOccurrence(
+            @PathVariable Long taskId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime occursAt) {
+        return recurringTasks.completeOccurrence(taskId, occursAt);
+    }
+
+    @Operation(summary = "Skip an occurrence",
+            description = "Leaves one occurrence of a recurring task out of the listings",
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Occurrence skipped"),
+                    @ApiResponse(responseCode = "404", description = "Task does not recur at that time")
+            })
+    @DeleteMapping("/{taskId}/occurrences/{occursAt}")
+    public ResponseEntity<Void> skipOccurrence(
+            @PathVariable Long taskId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime occursAt) {
+        recurringTasks.skipOccurrence(taskId, occursAt);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.devtae.taskmanagementsystem.controller;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskStats;
+import io.github.devtae.taskmanagementsystem.stats.TaskStatistics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/tasks/stats")
+@ConditionalOnProperty(prefix = "tasks.stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskStatsController {
+    private final TaskStatistics taskStatistics;
+
+    @Autowired
+    public TaskStatsController(TaskStatistics taskStatistics) {
+        this.taskStatistics = taskStatistics;
+    }
+
+    @Operation(summary = "Get task statistics",
+            description = "Returns open, completed and overdue totals and how many open tasks are due today and "
+                    + "by the end of the week. Served from counters kept up to date as tasks change, so the cost "
+                    + "does not grow with the number of tasks",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Current statistics",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "503", description = "Statistics are still loading after a restart")
+            })
+    @GetMapping
+    public TaskStats getStats() {
+        return taskStatistics.stats();
+    }
+}
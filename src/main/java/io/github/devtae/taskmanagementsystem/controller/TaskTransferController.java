@@ -0,0 +1,101 @@
+package io.github.devtae.taskmanagementsystem.controller;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskImportReport;
+import io.github.devtae.taskmanagementsystem.format.ResponseFormats;
+import io.github.devtae.taskmanagementsystem.transfer.TaskTransfer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tasks")
+@ConditionalOnProperty(prefix = "tasks.storage", name = "engine", havingValue = "jpa", matchIfMissing = true)
+public class TaskTransferController {
+    static final String CSV = TaskTransfer.CSV_VALUE;
+    static final String NDJSON = ResponseFormats.NDJSON_VALUE;
+
+    private final TaskTransfer taskTransfer;
+
+    @Autowired
+    public TaskTransferController(TaskTransfer taskTransfer) {
+        this.taskTransfer = taskTransfer;
+    }
+
+    @Operation(summary = "Export all tasks",
+            description = "Streams every task in id order, as CSV with a header row by default, or as "
+                    + "newline-delimited JSON when `Accept` asks for it. The export can be imported again",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks exported successfully",
+                            content = {@Content(mediaType = CSV), @Content(mediaType = NDJSON)})
+            })
+    @GetMapping(value = "/export", produces = {CSV, NDJSON})
+    public void exportTasks(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                            HttpServletResponse response) throws IOException {
+        boolean csv = exportFormat(accept).equals(TaskTransfer.CSV);
+        response.setContentType(csv ? CSV + ";charset=UTF-8" : NDJSON);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"tasks." + (csv ? "csv" : "ndjson") + "\"");
+        OutputStream out = response.getOutputStream();
+        if (csv) {
+            taskTransfer.exportCsv(out);
+        } else {
+            taskTransfer.exportNdjson(out);
+        }
+        out.flush();
+    }
+
+    @Operation(summary = "Import tasks",
+            description = "Creates a task from every valid row of a CSV file with a header row, or of "
+                    + "newline-delimited JSON, reading the body as it arrives. Rows are checked like "
+                    + "`POST /api/tasks` bodies; the report lists the rows that were rejected and why",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Import finished; see the report for rejects",
+                            content = @Content(mediaType = "application/json")),
+                    @ApiResponse(responseCode = "400", description = "The CSV header names an unknown column "
+                            + "or no title")
+            })
+    @PostMapping(value = "/import", consumes = {CSV, NDJSON})
+    public TaskImportReport importTasks(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                       InputStream body) throws IOException {
+        if (TaskTransfer.CSV.equalsTypeAndSubtype(contentType)) {
+            return taskTransfer.importCsv(body);
+        }
+        return taskTransfer.importNdjson(body);
+    }
+
+    /**
+     * Picks CSV or NDJSON for an {@code Accept} header the way {@link ResponseFormats#streamFormat} picks a
+     * stream format, falling back to CSV.
+     */
+    private static MediaType exportFormat(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return TaskTransfer.CSV;
+        }
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            for (MediaType format : List.of(TaskTransfer.CSV, ResponseFormats.NDJSON)) {
+                if (type.includes(format) && type.getQualityValue() > 0) {
+                    return format;
+                }
+            }
+        }
+        return TaskTransfer.CSV;
+    }
+}
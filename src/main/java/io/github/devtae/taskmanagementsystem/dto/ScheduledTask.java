@@ -0,0 +1,14 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One occurrence of a recurring task, worked out from its rule rather than stored.
+ *
+ * @param taskId the recurring task
+ * @param title the task's title
+ * @param occursAt when this occurrence is due
+ * @param completed whether this occurrence has been completed
+ */
+public record ScheduledTask(Long taskId, String title, LocalDateTime occursAt, boolean completed) {
+}
@@ -0,0 +1,15 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * A list of task writes applied in order.
+ *
+ * @param atomic when true, either every operation is applied or none is
+ * @param operations the writes to apply
+ */
+public record TaskBatchRequest(boolean atomic,
+                               @NotEmpty(message = "Operations cannot be empty") List<TaskOperation> operations) {
+}
@@ -0,0 +1,14 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+import java.util.List;
+
+/**
+ * Per-operation results of a batch, in request order.
+ */
+public record TaskBatchResponse(int succeeded, int failed, List<TaskOperationResult> results) {
+
+    public static TaskBatchResponse of(List<TaskOperationResult> results) {
+        int succeeded = (int) results.stream().filter(TaskOperationResult::succeeded).count();
+        return new TaskBatchResponse(succeeded, results.size() - succeeded, results);
+    }
+}
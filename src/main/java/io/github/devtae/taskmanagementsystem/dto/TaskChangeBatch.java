@@ -0,0 +1,17 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+import java.util.List;
+
+/**
+ * A run of consecutive changes from the change feed.
+ *
+ * @param changes the changes, oldest first
+ * @param next the sequence number to pass as {@code since} to continue after this batch
+ * @param hasMore whether further changes are already available
+ */
+public record TaskChangeBatch(List<TaskChangeRecord> changes, long next, boolean hasMore) {
+
+    public static TaskChangeBatch empty(long since) {
+        return new TaskChangeBatch(List.of(), since, false);
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent.ChangeType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change as served by the change feed.
+ *
+ * @param seq the change's position in the feed; later changes always have higher numbers
+ * @param type what happened to the task
+ * @param taskId the id of the affected task
+ * @param task the task's state after the change, or null when it was deleted
+ * @param changedAt when the change was recorded
+ */
+public record TaskChangeRecord(long seq, ChangeType type, Long taskId, TaskSnapshot task, LocalDateTime changedAt) {
+}
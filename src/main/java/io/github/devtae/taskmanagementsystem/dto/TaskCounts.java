@@ -0,0 +1,11 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+/**
+ * Task totals counted by the database, used to reset the in-memory statistics.
+ *
+ * @param total all tasks
+ * @param completed completed tasks
+ * @param dueBefore open tasks due before the given time
+ */
+public record TaskCounts(long total, long completed, long dueBefore) {
+}
@@ -0,0 +1,11 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of just the id and due date of a task.
+ */
+public interface TaskDueDate {
+    Long getId();
+    LocalDateTime getDueDate();
+}
@@ -0,0 +1,11 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of how many open tasks fall due within one minute.
+ */
+public interface TaskDueMinute {
+    LocalDateTime getDueMinute();
+    long getTasks();
+}
@@ -0,0 +1,19 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+import io.github.devtae.taskmanagementsystem.model.Task;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns task statistics are derived from, without the rest of the task.
+ */
+public record TaskDueState(Long id, LocalDateTime dueDate, boolean completed) {
+
+    public static TaskDueState of(Task task) {
+        return new TaskDueState(task.getId(), task.getDueDate(), task.isCompleted());
+    }
+
+    public static TaskDueState of(TaskSnapshot task) {
+        return new TaskDueState(task.id(), task.dueDate(), task.completed());
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional criteria for listing tasks; null fields do not constrain the result.
+ *
+ * @param completed only tasks with this completion state
+ * @param dueBefore only tasks due strictly before this time
+ * @param dueAfter only tasks due strictly after this time
+ * @param createdSince only tasks created at or after this time
+ * @param updatedSince only tasks last updated at or after this time
+ * @param includeArchived whether archived tasks are listed too; they are left out by default
+ */
+public record TaskFilter(Boolean completed,
+                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueBefore,
+                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueAfter,
+                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdSince,
+                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+                         Boolean includeArchived) {
+
+    // Request binding leaves the flag null when the parameter is absent.
+    public TaskFilter {
+        includeArchived = includeArchived != null && includeArchived;
+    }
+
+    public static TaskFilter none() {
+        return new TaskFilter(null, null, null, null, null, false);
+    }
+
+    public boolean isEmpty() {
+        return completed == null && dueBefore == null && dueAfter == null && createdSince == null
+                && updatedSince == null;
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import.
+ *
+ * @param rows the rows read, not counting a CSV header or blank lines
+ * @param imported the rows written as new tasks
+ * @param rejected the rows not written
+ * @param rejects why rows were rejected, in input order; only the first ones when {@code truncated}
+ * @param truncated whether more rows were rejected than are listed
+ */
+public record TaskImportReport(long rows, long imported, long rejected, List<Reject> rejects, boolean truncated) {
+
+    /**
+     * A rejected row.
+     *
+     * @param row the row's position in the input, counted from 1 and not counting a CSV header or blank lines
+     * @param error why the row was rejected
+     */
+    public record Reject(long row, String error) {
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+/**
+ * The state of an asynchronously accepted create.
+ *
+ * @param id the id the task was given when it was accepted
+ * @param state whether the task has been written yet
+ * @param error why the write failed, if it did
+ */
+public record TaskIngestStatus(Long id, State state, String error) {
+
+    public enum State {
+        PENDING, CREATED, FAILED
+    }
+
+    public static TaskIngestStatus pending(Long id) {
+        return new TaskIngestStatus(id, State.PENDING, null);
+    }
+
+    public static TaskIngestStatus created(Long id) {
+        return new TaskIngestStatus(id, State.CREATED, null);
+    }
+
+    public static TaskIngestStatus failed(Long id, String error) {
+        return new TaskIngestStatus(id, State.FAILED, error);
+    }
+}
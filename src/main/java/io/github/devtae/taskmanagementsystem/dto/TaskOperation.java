@@ -0,0 +1,17 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+import io.github.devtae.taskmanagementsystem.model.Task;
+
+/**
+ * A single write within a batch request.
+ *
+ * @param op the kind of write
+ * @param id the target task id; required for everything except {@link Type#CREATE}
+ * @param task the task body; required for {@link Type#CREATE} and {@link Type#UPDATE}
+ */
+public record TaskOperation(Type op, Long id, Task task) {
+
+    public enum Type {
+        CREATE, UPDATE, COMPLETE, DELETE
+    }
+}
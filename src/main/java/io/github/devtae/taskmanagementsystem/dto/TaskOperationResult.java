@@ -0,0 +1,29 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.github.devtae.taskmanagementsystem.model.Task;
+
+/**
+ * Outcome of one operation in a batch. {@code status} uses the HTTP status the equivalent
+ * single-task endpoint would have returned; 424 marks work rolled back because another
+ * operation in an atomic batch failed.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskOperationResult(int index, TaskOperation.Type op, Long id, int status, Task task, String error) {
+
+    public static TaskOperationResult success(int index, TaskOperation.Type op, int status, Task task) {
+        return new TaskOperationResult(index, op, task.getId(), status, task, null);
+    }
+
+    public static TaskOperationResult deleted(int index, Long id) {
+        return new TaskOperationResult(index, TaskOperation.Type.DELETE, id, 204, null, null);
+    }
+
+    public static TaskOperationResult failure(int index, TaskOperation.Type op, Long id, int status, String error) {
+        return new TaskOperationResult(index, op, id, status, null, error);
+    }
+
+    public boolean succeeded() {
+        return status < 400;
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated task listing.
+ *
+ * @param items the tasks on this page, ordered by creation time and id
+ * @param nextCursor opaque token for the next page, or null when this is the last page
+ */
+public record TaskPage(List<TaskSnapshot> items, String nextCursor) {
+}
@@ -0,0 +1,124 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.devtae.taskmanagementsystem.exception.InvalidRequestException;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The editable fields a JSON Merge Patch (RFC 7396) sets. A field the patch leaves out is null here and stays
+ * as it is; a field set to JSON null is cleared.
+ *
+ * @param title the new title, or null to keep it
+ * @param description the new description, empty to clear it, or null to keep it
+ * @param dueDate the new due date, empty to clear it, or null to keep it
+ * @param completed the new completion state, or null to keep it
+ */
+public record TaskPatch(String title, Optional<String> description, Optional<LocalDateTime> dueDate,
+                        Boolean completed) {
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    /**
+     * Reads a merge patch, checking each value against the constraints declared on {@link Task}, so a patch
+     * follows the same rules as a full task body. Only the editable fields may appear; ids, timestamps and
+     * the version are set by the server.
+     */
+    public static TaskPatch from(JsonNode patch, Validator validator) {
+        if (patch == null || !patch.isObject()) {
+            throw new InvalidRequestException("A merge patch must be a JSON object");
+        }
+        String title = null;
+        Optional<String> description = null;
+        Optional<LocalDateTime> dueDate = null;
+        Boolean completed = null;
+        for (Iterator<Map.Entry<String, JsonNode>> fields = patch.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            switch (field.getKey()) {
+                // Anything but a string is checked as null, which the title's constraints reject
+                case "title" -> title = validated(validator, "title", value.isTextual() ? value.asText() : null);
+                case "description" -> {
+                    if (!value.isNull() && !value.isTextual()) {
+                        throw new InvalidRequestException("description: Description must be a string or null");
+                    }
+                    description = Optional.ofNullable(validated(validator, "description",
+                            value.isNull() ? null : value.asText()));
+                }
+                case "dueDate" -> dueDate = value.isNull() ? Optional.empty() : Optional.of(dateTime(value));
+                case "completed" -> {
+                    if (!value.isBoolean()) {
+                        throw new InvalidRequestException("completed: Completed must be true or false");
+                    }
+                    completed = value.asBoolean();
+                }
+                default -> throw new InvalidRequestException("Cannot patch field: " + field.getKey());
+            }
+        }
+        return new TaskPatch(title, description, dueDate, completed);
+    }
+
+    private static String validated(Validator validator, String property, String value) {
+        Set<ConstraintViolation<Task>> violations = validator.validateValue(Task.class, property, value);
+        if (!violations.isEmpty()) {
+            throw new InvalidRequestException(violations.stream()
+                    .map(violation -> property + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return value;
+    }
+
+    private static LocalDateTime dateTime(JsonNode value) {
+        try {
+            if (value.isTextual()) {
+                return LocalDateTime.parse(value.asText());
+            }
+        } catch (DateTimeParseException ignored) {
+            // Reported below with the other wrong types
+        }
+        throw new InvalidRequestException("dueDate: Due date must be an ISO date-time or null");
+    }
+
+    /**
+     * @return true if the patch names no field at all
+     */
+    public boolean isEmpty() {
+        return title == null && description == null && dueDate == null && completed == null;
+    }
+
+    /**
+     * Applies the patch to a task.
+     *
+     * @return true if any field actually changed, false otherwise
+     */
+    public boolean applyTo(Task task) {
+        boolean updated = false;
+        if (title != null && !title.equals(task.getTitle())) {
+            task.setTitle(title);
+            updated = true;
+        }
+        if (description != null && !Objects.equals(description.orElse(null), task.getDescription())) {
+            task.setDescription(description.orElse(null));
+            updated = true;
+        }
+        if (dueDate != null && !Objects.equals(dueDate.orElse(null), task.getDueDate())) {
+            task.setDueDate(dueDate.orElse(null));
+            updated = true;
+        }
+        if (completed != null && completed != task.isCompleted()) {
+            task.setCompleted(completed);
+            updated = true;
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+
+/**
+ * How a task repeats.
+ *
+ * @param rule an RRULE-style repeat rule, such as {@code FREQ=DAILY} or {@code FREQ=WEEKLY;BYDAY=MO,WE,FR}
+ * @param startsAt the first occurrence; defaults to the task's due date
+ */
+public record TaskSchedule(@NotBlank(message = "Rule cannot be blank")
+                           @Size(max = 200, message = "Rule cannot be longer than 200 characters") String rule,
+                           LocalDateTime startsAt) {
+}
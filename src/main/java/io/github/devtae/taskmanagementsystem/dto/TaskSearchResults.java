@@ -0,0 +1,15 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+import java.util.List;
+
+/**
+ * One page of full-text search hits, best match first.
+ *
+ * @param query the search text as submitted
+ * @param page the zero-based page number
+ * @param size the page size actually applied
+ * @param hasNext whether a further page of hits exists
+ * @param items the matching tasks on this page
+ */
+public record TaskSearchResults(String query, int page, int size, boolean hasNext, List<TaskSnapshot> items) {
+}
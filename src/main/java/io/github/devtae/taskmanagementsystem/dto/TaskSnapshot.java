@@ -0,0 +1,33 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+import io.github.devtae.taskmanagementsystem.model.Task;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of a task's state, safe to share between threads and keep outside a persistence context.
+ */
+public record TaskSnapshot(Long id, String title, String description, LocalDateTime dueDate, boolean completed,
+                           LocalDateTime createdAt, LocalDateTime updatedAt, long version) implements TaskView {
+
+    public static TaskSnapshot from(Task task) {
+        return new TaskSnapshot(task.getId(), task.getTitle(), task.getDescription(), task.getDueDate(),
+                task.isCompleted(), task.getCreatedAt(), task.getUpdatedAt(), task.getVersion());
+    }
+
+    /**
+     * Returns a new, detached {@link Task} carrying this snapshot's state.
+     */
+    public Task toTask() {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setDueDate(dueDate);
+        task.setCompleted(completed);
+        task.setCreatedAt(createdAt);
+        task.setUpdatedAt(updatedAt);
+        task.setVersion(version);
+        return task;
+    }
+}
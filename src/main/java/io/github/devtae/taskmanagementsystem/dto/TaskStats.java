@@ -0,0 +1,18 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate task figures for dashboards.
+ *
+ * @param total all tasks
+ * @param open tasks not yet completed
+ * @param completed completed tasks
+ * @param overdue open tasks due before the current minute
+ * @param dueToday open tasks due at any time today, including those already overdue
+ * @param dueThisWeek open tasks due from the start of today to the end of the week
+ * @param asOf the time the figures were taken at
+ */
+public record TaskStats(long total, long open, long completed, long overdue, long dueToday, long dueThisWeek,
+                        LocalDateTime asOf) {
+}
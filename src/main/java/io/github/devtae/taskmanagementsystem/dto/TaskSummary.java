@@ -0,0 +1,10 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A task without its description, for list views that only show titles, dates and state.
+ */
+public record TaskSummary(Long id, String title, LocalDateTime dueDate, boolean completed,
+                          LocalDateTime createdAt, LocalDateTime updatedAt, long version) implements TaskView {
+}
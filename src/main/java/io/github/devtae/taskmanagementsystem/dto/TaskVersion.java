@@ -0,0 +1,13 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * The two columns a conditional request is validated against, without the rest of the task.
+ */
+public record TaskVersion(long version, LocalDateTime updatedAt) {
+
+    public static TaskVersion of(TaskSnapshot snapshot) {
+        return new TaskVersion(snapshot.version(), snapshot.updatedAt());
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.devtae.taskmanagementsystem.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * The sortable values shared by the read views a task listing can return.
+ */
+public interface TaskView {
+
+    Long id();
+
+    String title();
+
+    LocalDateTime dueDate();
+
+    boolean completed();
+
+    LocalDateTime createdAt();
+
+    LocalDateTime updatedAt();
+}
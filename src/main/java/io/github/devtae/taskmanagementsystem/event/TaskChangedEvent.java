@@ -0,0 +1,35 @@
+package io.github.devtae.taskmanagementsystem.event;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskDueState;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.model.Task;
+
+/**
+ * Published inside the writing transaction whenever a task is created, changed, archived or deleted.
+ * Listeners that must only see committed state should use a {@code @TransactionalEventListener}.
+ *
+ * @param type what happened to the task
+ * @param taskId the id of the affected task
+ * @param task the task's state after the change, or null when it was deleted. An archived task keeps its
+ *             state, but has left the tasks table
+ * @param before the task's due date and completion in the tasks table as the writing transaction found them,
+ *               or null when it was not there: a new task, or an archived one being deleted
+ */
+public record TaskChangedEvent(ChangeType type, Long taskId, TaskSnapshot task, TaskDueState before) {
+
+    public enum ChangeType {
+        CREATED, UPDATED, COMPLETED, ARCHIVED, DELETED
+    }
+
+    public static TaskChangedEvent created(Task task) {
+        return new TaskChangedEvent(ChangeType.CREATED, task.getId(), TaskSnapshot.from(task), null);
+    }
+
+    public static TaskChangedEvent of(ChangeType type, Task task, TaskDueState before) {
+        return new TaskChangedEvent(type, task.getId(), TaskSnapshot.from(task), before);
+    }
+
+    public static TaskChangedEvent deleted(Long taskId, TaskDueState before) {
+        return new TaskChangedEvent(ChangeType.DELETED, taskId, null, before);
+    }
+}
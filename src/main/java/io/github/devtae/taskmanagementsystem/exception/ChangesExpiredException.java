@@ -0,0 +1,7 @@
+package io.github.devtae.taskmanagementsystem.exception;
+
+public class ChangesExpiredException extends RuntimeException {
+    public ChangesExpiredException(String message) {
+        super(message);
+    }
+}
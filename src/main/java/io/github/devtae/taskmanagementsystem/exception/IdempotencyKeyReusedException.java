@@ -0,0 +1,7 @@
+package io.github.devtae.taskmanagementsystem.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
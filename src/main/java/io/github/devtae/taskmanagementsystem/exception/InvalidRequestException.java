@@ -0,0 +1,7 @@
+package io.github.devtae.taskmanagementsystem.exception;
+
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
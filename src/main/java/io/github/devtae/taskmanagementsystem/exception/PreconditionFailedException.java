@@ -0,0 +1,7 @@
+package io.github.devtae.taskmanagementsystem.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
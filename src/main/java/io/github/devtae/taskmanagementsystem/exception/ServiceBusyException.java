@@ -0,0 +1,7 @@
+package io.github.devtae.taskmanagementsystem.exception;
+
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
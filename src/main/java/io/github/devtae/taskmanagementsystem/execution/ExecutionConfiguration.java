@@ -0,0 +1,89 @@
+package io.github.devtae.taskmanagementsystem.execution;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Switches request handling to virtual threads when {@code tasks.execution.threads=virtual}. Each request
+ * then gets its own cheap thread, so the HikariCP pool size rather than Tomcat's thread count bounds how
+ * much work reaches the database at once.
+ */
+@Configuration
+public class ExecutionConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "tasks.execution", name = "threads", havingValue = "virtual")
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = VirtualThreads.newExecutor();
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    /**
+     * Runs asynchronous MVC work, such as the NDJSON stream, on virtual threads as well. Replaces the
+     * bounded pool Spring Boot would otherwise create.
+     */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    @ConditionalOnProperty(prefix = "tasks.execution", name = "threads", havingValue = "virtual")
+    public AsyncTaskExecutor virtualThreadTaskExecutor() {
+        return new TaskExecutorAdapter(VirtualThreads.newExecutor());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "tasks.execution", name = "fair-queue", havingValue = "true")
+    public static BeanPostProcessor fairQueueDataSourcePostProcessor(ObjectProvider<ExecutionProperties> properties) {
+        return new FairQueuePostProcessor(properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "tasks.execution", name = "fair-queue", havingValue = "true")
+    public MeterBinder fairQueueMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof FairQueueDataSource queue) {
+                queue.bindTo(registry);
+            }
+        };
+    }
+
+    /**
+     * Ordered first, so it still sees the bare Hikari pool when other post-processors decorate the data
+     * source as well.
+     */
+    private static final class FairQueuePostProcessor implements BeanPostProcessor, Ordered {
+        private final ObjectProvider<ExecutionProperties> properties;
+
+        private FairQueuePostProcessor(ObjectProvider<ExecutionProperties> properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource hikari) {
+                // Hikari only applies its default of 10 when the pool starts
+                int poolSize = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : 10;
+                return new FairQueueDataSource(hikari, poolSize, properties.getObject().queueTimeout());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.devtae.taskmanagementsystem.execution;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for how requests are executed and how they queue for database connections.
+ *
+ * @param threads whether requests run on Tomcat's platform-thread pool or on one virtual thread each
+ * @param fairQueue whether callers wait for a pooled connection in strict arrival order
+ * @param queueTimeout how long a caller waits in the fair queue before the request fails with 503
+ */
+@ConfigurationProperties(prefix = "tasks.execution")
+public record ExecutionProperties(@DefaultValue("platform") Threads threads,
+                                  @DefaultValue("false") boolean fairQueue,
+                                  @DefaultValue("30s") Duration queueTimeout) {
+
+    public enum Threads {
+        PLATFORM,
+        VIRTUAL
+    }
+}
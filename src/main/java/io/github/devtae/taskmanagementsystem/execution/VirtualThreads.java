@@ -0,0 +1,44 @@
+package io.github.devtae.taskmanagementsystem.execution;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Looks up {@code Executors.newVirtualThreadPerTaskExecutor()} at runtime, so the application still
+ * compiles for and runs on Java 17 as long as virtual-thread mode is not switched on.
+ */
+final class VirtualThreads {
+
+    private static final MethodHandle NEW_EXECUTOR = findExecutorFactory();
+
+    private VirtualThreads() {
+    }
+
+    static boolean isSupported() {
+        return NEW_EXECUTOR != null;
+    }
+
+    static ExecutorService newExecutor() {
+        if (NEW_EXECUTOR == null) {
+            throw new IllegalStateException(
+                    "tasks.execution.threads=virtual requires Java 21 or later, running on " + Runtime.version());
+        }
+        try {
+            return (ExecutorService) NEW_EXECUTOR.invokeExact();
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Could not create a virtual-thread executor", ex);
+        }
+    }
+
+    private static MethodHandle findExecutorFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.devtae.taskmanagementsystem.format;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Adds CBOR and Smile alongside JSON, chosen by the {@code Accept} header. JSON stays the default for
+ * clients that accept anything.
+ */
+@Configuration
+public class FormatConfiguration implements WebMvcConfigurer {
+
+    private final ResponseFormats formats;
+
+    // Each builder from Spring Boot carries the application's Jackson settings and modules
+    public FormatConfiguration(ObjectMapper objectMapper, ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        this.formats = new ResponseFormats(objectMapper,
+                builders.getObject().factory(new CBORFactory()).build(),
+                builders.getObject().factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public ResponseFormats responseFormats() {
+        return formats;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MappingJackson2CborHttpMessageConverter(formats.cbor()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(formats.smile()));
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.devtae.taskmanagementsystem.format;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * The encodings task responses can be written in, each with an {@link ObjectMapper} carrying the same
+ * settings as the JSON one, so every format holds the same fields with the same values.
+ */
+public final class ResponseFormats {
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    public static final String CBOR_VALUE = MediaType.APPLICATION_CBOR_VALUE;
+    // Concatenated CBOR items, RFC 8742
+    public static final String CBOR_SEQ_VALUE = "application/cbor-seq";
+    // Smile allows several root values in one document, so the same type serves single values and streams
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    public static final MediaType NDJSON = MediaType.parseMediaType(NDJSON_VALUE);
+    public static final MediaType CBOR_SEQ = MediaType.parseMediaType(CBOR_SEQ_VALUE);
+    public static final MediaType SMILE = MediaType.parseMediaType(SMILE_VALUE);
+
+    private static final List<MediaType> STREAM_FORMATS = List.of(NDJSON, CBOR_SEQ, SMILE);
+    private static final List<MediaType> BODY_FORMATS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR,
+            SMILE);
+
+    private final ObjectMapper json;
+    private final ObjectMapper cbor;
+    private final ObjectMapper smile;
+
+    public ResponseFormats(ObjectMapper json, ObjectMapper cbor, ObjectMapper smile) {
+        this.json = json;
+        this.cbor = cbor;
+        this.smile = smile;
+    }
+
+    public ObjectMapper cbor() {
+        return cbor;
+    }
+
+    public ObjectMapper smile() {
+        return smile;
+    }
+
+    /**
+     * Picks the stream format for an {@code Accept} header, preferring the most specific and highest
+     * quality match and falling back to NDJSON.
+     */
+    public static MediaType streamFormat(String accept) {
+        return negotiate(accept, STREAM_FORMATS);
+    }
+
+    /**
+     * Picks the format a single response body is written in for an {@code Accept} header, the way the
+     * message converters do: the most specific match, with JSON for clients that accept anything.
+     */
+    public static MediaType bodyFormat(String accept) {
+        return negotiate(accept, BODY_FORMATS);
+    }
+
+    private static MediaType negotiate(String accept, List<MediaType> formats) {
+        if (accept == null || accept.isBlank()) {
+            return formats.get(0);
+        }
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            for (MediaType format : formats) {
+                if (type.includes(format) && type.getQualityValue() > 0) {
+                    return format;
+                }
+            }
+        }
+        return formats.get(0);
+    }
+
+    /**
+     * Opens a stream of values of the given type in the given format. One generator is used for the whole
+     * stream, so binary formats share their header and back-references across values and nothing is
+     * flushed until the output buffer fills.
+     */
+    public <T> ValueStream<T> openStream(MediaType format, Class<T> type, OutputStream out) throws IOException {
+        ObjectMapper mapper = SMILE.equalsTypeAndSubtype(format) ? smile
+                : CBOR_SEQ.equalsTypeAndSubtype(format) ? cbor
+                : json;
+        ObjectWriter writer = mapper.writerFor(type)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        boolean lineDelimited = mapper == json;
+        if (lineDelimited) {
+            // Values are ended by a newline instead of separated by the default space
+            writer = writer.withRootValueSeparator("");
+        }
+        return new ValueStream<>(writer, writer.createGenerator(out), lineDelimited);
+    }
+
+    /**
+     * Writes values one after another; JSON values are each followed by a newline.
+     */
+    public static final class ValueStream<T> implements AutoCloseable {
+        private final ObjectWriter writer;
+        private final JsonGenerator generator;
+        private final boolean lineDelimited;
+
+        private ValueStream(ObjectWriter writer, JsonGenerator generator, boolean lineDelimited) {
+            this.writer = writer;
+            this.generator = generator;
+            this.lineDelimited = lineDelimited;
+        }
+
+        public void write(T value) throws IOException {
+            writer.writeValue(generator, value);
+            if (lineDelimited) {
+                generator.writeRaw('\n');
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+}
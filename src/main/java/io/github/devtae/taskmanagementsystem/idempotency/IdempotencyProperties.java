@@ -0,0 +1,35 @@
+package io.github.devtae.taskmanagementsystem.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@code Idempotency-Key} handling.
+ *
+ * @param enabled whether idempotency keys are honoured at all
+ * @param maximumSize the most responses held in memory
+ * @param ttl how long a response is kept for replay after the request that produced it
+ * @param store where responses are kept
+ * @param waitTimeout how long a duplicate waits for the request it repeats to finish before getting a 503
+ * @param purgeInterval how often expired responses are deleted from the table
+ */
+@ConfigurationProperties(prefix = "tasks.idempotency")
+public record IdempotencyProperties(@DefaultValue("true") boolean enabled,
+                                    @DefaultValue("100000") long maximumSize,
+                                    @DefaultValue("24h") Duration ttl,
+                                    @DefaultValue("memory") Store store,
+                                    @DefaultValue("10s") Duration waitTimeout,
+                                    @DefaultValue("10m") Duration purgeInterval) {
+
+    public enum Store {
+        /** Responses are only held in memory, by each instance for itself, and are lost on restart. */
+        MEMORY,
+        /**
+         * Responses are also written to the {@code idempotency_keys} table in the same transaction as the
+         * change, so they survive restarts and are shared between instances.
+         */
+        TABLE
+    }
+}
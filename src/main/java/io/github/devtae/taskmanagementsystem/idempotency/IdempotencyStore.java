@@ -0,0 +1,332 @@
+package io.github.devtae.taskmanagementsystem.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.github.devtae.taskmanagementsystem.exception.IdempotencyKeyReusedException;
+import io.github.devtae.taskmanagementsystem.exception.InvalidRequestException;
+import io.github.devtae.taskmanagementsystem.exception.ServiceBusyException;
+import io.github.devtae.taskmanagementsystem.model.IdempotencyRecord;
+import io.github.devtae.taskmanagementsystem.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request sent with an {@code Idempotency-Key} once and answers repeats of it with the stored
+ * response, without touching the database.
+ * <p>
+ * Responses are held in a cache bounded by size and time-to-live. The first request for a key puts a
+ * pending entry in the cache and runs; duplicates arriving meanwhile find that entry and wait for its
+ * result instead of running again. Only the key's own entry is contended, never a shared lock. A request
+ * that fails with an exception leaves nothing behind, so it can be retried with the same key; duplicates
+ * that were waiting on it fail the same way.
+ * <p>
+ * With the {@code table} store, the response is also written to {@code idempotency_keys} in the same
+ * transaction as the change itself. A key is then honoured after a restart and across instances: a
+ * duplicate running on another instance blocks on the key's row until the first commits, then rolls back
+ * and replays the stored response.
+ */
+@Component
+@ConditionalOnProperty(prefix = "tasks.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyStore implements SmartLifecycle {
+    public static final String HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final TypeReference<Map<String, String>> HEADERS = new TypeReference<>() {
+    };
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final Cache<String, CompletableFuture<StoredResponse>> responses;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    // Only set with the table store
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transaction;
+    private final Clock clock;
+    private final Counter executed;
+    private final Counter replayed;
+
+    private ScheduledExecutorService purger;
+
+    // The repository and transaction manager are only looked up for the table store; without a database,
+    // as with the in-memory storage engine, they do not exist.
+    @Autowired
+    public IdempotencyStore(IdempotencyProperties properties, ObjectMapper objectMapper,
+                            ObjectProvider<IdempotencyRecordRepository> repository,
+                            ObjectProvider<PlatformTransactionManager> transactionManager,
+                            MeterRegistry meterRegistry) {
+        this(properties, objectMapper,
+                properties.store() == IdempotencyProperties.Store.TABLE ? repository.getObject() : null,
+                properties.store() == IdempotencyProperties.Store.TABLE ? transactionManager.getObject() : null,
+                meterRegistry, Ticker.systemTicker(), Clock.systemDefaultZone());
+    }
+
+    IdempotencyStore(IdempotencyProperties properties, ObjectMapper objectMapper,
+                     IdempotencyRecordRepository repository, PlatformTransactionManager transactionManager,
+                     MeterRegistry meterRegistry, Ticker ticker, Clock clock) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        boolean table = properties.store() == IdempotencyProperties.Store.TABLE;
+        this.repository = table ? repository : null;
+        this.transaction = table ? new TransactionTemplate(transactionManager) : null;
+        this.clock = clock;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .ticker(ticker)
+                .build();
+        this.executed = requests(meterRegistry, "executed");
+        this.replayed = requests(meterRegistry, "replayed");
+        Gauge.builder("tasks.idempotency.responses", responses, Cache::estimatedSize)
+                .description("Responses held in memory for replay")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code action} unless a request with the same key already ran, in which case its response is
+     * returned again with an {@code Idempotent-Replayed} header. Only successful responses are kept.
+     *
+     * @param key the client's idempotency key
+     * @param operation the method and path of the request, which a repeat must match
+     * @param request the request body, which a repeat must also match, or null
+     * @throws IdempotencyKeyReusedException if the key was used for a different request
+     * @throws ServiceBusyException if the original request is still running after the wait timeout
+     */
+    public ResponseEntity<?> execute(String key, String operation, Object request, Supplier<ResponseEntity<?>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidRequestException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String fingerprint = fingerprint(operation, request);
+        CompletableFuture<StoredResponse> pending = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> existing = responses.asMap().putIfAbsent(key, pending);
+        if (existing != null) {
+            return replay(await(existing), fingerprint);
+        }
+
+        try {
+            Outcome outcome = transaction == null
+                    ? new Outcome(action.get(), null)
+                    : runRecorded(key, fingerprint, action);
+            StoredResponse stored = outcome.stored() != null
+                    ? outcome.stored()
+                    : store(fingerprint, outcome.response());
+            pending.complete(stored);
+            if (!stored.successful()) {
+                responses.asMap().remove(key, pending);
+            }
+            if (outcome.response() == null) {
+                return replay(stored, fingerprint);
+            }
+            executed.increment();
+            return outcome.response();
+        } catch (RuntimeException | Error e) {
+            responses.asMap().remove(key, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Outcome runRecorded(String key, String fingerprint, Supplier<ResponseEntity<?>> action) {
+        try {
+            return transaction.execute(status -> {
+                Optional<StoredResponse> found = find(key);
+                if (found.isPresent()) {
+                    return new Outcome(null, found.get());
+                }
+                IdempotencyRecord record = new IdempotencyRecord();
+                record.setKey(key);
+                record.setFingerprint(fingerprint);
+                record.setCreatedAt(LocalDateTime.now(clock));
+                // Claims the key; a concurrent claim elsewhere waits here for this transaction to end
+                record = repository.saveAndFlush(record);
+
+                ResponseEntity<?> response = action.get();
+                StoredResponse stored = store(fingerprint, response);
+                if (stored.successful()) {
+                    record.setStatus(stored.status());
+                    record.setHeaders(write(stored.headers()));
+                    record.setBody(stored.body() == null ? null : write(stored.body()));
+                } else {
+                    repository.delete(record);
+                }
+                return new Outcome(response, stored);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance claimed the key first and has committed by now
+            StoredResponse stored = transaction.execute(status -> find(key)).orElseThrow(() -> e);
+            return new Outcome(null, stored);
+        }
+    }
+
+    private Optional<StoredResponse> find(String key) {
+        LocalDateTime expired = LocalDateTime.now(clock).minus(properties.ttl());
+        return repository.findById(key)
+                .filter(record -> record.getStatus() != null && record.getCreatedAt().isAfter(expired))
+                .map(record -> new StoredResponse(record.getFingerprint(), record.getStatus(),
+                        read(record.getHeaders(), HEADERS),
+                        record.getBody() == null ? null : read(record.getBody(), JsonNode.class)));
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> existing) {
+        try {
+            return existing.get(properties.waitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceBusyException("The original request with this " + HEADER + " is still running");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while waiting for the original request");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private ResponseEntity<?> replay(StoredResponse stored, String fingerprint) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException(HEADER + " was already used for a different request");
+        }
+        replayed.increment();
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(stored.status());
+        stored.headers().forEach(builder::header);
+        return builder.header(REPLAYED_HEADER, "true").body(stored.body());
+    }
+
+    private StoredResponse store(String fingerprint, ResponseEntity<?> response) {
+        Map<String, String> headers = new LinkedHashMap<>(response.getHeaders().toSingleValueMap());
+        JsonNode body = response.getBody() == null ? null : objectMapper.valueToTree(response.getBody());
+        return new StoredResponse(fingerprint, response.getStatusCode().value(), headers, body);
+    }
+
+    private String fingerprint(String operation, Object request) {
+        if (request == null) {
+            return operation;
+        }
+        try {
+            return operation + " " + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T read(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T read(String json, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void purgeExpired() {
+        int deleted = repository.deleteCreatedBefore(LocalDateTime.now(clock).minus(properties.ttl()));
+        if (deleted > 0) {
+            log.debug("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (repository == null) {
+            return;
+        }
+        purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.purgeInterval().toMillis();
+        purger.scheduleWithFixedDelay(this::purgeSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (purger != null) {
+            purger.shutdownNow();
+            purger = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return purger != null;
+    }
+
+    private void purgeSafely() {
+        try {
+            purgeExpired();
+        } catch (RuntimeException e) {
+            log.warn("Purging expired idempotency keys failed", e);
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("tasks.idempotency.requests")
+                .description("Requests sent with an idempotency key, by whether they ran or were replayed")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param response the response produced here, or null if a stored one is replayed instead
+     * @param stored the stored response, or null if it is yet to be made from {@code response}
+     */
+    private record Outcome(ResponseEntity<?> response, StoredResponse stored) {
+    }
+
+    record StoredResponse(String fingerprint, int status, Map<String, String> headers, JsonNode body) {
+        boolean successful() {
+            return status >= 200 && status < 300;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package io.github.devtae.taskmanagementsystem.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * An append-only local journal of accepted creates, one JSON line per task.
+ * <p>
+ * Appends go to the current segment file and are fsync'd before {@link #append} returns. Threads that
+ * append while an fsync is running share the next one, so under load one fsync covers many creates. A
+ * segment is deleted once it has been rolled over and every create in it has been written or has failed.
+ */
+class IngestJournal implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(IngestJournal.class);
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d+)\\.log");
+
+    private final Path directory;
+    private final long segmentSize;
+    private final ObjectMapper objectMapper;
+    private final Object syncLock = new Object();
+
+    // Guarded by this.
+    private Segment current;
+    private long nextSegment;
+
+    IngestJournal(Path directory, long segmentSize, ObjectMapper objectMapper) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.objectMapper = objectMapper;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Reads every create left in the journal by an earlier run. The caller must report each one to
+     * {@link #completed} once it has been dealt with, exactly as for appended ones.
+     */
+    synchronized List<Entry> recover() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        for (Path file : segmentFiles()) {
+            Segment segment = new Segment(file, null);
+            segment.sealed = true;
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    try {
+                        entries.add(new Entry(objectMapper.readValue(line, Task.class), segment));
+                        segment.appended.incrementAndGet();
+                    } catch (JsonProcessingException e) {
+                        // The process died part way through this append, before the create was acknowledged
+                        log.warn("Skipping unreadable journal entry in {}", file);
+                    }
+                }
+            }
+            nextSegment = Math.max(nextSegment, segmentNumber(file) + 1);
+            segment.deleteIfDone();
+        }
+        return entries;
+    }
+
+    /**
+     * Appends a create and returns once it is on disk.
+     */
+    Segment append(Task task) throws IOException {
+        byte[] line = (objectMapper.writeValueAsString(task) + "\n").getBytes(StandardCharsets.UTF_8);
+        Segment segment;
+        long end;
+        synchronized (this) {
+            if (current == null || current.written >= segmentSize) {
+                rollOver();
+            }
+            segment = current;
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                segment.channel.write(buffer);
+            }
+            segment.appended.incrementAndGet();
+            end = segment.written += line.length;
+        }
+        sync(segment, end);
+        return segment;
+    }
+
+    /**
+     * Records that a create from the given segment has been written or has failed for good.
+     */
+    void completed(Segment segment) {
+        segment.done.incrementAndGet();
+        segment.deleteIfDone();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (current != null) {
+            seal(current);
+            current = null;
+        }
+    }
+
+    private void sync(Segment segment, long end) throws IOException {
+        synchronized (syncLock) {
+            if (segment.synced >= end || segment.sealed) {
+                return;
+            }
+            // Everything appended so far is covered, including appends made after this one
+            long written = segment.written;
+            segment.channel.force(false);
+            segment.synced = written;
+        }
+    }
+
+    private void rollOver() throws IOException {
+        if (current != null) {
+            seal(current);
+        }
+        Path file = directory.resolve("segment-" + nextSegment++ + ".log");
+        current = new Segment(file, FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+    }
+
+    private void seal(Segment segment) throws IOException {
+        synchronized (syncLock) {
+            segment.channel.force(false);
+            segment.channel.close();
+            segment.synced = segment.written;
+            segment.sealed = true;
+        }
+        segment.deleteIfDone();
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> SEGMENT_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparingLong(IngestJournal::segmentNumber))
+                    .toList();
+        }
+    }
+
+    private static long segmentNumber(Path file) {
+        Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    record Entry(Task task, Segment segment) {
+    }
+
+    static final class Segment {
+        private final Path file;
+        private final FileChannel channel;
+        private final AtomicInteger appended = new AtomicInteger();
+        private final AtomicInteger done = new AtomicInteger();
+        private volatile long written;
+        private volatile long synced;
+        private volatile boolean sealed;
+        private volatile boolean deleted;
+
+        private Segment(Path file, FileChannel channel) {
+            this.file = file;
+            this.channel = channel;
+        }
+
+        private void deleteIfDone() {
+            if (!sealed || done.get() < appended.get()) {
+                return;
+            }
+            synchronized (this) {
+                if (deleted) {
+                    return;
+                }
+                deleted = true;
+            }
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete journal segment {}", file, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.devtae.taskmanagementsystem.ingest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for asynchronous task creation.
+ *
+ * @param enabled whether creates can be accepted asynchronously at all
+ * @param always whether every create is accepted asynchronously, not only those sent with
+ *               {@code Prefer: respond-async}
+ * @param queueCapacity the most accepted creates not yet written; further creates get a 503
+ * @param batchSize the most creates written in one transaction
+ * @param linger how long the writer waits for more creates to share a transaction with
+ * @param durability whether accepted creates survive a crash before they are written
+ * @param journalDirectory where the journal is kept when {@code durability} is {@code journal}
+ * @param journalSegmentSize the size at which the journal moves on to a new file
+ * @param statusRetention how long the outcome of a written create can still be looked up
+ */
+@ConfigurationProperties(prefix = "tasks.ingestion")
+public record IngestProperties(@DefaultValue("false") boolean enabled,
+                               @DefaultValue("false") boolean always,
+                               @DefaultValue("10000") int queueCapacity,
+                               @DefaultValue("500") int batchSize,
+                               @DefaultValue("2ms") Duration linger,
+                               @DefaultValue("memory") Durability durability,
+                               @DefaultValue("ingest-journal") Path journalDirectory,
+                               @DefaultValue("64MB") DataSize journalSegmentSize,
+                               @DefaultValue("10m") Duration statusRetention) {
+
+    public enum Durability {
+        /** Accepted creates are only held in memory and are lost if the process dies before writing them. */
+        MEMORY,
+        /** Accepted creates are appended to a local journal and fsync'd before the 202 is sent. */
+        JOURNAL
+    }
+}
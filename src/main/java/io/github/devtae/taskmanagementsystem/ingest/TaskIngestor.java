@@ -0,0 +1,355 @@
+package io.github.devtae.taskmanagementsystem.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.devtae.taskmanagementsystem.dto.TaskIngestStatus;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent;
+import io.github.devtae.taskmanagementsystem.exception.ServiceBusyException;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import io.github.devtae.taskmanagementsystem.repository.TaskIdAllocator;
+import io.github.devtae.taskmanagementsystem.repository.TaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Accepts task creates without waiting for the database and writes them behind in batches.
+ * <p>
+ * An accepted task is given its id straight away from the same sequence Hibernate uses, so the client can
+ * refer to it before it exists. Creates wait in a bounded lock-free queue; when it is full, further creates
+ * are refused with a 503 rather than queued without limit. A single writer thread drains the queue,
+ * lingering briefly so that creates arriving close together share one JDBC batch and one commit.
+ * <p>
+ * With {@code journal} durability every create is fsync'd to a local journal before it is acknowledged and
+ * replayed on the next start if the process dies before writing it. With {@code memory} durability, creates
+ * still queued when the process dies are lost.
+ */
+@Component
+@ConditionalOnProperty(prefix = "tasks.ingestion", name = "enabled", havingValue = "true")
+public class TaskIngestor implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(TaskIngestor.class);
+    private static final String INSERT = "INSERT INTO tasks (id, title, description, due_date, completed, "
+            + "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final IngestProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TaskIdAllocator taskIds;
+
+    private final Queue<PendingCreate> queue = new ConcurrentLinkedQueue<>();
+    // Counts accepted creates until they are written, so it also bounds the batch being written.
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final Map<Long, PendingCreate> pending = new ConcurrentHashMap<>();
+    private final Cache<Long, TaskIngestStatus> finished;
+
+    private IngestJournal journal;
+    private volatile Thread writer;
+    private volatile boolean accepting;
+    private volatile boolean running;
+
+    @Autowired
+    public TaskIngestor(IngestProperties properties, JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager, TaskRepository taskRepository,
+                        ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper,
+                        EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.taskIds = new TaskIdAllocator(entityManagerFactory);
+        this.finished = Caffeine.newBuilder()
+                .expireAfterWrite(properties.statusRetention())
+                .maximumSize(Math.max(properties.queueCapacity() * 10L, 10_000))
+                .build();
+        Gauge.builder("tasks.ingestion.queued", outstanding, AtomicInteger::get)
+                .description("Accepted task creates not yet written")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (properties.durability() == IngestProperties.Durability.JOURNAL) {
+            try {
+                journal = new IngestJournal(properties.journalDirectory(),
+                        properties.journalSegmentSize().toBytes(), objectMapper);
+                replay(journal.recover());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not open the ingestion journal", e);
+            }
+        }
+        running = true;
+        accepting = true;
+        writer = new Thread(this::drain, "task-ingest-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops accepting creates and gives the writer a bounded time to write those already accepted.
+     */
+    @Override
+    public synchronized void stop() {
+        if (writer == null) {
+            return;
+        }
+        accepting = false;
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(SHUTDOWN_TIMEOUT.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            writer.interrupt();
+            log.warn("Stopped with {} task creates not written", outstanding.get());
+        }
+        writer = null;
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                log.warn("Could not close the ingestion journal", e);
+            }
+            journal = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return writer != null;
+    }
+
+    // Stop after the web server, so requests it is still finishing can be accepted and then written.
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * Whether a create sent with the given {@code Prefer} header should be accepted asynchronously.
+     */
+    public boolean accepts(String prefer) {
+        return properties.always() || (prefer != null && prefer.toLowerCase().contains("respond-async"));
+    }
+
+    /**
+     * Assigns the task an id and queues it to be written.
+     *
+     * @throws ServiceBusyException if the queue is full or the ingestor is shutting down
+     */
+    public TaskIngestStatus submit(Task task) {
+        if (!accepting) {
+            throw new ServiceBusyException("Task ingestion is not accepting creates");
+        }
+        if (outstanding.incrementAndGet() > properties.queueCapacity()) {
+            outstanding.decrementAndGet();
+            throw new ServiceBusyException("Task ingestion queue is full");
+        }
+        try {
+            task.setId(taskIds.next());
+            IngestJournal.Segment segment = journal == null ? null : journal.append(task);
+            enqueue(new PendingCreate(task, segment));
+            return TaskIngestStatus.pending(task.getId());
+        } catch (IOException e) {
+            outstanding.decrementAndGet();
+            throw new UncheckedIOException("Could not journal the task", e);
+        } catch (RuntimeException e) {
+            outstanding.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the state of a create accepted by this ingestor, or null if it knows nothing about the id.
+     */
+    public TaskIngestStatus status(Long id) {
+        if (pending.containsKey(id)) {
+            return TaskIngestStatus.pending(id);
+        }
+        return finished.getIfPresent(id);
+    }
+
+    int queued() {
+        return outstanding.get();
+    }
+
+
+    private void enqueue(PendingCreate create) {
+        pending.put(create.task().getId(), create);
+        queue.offer(create);
+        Thread thread = writer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void replay(List<IngestJournal.Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<Long> ids = entries.stream().map(entry -> entry.task().getId()).toList();
+        Set<Long> existing = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += properties.batchSize()) {
+            existing.addAll(taskRepository.findExistingIds(ids.subList(from,
+                    Math.min(from + properties.batchSize(), ids.size()))));
+        }
+        int replayed = 0;
+        for (IngestJournal.Entry entry : entries) {
+            if (existing.contains(entry.task().getId())) {
+                journal.completed(entry.segment());
+            } else {
+                outstanding.incrementAndGet();
+                enqueue(new PendingCreate(entry.task(), entry.segment()));
+                replayed++;
+            }
+        }
+        log.info("Replaying {} task creates from the ingestion journal", replayed);
+    }
+
+    private void drain() {
+        while (running || outstanding.get() > 0) {
+            List<PendingCreate> batch = take();
+            if (batch.isEmpty()) {
+                if (!running) {
+                    break;
+                }
+                LockSupport.park(this);
+                continue;
+            }
+            if (!write(batch)) {
+                break;
+            }
+        }
+    }
+
+    private List<PendingCreate> take() {
+        List<PendingCreate> batch = new ArrayList<>();
+        poll(batch);
+        if (!batch.isEmpty() && batch.size() < properties.batchSize() && running && !properties.linger().isZero()) {
+            // Give creates arriving right behind this one the chance to share its commit
+            LockSupport.parkNanos(this, properties.linger().toNanos());
+            poll(batch);
+        }
+        return batch;
+    }
+
+    private void poll(List<PendingCreate> batch) {
+        PendingCreate create;
+        while (batch.size() < properties.batchSize() && (create = queue.poll()) != null) {
+            batch.add(create);
+        }
+    }
+
+    /**
+     * Writes a batch, retrying while the database is unreachable. Returns false if interrupted first.
+     */
+    private boolean write(List<PendingCreate> batch) {
+        while (true) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(batch));
+                batch.forEach(create -> finish(create, TaskIngestStatus.created(create.task().getId())));
+                return true;
+            } catch (CannotCreateTransactionException e) {
+                log.warn("Database unavailable, retrying {} task creates: {}", batch.size(), e.getMessage());
+                LockSupport.parkNanos(this, RETRY_DELAY.toNanos());
+                if (Thread.interrupted()) {
+                    return false;
+                }
+            } catch (DataAccessException | TransactionException e) {
+                // The batch does not say which row was rejected, so write them one by one to find out
+                batch.forEach(this::writeAlone);
+                return true;
+            }
+        }
+    }
+
+    private void writeAlone(PendingCreate create) {
+        TaskIngestStatus status;
+        try {
+            transactionTemplate.executeWithoutResult(tx -> insert(List.of(create)));
+            status = TaskIngestStatus.created(create.task().getId());
+        } catch (DataAccessException | TransactionException e) {
+            String error = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Could not create task {}: {}", create.task().getId(), error);
+            status = TaskIngestStatus.failed(create.task().getId(), error);
+        }
+        finish(create, status);
+    }
+
+    private void insert(List<PendingCreate> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT, batch, batch.size(), (statement, create) -> {
+            Task task = create.task();
+            statement.setLong(1, task.getId());
+            statement.setString(2, task.getTitle());
+            statement.setString(3, task.getDescription());
+            if (task.getDueDate() == null) {
+                statement.setNull(4, Types.TIMESTAMP);
+            } else {
+                statement.setTimestamp(4, Timestamp.valueOf(task.getDueDate()));
+            }
+            statement.setBoolean(5, task.isCompleted());
+            statement.setTimestamp(6, Timestamp.valueOf(now));
+            statement.setTimestamp(7, Timestamp.valueOf(now));
+        });
+        for (PendingCreate create : batch) {
+            Task task = create.task();
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            task.setVersion(0);
+            eventPublisher.publishEvent(TaskChangedEvent.created(task));
+        }
+    }
+
+    private void finish(PendingCreate create, TaskIngestStatus status) {
+        finished.put(status.id(), status);
+        pending.remove(status.id());
+        outstanding.decrementAndGet();
+        if (create.segment() != null) {
+            journal.completed(create.segment());
+        }
+    }
+
+    private record PendingCreate(Task task, IngestJournal.Segment segment) {
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.devtae.taskmanagementsystem.memory;
+
+/**
+ * An open-addressing hash table from primitive {@code long} ids to tasks. Keys sit in a {@code long[]}
+ * beside a parallel value array, so there is no boxed key or entry object per task. Removal shifts later
+ * entries back instead of leaving tombstones, so lookups never slow down as tasks come and go.
+ * <p>
+ * Not thread-safe; {@link TaskStore} guards it. Lookups only read the two arrays, never write, so they
+ * can run optimistically and be retried if a write happened meanwhile.
+ */
+final class LongTaskMap {
+    // Ids are assigned from 1, so 0 marks an empty slot.
+    private static final long EMPTY = 0;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private StoredTask[] values;
+    private int size;
+
+    LongTaskMap() {
+        this(MIN_CAPACITY);
+    }
+
+    LongTaskMap(int expectedSize) {
+        int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, expectedSize) * 2 - 1) << 1);
+        keys = new long[capacity];
+        values = new StoredTask[capacity];
+    }
+
+    StoredTask get(long id) {
+        long[] keys = this.keys;
+        StoredTask[] values = this.values;
+        if (values.length != keys.length) {
+            // An optimistic read overlapping a resize; the caller will find its stamp invalid and retry.
+            return null;
+        }
+        int mask = keys.length - 1;
+        for (int slot = slot(id, mask), probes = 0; probes <= mask; slot = (slot + 1) & mask, probes++) {
+            long key = keys[slot];
+            if (key == id) {
+                return values[slot];
+            }
+            if (key == EMPTY) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stores a task under its id and returns the task it replaced, if any.
+     */
+    StoredTask put(StoredTask task) {
+        long id = task.id();
+        if (id == EMPTY) {
+            throw new IllegalArgumentException("Task ids must not be 0");
+        }
+        int mask = keys.length - 1;
+        int slot = slot(id, mask);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == id) {
+                StoredTask previous = values[slot];
+                values[slot] = task;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = id;
+        values[slot] = task;
+        // Kept at most half full, so probe sequences stay short.
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        return null;
+    }
+
+    StoredTask remove(long id) {
+        int mask = keys.length - 1;
+        int slot = slot(id, mask);
+        while (keys[slot] != id) {
+            if (keys[slot] == EMPTY) {
+                return null;
+            }
+            slot = (slot + 1) & mask;
+        }
+        StoredTask removed = values[slot];
+        // Move back any later entry of the same probe run that the gap would otherwise cut off from its home slot.
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = slot(keys[next], mask);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = EMPTY;
+        values[gap] = null;
+        size--;
+        return removed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns a copy of every stored task, in no particular order.
+     */
+    StoredTask[] copyValues() {
+        StoredTask[] copy = new StoredTask[size];
+        int i = 0;
+        for (StoredTask value : values) {
+            if (value != null) {
+                copy[i++] = value;
+            }
+        }
+        return copy;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        StoredTask[] oldValues = values;
+        long[] newKeys = new long[capacity];
+        StoredTask[] newValues = new StoredTask[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i], mask);
+                while (newKeys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                newKeys[slot] = oldKeys[i];
+                newValues[slot] = oldValues[i];
+            }
+        }
+        values = newValues;
+        keys = newKeys;
+    }
+
+    // Sequential ids would cluster in neighbouring slots; mixing the bits spreads them over the table.
+    private static int slot(long id, int mask) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
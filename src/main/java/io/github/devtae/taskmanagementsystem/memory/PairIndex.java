@@ -0,0 +1,150 @@
+package io.github.devtae.taskmanagementsystem.memory;
+
+/**
+ * A sorted set of {@code (major, minor)} pairs of primitive longs, such as a due date and a task id.
+ * <p>
+ * Pairs are kept in order in fixed-size chunks of a {@code long[]} each, found by binary search over the
+ * chunks' first pairs. Adding or removing shifts at most one chunk and occasionally splits or drops one,
+ * so updates stay cheap at millions of entries while each pair costs 16 bytes and no object.
+ * Not thread-safe; {@link TaskStore} guards it.
+ */
+final class PairIndex {
+    private static final int CHUNK_PAIRS = 256;
+
+    private long[][] chunks = {new long[CHUNK_PAIRS * 2]};
+    private int[] sizes = {0};
+    private int chunkCount = 1;
+
+    @FunctionalInterface
+    interface Visitor {
+        /**
+         * Receives one pair; returns false to stop the scan.
+         */
+        boolean visit(long major, long minor);
+    }
+
+    void add(long major, long minor) {
+        int c = chunkFor(major, minor);
+        long[] chunk = chunks[c];
+        int n = sizes[c];
+        int at = search(chunk, n, major, minor);
+        if (at >= 0) {
+            return;
+        }
+        at = -at - 1;
+        if (n == CHUNK_PAIRS) {
+            split(c);
+            if (at > CHUNK_PAIRS / 2) {
+                c++;
+                at -= CHUNK_PAIRS / 2;
+            }
+            chunk = chunks[c];
+            n = sizes[c];
+        }
+        System.arraycopy(chunk, at * 2, chunk, at * 2 + 2, (n - at) * 2);
+        chunk[at * 2] = major;
+        chunk[at * 2 + 1] = minor;
+        sizes[c]++;
+    }
+
+    boolean remove(long major, long minor) {
+        int c = chunkFor(major, minor);
+        long[] chunk = chunks[c];
+        int n = sizes[c];
+        int at = search(chunk, n, major, minor);
+        if (at < 0) {
+            return false;
+        }
+        System.arraycopy(chunk, at * 2 + 2, chunk, at * 2, (n - at - 1) * 2);
+        sizes[c]--;
+        if (sizes[c] == 0 && chunkCount > 1) {
+            dropChunk(c);
+        }
+        return true;
+    }
+
+    /**
+     * Visits, in order, every pair at or after {@code (major, minor)} until the visitor returns false.
+     */
+    void forEachFrom(long major, long minor, Visitor visitor) {
+        int c = chunkFor(major, minor);
+        int at = search(chunks[c], sizes[c], major, minor);
+        at = at >= 0 ? at : -at - 1;
+        for (; c < chunkCount; c++, at = 0) {
+            long[] chunk = chunks[c];
+            for (int n = sizes[c]; at < n; at++) {
+                if (!visitor.visit(chunk[at * 2], chunk[at * 2 + 1])) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // The last chunk whose first pair is at or before the given one, or the first chunk.
+    private int chunkFor(long major, long minor) {
+        int low = 1;
+        int high = chunkCount - 1;
+        int found = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (compare(chunks[mid][0], chunks[mid][1], major, minor) <= 0) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    // Like Arrays.binarySearch: the index of the pair, or -(insertion point) - 1.
+    private static int search(long[] chunk, int n, long major, long minor) {
+        int low = 0;
+        int high = n - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(chunk[mid * 2], chunk[mid * 2 + 1], major, minor);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void split(int c) {
+        if (chunkCount == chunks.length) {
+            long[][] grownChunks = new long[chunks.length * 2][];
+            System.arraycopy(chunks, 0, grownChunks, 0, chunkCount);
+            chunks = grownChunks;
+            int[] grownSizes = new int[sizes.length * 2];
+            System.arraycopy(sizes, 0, grownSizes, 0, chunkCount);
+            sizes = grownSizes;
+        }
+        System.arraycopy(chunks, c + 1, chunks, c + 2, chunkCount - c - 1);
+        System.arraycopy(sizes, c + 1, sizes, c + 2, chunkCount - c - 1);
+        long[] upper = new long[CHUNK_PAIRS * 2];
+        int half = CHUNK_PAIRS / 2;
+        System.arraycopy(chunks[c], half * 2, upper, 0, (sizes[c] - half) * 2);
+        chunks[c + 1] = upper;
+        sizes[c + 1] = sizes[c] - half;
+        sizes[c] = half;
+        chunkCount++;
+    }
+
+    private void dropChunk(int c) {
+        System.arraycopy(chunks, c + 1, chunks, c, chunkCount - c - 1);
+        System.arraycopy(sizes, c + 1, sizes, c, chunkCount - c - 1);
+        chunkCount--;
+        chunks[chunkCount] = null;
+        sizes[chunkCount] = 0;
+    }
+
+    private static int compare(long major1, long minor1, long major2, long minor2) {
+        int cmp = Long.compare(major1, major2);
+        return cmp != 0 ? cmp : Long.compare(minor1, minor2);
+    }
+}
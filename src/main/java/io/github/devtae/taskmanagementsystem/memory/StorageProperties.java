@@ -0,0 +1,30 @@
+package io.github.devtae.taskmanagementsystem.memory;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for where tasks are stored.
+ *
+ * @param engine {@code jpa} to keep tasks in the database, or {@code memory} to keep them in {@link TaskStore}
+ * @param directory where the in-memory engine keeps its log and snapshots
+ * @param segmentSize the size of each log segment file, which is mapped into memory whole
+ * @param snapshotInterval how often the in-memory engine writes a snapshot and drops the log it covers
+ * @param fsync whether each write waits for its log record to reach the disk. Without it a write survives
+ *              the process dying, but not the machine
+ */
+@ConfigurationProperties(prefix = "tasks.storage")
+public record StorageProperties(@DefaultValue("jpa") Engine engine,
+                                @DefaultValue("task-store") Path directory,
+                                @DefaultValue("64MB") DataSize segmentSize,
+                                @DefaultValue("10m") Duration snapshotInterval,
+                                @DefaultValue("false") boolean fsync) {
+
+    public enum Engine {
+        JPA, MEMORY
+    }
+}
@@ -0,0 +1,181 @@
+package io.github.devtae.taskmanagementsystem.memory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Full copies of {@link TaskStore}'s tasks, each named after the last log record it includes, so startup
+ * loads the newest one and only replays the log written since.
+ * <p>
+ * A snapshot is written to a temporary file, forced to disk and then renamed, so a crash while writing
+ * leaves the previous one in place. Tasks are written in blocks of up to a megabyte, each with its own
+ * CRC32, which catches a file damaged afterwards; an unreadable snapshot is skipped in favour of the one
+ * before it.
+ */
+final class StoreSnapshots {
+    private static final Logger log = LoggerFactory.getLogger(StoreSnapshots.class);
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d+)\\.bin");
+    private static final int MAGIC = 0x54534B53;
+    private static final int BLOCK_SIZE = 1 << 20;
+
+    private final Path directory;
+
+    StoreSnapshots(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Where a snapshot leaves off.
+     *
+     * @param seq the sequence number of the last log record it includes
+     * @param lastId the highest id assigned so far, which may belong to a task since deleted
+     */
+    record Position(long seq, long lastId) {
+        static final Position NONE = new Position(0, 0);
+    }
+
+    /**
+     * Passes every task in the newest readable snapshot to the consumer.
+     *
+     * @return where the snapshot leaves off, or {@link Position#NONE} if there is none
+     */
+    Position load(Consumer<StoredTask> consumer) throws IOException {
+        List<Path> files = snapshotFiles();
+        for (int i = files.size() - 1; i >= 0; i--) {
+            Path file = files.get(i);
+            try {
+                return read(file, consumer);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Skipping unreadable task snapshot {}", file, e);
+            }
+        }
+        return Position.NONE;
+    }
+
+    /**
+     * Writes a snapshot of {@code tasks}, the state as of {@code position}, and deletes older ones.
+     */
+    void write(Position position, StoredTask[] tasks) throws IOException {
+        long seq = position.seq();
+        Path temporary = directory.resolve("snapshot-" + seq + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel),
+                    BLOCK_SIZE));
+            out.writeInt(MAGIC);
+            ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+            block.putLong(seq).putLong(position.lastId()).putInt(tasks.length);
+            writeBlock(out, block);
+            for (StoredTask task : tasks) {
+                byte[] record = task.encode();
+                if (record.length > block.remaining()) {
+                    writeBlock(out, block);
+                    if (record.length > block.capacity()) {
+                        block = ByteBuffer.allocate(record.length);
+                    }
+                }
+                block.put(record);
+            }
+            writeBlock(out, block);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve("snapshot-" + seq + ".bin"), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        for (Path file : snapshotFiles()) {
+            if (snapshotNumber(file) < seq) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private Position read(Path file, Consumer<StoredTask> consumer) throws IOException {
+        long size = Files.size(file);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file),
+                BLOCK_SIZE))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a task snapshot");
+            }
+            ByteBuffer header = readBlock(in, size);
+            Position position = new Position(header.getLong(), header.getLong());
+            int count = header.getInt();
+            if (count < 0 || count > size) {
+                throw new IOException("Bad task count " + count);
+            }
+            // Tasks are only handed over once every block has checked out.
+            StoredTask[] tasks = new StoredTask[count];
+            int read = 0;
+            while (read < count) {
+                ByteBuffer block = readBlock(in, size);
+                while (block.hasRemaining()) {
+                    tasks[read++] = StoredTask.read(block);
+                }
+            }
+            for (StoredTask task : tasks) {
+                consumer.accept(task);
+            }
+            return position;
+        }
+    }
+
+    private static void writeBlock(DataOutputStream out, ByteBuffer block) throws IOException {
+        block.flip();
+        CRC32 crc = new CRC32();
+        crc.update(block.duplicate());
+        out.writeInt(block.remaining());
+        out.writeInt((int) crc.getValue());
+        out.write(block.array(), 0, block.remaining());
+        block.clear();
+    }
+
+    // Block lengths are checked against the file, so a damaged one cannot ask for a huge array.
+    private static ByteBuffer readBlock(DataInputStream in, long fileSize) throws IOException {
+        int length = in.readInt();
+        int checksum = in.readInt();
+        if (length < 0 || length > fileSize) {
+            throw new IOException("Bad block length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("Checksum mismatch");
+        }
+        return ByteBuffer.wrap(bytes);
+    }
+
+    private List<Path> snapshotFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> SNAPSHOT_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparingLong(StoreSnapshots::snapshotNumber))
+                    .toList();
+        }
+    }
+
+    private static long snapshotNumber(Path file) {
+        Matcher matcher = SNAPSHOT_NAME.matcher(file.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+}
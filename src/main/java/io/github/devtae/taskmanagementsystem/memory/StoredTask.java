@@ -0,0 +1,98 @@
+package io.github.devtae.taskmanagementsystem.memory;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * A task as held by {@link TaskStore}: times are kept as microseconds since the epoch instead of
+ * {@link LocalDateTime} objects, so a task costs one object plus its strings, and the same fields are
+ * written to the log and snapshots as fixed-width numbers.
+ */
+record StoredTask(long id, String title, String description, long dueDate, boolean completed, long createdAt,
+                  long updatedAt, long version) {
+    // Stands for a null time.
+    static final long NONE = Long.MIN_VALUE;
+
+    static StoredTask of(TaskSnapshot task) {
+        return new StoredTask(task.id(), task.title(), task.description(), micros(task.dueDate()), task.completed(),
+                micros(task.createdAt()), micros(task.updatedAt()), task.version());
+    }
+
+    TaskSnapshot toSnapshot() {
+        return new TaskSnapshot(id, title, description, time(dueDate), completed, time(createdAt), time(updatedAt),
+                version);
+    }
+
+    /**
+     * Returns the task in the binary form used by the log and snapshots.
+     */
+    byte[] encode() {
+        byte[] titleBytes = bytes(title);
+        byte[] descriptionBytes = bytes(description);
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 5 + 1 + Integer.BYTES * 2
+                + (titleBytes == null ? 0 : titleBytes.length)
+                + (descriptionBytes == null ? 0 : descriptionBytes.length));
+        buffer.putLong(id);
+        buffer.putLong(dueDate);
+        buffer.put((byte) (completed ? 1 : 0));
+        buffer.putLong(createdAt);
+        buffer.putLong(updatedAt);
+        buffer.putLong(version);
+        write(buffer, titleBytes);
+        write(buffer, descriptionBytes);
+        return buffer.array();
+    }
+
+    static StoredTask read(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        long dueDate = buffer.getLong();
+        boolean completed = buffer.get() != 0;
+        long createdAt = buffer.getLong();
+        long updatedAt = buffer.getLong();
+        long version = buffer.getLong();
+        return new StoredTask(id, readString(buffer), readString(buffer), dueDate, completed, createdAt, updatedAt,
+                version);
+    }
+
+    static long micros(LocalDateTime time) {
+        if (time == null) {
+            return NONE;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1000;
+    }
+
+    static LocalDateTime time(long micros) {
+        if (micros == NONE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1000, ZoneOffset.UTC);
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void write(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(value.length);
+        buffer.put(value);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,216 @@
+package io.github.devtae.taskmanagementsystem.memory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * The write-ahead log of {@link TaskStore}: every change is appended, as a checksummed record, to a
+ * memory-mapped segment file before it is applied in memory.
+ * <p>
+ * An append is a copy into the mapping, so it costs no system call, and it survives the process dying as
+ * soon as it is made because the mapped pages belong to the operating system. With {@code fsync} on,
+ * {@link #sync} also forces them to disk before a write is acknowledged; appends made while a force is
+ * running share the next one. A record is {@code [length][crc32][type][seq][payload]}; a zero length marks
+ * the end of a segment, and a record whose checksum does not match, left by a crash part way through an
+ * append, ends it too.
+ */
+final class TaskLog implements AutoCloseable {
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+    private static final Logger log = LoggerFactory.getLogger(TaskLog.class);
+    private static final Pattern SEGMENT_NAME = Pattern.compile("wal-(\\d+)\\.log");
+    private static final int HEADER = Integer.BYTES * 2;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+    private final Object syncLock = new Object();
+
+    // Guarded by the store's write lock.
+    private Segment current;
+    private long nextSegment;
+
+    @FunctionalInterface
+    interface Handler {
+        void record(byte type, long seq, ByteBuffer payload);
+    }
+
+    TaskLog(Path directory, int segmentSize, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Passes every record with a sequence number above {@code after} to the handler, oldest first.
+     * <p>
+     * Appends then go to a new segment rather than after the last record read: whatever a crash left behind
+     * it, possibly a torn record or pages written out of order, is never followed by new records.
+     */
+    void replay(long after, Handler handler) throws IOException {
+        for (Path file : segmentFiles()) {
+            ByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            while (buffer.remaining() >= HEADER) {
+                int start = buffer.position();
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining() || checksum != crc(buffer, buffer.position(), length)) {
+                    if (length != 0) {
+                        log.warn("Task log {} ends in an incomplete record at offset {}", file, start);
+                    }
+                    break;
+                }
+                ByteBuffer record = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                byte type = record.get();
+                long seq = record.getLong();
+                if (seq > after) {
+                    handler.record(type, seq, record);
+                }
+            }
+            nextSegment = Math.max(nextSegment, segmentNumber(file) + 1);
+        }
+    }
+
+    /**
+     * Appends a record. The caller holds the store's write lock, so records are in sequence order.
+     *
+     * @return where the record ends, to pass to {@link #sync}
+     */
+    Position append(byte type, long seq, byte[] payload) throws IOException {
+        int length = 1 + Long.BYTES + payload.length;
+        if (HEADER + length > segmentSize) {
+            throw new IOException("A task log record of " + length + " bytes does not fit in a segment");
+        }
+        if (current != null && current.written + HEADER + length > segmentSize) {
+            roll();
+        }
+        if (current == null) {
+            current = map(directory.resolve("wal-" + nextSegment++ + ".log"));
+        }
+        ByteBuffer buffer = current.buffer.duplicate().position(current.written + HEADER);
+        buffer.put(type).putLong(seq).put(payload);
+        int crc = crc(current.buffer, current.written + HEADER, length);
+        // The length goes in last, so a reader never takes a half-written record for a whole one.
+        current.buffer.putInt(current.written + Integer.BYTES, crc);
+        current.buffer.putInt(current.written, length);
+        current.written += HEADER + length;
+        return new Position(current, current.written);
+    }
+
+    /**
+     * Returns once the record ending at {@code position} is on disk, when {@code fsync} is on.
+     */
+    void sync(Position position) {
+        if (!fsync) {
+            return;
+        }
+        Segment segment = position.segment();
+        synchronized (syncLock) {
+            if (segment.synced >= position.end()) {
+                return;
+            }
+            // Everything appended so far is covered, including appends made after this one.
+            int written = segment.written;
+            segment.buffer.force(segment.synced, written - segment.synced);
+            segment.synced = written;
+        }
+    }
+
+    /**
+     * Ends the current segment, so that the next append starts a new one and every earlier segment only
+     * holds records appended before now. The caller holds the store's write lock.
+     *
+     * @return the number the next segment will have
+     */
+    long roll() {
+        if (current != null) {
+            seal(current);
+            current = null;
+        }
+        return nextSegment;
+    }
+
+    /**
+     * Deletes the segments numbered below {@code segment}, once a snapshot covers them.
+     */
+    void deleteSegmentsBefore(long segment) throws IOException {
+        for (Path file : segmentFiles()) {
+            if (segmentNumber(file) < segment) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        roll();
+    }
+
+    private void seal(Segment segment) {
+        synchronized (syncLock) {
+            if (fsync && segment.synced < segment.written) {
+                segment.buffer.force(segment.synced, segment.written - segment.synced);
+            }
+            segment.synced = segment.written;
+        }
+    }
+
+    private Segment map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed.
+            return new Segment(channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        }
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> SEGMENT_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparingLong(TaskLog::segmentNumber))
+                    .toList();
+        }
+    }
+
+    private static long segmentNumber(Path file) {
+        Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    private static int crc(ByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    record Position(Segment segment, int end) {
+    }
+
+    static final class Segment {
+        private final MappedByteBuffer buffer;
+        private volatile int written;
+        private volatile int synced;
+
+        private Segment(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,405 @@
+package io.github.devtae.taskmanagementsystem.memory;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskFilter;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps every task in memory, for deployments where a database round trip per call is pure overhead.
+ * <p>
+ * Tasks live in a {@link LongTaskMap} keyed by primitive id, with sorted {@link PairIndex}es on creation
+ * time and, separately for open and completed tasks, on due date, so listings read only the tasks they
+ * return. Lookups by id are optimistic and take no lock; writes take a short exclusive lock.
+ * <p>
+ * Every write is appended to the {@link TaskLog} before it is applied. Every {@code snapshotInterval}, and
+ * on shutdown, the whole store is written to a snapshot and the log it covers deleted, so startup loads
+ * the newest snapshot and replays only what was written after it.
+ */
+@Component
+@ConditionalOnProperty(prefix = "tasks.storage", name = "engine", havingValue = "memory")
+public class TaskStore implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(TaskStore.class);
+    // Sorts tasks without a due date after every dated one, as the database does.
+    private static final long NO_DUE_DATE = Long.MAX_VALUE;
+    private static final int CHUNK_SIZE = 1000;
+
+    private final StorageProperties properties;
+    private final Clock clock;
+    private final TaskLog taskLog;
+    private final StoreSnapshots snapshots;
+    private final Counter snapshotsWritten;
+    private final StampedLock lock = new StampedLock();
+
+    // Guarded by lock.
+    private final LongTaskMap tasks = new LongTaskMap();
+    private final PairIndex byCreated = new PairIndex();
+    private final PairIndex openByDue = new PairIndex();
+    private final PairIndex completedByDue = new PairIndex();
+    private long lastId;
+    private long lastSeq;
+
+    // Guarded by this.
+    private long snapshotSeq;
+    private ScheduledExecutorService executor;
+
+    @Autowired
+    public TaskStore(StorageProperties properties, MeterRegistry meterRegistry) throws IOException {
+        this(properties, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    TaskStore(StorageProperties properties, MeterRegistry meterRegistry, Clock clock) throws IOException {
+        this.properties = properties;
+        this.clock = clock;
+        this.taskLog = new TaskLog(properties.directory(), (int) properties.segmentSize().toBytes(),
+                properties.fsync());
+        this.snapshots = new StoreSnapshots(properties.directory());
+        this.snapshotsWritten = Counter.builder("tasks.storage.snapshots")
+                .description("Snapshots written by the in-memory task store")
+                .register(meterRegistry);
+        Gauge.builder("tasks.storage.tasks", this, TaskStore::size)
+                .description("Tasks held by the in-memory task store")
+                .register(meterRegistry);
+        recover();
+    }
+
+    private void recover() throws IOException {
+        long started = System.nanoTime();
+        StoreSnapshots.Position snapshot = snapshots.load(this::put);
+        snapshotSeq = lastSeq = snapshot.seq();
+        lastId = Math.max(lastId, snapshot.lastId());
+        int loaded = tasks.size();
+        taskLog.replay(lastSeq, this::replay);
+        log.info("Loaded {} tasks from snapshot and replayed {} log records in {} ms", loaded, lastSeq - snapshotSeq,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private void replay(byte type, long seq, ByteBuffer payload) {
+        if (type == TaskLog.PUT) {
+            put(StoredTask.read(payload));
+        } else if (type == TaskLog.DELETE) {
+            StoredTask previous = tasks.get(payload.getLong());
+            if (previous != null) {
+                apply(previous, null);
+            }
+        }
+        lastSeq = seq;
+    }
+
+    private void put(StoredTask task) {
+        apply(tasks.get(task.id()), task);
+        lastId = Math.max(lastId, task.id());
+    }
+
+    public Optional<TaskSnapshot> get(long id) {
+        long stamp = lock.tryOptimisticRead();
+        StoredTask task = tasks.get(id);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                task = tasks.get(id);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return Optional.ofNullable(task).map(StoredTask::toSnapshot);
+    }
+
+    /**
+     * Stores a new task, giving it the next id, the current time as its creation and update time, and
+     * version 0. The id, times and version of {@code task} are ignored.
+     */
+    public TaskSnapshot insert(TaskSnapshot task) {
+        StoredTask stored;
+        TaskLog.Position position;
+        long stamp = lock.writeLock();
+        try {
+            long now = now();
+            stored = new StoredTask(lastId + 1, task.title(), task.description(), StoredTask.micros(task.dueDate()),
+                    task.completed(), now, now, 0);
+            position = taskLog.append(TaskLog.PUT, lastSeq + 1, stored.encode());
+            lastId++;
+            lastSeq++;
+            apply(null, stored);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        taskLog.sync(position);
+        return stored.toSnapshot();
+    }
+
+    /**
+     * Applies {@code change} to a task while no other write can run. If it returns a different snapshot, the
+     * task takes its title, description, due date and completion, a new update time and the next version;
+     * if it returns its argument, nothing is written.
+     *
+     * @return the task after the change, or empty if there is no task with this id
+     */
+    public Optional<TaskSnapshot> update(long id, UnaryOperator<TaskSnapshot> change) {
+        StoredTask stored;
+        TaskLog.Position position;
+        long stamp = lock.writeLock();
+        try {
+            StoredTask current = tasks.get(id);
+            if (current == null) {
+                return Optional.empty();
+            }
+            TaskSnapshot before = current.toSnapshot();
+            TaskSnapshot after = change.apply(before);
+            if (after == before) {
+                return Optional.of(before);
+            }
+            stored = new StoredTask(id, after.title(), after.description(), StoredTask.micros(after.dueDate()),
+                    after.completed(), current.createdAt(), now(), current.version() + 1);
+            position = taskLog.append(TaskLog.PUT, lastSeq + 1, stored.encode());
+            lastSeq++;
+            apply(current, stored);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        taskLog.sync(position);
+        return Optional.of(stored.toSnapshot());
+    }
+
+    /**
+     * @return the deleted task, or empty if there was no task with this id
+     */
+    public Optional<TaskSnapshot> delete(long id) {
+        TaskSnapshot deleted;
+        TaskLog.Position position;
+        long stamp = lock.writeLock();
+        try {
+            StoredTask current = tasks.get(id);
+            if (current == null) {
+                return Optional.empty();
+            }
+            deleted = current.toSnapshot();
+            position = taskLog.append(TaskLog.DELETE, lastSeq + 1, ByteBuffer.allocate(Long.BYTES).putLong(id).array());
+            lastSeq++;
+            apply(current, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        taskLog.sync(position);
+        return Optional.of(deleted);
+    }
+
+    /**
+     * Returns the tasks matching a filter, in no particular order. A due date range is answered from the due
+     * date indexes, a completion state alone from the matching one, and a creation time from the creation
+     * index; any remaining criteria are checked on the tasks found.
+     */
+    public List<TaskSnapshot> select(TaskFilter filter) {
+        List<StoredTask> found = new ArrayList<>();
+        long stamp = lock.readLock();
+        try {
+            PairIndex.Visitor collect = (major, id) -> {
+                StoredTask task = tasks.get(id);
+                if (matches(task, filter)) {
+                    found.add(task);
+                }
+                return true;
+            };
+            if (filter.dueBefore() != null || filter.dueAfter() != null) {
+                // Tasks without a due date never match a due date range, and sort after every dated one.
+                long from = filter.dueAfter() == null ? Long.MIN_VALUE : StoredTask.micros(filter.dueAfter());
+                long to = filter.dueBefore() == null ? NO_DUE_DATE : StoredTask.micros(filter.dueBefore());
+                PairIndex.Visitor inRange = (due, id) -> due < to && collect.visit(due, id);
+                if (!Boolean.TRUE.equals(filter.completed())) {
+                    openByDue.forEachFrom(from, Long.MIN_VALUE, inRange);
+                }
+                if (!Boolean.FALSE.equals(filter.completed())) {
+                    completedByDue.forEachFrom(from, Long.MIN_VALUE, inRange);
+                }
+            } else if (filter.completed() != null) {
+                (filter.completed() ? completedByDue : openByDue).forEachFrom(Long.MIN_VALUE, Long.MIN_VALUE,
+                        collect);
+            } else {
+                long from = filter.createdSince() == null ? Long.MIN_VALUE : StoredTask.micros(filter.createdSince());
+                byCreated.forEachFrom(from, Long.MIN_VALUE, collect);
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return found.stream().map(StoredTask::toSnapshot).toList();
+    }
+
+    /**
+     * Returns up to {@code limit} tasks in (createdAt, id) order, starting after the given position, or from
+     * the first task when {@code createdAt} is null.
+     */
+    public List<TaskSnapshot> page(LocalDateTime createdAt, long id, int limit) {
+        List<StoredTask> found = new ArrayList<>(Math.min(limit, CHUNK_SIZE));
+        long stamp = lock.readLock();
+        try {
+            PairIndex.Visitor collect = (created, taskId) -> {
+                found.add(tasks.get(taskId));
+                return found.size() < limit;
+            };
+            if (createdAt == null) {
+                byCreated.forEachFrom(Long.MIN_VALUE, Long.MIN_VALUE, collect);
+            } else if (id < Long.MAX_VALUE) {
+                byCreated.forEachFrom(StoredTask.micros(createdAt), id + 1, collect);
+            } else {
+                byCreated.forEachFrom(StoredTask.micros(createdAt) + 1, Long.MIN_VALUE, collect);
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return found.stream().map(StoredTask::toSnapshot).toList();
+    }
+
+    /**
+     * Passes every task to the consumer in (createdAt, id) order, holding the lock for one chunk at a time
+     * so writes are not held up for the whole scan.
+     */
+    public void forEach(Consumer<TaskSnapshot> consumer) {
+        List<TaskSnapshot> chunk = page(null, 0, CHUNK_SIZE);
+        while (!chunk.isEmpty()) {
+            chunk.forEach(consumer);
+            TaskSnapshot last = chunk.get(chunk.size() - 1);
+            chunk = chunk.size() < CHUNK_SIZE ? List.of() : page(last.createdAt(), last.id(), CHUNK_SIZE);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return tasks.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Writes a snapshot of the current state, unless nothing has been written since the last one, and
+     * deletes the log it covers.
+     */
+    synchronized void snapshot() throws IOException {
+        StoredTask[] copy;
+        StoreSnapshots.Position position;
+        long firstSegment;
+        long stamp = lock.writeLock();
+        try {
+            if (lastSeq == snapshotSeq) {
+                return;
+            }
+            // Records appended from here on go to a new segment, which the snapshot does not cover.
+            firstSegment = taskLog.roll();
+            copy = tasks.copyValues();
+            position = new StoreSnapshots.Position(lastSeq, lastId);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        snapshots.write(position, copy);
+        taskLog.deleteSegmentsBefore(firstSegment);
+        snapshotSeq = position.seq();
+        snapshotsWritten.increment();
+    }
+
+    @Override
+    public synchronized void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-store-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.snapshotInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::snapshotSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        // A final snapshot means the next start has no log to replay.
+        snapshotSafely();
+        taskLog.close();
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return executor != null;
+    }
+
+    // Started before and stopped after the web server, so no request writes to a closed log.
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void snapshotSafely() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Writing a task store snapshot failed", e);
+        }
+    }
+
+    private void apply(StoredTask previous, StoredTask next) {
+        if (previous != null) {
+            byCreated.remove(previous.createdAt(), previous.id());
+            dueIndex(previous).remove(dueKey(previous), previous.id());
+        }
+        if (next != null) {
+            tasks.put(next);
+            byCreated.add(next.createdAt(), next.id());
+            dueIndex(next).add(dueKey(next), next.id());
+        } else {
+            tasks.remove(previous.id());
+        }
+    }
+
+    private PairIndex dueIndex(StoredTask task) {
+        return task.completed() ? completedByDue : openByDue;
+    }
+
+    private static long dueKey(StoredTask task) {
+        return task.dueDate() == StoredTask.NONE ? NO_DUE_DATE : task.dueDate();
+    }
+
+    private static boolean matches(StoredTask task, TaskFilter filter) {
+        boolean hasDueDate = task.dueDate() != StoredTask.NONE;
+        return (filter.completed() == null || task.completed() == filter.completed())
+                && (filter.dueBefore() == null
+                        || (hasDueDate && task.dueDate() < StoredTask.micros(filter.dueBefore())))
+                && (filter.dueAfter() == null
+                        || (hasDueDate && task.dueDate() > StoredTask.micros(filter.dueAfter())))
+                && (filter.createdSince() == null || task.createdAt() >= StoredTask.micros(filter.createdSince()))
+                && (filter.updatedSince() == null || task.updatedAt() >= StoredTask.micros(filter.updatedSince()));
+    }
+
+    private long now() {
+        return StoredTask.micros(LocalDateTime.now(clock));
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.devtae.taskmanagementsystem.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MetricsWebMvcConfigurer implements WebMvcConfigurer {
+
+    private final MeterRegistry registry;
+
+    // Web slice tests run without metrics auto-configuration and fall back to the global registry
+    public MetricsWebMvcConfigurer(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlStatementMetricsInterceptor(this.registry)).addPathPatterns("/api/**");
+    }
+}
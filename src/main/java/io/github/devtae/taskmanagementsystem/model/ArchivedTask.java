@@ -0,0 +1,49 @@
+package io.github.devtae.taskmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A completed task moved out of {@code tasks} by the archiver. Attributes carry the same names as on
+ * {@link Task}, so the same filters and read views apply to both.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "tasks_archive", indexes = {
+        @Index(name = "idx_tasks_archive_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_tasks_archive_archived_at", columnList = "archived_at")
+})
+public class ArchivedTask {
+
+    // The id the task had in the tasks table; never generated here.
+    @Id
+    private Long id;
+
+    @Column(name = "title", nullable = false, length = 100)
+    private String title;
+
+    @Column(name = "description", length = 500)
+    private String description;
+
+    @Column(name = "due_date")
+    private LocalDateTime dueDate;
+
+    @Column(name = "completed")
+    private boolean isCompleted;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
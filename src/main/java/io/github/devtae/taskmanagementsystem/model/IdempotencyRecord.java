@@ -0,0 +1,41 @@
+package io.github.devtae.taskmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The response to a request sent with an {@code Idempotency-Key}, kept so a retry gets the same answer.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String key;
+
+    // The method, path and a digest of the body of the request the key was first used with.
+    @Column(name = "fingerprint", nullable = false, length = 512)
+    private String fingerprint;
+
+    // Null until the request has finished; only ever seen that way inside the transaction writing it.
+    @Column(name = "status")
+    private Integer status;
+
+    // Response headers and body as JSON.
+    @Column(name = "headers", length = 2000)
+    private String headers;
+
+    @Column(name = "body", length = 8000)
+    private String body;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,39 @@
+package io.github.devtae.taskmanagementsystem.model;
+
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent.ChangeType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the task change log, written in the same transaction as the change it records.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "task_changes", indexes = {
+        @Index(name = "idx_task_changes_changed_at", columnList = "changed_at")
+})
+public class TaskChange {
+
+    // Assigned by the change feed rather than generated, so it is known before the row is written.
+    @Id
+    @Column(name = "seq")
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 16)
+    private ChangeType type;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    // The task's state after the change as JSON, or null for deletions.
+    @Column(name = "payload", length = 4000)
+    private String payload;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,30 @@
+package io.github.devtae.taskmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The lease naming the one application instance allowed to record task changes. There is a single row.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "task_change_writer")
+public class TaskChangeWriter {
+
+    public static final int ID = 1;
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "owner", nullable = false, length = 200)
+    private String owner;
+
+    // Another instance may take the lease over once this has passed.
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
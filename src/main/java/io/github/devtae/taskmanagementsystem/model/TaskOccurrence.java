@@ -0,0 +1,56 @@
+package io.github.devtae.taskmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * One occurrence of a recurring task that no longer just follows the rule: it was completed or skipped.
+ * Occurrences nobody has touched have no row.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@IdClass(TaskOccurrence.Key.class)
+@Table(name = "task_occurrences", indexes = {
+        @Index(name = "idx_task_occurrences_occurs_at", columnList = "occurs_at")
+})
+public class TaskOccurrence {
+
+    public enum Status {
+        COMPLETED, SKIPPED
+    }
+
+    @Id
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "task_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    private TaskRecurrence recurrence;
+
+    @Id
+    @Column(name = "occurs_at")
+    private LocalDateTime occursAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private Status status;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long recurrence;
+        private LocalDateTime occursAt;
+    }
+}
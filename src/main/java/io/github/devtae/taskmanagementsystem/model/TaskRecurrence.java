@@ -0,0 +1,45 @@
+package io.github.devtae.taskmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * The repeat rule of a recurring task. Occurrences are never stored as rows: they are worked out from the
+ * rule for the window being listed, and only those completed or skipped are recorded, as
+ * {@link TaskOccurrence}s. Deleting or archiving the task deletes its rule.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "task_recurrences")
+public class TaskRecurrence {
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    // Only there for the foreign key, so the database removes the rule along with the task
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "task_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Task task;
+
+    @Column(name = "rule", nullable = false, length = 200)
+    private String rule;
+
+    @Column(name = "starts_at", nullable = false)
+    private LocalDateTime startsAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
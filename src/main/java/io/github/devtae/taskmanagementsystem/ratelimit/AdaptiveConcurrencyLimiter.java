@@ -0,0 +1,121 @@
+package io.github.devtae.taskmanagementsystem.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Limits how many requests run at once, lowering the limit when latency rises and raising it while
+ * latency holds.
+ * <p>
+ * Latencies are averaged over short windows. Each window's average is compared with a baseline that
+ * follows the lowest recent averages and creeps up only slowly, so it reflects the service when it is not
+ * queueing. While the average stays within {@code latencyTolerance} times the baseline, the limit grows by
+ * about its square root per window; beyond that it shrinks in proportion, by at most half. When requests
+ * are waiting for a database connection, anything admitted beyond those already holding one would only
+ * queue, so the limit is also brought down towards that number. The limit does not grow while fewer than
+ * half of it are in use, since such windows say nothing about how much more the service could take.
+ */
+class AdaptiveConcurrencyLimiter {
+    private static final double SMOOTHING = 0.2;
+    private static final double BASELINE_DRIFT = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long window;
+    private final IntSupplier poolWaiters;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder sampledNanos = new LongAdder();
+    private final AtomicLong windowEnd;
+
+    private volatile double limit;
+    // Guarded by this.
+    private double baseline;
+
+    /**
+     * @param poolWaiters how many requests are currently waiting for a database connection
+     * @param now the current {@link System#nanoTime()}
+     */
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, long windowNanos,
+                               IntSupplier poolWaiters, long now) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.window = windowNanos;
+        this.poolWaiters = poolWaiters;
+        this.limit = Math.min(Math.max(initialLimit, minLimit), maxLimit);
+        this.windowEnd = new AtomicLong(now + windowNanos);
+    }
+
+    /**
+     * Admits a request if fewer than the limit are running. Every admitted request must be released.
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                peakInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request.
+     *
+     * @param latencyNanos how long it ran, or a negative value if its latency says nothing about load,
+     *                     such as a long poll
+     * @param now the current {@link System#nanoTime()}
+     */
+    void release(long latencyNanos, long now) {
+        inFlight.decrementAndGet();
+        if (latencyNanos >= 0) {
+            samples.increment();
+            sampledNanos.add(latencyNanos);
+        }
+        long end = windowEnd.get();
+        if (now - end >= 0 && windowEnd.compareAndSet(end, now + window)) {
+            update();
+        }
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update() {
+        long count = samples.sumThenReset();
+        long nanos = sampledNanos.sumThenReset();
+        int peak = peakInFlight.getAndSet(inFlight.get());
+        if (count == 0) {
+            return;
+        }
+        double latency = (double) nanos / count;
+        baseline = baseline == 0 ? latency : Math.min(latency, baseline + (latency - baseline) * BASELINE_DRIFT);
+
+        double current = limit;
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baseline / latency));
+        double target = current * gradient;
+        if (gradient == 1.0 && peak >= current / 2) {
+            target += Math.sqrt(current);
+        }
+        int waiting = poolWaiters.getAsInt();
+        if (waiting > 0) {
+            target = Math.min(target, peak - waiting);
+        }
+        double next = current + (target - current) * SMOOTHING;
+        limit = Math.min(Math.max(next, minLimit), maxLimit);
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.devtae.taskmanagementsystem.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(prefix = "tasks.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties,
+                                                                  ObjectMapper objectMapper,
+                                                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        TokenBuckets buckets = new TokenBuckets(properties.requestsPerSecond(), properties.burst(),
+                properties.maxClients());
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties.initialConcurrency(),
+                properties.minConcurrency(), properties.maxConcurrency(), properties.latencyTolerance(),
+                properties.sampleWindow().toNanos(), () -> poolWaiters(registry), System.nanoTime());
+
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(new RateLimitFilter(
+                buckets, limiter, properties.clientHeader(), objectMapper, registry, System::nanoTime));
+        registration.addUrlPatterns("/api/*");
+        // Ahead of the application's filters, but after the observation filter so rejections still show
+        // up in http.server.requests
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    // Requests queued in the connection pool, and in the fair queue in front of it when that is on
+    private static int poolWaiters(MeterRegistry registry) {
+        double waiting = 0;
+        for (Gauge gauge : registry.find("hikaricp.connections.pending").gauges()) {
+            waiting += gauge.value();
+        }
+        for (Gauge gauge : registry.find("tasks.db.queue.waiting").gauges()) {
+            waiting += gauge.value();
+        }
+        return (int) waiting;
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.devtae.taskmanagementsystem.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Admits API requests before they reach the controllers. A client that has used up its token bucket gets
+ * {@code 429 Too Many Requests}; when the service is already running as many requests as its adaptive
+ * concurrency limit allows, further ones get {@code 503 Service Unavailable}. Both carry
+ * {@code Retry-After}, and every response carries the client's {@code RateLimit-Limit},
+ * {@code RateLimit-Remaining} and {@code RateLimit-Reset}.
+ * <p>
+ * Clients are told apart by their address, or by a header that a trusted proxy in front sets, if one is
+ * configured.
+ * <p>
+ * Requests that go asynchronous, such as long polls and streams, leave the concurrency limit when their
+ * handler returns and are not counted towards latency, since their duration is up to the client.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final int MAX_CLIENT_LENGTH = 64;
+
+    private final TokenBuckets buckets;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final String clientHeader;
+    private final ObjectMapper objectMapper;
+    private final LongSupplier nanoTime;
+    private final Counter rateLimited;
+    private final Counter shed;
+
+    RateLimitFilter(TokenBuckets buckets, AdaptiveConcurrencyLimiter limiter, String clientHeader,
+                    ObjectMapper objectMapper, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.buckets = buckets;
+        this.limiter = limiter;
+        this.clientHeader = clientHeader;
+        this.objectMapper = objectMapper;
+        this.nanoTime = nanoTime;
+        this.rateLimited = rejected(meterRegistry, "rate");
+        this.shed = rejected(meterRegistry, "concurrency");
+        Gauge.builder("tasks.ratelimit.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .description("Requests allowed to run at once")
+                .register(meterRegistry);
+        Gauge.builder("tasks.ratelimit.concurrency.active", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Requests running")
+                .register(meterRegistry);
+        Gauge.builder("tasks.ratelimit.clients", buckets, TokenBuckets::clients)
+                .description("Clients with a partly used token bucket")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = nanoTime.getAsLong();
+        TokenBuckets.Result bucket = buckets.tryAcquire(client(request), start);
+        response.setHeader("RateLimit-Limit", Integer.toString(buckets.burst()));
+        response.setHeader("RateLimit-Remaining", Long.toString(bucket.remaining()));
+        response.setHeader("RateLimit-Reset", Long.toString(seconds(bucket.nanosUntilFull())));
+        if (!bucket.allowed()) {
+            rateLimited.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, seconds(bucket.nanosUntilNext()),
+                    "Too many requests; slow down");
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            shed.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "The service is busy; try again shortly");
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long end = nanoTime.getAsLong();
+            limiter.release(request.isAsyncStarted() ? -1 : end - start, end);
+        }
+    }
+
+    // Only a header set by a trusted proxy may name the client: one the client sets itself could change on
+    // every request to dodge its bucket, or fill the bucket map so that new clients all share one bucket
+    private String client(HttpServletRequest request) {
+        String client = clientHeader == null ? null : request.getHeader(clientHeader);
+        if (client == null || client.isBlank()) {
+            return request.getRemoteAddr();
+        }
+        return client.length() > MAX_CLIENT_LENGTH ? client.substring(0, MAX_CLIENT_LENGTH) : client;
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfter, String message)
+            throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", status.value());
+        body.put("errors", message);
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private static long seconds(long nanos) {
+        return Math.max(0, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("tasks.ratelimit.rejected")
+                .description("Requests turned away before reaching a controller")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
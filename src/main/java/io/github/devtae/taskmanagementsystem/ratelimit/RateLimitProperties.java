@@ -0,0 +1,36 @@
+package io.github.devtae.taskmanagementsystem.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for admitting API requests.
+ *
+ * @param enabled whether requests are limited at all
+ * @param requestsPerSecond the sustained rate each client may send
+ * @param burst how many requests a client may send at once after being idle
+ * @param clientHeader the request header identifying a client, or null to use the remote address. Only
+ *                     set this behind a proxy or gateway that sets the header itself, overwriting any value
+ *                     the client sent
+ * @param maxClients how many clients are tracked separately; beyond that new clients share one bucket
+ * @param initialConcurrency how many requests may run at once before any latency has been measured
+ * @param minConcurrency the concurrency limit never drops below this
+ * @param maxConcurrency the concurrency limit never rises above this
+ * @param latencyTolerance how far latency may rise above its usual level before the concurrency limit
+ *                         is lowered, as a multiple
+ * @param sampleWindow how often the concurrency limit is recalculated from recent latencies
+ */
+@ConfigurationProperties(prefix = "tasks.rate-limit")
+public record RateLimitProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("50") double requestsPerSecond,
+                                  @DefaultValue("100") int burst,
+                                  String clientHeader,
+                                  @DefaultValue("100000") int maxClients,
+                                  @DefaultValue("20") int initialConcurrency,
+                                  @DefaultValue("4") int minConcurrency,
+                                  @DefaultValue("200") int maxConcurrency,
+                                  @DefaultValue("2.0") double latencyTolerance,
+                                  @DefaultValue("100ms") Duration sampleWindow) {
+}
@@ -0,0 +1,89 @@
+package io.github.devtae.taskmanagementsystem.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One token bucket per client, without locks.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the time at which it will be full again (the
+ * generic cell rate algorithm): taking a token moves that time one interval later, and is refused when it
+ * would move more than a whole burst past now. A request therefore costs one compare-and-set on its own
+ * client's bucket, and the map spreads clients over independent bins, so clients never wait on each other.
+ * <p>
+ * A full bucket behaves exactly like a missing one, so full buckets are dropped now and then to keep the
+ * map small. Once {@code maxClients} are tracked, further clients share one bucket until some drop out.
+ */
+class TokenBuckets {
+    private static final String OVERFLOW = "";
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long interval;
+    private final long capacity;
+    private final int burst;
+    private final int maxClients;
+    private final AtomicLong nextSweep = new AtomicLong(System.nanoTime());
+
+    TokenBuckets(double requestsPerSecond, int burst, int maxClients) {
+        this.interval = Math.max(1, Math.round(1_000_000_000 / requestsPerSecond));
+        this.capacity = interval * burst;
+        this.burst = burst;
+        this.maxClients = maxClients;
+    }
+
+    /**
+     * Takes a token from the client's bucket if one is left.
+     *
+     * @param now the current {@link System#nanoTime()}
+     */
+    Result tryAcquire(String client, long now) {
+        sweepIfDue(now);
+        AtomicLong bucket = bucket(client, now);
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + interval;
+            if (next - now > capacity) {
+                return new Result(false, 0, fullAt - now, next - now - capacity);
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return new Result(true, (capacity - (next - now)) / interval, next - now, 0);
+            }
+        }
+    }
+
+    int burst() {
+        return burst;
+    }
+
+    int clients() {
+        return buckets.size();
+    }
+
+    private AtomicLong bucket(String client, long now) {
+        AtomicLong bucket = buckets.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        String key = buckets.size() < maxClients ? client : OVERFLOW;
+        return buckets.computeIfAbsent(key, ignored -> new AtomicLong(now));
+    }
+
+    // A request racing the sweep may debit a bucket just after it was dropped, giving that client one
+    // extra request; not worth a lock.
+    private void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + capacity)) {
+            return;
+        }
+        buckets.entrySet().removeIf(entry -> entry.getValue().get() - now <= 0);
+    }
+
+    /**
+     * @param allowed whether a token was taken
+     * @param remaining the tokens left in the bucket
+     * @param nanosUntilFull how long until the bucket is full again
+     * @param nanosUntilNext how long until the next token, when none was left
+     */
+    record Result(boolean allowed, long remaining, long nanosUntilFull, long nanosUntilNext) {
+    }
+}
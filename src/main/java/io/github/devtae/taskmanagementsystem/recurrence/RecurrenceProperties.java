@@ -0,0 +1,22 @@
+package io.github.devtae.taskmanagementsystem.recurrence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for recurring tasks.
+ *
+ * @param enabled whether tasks can recur at all
+ * @param maxWindow the longest time range one listing of occurrences may cover
+ * @param cacheSize how many expanded time ranges are kept
+ * @param cacheTtl how long an expanded time range, and the schedules it was expanded from, are served before
+ *                 they are read again; this bounds how long changes made on other instances go unseen
+ */
+@ConfigurationProperties(prefix = "tasks.recurrence")
+public record RecurrenceProperties(@DefaultValue("true") boolean enabled,
+                                   @DefaultValue("31d") Duration maxWindow,
+                                   @DefaultValue("100") long cacheSize,
+                                   @DefaultValue("1m") Duration cacheTtl) {
+}
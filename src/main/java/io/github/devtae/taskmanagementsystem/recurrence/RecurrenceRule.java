@@ -0,0 +1,186 @@
+package io.github.devtae.taskmanagementsystem.recurrence;
+
+import io.github.devtae.taskmanagementsystem.exception.InvalidRequestException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * A repeat rule in the style of an iCalendar RRULE, such as {@code FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,TH;COUNT=10}.
+ * The first occurrence is the schedule's start; later ones repeat its time of day.
+ * <p>
+ * Supported parts: {@code FREQ} (DAILY, WEEKLY or MONTHLY), {@code INTERVAL}, {@code BYDAY} (weekly rules
+ * only, weeks starting on Monday), {@code COUNT} and {@code UNTIL} (a local date-time). Monthly rules fall on
+ * the start's day of the month, or on the last day of shorter months.
+ *
+ * @param frequency the unit the rule repeats in
+ * @param interval how many units lie between repeats
+ * @param days the days of the week a weekly rule falls on, Monday first; empty for the start's day
+ * @param count how many occurrences there are at most, including the first, or null for no limit
+ * @param until the last moment an occurrence may fall on, or null for no limit
+ */
+public record RecurrenceRule(Frequency frequency, int interval, List<DayOfWeek> days, Integer count,
+                             LocalDateTime until) {
+    private static final Map<String, DayOfWeek> DAY_CODES = Map.of(
+            "MO", DayOfWeek.MONDAY, "TU", DayOfWeek.TUESDAY, "WE", DayOfWeek.WEDNESDAY, "TH", DayOfWeek.THURSDAY,
+            "FR", DayOfWeek.FRIDAY, "SA", DayOfWeek.SATURDAY, "SU", DayOfWeek.SUNDAY);
+
+    public enum Frequency {
+        DAILY, WEEKLY, MONTHLY
+    }
+
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new InvalidRequestException("Recurrence rule cannot be blank");
+        }
+        Frequency frequency = null;
+        int interval = 1;
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        Integer count = null;
+        LocalDateTime until = null;
+        String body = rule.trim().toUpperCase();
+        for (String part : (body.startsWith("RRULE:") ? body.substring(6) : body).split(";")) {
+            int equals = part.indexOf('=');
+            if (equals < 0) {
+                throw new InvalidRequestException("Recurrence rule part is not NAME=VALUE: " + part);
+            }
+            String value = part.substring(equals + 1);
+            try {
+                switch (part.substring(0, equals)) {
+                    case "FREQ" -> frequency = Frequency.valueOf(value);
+                    case "INTERVAL" -> interval = Integer.parseInt(value);
+                    case "COUNT" -> count = Integer.parseInt(value);
+                    case "UNTIL" -> until = LocalDateTime.parse(value);
+                    case "BYDAY" -> {
+                        for (String code : value.split(",")) {
+                            DayOfWeek day = DAY_CODES.get(code);
+                            if (day == null) {
+                                throw new InvalidRequestException("Unknown BYDAY day: " + code);
+                            }
+                            days.add(day);
+                        }
+                    }
+                    default -> throw new InvalidRequestException("Unsupported recurrence rule part: " + part);
+                }
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new InvalidRequestException("Invalid recurrence rule part: " + part);
+            }
+        }
+        if (frequency == null) {
+            throw new InvalidRequestException("Recurrence rule needs FREQ=DAILY, WEEKLY or MONTHLY");
+        }
+        if (interval < 1 || (count != null && count < 1)) {
+            throw new InvalidRequestException("INTERVAL and COUNT must be positive");
+        }
+        if (!days.isEmpty() && frequency != Frequency.WEEKLY) {
+            throw new InvalidRequestException("BYDAY is only supported with FREQ=WEEKLY");
+        }
+        return new RecurrenceRule(frequency, interval, List.copyOf(days), count, until);
+    }
+
+    /**
+     * Passes every occurrence in [{@code from}, {@code to}) to {@code occurrences}, in order. The rule is not
+     * walked from its start: the arithmetic jumps to the period holding {@code from}, so the cost depends
+     * on the window, not on how long the rule has been running.
+     */
+    public void occurrences(LocalDateTime start, LocalDateTime from, LocalDateTime to,
+                            Consumer<LocalDateTime> occurrences) {
+        LocalDateTime end = until != null && until.isBefore(to) ? until.plusNanos(1) : to;
+        if (!from.isBefore(end)) {
+            return;
+        }
+        // A weekly period starts on the Monday of the start's week; offsets are the days into a period
+        LocalDateTime base = frequency == Frequency.WEEKLY
+                ? start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                : start;
+        int[] offsets = frequency != Frequency.WEEKLY ? new int[]{0}
+                : days.isEmpty() ? new int[]{start.getDayOfWeek().ordinal()}
+                : days.stream().mapToInt(DayOfWeek::ordinal).toArray();
+        // Occurrences of the first period that would come before the start do not count; offsets are sorted
+        int skipped = 0;
+        while (frequency == Frequency.WEEKLY && skipped < offsets.length
+                && offsets[skipped] < start.getDayOfWeek().ordinal()) {
+            skipped++;
+        }
+
+        long period = Math.max(0, periodsBetween(base, from) / interval - 1);
+        while (true) {
+            LocalDateTime periodStart = periodStart(start, base, period * interval);
+            for (int i = 0; i < offsets.length; i++) {
+                LocalDateTime occurrence = periodStart.plusDays(offsets[i]);
+                if (occurrence.isBefore(start)) {
+                    continue;
+                }
+                if (count != null && period * offsets.length + i - skipped >= count) {
+                    return;
+                }
+                if (!occurrence.isBefore(end)) {
+                    return;
+                }
+                if (!occurrence.isBefore(from)) {
+                    occurrences.accept(occurrence);
+                }
+            }
+            period++;
+        }
+    }
+
+    /**
+     * @return whether an occurrence of a schedule starting at {@code start} falls exactly on {@code time}
+     */
+    public boolean occursAt(LocalDateTime start, LocalDateTime time) {
+        boolean[] found = new boolean[1];
+        occurrences(start, time, time.plusNanos(1), occurrence -> found[0] = true);
+        return found[0];
+    }
+
+    private long periodsBetween(LocalDateTime base, LocalDateTime time) {
+        return switch (frequency) {
+            case DAILY -> ChronoUnit.DAYS.between(base, time);
+            case WEEKLY -> ChronoUnit.WEEKS.between(base, time);
+            case MONTHLY -> ChronoUnit.MONTHS.between(base, time);
+        };
+    }
+
+    private LocalDateTime periodStart(LocalDateTime start, LocalDateTime base, long units) {
+        return switch (frequency) {
+            case DAILY -> base.plusDays(units);
+            case WEEKLY -> base.plusWeeks(units);
+            // From the start each time, so a month with fewer days does not pull later months back
+            case MONTHLY -> start.plusMonths(units);
+        };
+    }
+
+    /**
+     * @return the rule in its canonical RRULE form
+     */
+    @Override
+    public String toString() {
+        List<String> parts = new ArrayList<>();
+        parts.add("FREQ=" + frequency);
+        if (interval != 1) {
+            parts.add("INTERVAL=" + interval);
+        }
+        if (!days.isEmpty()) {
+            parts.add("BYDAY=" + days.stream().map(day -> day.name().substring(0, 2))
+                    .collect(Collectors.joining(",")));
+        }
+        if (count != null) {
+            parts.add("COUNT=" + count);
+        }
+        if (until != null) {
+            parts.add("UNTIL=" + until);
+        }
+        return String.join(";", parts);
+    }
+}
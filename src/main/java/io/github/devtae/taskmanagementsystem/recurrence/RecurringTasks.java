@@ -0,0 +1,291 @@
+package io.github.devtae.taskmanagementsystem.recurrence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.devtae.taskmanagementsystem.dto.ScheduledTask;
+import io.github.devtae.taskmanagementsystem.dto.TaskSchedule;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent.ChangeType;
+import io.github.devtae.taskmanagementsystem.exception.InvalidRequestException;
+import io.github.devtae.taskmanagementsystem.exception.TaskNotFoundException;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import io.github.devtae.taskmanagementsystem.model.TaskOccurrence;
+import io.github.devtae.taskmanagementsystem.model.TaskRecurrence;
+import io.github.devtae.taskmanagementsystem.repository.TaskOccurrenceRepository;
+import io.github.devtae.taskmanagementsystem.repository.TaskRecurrenceRepository;
+import io.github.devtae.taskmanagementsystem.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Recurring tasks and their occurrences. A task recurs by having a rule; its occurrences are never stored
+ * but expanded from the rule for the time range being listed, so a task that repeats every day for years
+ * costs one row. Occurrences that are completed or skipped are recorded one row each.
+ * <p>
+ * The schedules of all recurring tasks are held in memory, loaded on first use and again once
+ * {@code cacheTtl} has passed, and kept up to date in between as this instance changes tasks and rules.
+ * Expanded time ranges are cached as well, and dropped whenever a schedule or occurrence changes. Listing
+ * "due today" is then a cache lookup, or one pass over the schedules that jumps straight to the day in each
+ * rule, plus an indexed read of the day's few recorded occurrences.
+ */
+@Component
+@ConditionalOnProperty(prefix = "tasks.recurrence", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RecurringTasks {
+    static final String CACHE_NAME = "task-occurrences";
+    private static final Comparator<ScheduledTask> ORDER = Comparator.comparing(ScheduledTask::occursAt)
+            .thenComparing(ScheduledTask::taskId);
+
+    private final TaskRepository taskRepository;
+    private final TaskRecurrenceRepository recurrenceRepository;
+    private final TaskOccurrenceRepository occurrenceRepository;
+    private final TransactionTemplate transaction;
+    private final RecurrenceProperties properties;
+    private final Clock clock;
+    private final Cache<Window, List<ScheduledTask>> windows;
+
+    private final Object loadLock = new Object();
+    // Replaced on every load; changed in place as tasks and rules change. Null until first loaded.
+    private volatile Map<Long, Schedule> schedules;
+    private volatile long loadedAt;
+    // Bumped by every change, so a load that overlapped one is not trusted for a full cacheTtl
+    private final AtomicLong changes = new AtomicLong();
+
+    @Autowired
+    public RecurringTasks(TaskRepository taskRepository, TaskRecurrenceRepository recurrenceRepository,
+                          TaskOccurrenceRepository occurrenceRepository,
+                          PlatformTransactionManager transactionManager, RecurrenceProperties properties,
+                          MeterRegistry meterRegistry) {
+        this(taskRepository, recurrenceRepository, occurrenceRepository, transactionManager, properties,
+                Clock.systemDefaultZone());
+        CaffeineCacheMetrics.monitor(meterRegistry, windows, CACHE_NAME);
+    }
+
+    RecurringTasks(TaskRepository taskRepository, TaskRecurrenceRepository recurrenceRepository,
+                   TaskOccurrenceRepository occurrenceRepository, PlatformTransactionManager transactionManager,
+                   RecurrenceProperties properties, Clock clock) {
+        this.taskRepository = taskRepository;
+        this.recurrenceRepository = recurrenceRepository;
+        this.occurrenceRepository = occurrenceRepository;
+        // Not read-only, so with replica routing on schedules are read from the primary that the change
+        // events describe
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.clock = clock;
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(properties.cacheSize())
+                .expireAfterWrite(properties.cacheTtl())
+                .recordStats()
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public TaskSchedule getSchedule(Long taskId) {
+        TaskRecurrence recurrence = findRecurrence(taskId);
+        return new TaskSchedule(recurrence.getRule(), recurrence.getStartsAt());
+    }
+
+    /**
+     * Makes a task recur, or changes how it recurs. Occurrences already completed or skipped stay recorded,
+     * and still apply where the new rule has an occurrence at the same time.
+     */
+    @Transactional
+    public TaskSchedule setSchedule(Long taskId, TaskSchedule schedule) {
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
+        RecurrenceRule rule = RecurrenceRule.parse(schedule.rule());
+        LocalDateTime startsAt = schedule.startsAt() != null ? schedule.startsAt() : task.getDueDate();
+        if (startsAt == null) {
+            throw new InvalidRequestException("startsAt is required for a task without a due date");
+        }
+
+        TaskRecurrence recurrence = recurrenceRepository.findById(taskId).orElseGet(() -> {
+            TaskRecurrence created = new TaskRecurrence();
+            created.setTask(task);
+            return created;
+        });
+        recurrence.setRule(rule.toString());
+        recurrence.setStartsAt(startsAt);
+        recurrence.setUpdatedAt(LocalDateTime.now(clock));
+        recurrenceRepository.save(recurrence);
+
+        Schedule changed = new Schedule(taskId, task.getTitle(), task.isCompleted(), rule, startsAt);
+        afterCommit(() -> changed(taskId, changed));
+        return new TaskSchedule(rule.toString(), startsAt);
+    }
+
+    /**
+     * Stops a task from recurring, forgetting its completed and skipped occurrences.
+     */
+    @Transactional
+    public void removeSchedule(Long taskId) {
+        if (recurrenceRepository.deleteByTaskId(taskId) == 0) {
+            throw new TaskNotFoundException("Task " + taskId + " does not recur");
+        }
+        afterCommit(() -> changed(taskId, null));
+    }
+
+    /**
+     * Lists the occurrences of open recurring tasks in [{@code from}, {@code to}), soonest first, leaving out
+     * skipped ones. Without {@code from}, the range starts today; without {@code to}, it lasts one day.
+     */
+    public List<ScheduledTask> occurrences(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from != null ? from : LocalDate.now(clock).atStartOfDay();
+        LocalDateTime end = to != null ? to : start.plusDays(1);
+        if (!end.isAfter(start)) {
+            throw new InvalidRequestException("to must be after from");
+        }
+        if (end.isAfter(start.plus(properties.maxWindow()))) {
+            throw new InvalidRequestException("Occurrences can be listed at most " + properties.maxWindow().toDays()
+                    + " days at a time");
+        }
+        return windows.get(new Window(start, end), this::expand);
+    }
+
+    @Transactional
+    public ScheduledTask completeOccurrence(Long taskId, LocalDateTime occursAt) {
+        TaskOccurrence occurrence = record(taskId, occursAt, TaskOccurrence.Status.COMPLETED);
+        return new ScheduledTask(taskId, occurrence.getRecurrence().getTask().getTitle(), occursAt, true);
+    }
+
+    @Transactional
+    public void skipOccurrence(Long taskId, LocalDateTime occursAt) {
+        record(taskId, occursAt, TaskOccurrence.Status.SKIPPED);
+    }
+
+    private TaskOccurrence record(Long taskId, LocalDateTime occursAt, TaskOccurrence.Status status) {
+        TaskRecurrence recurrence = findRecurrence(taskId);
+        if (!RecurrenceRule.parse(recurrence.getRule()).occursAt(recurrence.getStartsAt(), occursAt)) {
+            throw new TaskNotFoundException("Task " + taskId + " has no occurrence at " + occursAt);
+        }
+        TaskOccurrence occurrence = occurrenceRepository.findById(new TaskOccurrence.Key(taskId, occursAt))
+                .orElseGet(() -> {
+                    TaskOccurrence created = new TaskOccurrence();
+                    created.setRecurrence(recurrence);
+                    created.setOccursAt(occursAt);
+                    return created;
+                });
+        occurrence.setStatus(status);
+        occurrence.setUpdatedAt(LocalDateTime.now(clock));
+        occurrenceRepository.save(occurrence);
+        afterCommit(() -> {
+            changes.incrementAndGet();
+            windows.invalidateAll();
+        });
+        return occurrence;
+    }
+
+    private TaskRecurrence findRecurrence(Long taskId) {
+        return recurrenceRepository.findById(taskId)
+                .orElseThrow(() -> new TaskNotFoundException("Task " + taskId + " does not recur"));
+    }
+
+    /**
+     * Keeps held schedules in step with their tasks: a new title, completion or reopening, deletion and
+     * archiving, which deletes the rule along with the task.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        Map<Long, Schedule> held = schedules;
+        Schedule schedule = held == null ? null : held.get(event.taskId());
+        if (schedule == null) {
+            return;
+        }
+        if (event.task() == null || event.type() == ChangeType.ARCHIVED) {
+            changed(event.taskId(), null);
+        } else if (!schedule.title().equals(event.task().title()) || schedule.completed() != event.task().completed()) {
+            changed(event.taskId(), new Schedule(event.taskId(), event.task().title(), event.task().completed(),
+                    schedule.rule(), schedule.startsAt()));
+        }
+    }
+
+    private void changed(Long taskId, Schedule schedule) {
+        changes.incrementAndGet();
+        Map<Long, Schedule> held = schedules;
+        if (held != null) {
+            if (schedule == null) {
+                held.remove(taskId);
+            } else {
+                held.put(taskId, schedule);
+            }
+        }
+        windows.invalidateAll();
+    }
+
+    private List<ScheduledTask> expand(Window window) {
+        Map<TaskOccurrence.Key, TaskOccurrence.Status> recorded =
+                occurrenceRepository.findBetween(window.from(), window.to()).stream()
+                        .collect(Collectors.toMap(
+                                occurrence -> new TaskOccurrence.Key(occurrence.getRecurrence().getTaskId(),
+                                        occurrence.getOccursAt()),
+                                TaskOccurrence::getStatus));
+        List<ScheduledTask> occurrences = new ArrayList<>();
+        for (Schedule schedule : schedules().values()) {
+            if (schedule.completed()) {
+                continue;
+            }
+            schedule.rule().occurrences(schedule.startsAt(), window.from(), window.to(), occursAt -> {
+                TaskOccurrence.Status status = recorded.isEmpty() ? null
+                        : recorded.get(new TaskOccurrence.Key(schedule.taskId(), occursAt));
+                if (status != TaskOccurrence.Status.SKIPPED) {
+                    occurrences.add(new ScheduledTask(schedule.taskId(), schedule.title(), occursAt,
+                            status == TaskOccurrence.Status.COMPLETED));
+                }
+            });
+        }
+        occurrences.sort(ORDER);
+        return Collections.unmodifiableList(occurrences);
+    }
+
+    private Map<Long, Schedule> schedules() {
+        synchronized (loadLock) {
+            if (schedules == null || clock.millis() - loadedAt >= properties.cacheTtl().toMillis()) {
+                long seen = changes.get();
+                Map<Long, Schedule> loaded = new ConcurrentHashMap<>();
+                transaction.executeWithoutResult(status -> {
+                    try (Stream<Schedule> stream = recurrenceRepository.streamSchedules()) {
+                        stream.forEach(schedule -> loaded.put(schedule.taskId(), schedule));
+                    }
+                });
+                schedules = loaded;
+                // A change may have been read before or after it happened, so load again next time
+                loadedAt = changes.get() == seen ? clock.millis() : 0;
+            }
+            return schedules;
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    record Window(LocalDateTime from, LocalDateTime to) {
+    }
+}
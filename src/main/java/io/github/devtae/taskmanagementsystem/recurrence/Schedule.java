@@ -0,0 +1,15 @@
+package io.github.devtae.taskmanagementsystem.recurrence;
+
+import java.time.LocalDateTime;
+
+/**
+ * A recurring task as held for expanding occurrences: the few columns needed, with the rule parsed once when
+ * the schedule is loaded rather than for every time range. A completed task has no more occurrences.
+ */
+public record Schedule(Long taskId, String title, boolean completed, RecurrenceRule rule, LocalDateTime startsAt) {
+
+    // Used by the query that loads schedules
+    public Schedule(Long taskId, String title, boolean completed, String rule, LocalDateTime startsAt) {
+        this(taskId, title, completed, RecurrenceRule.parse(rule), startsAt);
+    }
+}
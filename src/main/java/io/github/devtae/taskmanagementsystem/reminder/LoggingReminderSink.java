@@ -0,0 +1,17 @@
+package io.github.devtae.taskmanagementsystem.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default sink that writes each reminder to the application log.
+ */
+public class LoggingReminderSink implements ReminderSink {
+    private static final Logger log = LoggerFactory.getLogger(LoggingReminderSink.class);
+
+    @Override
+    public void deliver(ReminderEvent event) {
+        log.info("Task {} is {} (due {})", event.taskId(),
+                event.kind() == ReminderEvent.Kind.UPCOMING ? "due soon" : "overdue", event.dueDate());
+    }
+}
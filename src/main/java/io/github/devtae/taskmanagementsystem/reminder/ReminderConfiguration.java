@@ -0,0 +1,15 @@
+package io.github.devtae.taskmanagementsystem.reminder;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ReminderConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ReminderSink reminderSink() {
+        return new LoggingReminderSink();
+    }
+}
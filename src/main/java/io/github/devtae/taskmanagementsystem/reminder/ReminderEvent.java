@@ -0,0 +1,19 @@
+package io.github.devtae.taskmanagementsystem.reminder;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * A reminder for an incomplete task.
+ *
+ * @param taskId the task the reminder is about
+ * @param dueDate the task's due date at the time the reminder was scheduled
+ * @param kind whether the task is about to become due or is now overdue
+ * @param firedAt when the reminder fired
+ */
+public record ReminderEvent(Long taskId, LocalDateTime dueDate, Kind kind, Instant firedAt) {
+
+    public enum Kind {
+        UPCOMING, OVERDUE
+    }
+}
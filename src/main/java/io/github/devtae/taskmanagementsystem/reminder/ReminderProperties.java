@@ -0,0 +1,25 @@
+package io.github.devtae.taskmanagementsystem.reminder;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for due-date reminders.
+ *
+ * @param enabled whether the reminder engine runs at all
+ * @param leadTime how long before the due date the "upcoming" reminder fires
+ * @param window how far ahead of now upcoming reminders are loaded from the database
+ * @param refreshInterval how often the loaded window slides forward
+ * @param tick the timing wheel resolution
+ * @param maxPending the most reminders held in memory; further tasks load as earlier ones fire
+ */
+@ConfigurationProperties(prefix = "tasks.reminders")
+public record ReminderProperties(@DefaultValue("true") boolean enabled,
+                                 @DefaultValue("15m") Duration leadTime,
+                                 @DefaultValue("1h") Duration window,
+                                 @DefaultValue("1m") Duration refreshInterval,
+                                 @DefaultValue("1s") Duration tick,
+                                 @DefaultValue("1000000") int maxPending) {
+}
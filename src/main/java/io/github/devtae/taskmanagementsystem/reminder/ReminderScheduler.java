@@ -0,0 +1,222 @@
+package io.github.devtae.taskmanagementsystem.reminder;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskDueDate;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent;
+import io.github.devtae.taskmanagementsystem.repository.TaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires reminders for incomplete tasks shortly before and when they become due.
+ * <p>
+ * Only tasks whose reminders fall within the next {@code window} are held, in a {@link TimingWheel}.
+ * The window slides forward every {@code refreshInterval} by querying just the newly covered slice of
+ * due dates, and task writes adjust the wheel directly, so the table is never rescanned.
+ */
+@Component
+@ConditionalOnProperty(prefix = "tasks.reminders", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ReminderScheduler implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(ReminderScheduler.class);
+
+    private final TaskRepository taskRepository;
+    private final ReminderSink sink;
+    private final ReminderProperties properties;
+    private final Clock clock;
+    private final TimingWheel wheel;
+
+    // Guarded by this. Tasks up to the keyset position (loadedUntil, loadedThroughId) have been loaded;
+    // loadedThroughId is Long.MIN_VALUE unless the wheel filled up part way through tasks due at loadedUntil.
+    private LocalDateTime loadedUntil;
+    private long loadedThroughId = Long.MIN_VALUE;
+    private boolean loading;
+    private final Map<Long, TaskChangedEvent> changedDuringLoad = new LinkedHashMap<>();
+
+    private ScheduledExecutorService executor;
+
+    @Autowired
+    public ReminderScheduler(TaskRepository taskRepository, ReminderSink sink, ReminderProperties properties,
+                             MeterRegistry meterRegistry) {
+        this(taskRepository, sink, properties, Clock.systemDefaultZone());
+        Gauge.builder("tasks.reminders.pending", this, ReminderScheduler::pending)
+                .description("Reminders currently held in the timing wheel")
+                .register(meterRegistry);
+    }
+
+    ReminderScheduler(TaskRepository taskRepository, ReminderSink sink, ReminderProperties properties, Clock clock) {
+        this.taskRepository = taskRepository;
+        this.sink = sink;
+        this.properties = properties;
+        this.clock = clock;
+        this.wheel = new TimingWheel(properties.tick().toMillis(),
+                properties.window().plus(properties.leadTime()).toMillis(), clock.millis());
+    }
+
+    @Override
+    public synchronized void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(() -> runSafely(this::slideWindow), 0,
+                properties.refreshInterval().toMillis(), TimeUnit.MILLISECONDS);
+        executor.scheduleAtFixedRate(() -> runSafely(this::tick), properties.tick().toMillis(),
+                properties.tick().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return executor != null;
+    }
+
+    /**
+     * Loads open tasks due between the end of the loaded window and {@code now + window + leadTime},
+     * up to the free capacity of the wheel. The loaded window ends at a (due date, id) keyset position, so
+     * tasks sharing a due date are neither loaded twice nor skipped when capacity runs out among them.
+     */
+    void slideWindow() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime to = now.plus(properties.window()).plus(properties.leadTime());
+        LocalDateTime from;
+        long afterId;
+        int capacity;
+        synchronized (this) {
+            from = loadedUntil == null ? now : loadedUntil;
+            afterId = loadedUntil == null ? Long.MIN_VALUE : loadedThroughId;
+            capacity = properties.maxPending() - wheel.size();
+            if (capacity <= 0 || !from.isBefore(to)) {
+                return;
+            }
+            loading = true;
+        }
+
+        List<TaskDueDate> due;
+        try {
+            due = taskRepository.findOpenTasksDueAfter(from, afterId, to, PageRequest.of(0, capacity));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                loading = false;
+                changedDuringLoad.clear();
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            for (TaskDueDate task : due) {
+                // Rows changed while the query ran may be stale; their latest event is replayed below.
+                if (!changedDuringLoad.containsKey(task.getId())) {
+                    scheduleReminder(task.getId(), task.getDueDate());
+                }
+            }
+            // When capacity ran out, resume after the last loaded task once reminders have drained.
+            if (due.size() == capacity) {
+                TaskDueDate last = due.get(due.size() - 1);
+                loadedUntil = last.getDueDate();
+                loadedThroughId = last.getId();
+            } else {
+                loadedUntil = to;
+                loadedThroughId = Long.MIN_VALUE;
+            }
+            loading = false;
+            changedDuringLoad.values().forEach(this::apply);
+            changedDuringLoad.clear();
+        }
+    }
+
+    /**
+     * Fires every reminder whose time has come. An "upcoming" reminder is followed by an "overdue"
+     * one at the due date.
+     */
+    void tick() {
+        List<TimingWheel.Entry> expired = new ArrayList<>();
+        synchronized (this) {
+            wheel.advance(clock.millis(), expired::add);
+            for (TimingWheel.Entry entry : expired) {
+                if (entry.kind == ReminderEvent.Kind.UPCOMING) {
+                    wheel.schedule(entry.taskId, entry.dueMillis, entry.dueMillis, ReminderEvent.Kind.OVERDUE);
+                }
+            }
+        }
+
+        Instant firedAt = clock.instant();
+        for (TimingWheel.Entry entry : expired) {
+            LocalDateTime dueDate = LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.dueMillis), clock.getZone());
+            try {
+                sink.deliver(new ReminderEvent(entry.taskId, dueDate, entry.kind, firedAt));
+            } catch (RuntimeException e) {
+                log.warn("Reminder sink failed for task {}", entry.taskId, e);
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onTaskChanged(TaskChangedEvent event) {
+        if (loading) {
+            changedDuringLoad.put(event.taskId(), event);
+        }
+        apply(event);
+    }
+
+    synchronized int pending() {
+        return wheel.size();
+    }
+
+    private void apply(TaskChangedEvent event) {
+        wheel.cancel(event.taskId());
+        TaskSnapshot task = event.task();
+        if (task == null || task.completed() || task.dueDate() == null || loadedUntil == null) {
+            return;
+        }
+        // Due dates past the loaded window are picked up when it slides over them.
+        if (!task.dueDate().isBefore(LocalDateTime.now(clock)) && loaded(task.id(), task.dueDate())
+                && wheel.size() < properties.maxPending()) {
+            scheduleReminder(task.id(), task.dueDate());
+        }
+    }
+
+    private boolean loaded(Long taskId, LocalDateTime dueDate) {
+        return dueDate.isBefore(loadedUntil) || (dueDate.equals(loadedUntil) && taskId <= loadedThroughId);
+    }
+
+    private void scheduleReminder(Long taskId, LocalDateTime dueDate) {
+        long dueMillis = dueDate.atZone(clock.getZone()).toInstant().toEpochMilli();
+        wheel.schedule(taskId, dueMillis - properties.leadTime().toMillis(), dueMillis, ReminderEvent.Kind.UPCOMING);
+    }
+
+    private static void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.warn("Reminder processing failed", e);
+        }
+    }
+}
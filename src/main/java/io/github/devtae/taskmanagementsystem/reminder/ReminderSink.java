@@ -0,0 +1,10 @@
+package io.github.devtae.taskmanagementsystem.reminder;
+
+/**
+ * Receives reminders as they fire. Called from the reminder thread, so implementations should hand
+ * slow work (email, push) off rather than block it.
+ */
+@FunctionalInterface
+public interface ReminderSink {
+    void deliver(ReminderEvent event);
+}
@@ -0,0 +1,136 @@
+package io.github.devtae.taskmanagementsystem.reminder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel holding at most one pending reminder per task.
+ * <p>
+ * Each bucket is an intrusive doubly-linked list, so scheduling and cancelling are O(1) and advancing
+ * one tick only touches a single bucket. Entries remember their absolute deadline tick, which lets a
+ * deadline lie more than one rotation ahead: such entries simply stay put until their tick comes round.
+ * Not thread-safe; callers synchronize.
+ */
+final class TimingWheel {
+
+    static final class Entry {
+        final long taskId;
+        final long deadlineTick;
+        final long dueMillis;
+        final ReminderEvent.Kind kind;
+        private Entry prev;
+        private Entry next;
+        private int bucket;
+
+        private Entry(long taskId, long deadlineTick, long dueMillis, ReminderEvent.Kind kind) {
+            this.taskId = taskId;
+            this.deadlineTick = deadlineTick;
+            this.dueMillis = dueMillis;
+            this.kind = kind;
+        }
+    }
+
+    private static final int MIN_BUCKETS = 16;
+    private static final int MAX_BUCKETS = 1 << 20;
+
+    private final long tickMillis;
+    private final Entry[] heads;
+    private final int mask;
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private long currentTick;
+
+    /**
+     * @param tickMillis the wheel resolution
+     * @param horizonMillis the span of deadlines usually held, used to size the wheel
+     * @param nowMillis the current time; the wheel starts at the tick containing it
+     */
+    TimingWheel(long tickMillis, long horizonMillis, long nowMillis) {
+        int slots = (int) Math.min(MAX_BUCKETS, Math.max(MIN_BUCKETS, horizonMillis / tickMillis));
+        int buckets = Integer.highestOneBit(slots - 1) << 1;
+        this.tickMillis = tickMillis;
+        this.heads = new Entry[buckets];
+        this.mask = buckets - 1;
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Schedules a reminder, replacing any pending one for the same task. Deadlines that have already
+     * passed fire on the next tick.
+     */
+    void schedule(long taskId, long deadlineMillis, long dueMillis, ReminderEvent.Kind kind) {
+        cancel(taskId);
+        long tick = Math.max(ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        Entry entry = new Entry(taskId, tick, dueMillis, kind);
+        entry.bucket = (int) (tick & mask);
+        entry.next = heads[entry.bucket];
+        if (entry.next != null) {
+            entry.next.prev = entry;
+        }
+        heads[entry.bucket] = entry;
+        entries.put(taskId, entry);
+    }
+
+    boolean cancel(long taskId) {
+        Entry entry = entries.remove(taskId);
+        if (entry == null) {
+            return false;
+        }
+        unlink(entry);
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the tick containing {@code nowMillis}, removing every entry whose deadline
+     * has been reached and passing it to {@code expired}. The callback must not schedule into this wheel.
+     */
+    void advance(long nowMillis, Consumer<Entry> expired) {
+        long targetTick = nowMillis / tickMillis;
+        if (targetTick - currentTick >= heads.length) {
+            // Fell more than a full rotation behind (e.g. a long GC pause): sweep every bucket once.
+            for (int bucket = 0; bucket < heads.length; bucket++) {
+                expireBucket(bucket, targetTick, expired);
+            }
+            currentTick = targetTick;
+            return;
+        }
+        while (currentTick < targetTick) {
+            currentTick++;
+            expireBucket((int) (currentTick & mask), currentTick, expired);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void expireBucket(int bucket, long upToTick, Consumer<Entry> expired) {
+        Entry entry = heads[bucket];
+        while (entry != null) {
+            Entry next = entry.next;
+            if (entry.deadlineTick <= upToTick) {
+                entries.remove(entry.taskId);
+                unlink(entry);
+                expired.accept(entry);
+            }
+            entry = next;
+        }
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            heads[entry.bucket] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.devtae.taskmanagementsystem.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Puts {@link ReplicaRoutingDataSource} in front of the application's data source when
+ * {@code tasks.replicas.enabled=true}, and keeps each client's reads on the primary right after it writes.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "tasks.replicas", name = "enabled", havingValue = "true")
+public class ReplicaConfiguration {
+
+    @Bean
+    public static BeanPostProcessor replicaRoutingPostProcessor(ObjectProvider<ReplicaProperties> properties,
+                                                                ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ReplicaRoutingPostProcessor(properties, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReplicaProperties properties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(properties.readYourWritesWindow()));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    /**
+     * Runs after every other data source post-processor, so the primary keeps any decoration it was given.
+     */
+    private static final class ReplicaRoutingPostProcessor implements BeanPostProcessor, Ordered {
+        private final ObjectProvider<ReplicaProperties> properties;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+
+        private ReplicaRoutingPostProcessor(ObjectProvider<ReplicaProperties> properties,
+                                            ObjectProvider<MeterRegistry> meterRegistry) {
+            this.properties = properties;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource primary) || !"dataSource".equals(beanName)) {
+                return bean;
+            }
+            ReplicaProperties settings = properties.getObject();
+            List<ReplicaProperties.Pool> pools = settings.pools();
+            Map<String, DataSource> replicas = new LinkedHashMap<>();
+            for (int i = 0; i < pools.size(); i++) {
+                replicas.put("replica-" + i, pool("replica-" + i, pools.get(i), settings));
+            }
+            ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas,
+                    meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+
+            ScheduledExecutorService healthChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-health");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = settings.healthCheckInterval().toMillis();
+            healthChecks.scheduleWithFixedDelay(routing::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+            return ReplicaRoutingDataSource.lazy(routing);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+
+        private static HikariDataSource pool(String name, ReplicaProperties.Pool pool, ReplicaProperties settings) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(name);
+            dataSource.setJdbcUrl(pool.url());
+            dataSource.setUsername(pool.username());
+            dataSource.setPassword(pool.password());
+            dataSource.setMaximumPoolSize(settings.maximumPoolSize());
+            dataSource.setConnectionTimeout(settings.connectionTimeout().toMillis());
+            dataSource.setReadOnly(true);
+            // Start even if a replica is down; the health check brings it in once it answers
+            dataSource.setInitializationFailTimeout(-1);
+            return dataSource;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.devtae.taskmanagementsystem.replica;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for sending read-only transactions to read replicas.
+ *
+ * @param enabled whether read-only transactions are routed to replicas at all
+ * @param pools the replicas, used in turn
+ * @param maximumPoolSize the most connections held to each replica
+ * @param connectionTimeout how long to wait for a replica connection before falling back to the primary
+ * @param healthCheckInterval how often each replica is checked, so one that failed is used again once it recovers
+ * @param readYourWritesWindow how long a client's reads stay on the primary after it changes something;
+ *                             should exceed the usual replication lag
+ */
+@ConfigurationProperties(prefix = "tasks.replicas")
+public record ReplicaProperties(@DefaultValue("false") boolean enabled,
+                                @DefaultValue List<Pool> pools,
+                                @DefaultValue("10") int maximumPoolSize,
+                                @DefaultValue("2s") Duration connectionTimeout,
+                                @DefaultValue("5s") Duration healthCheckInterval,
+                                @DefaultValue("5s") Duration readYourWritesWindow) {
+
+    /**
+     * Connection settings for one replica.
+     */
+    public record Pool(String url, String username, String password) {
+    }
+}
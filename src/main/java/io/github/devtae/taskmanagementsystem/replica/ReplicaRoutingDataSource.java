@@ -0,0 +1,158 @@
+package io.github.devtae.taskmanagementsystem.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections to everything else.
+ * <p>
+ * Replicas are used in turn. One that fails to give a connection is skipped until a health check finds
+ * it working again, and when none is available reads fall back to the primary. Requests pinned by
+ * {@link ReadYourWritesFilter} always read from the primary.
+ * <p>
+ * The routing decision needs the transaction's read-only flag, which is only known once the transaction
+ * has begun, so this data source must be used behind a {@link LazyConnectionDataSourceProxy}; see
+ * {@link #lazy}.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryConnections;
+
+    /**
+     * @param primary the data source for writes, and for reads when no replica is available
+     * @param replicas the replica data sources by name
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>(replicas.size());
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource,
+                connectionCounter(meterRegistry, name))));
+        this.primaryConnections = connectionCounter(meterRegistry, "primary");
+    }
+
+    /**
+     * Wraps a routing data source so connections are only fetched when the first statement runs, by
+     * which time the transaction's read-only flag is set.
+     */
+    public static DataSource lazy(ReplicaRoutingDataSource routing) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+        // Known up front, so the proxy need not open a connection just to find them out.
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        proxy.setTargetDataSource(routing);
+        proxy.afterPropertiesSet();
+        return proxy;
+    }
+
+    public DataSource primary() {
+        return primary;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReadYourWritesFilter.pinned()) {
+            int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    replica.connections.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    replica.markDown(e);
+                }
+            }
+        }
+        Connection connection = primary.getConnection();
+        primaryConnections.increment();
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Credentials are configured per pool");
+    }
+
+    // Unwraps to the primary, so pool metrics and other tools that look for the pool still find it
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : primary.unwrap(iface);
+    }
+
+    /**
+     * Checks every replica and brings back those that answer again.
+     */
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(1)) {
+                    replica.markUp();
+                } else {
+                    replica.markDown(null);
+                }
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+    }
+
+    private static Counter connectionCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("tasks.datasource.connections")
+                .description("Connections handed out, by the database they came from")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+        final String name;
+        final DataSource dataSource;
+        final Counter connections;
+        volatile boolean healthy = true;
+
+        Replica(String name, DataSource dataSource, Counter connections) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.connections = connections;
+        }
+
+        void markDown(SQLException cause) {
+            if (healthy) {
+                healthy = false;
+                log.warn("Replica {} is unavailable; reading from the others or the primary", name, cause);
+            }
+        }
+
+        void markUp() {
+            if (!healthy) {
+                healthy = true;
+                log.info("Replica {} is available again", name);
+            }
+        }
+    }
+}
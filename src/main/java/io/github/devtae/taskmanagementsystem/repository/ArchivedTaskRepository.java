@@ -0,0 +1,65 @@
+package io.github.devtae.taskmanagementsystem.repository;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.dto.TaskVersion;
+import io.github.devtae.taskmanagementsystem.model.ArchivedTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    /**
+     * Returns an archived task as a snapshot, for lookups that missed the tasks table. Not read-only, so it is
+     * answered by the primary like {@link TaskRepository#findSnapshotById}.
+     */
+    @Transactional
+    @Query("select new io.github.devtae.taskmanagementsystem.dto.TaskSnapshot(t.id, t.title, t.description, "
+            + "t.dueDate, t.isCompleted, t.createdAt, t.updatedAt, t.version) from ArchivedTask t where t.id = :id")
+    Optional<TaskSnapshot> findSnapshotById(@Param("id") Long id);
+
+    /**
+     * Returns just the version and last-modified time of an archived task.
+     */
+    @Query("select new io.github.devtae.taskmanagementsystem.dto.TaskVersion(t.version, t.updatedAt) "
+            + "from ArchivedTask t where t.id = :id")
+    Optional<TaskVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * Returns which of the given ids belong to archived tasks.
+     */
+    @Query("select t.id from ArchivedTask t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Copies the given rows of the tasks table into the archive with a single INSERT ... SELECT, so they
+     * never pass through the application.
+     *
+     * @return the number of rows copied
+     */
+    @Modifying
+    @Query(value = "INSERT INTO tasks_archive (id, title, description, due_date, completed, created_at, "
+            + "updated_at, version, archived_at) "
+            + "SELECT id, title, description, due_date, completed, created_at, updated_at, version, :archivedAt "
+            + "FROM tasks WHERE id IN (:ids)", nativeQuery = true)
+    int copyFromTasks(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    /**
+     * Deletes an archived task without loading it first.
+     *
+     * @return the number of rows deleted, 0 if no archived task has the given id
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from ArchivedTask t where t.id = :id")
+    int deleteArchivedTaskById(@Param("id") Long id);
+}
@@ -0,0 +1,51 @@
+package io.github.devtae.taskmanagementsystem.repository;
+
+import io.github.devtae.taskmanagementsystem.model.TaskChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The change feed allocates sequence numbers and hands out positions from these reads, so they run in
+ * read-write transactions and are answered by the primary even when reads are routed to replicas.
+ */
+@Repository
+public interface TaskChangeRepository extends JpaRepository<TaskChange, Long> {
+
+    /**
+     * Returns the changes with sequence numbers in (after, upTo], oldest first. A primary key range scan.
+     */
+    @Transactional
+    @Query("select c from TaskChange c where c.seq > :after and c.seq <= :upTo order by c.seq asc")
+    List<TaskChange> findRange(@Param("after") long after, @Param("upTo") long upTo, Pageable pageable);
+
+    @Transactional
+    @Query("select max(c.seq) from TaskChange c")
+    Long findMaxSeq();
+
+    @Transactional
+    @Query("select min(c.seq) from TaskChange c")
+    Long findMinSeq();
+
+    /**
+     * Returns the newest change recorded before the cutoff, not counting anything from {@code keepFrom} on.
+     */
+    @Transactional
+    @Query("select max(c.seq) from TaskChange c where c.changedAt < :cutoff and c.seq < :keepFrom")
+    Long findLastRecordedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("keepFrom") long keepFrom);
+
+    /**
+     * Deletes the changes with sequence numbers up to and including {@code seq}.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from TaskChange c where c.seq <= :seq")
+    int deleteThrough(@Param("seq") long seq);
+}
@@ -0,0 +1,35 @@
+package io.github.devtae.taskmanagementsystem.repository;
+
+import io.github.devtae.taskmanagementsystem.model.TaskChangeWriter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface TaskChangeWriterRepository extends JpaRepository<TaskChangeWriter, Integer> {
+
+    /**
+     * Takes or renews the lease for {@code owner} if it holds it already or the lease has expired.
+     *
+     * @return 1 if {@code owner} now holds the lease, 0 if another instance does
+     */
+    @Transactional
+    @Modifying
+    @Query("update TaskChangeWriter w set w.owner = :owner, w.expiresAt = :expiresAt "
+            + "where w.id = 1 and (w.owner = :owner or w.expiresAt < :now)")
+    int claim(@Param("owner") String owner, @Param("now") LocalDateTime now,
+              @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Lets the lease go at once, so another instance need not wait for it to expire.
+     */
+    @Transactional
+    @Modifying
+    @Query("update TaskChangeWriter w set w.expiresAt = :now where w.id = 1 and w.owner = :owner")
+    int release(@Param("owner") String owner, @Param("now") LocalDateTime now);
+}
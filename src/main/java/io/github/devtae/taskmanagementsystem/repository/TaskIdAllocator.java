@@ -0,0 +1,50 @@
+package io.github.devtae.taskmanagementsystem.repository;
+
+import io.github.devtae.taskmanagementsystem.model.Task;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+
+import java.util.Collection;
+
+/**
+ * Hands out task ids from the same generator Hibernate uses when it persists a task, for rows written
+ * with plain JDBC. The pooled optimizer serves ids from memory and only reaches the database once per block,
+ * so the short-lived stateless session used to call it rarely needs a connection.
+ */
+public final class TaskIdAllocator {
+    private final SessionFactoryImplementor sessionFactory;
+    private final BeforeExecutionGenerator generator;
+
+    public TaskIdAllocator(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.generator = (BeforeExecutionGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(Task.class)
+                .getGenerator();
+    }
+
+    public Long next() {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            return next((SharedSessionContractImplementor) session);
+        }
+    }
+
+    /**
+     * Gives each task a new id, sharing one session.
+     */
+    public void assign(Collection<Task> tasks) {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            SharedSessionContractImplementor implementor = (SharedSessionContractImplementor) session;
+            for (Task task : tasks) {
+                task.setId(next(implementor));
+            }
+        }
+    }
+
+    private Long next(SharedSessionContractImplementor session) {
+        return (Long) generator.generate(session, null, null, EventType.INSERT);
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.devtae.taskmanagementsystem.repository;
+
+import io.github.devtae.taskmanagementsystem.model.TaskOccurrence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskOccurrenceRepository extends JpaRepository<TaskOccurrence, TaskOccurrence.Key> {
+
+    /**
+     * Returns the completed and skipped occurrences in [from, to). Served by the occurs_at index, and only
+     * as many rows as occurrences someone has touched.
+     */
+    @Query("select o from TaskOccurrence o where o.occursAt >= :from and o.occursAt < :to")
+    List<TaskOccurrence> findBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
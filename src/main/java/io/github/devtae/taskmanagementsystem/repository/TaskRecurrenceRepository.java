@@ -0,0 +1,36 @@
+package io.github.devtae.taskmanagementsystem.repository;
+
+import io.github.devtae.taskmanagementsystem.model.TaskRecurrence;
+import io.github.devtae.taskmanagementsystem.recurrence.Schedule;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.stream.Stream;
+
+@Repository
+public interface TaskRecurrenceRepository extends JpaRepository<TaskRecurrence, Long> {
+
+    /**
+     * Streams the schedule of every recurring task with a server-side cursor. Must be consumed inside a
+     * transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new io.github.devtae.taskmanagementsystem.recurrence.Schedule(r.taskId, t.title, "
+            + "t.isCompleted, r.rule, r.startsAt) from TaskRecurrence r join r.task t")
+    Stream<Schedule> streamSchedules();
+
+    /**
+     * Deletes a task's rule with a single DELETE; the database deletes its recorded occurrences with it.
+     *
+     * @return the number of rows deleted, 0 if the task does not recur
+     */
+    @Modifying
+    @Query("delete from TaskRecurrence r where r.taskId = :taskId")
+    int deleteByTaskId(@Param("taskId") Long taskId);
+}
@@ -1,10 +1,163 @@
 package io.github.devtae.taskmanagementsystem.repository;
 
+import io.github.devtae.taskmanagementsystem.dto.TaskCounts;
+import io.github.devtae.taskmanagementsystem.dto.TaskDueDate;
+import io.github.devtae.taskmanagementsystem.dto.TaskDueMinute;
+import io.github.devtae.taskmanagementsystem.dto.TaskDueState;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.dto.TaskVersion;
 import io.github.devtae.taskmanagementsystem.model.Task;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    // custom query methods if needed
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        TaskReturningRepository {
+
+    // Selects rows straight into immutable snapshots, so reads skip the persistence context entirely.
+    String SELECT_SNAPSHOT = "select new io.github.devtae.taskmanagementsystem.dto.TaskSnapshot(t.id, t.title, "
+            + "t.description, t.dueDate, t.isCompleted, t.createdAt, t.updatedAt, t.version) from Task t ";
+
+    /**
+     * Returns every task as a snapshot, in no particular order.
+     */
+    @Query(SELECT_SNAPSHOT)
+    List<TaskSnapshot> findAllSnapshots();
+
+    /**
+     * Returns a task as a snapshot, for filling the task cache. Not read-only, so it is answered by the
+     * primary even when reads are routed to replicas: a lagging replica row would otherwise be cached for
+     * every client, including the one that just wrote it.
+     */
+    @Transactional
+    @Query(SELECT_SNAPSHOT + "where t.id = :id")
+    Optional<TaskSnapshot> findSnapshotById(@Param("id") Long id);
+
+    /**
+     * Returns the first page of tasks in (createdAt, id) order.
+     */
+    @Query(SELECT_SNAPSHOT + "order by t.createdAt asc, t.id asc")
+    List<TaskSnapshot> findFirstPage(Pageable pageable);
+
+    /**
+     * Returns the tasks that come strictly after the given keyset position in (createdAt, id) order.
+     * Served by the created_at/id index, so the cost does not grow with the page number.
+     */
+    @Query(SELECT_SNAPSHOT + "where t.createdAt > :createdAt or (t.createdAt = :createdAt and t.id > :id) "
+            + "order by t.createdAt asc, t.id asc")
+    List<TaskSnapshot> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                     Pageable pageable);
+
+    /**
+     * Streams every task with a server-side cursor. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_SNAPSHOT + "order by t.id asc")
+    Stream<TaskSnapshot> streamAll();
+
+    /**
+     * Counts all tasks, completed ones and open ones due before {@code from}, in a single scan.
+     */
+    @Query("select new io.github.devtae.taskmanagementsystem.dto.TaskCounts(count(t), "
+            + "coalesce(sum(case when t.isCompleted = true then 1L else 0L end), 0L), "
+            + "coalesce(sum(case when t.isCompleted = false and t.dueDate < :from then 1L else 0L end), 0L)) "
+            + "from Task t")
+    TaskCounts countForStatistics(@Param("from") LocalDateTime from);
+
+    /**
+     * Counts the open tasks due in each minute from {@code from} up to {@code to}, skipping minutes with
+     * none. Served by the (completed, due_date) index.
+     */
+    @Query(value = "SELECT date_trunc('minute', due_date) AS dueMinute, count(*) AS tasks FROM tasks "
+            + "WHERE completed = false AND due_date >= :from AND due_date < :to "
+            + "GROUP BY date_trunc('minute', due_date)", nativeQuery = true)
+    List<TaskDueMinute> countOpenTasksByDueMinute(@Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to);
+
+    /**
+     * Returns just the version and last-modified time of a task, for validating conditional requests.
+     */
+    @Query("select new io.github.devtae.taskmanagementsystem.dto.TaskVersion(t.version, t.updatedAt) "
+            + "from Task t where t.id = :id")
+    Optional<TaskVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * Returns a task's due date and completion, and locks its row until the transaction ends so neither can
+     * change before the caller's own write.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new io.github.devtae.taskmanagementsystem.dto.TaskDueState(t.id, t.dueDate, t.isCompleted) "
+            + "from Task t where t.id = :id")
+    Optional<TaskDueState> findDueStateForUpdate(@Param("id") Long id);
+
+    /**
+     * Returns which of the given ids belong to existing tasks. Not read-only, so it is answered by the
+     * primary even when reads are routed to replicas.
+     */
+    @Transactional
+    @Query("select t.id from Task t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Returns up to a page of completed tasks last updated before {@code cutoff}, oldest first, and locks
+     * their rows until the transaction ends so they cannot change while being archived. Rows another
+     * transaction holds are skipped rather than waited for where the database supports it.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    // A lock timeout of -2 is Hibernate's LockOptions.SKIP_LOCKED
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("select t from Task t where t.isCompleted = true and t.updatedAt < :cutoff "
+            + "order by t.updatedAt asc, t.id asc")
+    List<Task> findArchivable(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Deletes the given tasks with a single DELETE.
+     *
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Query("delete from Task t where t.id in :ids")
+    int deleteTasksByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Full-text search over title and description, best match first. Uses the GIN-indexed
+     * search_vector column created by schema-postgresql.sql, so it only runs on PostgreSQL.
+     * The query accepts web-search syntax: quoted phrases, {@code or} and {@code -excluded} words.
+     * Hits are loaded read-only, so Hibernate keeps no dirty-checking copy of them.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT t.* FROM tasks t, websearch_to_tsquery('english', :query) q "
+            + "WHERE t.search_vector @@ q "
+            + "ORDER BY ts_rank(t.search_vector, q) DESC, t.id "
+            + "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Task> search(@Param("query") String query, @Param("limit") int limit, @Param("offset") int offset);
+
+    /**
+     * Returns the ids and due dates of incomplete tasks due before {@code to} that come strictly after the
+     * keyset position ({@code dueDate}, {@code id}), soonest first and then by id. Pass {@link Long#MIN_VALUE}
+     * as the id to start at {@code dueDate} itself. Served by the (completed, due_date) index.
+     */
+    @Query("select t.id as id, t.dueDate as dueDate from Task t where t.isCompleted = false "
+            + "and (t.dueDate > :dueDate or (t.dueDate = :dueDate and t.id > :id)) and t.dueDate < :to "
+            + "order by t.dueDate asc, t.id asc")
+    List<TaskDueDate> findOpenTasksDueAfter(@Param("dueDate") LocalDateTime dueDate, @Param("id") long id,
+                                            @Param("to") LocalDateTime to, Pageable pageable);
 }
@@ -0,0 +1,29 @@
+package io.github.devtae.taskmanagementsystem.repository;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskDueState;
+import io.github.devtae.taskmanagementsystem.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Writes to a task in one statement that also returns the row, which a derived or {@code @Query} method
+ * cannot express portably. Part of {@link TaskRepository}.
+ */
+public interface TaskReturningRepository {
+
+    /**
+     * Marks an open task as completed with a single UPDATE that returns the updated row. A task that is
+     * already completed is left alone, so neither its version nor its update time moves.
+     *
+     * @return the completed task, or empty if no open task has the given id
+     */
+    Optional<Task> completeTaskById(Long id, LocalDateTime updatedAt);
+
+    /**
+     * Deletes a task with a single DELETE, without loading it first.
+     *
+     * @return the deleted task's due date and completion, or empty if no task has the given id
+     */
+    Optional<TaskDueState> deleteTaskById(Long id);
+}
@@ -0,0 +1,83 @@
+package io.github.devtae.taskmanagementsystem.repository;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskDueState;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Runs {@code UPDATE ... RETURNING} and {@code DELETE ... RETURNING} on PostgreSQL. H2, which the tests run
+ * on, has no RETURNING and reads the changed row through {@code FINAL TABLE} or {@code OLD TABLE} instead.
+ */
+class TaskReturningRepositoryImpl implements TaskReturningRepository {
+    private static final String COMPLETE = "UPDATE tasks SET completed = true, updated_at = :updatedAt, "
+            + "version = version + 1 WHERE id = :id AND completed = false";
+    private static final String DELETE = "DELETE FROM tasks WHERE id = :id";
+    private static final String DUE_STATE = "id, due_date, completed";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public Optional<Task> completeTaskById(Long id, LocalDateTime updatedAt) {
+        SessionImplementor session = detach(id);
+        String sql = isH2(session.getFactory()) ? "SELECT * FROM FINAL TABLE (" + COMPLETE + ")"
+                : COMPLETE + " RETURNING *";
+        List<Task> completed = entityManager.createNativeQuery(sql, Task.class)
+                .setParameter("id", id)
+                .setParameter("updatedAt", updatedAt)
+                .getResultList();
+        return completed.stream().findFirst();
+    }
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public Optional<TaskDueState> deleteTaskById(Long id) {
+        SessionImplementor session = detach(id);
+        String sql = isH2(session.getFactory()) ? "SELECT " + DUE_STATE + " FROM OLD TABLE (" + DELETE + ")"
+                : DELETE + " RETURNING " + DUE_STATE;
+        List<Object[]> deleted = entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("due_date", LocalDateTime.class)
+                .addScalar("completed", Boolean.class)
+                .setParameter("id", id)
+                .getResultList();
+        return deleted.stream()
+                .map(row -> new TaskDueState((Long) row[0], (LocalDateTime) row[1], (Boolean) row[2]))
+                .findFirst();
+    }
+
+    /**
+     * Flushes and detaches a managed copy of the task, if there is one: it would otherwise be returned as it
+     * is rather than as the row the statement returns, or be written back after the row is gone. Anything
+     * else the caller holds stays managed.
+     */
+    private SessionImplementor detach(Long id) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Task.class);
+        Object managed = session.getPersistenceContextInternal().getEntity(session.generateEntityKey(id, persister));
+        if (managed != null) {
+            entityManager.flush();
+            entityManager.detach(managed);
+        }
+        return session;
+    }
+
+    private static boolean isH2(SessionFactoryImplementor sessionFactory) {
+        return sessionFactory.getJdbcServices().getDialect() instanceof H2Dialect;
+    }
+}
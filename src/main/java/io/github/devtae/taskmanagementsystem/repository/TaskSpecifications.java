@@ -0,0 +1,44 @@
+package io.github.devtae.taskmanagementsystem.repository;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskFilter;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds query predicates for {@link TaskFilter}. Each predicate is a plain comparison on an indexed
+ * column, so the planner can answer it with an index range scan.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    /**
+     * Works on any root with the attributes of {@link Task}, which includes archived tasks.
+     */
+    public static <T> Specification<T> matching(TaskFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.completed() != null) {
+                predicates.add(cb.equal(root.get("isCompleted"), filter.completed()));
+            }
+            if (filter.dueBefore() != null) {
+                predicates.add(cb.lessThan(root.get("dueDate"), filter.dueBefore()));
+            }
+            if (filter.dueAfter() != null) {
+                predicates.add(cb.greaterThan(root.get("dueDate"), filter.dueAfter()));
+            }
+            if (filter.createdSince() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.createdSince()));
+            }
+            if (filter.updatedSince() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("updatedAt"), filter.updatedSince()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,249 @@
+package io.github.devtae.taskmanagementsystem.service;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskDueState;
+import io.github.devtae.taskmanagementsystem.dto.TaskFilter;
+import io.github.devtae.taskmanagementsystem.dto.TaskPage;
+import io.github.devtae.taskmanagementsystem.dto.TaskPatch;
+import io.github.devtae.taskmanagementsystem.dto.TaskSearchResults;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.dto.TaskSummary;
+import io.github.devtae.taskmanagementsystem.dto.TaskVersion;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent.ChangeType;
+import io.github.devtae.taskmanagementsystem.exception.InvalidRequestException;
+import io.github.devtae.taskmanagementsystem.exception.PreconditionFailedException;
+import io.github.devtae.taskmanagementsystem.exception.TaskNotFoundException;
+import io.github.devtae.taskmanagementsystem.memory.TaskStore;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * {@link TaskService} backed by the in-memory {@link TaskStore} instead of the database, selected with
+ * {@code tasks.storage.engine=memory}.
+ * <p>
+ * Behaves like {@link TaskServiceImpl} as far as clients can tell: the same ids, versions, ETags, cursors,
+ * sort keys and errors. Without a database there is no archive, so archived tasks are never listed, and
+ * search matches words as case-insensitive substrings of the title or description, in id order, instead of
+ * ranking them with PostgreSQL full-text search.
+ */
+@Service
+@Timed(value = "tasks.service", histogram = true)
+@ConditionalOnProperty(prefix = "tasks.storage", name = "engine", havingValue = "memory")
+public class MemoryTaskService implements TaskService {
+    private final TaskStore taskStore;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public MemoryTaskService(TaskStore taskStore, ApplicationEventPublisher eventPublisher) {
+        this.taskStore = taskStore;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Task getTaskById(Long taskId) {
+        return find(taskId).toTask();
+    }
+
+    @Override
+    public TaskVersion getTaskVersion(Long taskId) {
+        return TaskVersion.of(find(taskId));
+    }
+
+    /**
+     * Summarises the matching tasks exactly as {@link TaskServiceImpl#getTasksVersion} does, so ETags do
+     * not depend on the engine.
+     */
+    @Override
+    public String getTasksVersion(TaskFilter filter) {
+        long count = 0;
+        long lastUpdateMicros = 0;
+        long versions = 0;
+        for (TaskSnapshot task : taskStore.select(filter)) {
+            count++;
+            lastUpdateMicros = Math.max(lastUpdateMicros,
+                    ChronoUnit.MICROS.between(TaskServiceImpl.EPOCH, task.updatedAt()));
+            versions += task.version();
+        }
+        return Long.toHexString(count)
+                + "-" + Long.toHexString(lastUpdateMicros)
+                + "-" + Long.toHexString(versions);
+    }
+
+    @Override
+    public List<TaskSnapshot> getAllTasks() {
+        return taskStore.select(TaskFilter.none());
+    }
+
+    @Override
+    public List<TaskSnapshot> findTasks(TaskFilter filter, Sort sort) {
+        List<TaskSnapshot> tasks = new ArrayList<>(taskStore.select(filter));
+        tasks.sort(TaskServiceImpl.toComparator(TaskServiceImpl.toEntitySort(sort)));
+        return tasks;
+    }
+
+    @Override
+    public List<TaskSummary> findTaskSummaries(TaskFilter filter, Sort sort) {
+        return findTasks(filter, sort).stream()
+                .map(task -> new TaskSummary(task.id(), task.title(), task.dueDate(), task.completed(),
+                        task.createdAt(), task.updatedAt(), task.version()))
+                .toList();
+    }
+
+    @Override
+    public TaskPage getTaskPage(String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), TaskServiceImpl.MAX_PAGE_SIZE);
+        List<TaskSnapshot> tasks;
+        if (cursor == null || cursor.isBlank()) {
+            tasks = taskStore.page(null, 0, pageSize + 1);
+        } else {
+            TaskCursor position = TaskCursor.decode(cursor);
+            tasks = taskStore.page(position.createdAt(), position.id(), pageSize + 1);
+        }
+
+        if (tasks.size() <= pageSize) {
+            return new TaskPage(tasks, null);
+        }
+        List<TaskSnapshot> items = tasks.subList(0, pageSize);
+        return new TaskPage(items, TaskCursor.after(items.get(pageSize - 1)).encode());
+    }
+
+    @Override
+    public void streamAllTasks(Consumer<TaskSnapshot> consumer) {
+        taskStore.forEach(consumer);
+    }
+
+    @Override
+    public TaskSearchResults searchTasks(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query cannot be blank");
+        }
+        int pageSize = Math.min(Math.max(size, 1), TaskServiceImpl.MAX_PAGE_SIZE);
+        long offset = (long) Math.max(page, 0) * pageSize;
+        if (offset + pageSize > TaskServiceImpl.MAX_SEARCH_RESULTS) {
+            throw new InvalidRequestException("Search results are limited to the first "
+                    + TaskServiceImpl.MAX_SEARCH_RESULTS + " hits; refine the query instead of paging further");
+        }
+
+        List<TaskSnapshot> hits = taskStore.select(TaskFilter.none()).stream()
+                .filter(matching(query))
+                .sorted((a, b) -> Long.compare(a.id(), b.id()))
+                .skip(offset)
+                .limit(pageSize + 1)
+                .toList();
+        boolean hasNext = hits.size() > pageSize;
+        return new TaskSearchResults(query, Math.max(page, 0), pageSize, hasNext,
+                hasNext ? hits.subList(0, pageSize) : hits);
+    }
+
+    @Override
+    public Task saveTask(Task task) {
+        if (task.getId() == null) {
+            TaskSnapshot created = taskStore.insert(TaskSnapshot.from(task));
+            eventPublisher.publishEvent(new TaskChangedEvent(ChangeType.CREATED, created.id(), created, null));
+            return created.toTask();
+        }
+        return updateTask(task.getId(), task);
+    }
+
+    @Override
+    public Task updateTask(Long taskId, Task taskDetails) {
+        return updateTask(taskId, taskDetails, null);
+    }
+
+    @Override
+    public Task updateTask(Long taskId, Task taskDetails, Long expectedVersion) {
+        TaskSnapshot[] before = new TaskSnapshot[1];
+        TaskSnapshot task = taskStore.update(taskId, existing -> {
+            if (expectedVersion != null && existing.version() != expectedVersion) {
+                throw new PreconditionFailedException("Task " + taskId + " is at version " + existing.version()
+                        + ", not " + expectedVersion);
+            }
+            Task changed = existing.toTask();
+            before[0] = existing;
+            return TaskServiceImpl.checkForUpdates(changed, taskDetails) ? TaskSnapshot.from(changed) : existing;
+        }).orElseThrow(() -> notFound(taskId));
+        if (task != before[0]) {
+            eventPublisher.publishEvent(new TaskChangedEvent(ChangeType.UPDATED, taskId, task,
+                    TaskDueState.of(before[0])));
+        }
+        return task.toTask();
+    }
+
+    @Override
+    public Task patchTask(Long taskId, TaskPatch patch, Long expectedVersion) {
+        TaskSnapshot[] before = new TaskSnapshot[1];
+        TaskSnapshot task = taskStore.update(taskId, existing -> {
+            if (expectedVersion != null && existing.version() != expectedVersion) {
+                throw new PreconditionFailedException("Task " + taskId + " is at version " + existing.version()
+                        + ", not " + expectedVersion);
+            }
+            Task changed = existing.toTask();
+            before[0] = existing;
+            return patch.applyTo(changed) ? TaskSnapshot.from(changed) : existing;
+        }).orElseThrow(() -> notFound(taskId));
+        if (task != before[0]) {
+            eventPublisher.publishEvent(new TaskChangedEvent(ChangeType.UPDATED, taskId, task,
+                    TaskDueState.of(before[0])));
+        }
+        return task.toTask();
+    }
+
+    @Override
+    public Task completeTask(Long taskId) {
+        // Like the database's UPDATE, completing leaves a task that is already complete alone.
+        TaskSnapshot[] before = new TaskSnapshot[1];
+        TaskSnapshot task = taskStore.update(taskId, existing -> {
+                    before[0] = existing;
+                    return existing.completed() ? existing : new TaskSnapshot(existing.id(), existing.title(),
+                            existing.description(), existing.dueDate(), true, existing.createdAt(),
+                            existing.updatedAt(), existing.version());
+                })
+                .orElseThrow(() -> notFound(taskId));
+        if (task != before[0]) {
+            eventPublisher.publishEvent(new TaskChangedEvent(ChangeType.COMPLETED, taskId, task,
+                    TaskDueState.of(before[0])));
+        }
+        return task.toTask();
+    }
+
+    @Override
+    public void deleteTask(Long taskId) {
+        TaskSnapshot deleted = taskStore.delete(taskId).orElseThrow(() -> notFound(taskId));
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(taskId, TaskDueState.of(deleted)));
+    }
+
+    private TaskSnapshot find(Long taskId) {
+        return taskStore.get(taskId).orElseThrow(() -> notFound(taskId));
+    }
+
+    private static TaskNotFoundException notFound(Long taskId) {
+        return new TaskNotFoundException("Task not found with id: " + taskId);
+    }
+
+    /**
+     * Every word must appear in the title or description, and no word prefixed with {@code -} may.
+     */
+    private static Predicate<TaskSnapshot> matching(String query) {
+        List<String> words = Arrays.stream(query.toLowerCase(Locale.ROOT).split("\\s+"))
+                .filter(word -> !word.isEmpty() && !word.equals("-"))
+                .toList();
+        return task -> {
+            String text = (task.title() + " " + (task.description() == null ? "" : task.description()))
+                    .toLowerCase(Locale.ROOT);
+            return words.stream().allMatch(word -> word.startsWith("-")
+                    ? !text.contains(word.substring(1))
+                    : text.contains(word));
+        };
+    }
+}
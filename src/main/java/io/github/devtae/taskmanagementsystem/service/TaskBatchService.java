@@ -0,0 +1,8 @@
+package io.github.devtae.taskmanagementsystem.service;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskBatchRequest;
+import io.github.devtae.taskmanagementsystem.dto.TaskBatchResponse;
+
+public interface TaskBatchService {
+    TaskBatchResponse execute(TaskBatchRequest request);
+}
@@ -0,0 +1,247 @@
+package io.github.devtae.taskmanagementsystem.service;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskBatchRequest;
+import io.github.devtae.taskmanagementsystem.dto.TaskBatchResponse;
+import io.github.devtae.taskmanagementsystem.dto.TaskDueState;
+import io.github.devtae.taskmanagementsystem.dto.TaskOperation;
+import io.github.devtae.taskmanagementsystem.dto.TaskOperationResult;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent.ChangeType;
+import io.github.devtae.taskmanagementsystem.exception.InvalidRequestException;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import io.github.devtae.taskmanagementsystem.repository.ArchivedTaskRepository;
+import io.github.devtae.taskmanagementsystem.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Timed(value = "tasks.service", histogram = true)
+@ConditionalOnProperty(prefix = "tasks.storage", name = "engine", havingValue = "jpa", matchIfMissing = true)
+public class TaskBatchServiceImpl implements TaskBatchService {
+    static final int MAX_OPERATIONS = 10_000;
+    // Matches hibernate.jdbc.batch_size, so each chunk flushes as one JDBC batch per statement type.
+    static final int CHUNK_SIZE = 500;
+
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TaskBatchServiceImpl(TaskRepository taskRepository, ArchivedTaskRepository archivedTaskRepository,
+                                EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                Validator validator, ApplicationEventPublisher eventPublisher) {
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public TaskBatchResponse execute(TaskBatchRequest request) {
+        int size = request.operations().size();
+        if (size > MAX_OPERATIONS) {
+            throw new InvalidRequestException("A batch cannot contain more than " + MAX_OPERATIONS + " operations");
+        }
+
+        TaskOperationResult[] results = new TaskOperationResult[size];
+        if (request.atomic()) {
+            executeAtomically(request, results);
+        } else {
+            for (int from = 0; from < size; from += CHUNK_SIZE) {
+                executeChunk(request, from, Math.min(from + CHUNK_SIZE, size), results);
+            }
+        }
+        return TaskBatchResponse.of(Arrays.asList(results));
+    }
+
+    private void executeAtomically(TaskBatchRequest request, TaskOperationResult[] results) {
+        int size = request.operations().size();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < size; from += CHUNK_SIZE) {
+                    applyChunk(request, from, Math.min(from + CHUNK_SIZE, size), results);
+                }
+                if (Arrays.stream(results).anyMatch(result -> !result.succeeded())) {
+                    status.setRollbackOnly();
+                }
+            });
+        } catch (DataAccessException | TransactionException e) {
+            String error = "Batch rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (int i = 0; i < size; i++) {
+                if (results[i] == null || results[i].succeeded()) {
+                    results[i] = failure(request, i, 500, error);
+                }
+            }
+            return;
+        }
+
+        if (Arrays.stream(results).anyMatch(result -> !result.succeeded())) {
+            for (int i = 0; i < size; i++) {
+                if (results[i].succeeded()) {
+                    results[i] = failure(request, i, 424, "Rolled back because another operation in the batch failed");
+                }
+            }
+        }
+    }
+
+    private void executeChunk(TaskBatchRequest request, int from, int to, TaskOperationResult[] results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> applyChunk(request, from, to, results));
+        } catch (DataAccessException | TransactionException e) {
+            // The database rejected something in the JDBC batch without saying which row,
+            // so replay the chunk one operation per transaction to isolate the failure.
+            for (int i = from; i < to; i++) {
+                if (results[i] != null && !results[i].succeeded()) {
+                    continue;
+                }
+                int index = i;
+                try {
+                    transactionTemplate.executeWithoutResult(status -> applyChunk(request, index, index + 1, results));
+                } catch (DataAccessException | TransactionException single) {
+                    results[i] = failure(request, i, 500, NestedExceptionUtils.getMostSpecificCause(single).getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies operations [from, to) inside the current transaction, loading every referenced
+     * task with one query and flushing all writes together so Hibernate can batch them. Ids missing
+     * from the tasks table are looked up in the archive with one more query.
+     */
+    private void applyChunk(TaskBatchRequest request, int from, int to, TaskOperationResult[] results) {
+        Set<Long> ids = new HashSet<>();
+        for (int i = from; i < to; i++) {
+            TaskOperation operation = request.operations().get(i);
+            if (operation != null && operation.op() != TaskOperation.Type.CREATE && operation.id() != null) {
+                ids.add(operation.id());
+            }
+        }
+        Map<Long, Task> tasks = new HashMap<>();
+        taskRepository.findAllById(ids).forEach(task -> tasks.put(task.getId(), task));
+        ids.removeAll(tasks.keySet());
+        Set<Long> archived = ids.isEmpty() ? new HashSet<>()
+                : new HashSet<>(archivedTaskRepository.findExistingIds(ids));
+        // What each task looked like before the chunk, moved forward event by event below.
+        Map<Long, TaskDueState> states = new HashMap<>();
+        tasks.values().forEach(task -> states.put(task.getId(), TaskDueState.of(task)));
+
+        for (int i = from; i < to; i++) {
+            results[i] = apply(i, request.operations().get(i), tasks, archived);
+        }
+
+        taskRepository.flush();
+        entityManager.clear();
+
+        // Published after the flush so created tasks carry their generated timestamps.
+        for (int i = from; i < to; i++) {
+            if (results[i].succeeded()) {
+                eventPublisher.publishEvent(changeEvent(results[i], states));
+            }
+        }
+    }
+
+    private static TaskChangedEvent changeEvent(TaskOperationResult result, Map<Long, TaskDueState> states) {
+        if (result.op() == TaskOperation.Type.CREATE) {
+            return TaskChangedEvent.created(result.task());
+        }
+        if (result.op() == TaskOperation.Type.DELETE) {
+            return TaskChangedEvent.deleted(result.id(), states.remove(result.id()));
+        }
+        TaskDueState before = states.put(result.id(), TaskDueState.of(result.task()));
+        ChangeType type = result.op() == TaskOperation.Type.COMPLETE ? ChangeType.COMPLETED : ChangeType.UPDATED;
+        return TaskChangedEvent.of(type, result.task(), before);
+    }
+
+    private TaskOperationResult apply(int index, TaskOperation operation, Map<Long, Task> tasks,
+                                      Set<Long> archived) {
+        String invalid = validate(operation);
+        if (invalid != null) {
+            return TaskOperationResult.failure(index, operation == null ? null : operation.op(),
+                    operation == null ? null : operation.id(), 400, invalid);
+        }
+
+        if (operation.op() == TaskOperation.Type.CREATE) {
+            Task task = operation.task();
+            task.setId(null);
+            return TaskOperationResult.success(index, operation.op(), 201, taskRepository.save(task));
+        }
+
+        Task existingTask = tasks.get(operation.id());
+        if (existingTask == null && archived.contains(operation.id())) {
+            // Archived tasks can still be deleted, as with DELETE /api/tasks/{id}, but not changed
+            if (operation.op() == TaskOperation.Type.DELETE) {
+                archivedTaskRepository.deleteArchivedTaskById(operation.id());
+                archived.remove(operation.id());
+                return TaskOperationResult.deleted(index, operation.id());
+            }
+            return TaskOperationResult.failure(index, operation.op(), operation.id(), 409,
+                    "Task " + operation.id() + " is archived and can no longer be changed");
+        }
+        if (existingTask == null) {
+            return TaskOperationResult.failure(index, operation.op(), operation.id(), 404,
+                    "Task not found with id: " + operation.id());
+        }
+
+        switch (operation.op()) {
+            case UPDATE -> TaskServiceImpl.checkForUpdates(existingTask, operation.task());
+            case COMPLETE -> existingTask.setCompleted(true);
+            case DELETE -> {
+                taskRepository.delete(existingTask);
+                tasks.remove(operation.id());
+                return TaskOperationResult.deleted(index, operation.id());
+            }
+            default -> throw new IllegalStateException("Unexpected operation: " + operation.op());
+        }
+        return TaskOperationResult.success(index, operation.op(), 200, existingTask);
+    }
+
+    private String validate(TaskOperation operation) {
+        if (operation == null || operation.op() == null) {
+            return "op is required";
+        }
+        if (operation.op() != TaskOperation.Type.CREATE && operation.id() == null) {
+            return "id is required";
+        }
+        if (operation.op() == TaskOperation.Type.CREATE || operation.op() == TaskOperation.Type.UPDATE) {
+            if (operation.task() == null) {
+                return "task is required";
+            }
+            Set<ConstraintViolation<Task>> violations = validator.validate(operation.task());
+            if (!violations.isEmpty()) {
+                return violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+            }
+        }
+        return null;
+    }
+
+    private static TaskOperationResult failure(TaskBatchRequest request, int index, int status, String error) {
+        TaskOperation operation = request.operations().get(index);
+        return TaskOperationResult.failure(index, operation == null ? null : operation.op(),
+                operation == null ? null : operation.id(), status, error);
+    }
+}
@@ -1,14 +1,32 @@
 package io.github.devtae.taskmanagementsystem.service;
 
+import io.github.devtae.taskmanagementsystem.dto.TaskFilter;
+import io.github.devtae.taskmanagementsystem.dto.TaskPage;
+import io.github.devtae.taskmanagementsystem.dto.TaskPatch;
+import io.github.devtae.taskmanagementsystem.dto.TaskSearchResults;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.dto.TaskSummary;
+import io.github.devtae.taskmanagementsystem.dto.TaskVersion;
 import io.github.devtae.taskmanagementsystem.model.Task;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TaskService {
     Task getTaskById(Long taskId);
-    List<Task> getAllTasks();
+    TaskVersion getTaskVersion(Long taskId);
+    String getTasksVersion(TaskFilter filter);
+    List<TaskSnapshot> getAllTasks();
+    List<TaskSnapshot> findTasks(TaskFilter filter, Sort sort);
+    List<TaskSummary> findTaskSummaries(TaskFilter filter, Sort sort);
+    TaskPage getTaskPage(String cursor, int size);
+    void streamAllTasks(Consumer<TaskSnapshot> consumer);
+    TaskSearchResults searchTasks(String query, int page, int size);
     Task saveTask(Task task);
     Task updateTask(Long taskId, Task task);
+    Task updateTask(Long taskId, Task task, Long expectedVersion);
+    Task patchTask(Long taskId, TaskPatch patch, Long expectedVersion);
     Task completeTask(Long taskId);
     void deleteTask(Long taskId);
 }
\ No newline at end of file
@@ -1,70 +1,460 @@
 package io.github.devtae.taskmanagementsystem.service;
 
+import io.github.devtae.taskmanagementsystem.cache.TaskCache;
+import io.github.devtae.taskmanagementsystem.dto.TaskDueState;
+import io.github.devtae.taskmanagementsystem.dto.TaskFilter;
+import io.github.devtae.taskmanagementsystem.dto.TaskPage;
+import io.github.devtae.taskmanagementsystem.dto.TaskPatch;
+import io.github.devtae.taskmanagementsystem.dto.TaskSearchResults;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.dto.TaskSummary;
+import io.github.devtae.taskmanagementsystem.dto.TaskVersion;
+import io.github.devtae.taskmanagementsystem.dto.TaskView;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent.ChangeType;
+import io.github.devtae.taskmanagementsystem.exception.InvalidRequestException;
+import io.github.devtae.taskmanagementsystem.exception.PreconditionFailedException;
 import io.github.devtae.taskmanagementsystem.exception.TaskNotFoundException;
+import io.github.devtae.taskmanagementsystem.model.ArchivedTask;
 import io.github.devtae.taskmanagementsystem.model.Task;
+import io.github.devtae.taskmanagementsystem.repository.ArchivedTaskRepository;
 import io.github.devtae.taskmanagementsystem.repository.TaskRepository;
+import io.github.devtae.taskmanagementsystem.repository.TaskSpecifications;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.Tuple;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "tasks.service", histogram = true)
+@ConditionalOnProperty(prefix = "tasks.storage", name = "engine", havingValue = "jpa", matchIfMissing = true)
 public class TaskServiceImpl implements TaskService {
+    static final int MAX_PAGE_SIZE = 500;
+    // Deep OFFSETs still have to rank and skip every earlier hit, so search results stop here.
+    static final int MAX_SEARCH_RESULTS = 10_000;
+    static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    // API sort keys mapped to entity attributes. All but title are indexed; title has no index, so sorting by
+    // it costs a sort of the matching rows, and it cannot be used with archived tasks (see select).
+    private static final Map<String, String> SORTABLE_PROPERTIES = Map.of(
+            "id", "id",
+            "title", "title",
+            "dueDate", "dueDate",
+            "completed", "isCompleted",
+            "createdAt", "createdAt",
+            "updatedAt", "updatedAt");
+    // Entity attributes passed, in order, to each read view's constructor.
+    private static final Map<Class<?>, List<String>> VIEW_ATTRIBUTES = Map.of(
+            TaskSnapshot.class, List.of("id", "title", "description", "dueDate", "isCompleted", "createdAt",
+                    "updatedAt", "version"),
+            TaskSummary.class, List.of("id", "title", "dueDate", "isCompleted", "createdAt", "updatedAt",
+                    "version"));
+    // How each sortable entity attribute orders views in memory, with nulls last as the database puts them.
+    // Title is left out: the database orders text by its collation, which String ordering does not match.
+    private static final Map<String, Comparator<TaskView>> VIEW_ORDERS = Map.of(
+            "id", Comparator.comparing(TaskView::id),
+            "dueDate", Comparator.comparing(TaskView::dueDate, Comparator.nullsLast(Comparator.naturalOrder())),
+            "isCompleted", Comparator.comparing(TaskView::completed),
+            "createdAt", Comparator.comparing(TaskView::createdAt),
+            "updatedAt", Comparator.comparing(TaskView::updatedAt,
+                    Comparator.nullsLast(Comparator.naturalOrder())));
+
     private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final EntityManager entityManager;
+    private final TaskCache taskCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TaskServiceImpl(TaskRepository taskRepository) {
+    public TaskServiceImpl(TaskRepository taskRepository, ArchivedTaskRepository archivedTaskRepository,
+                           EntityManager entityManager, TaskCache taskCache,
+                           ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.entityManager = entityManager;
+        this.taskCache = taskCache;
+        this.eventPublisher = eventPublisher;
     }
 
+    // Not @Transactional: a cache hit should not check out a connection. On a miss the
+    // repository call runs in its own transaction on the primary, since what it reads is cached for every
+    // client. Tasks not in the tasks table may have been archived, so the archive is looked up before
+    // giving up.
     @Override
-    @Transactional(readOnly = true)
     public Task getTaskById(Long taskId) {
-        return taskRepository.findById(taskId)
+        return taskCache.get(taskId, id -> taskRepository.findSnapshotById(id)
+                        .or(() -> archivedTaskRepository.findSnapshotById(id)))
+                .map(TaskSnapshot::toTask)
+                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
+    }
+
+
+    // A cached snapshot already carries the version; otherwise two columns are read instead of the row.
+    @Override
+    public TaskVersion getTaskVersion(Long taskId) {
+        return taskCache.getIfPresent(taskId)
+                .map(TaskVersion::of)
+                .or(() -> taskRepository.findVersionById(taskId))
+                .or(() -> archivedTaskRepository.findVersionById(taskId))
                 .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
     }
 
+    /**
+     * Summarises the tasks matching a filter as row count, latest update and version total. Any insert,
+     * update, completion, archival or delete changes at least one of them, so the result can serve as a
+     * collection ETag. Archived tasks count too when the filter includes them.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public String getTasksVersion(TaskFilter filter) {
+        Tuple live = summarise(Task.class, filter);
+        Tuple archived = filter.includeArchived() ? summarise(ArchivedTask.class, filter) : null;
+
+        long count = live.get(0, Long.class) + (archived == null ? 0 : archived.get(0, Long.class));
+        LocalDateTime lastUpdate = latest(live.get(1, LocalDateTime.class),
+                archived == null ? null : archived.get(1, LocalDateTime.class));
+        long versions = orZero(live.get(2, Long.class))
+                + (archived == null ? 0 : orZero(archived.get(2, Long.class)));
+        long lastUpdateMicros = lastUpdate == null ? 0 : ChronoUnit.MICROS.between(EPOCH, lastUpdate);
+        return Long.toHexString(count)
+                + "-" + Long.toHexString(lastUpdateMicros)
+                + "-" + Long.toHexString(versions);
+    }
+
+    private <E> Tuple summarise(Class<E> entity, TaskFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(entity);
+        query.multiselect(cb.count(root), cb.greatest(root.<LocalDateTime>get("updatedAt")),
+                        cb.sum(root.<Long>get("version")))
+                .where(TaskSpecifications.<E>matching(filter).toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskSnapshot> getAllTasks() {
+        return taskRepository.findAllSnapshots();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskSnapshot> findTasks(TaskFilter filter, Sort sort) {
+        return select(TaskSnapshot.class, filter, sort);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskSummary> findTaskSummaries(TaskFilter filter, Sort sort) {
+        return select(TaskSummary.class, filter, sort);
+    }
+
+    /**
+     * Runs a filtered, sorted listing that constructs the view directly from the selected columns, so no
+     * entity is instantiated, tracked or dirty-checked, and unselected columns are never read. When archived
+     * tasks are included, both tables are queried in the same order and the results merged, which is only
+     * possible for keys that order the same in memory as in the database.
+     */
+    private <T extends TaskView> List<T> select(Class<T> view, TaskFilter filter, Sort sort) {
+        Sort entitySort = toEntitySort(sort);
+        if (filter.includeArchived() && entitySort.getOrderFor("title") != null) {
+            throw new InvalidRequestException("Cannot sort by title when archived tasks are included");
+        }
+        List<T> tasks = select(Task.class, view, filter, entitySort);
+        if (!filter.includeArchived()) {
+            return tasks;
+        }
+        return merge(tasks, select(ArchivedTask.class, view, filter, entitySort), toComparator(entitySort));
+    }
+
+    private <E, T> List<T> select(Class<E> entity, Class<T> view, TaskFilter filter, Sort entitySort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(view);
+        Root<E> root = query.from(entity);
+        query.select(cb.construct(view, VIEW_ATTRIBUTES.get(view).stream()
+                        .map(root::get)
+                        .toArray(Selection[]::new)))
+                .where(TaskSpecifications.<E>matching(filter).toPredicate(root, query, cb))
+                .orderBy(QueryUtils.toOrders(entitySort, root, cb));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPage getTaskPage(String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        // Fetch one extra row to learn whether another page exists without a count query.
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<TaskSnapshot> tasks;
+        if (cursor == null || cursor.isBlank()) {
+            tasks = taskRepository.findFirstPage(limit);
+        } else {
+            TaskCursor position = TaskCursor.decode(cursor);
+            tasks = taskRepository.findPageAfter(position.createdAt(), position.id(), limit);
+        }
+
+        if (tasks.size() <= pageSize) {
+            return new TaskPage(tasks, null);
+        }
+        List<TaskSnapshot> items = tasks.subList(0, pageSize);
+        return new TaskPage(items, TaskCursor.after(items.get(pageSize - 1)).encode());
+    }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+    public void streamAllTasks(Consumer<TaskSnapshot> consumer) {
+        // Snapshots are never attached to the persistence context, so memory stays flat however many rows are read.
+        try (Stream<TaskSnapshot> tasks = taskRepository.streamAll()) {
+            tasks.forEach(consumer);
+        }
     }
 
     @Override
     @Transactional
     public Task saveTask(Task task) {
-        return taskRepository.save(task);
+        if (task.getId() == null) {
+            Task savedTask = taskRepository.save(task);
+            eventPublisher.publishEvent(TaskChangedEvent.created(savedTask));
+            return savedTask;
+        }
+        TaskDueState before = taskRepository.findById(task.getId()).map(TaskDueState::of).orElse(null);
+        Task savedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.of(ChangeType.UPDATED, savedTask, before));
+        return savedTask;
     }
 
     @Override
     @Transactional
     public Task updateTask(Long taskId, Task taskDetails) {
-        Task existingTask = getTaskById(taskId);
+        return updateTask(taskId, taskDetails, null);
+    }
+
+    /**
+     * Updates a task only if it is still at {@code expectedVersion}. A concurrent update that commits between
+     * this check and the flush is caught by the version column and fails with an optimistic locking error.
+     */
+    @Override
+    @Transactional
+    public Task updateTask(Long taskId, Task taskDetails, Long expectedVersion) {
+        Task existingTask = taskRepository.findById(taskId)
+                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
+        if (expectedVersion != null && existingTask.getVersion() != expectedVersion) {
+            throw new PreconditionFailedException("Task " + taskId + " is at version " + existingTask.getVersion()
+                    + ", not " + expectedVersion);
+        }
 
+        TaskDueState before = TaskDueState.of(existingTask);
         boolean needsUpdate = checkForUpdates(existingTask, taskDetails);
 
         if (needsUpdate) {
-            return taskRepository.save(existingTask);
+            Task savedTask = taskRepository.save(existingTask);
+            eventPublisher.publishEvent(TaskChangedEvent.of(ChangeType.UPDATED, savedTask, before));
+            return savedTask;
         } else {
             return existingTask;
         }
     }
 
+    /**
+     * Applies a merge patch with a single UPDATE that sets only the fields the patch names, without loading the
+     * task first. The UPDATE only matches the row if at least one of those fields would change, so a patch that
+     * changes nothing writes nothing; the task is then read to tell that apart from a missing task or a
+     * version mismatch. A patch that names the due date or completion first reads and locks their current
+     * values, which the change event reports as the task's prior state.
+     */
+    @Override
+    @Transactional
+    public Task patchTask(Long taskId, TaskPatch patch, Long expectedVersion) {
+        if (!patch.isEmpty()) {
+            boolean dueStateChanges = patch.dueDate() != null || patch.completed() != null;
+            Optional<TaskDueState> before = dueStateChanges ? taskRepository.findDueStateForUpdate(taskId)
+                    : Optional.empty();
+            if ((!dueStateChanges || before.isPresent()) && update(taskId, patch, expectedVersion) == 1) {
+                Task patchedTask = taskRepository.findById(taskId).orElseThrow();
+                eventPublisher.publishEvent(TaskChangedEvent.of(ChangeType.UPDATED, patchedTask,
+                        before.orElseGet(() -> TaskDueState.of(patchedTask))));
+                return patchedTask;
+            }
+        }
+        Task existingTask = taskRepository.findById(taskId)
+                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
+        if (expectedVersion != null && existingTask.getVersion() != expectedVersion) {
+            throw new PreconditionFailedException("Task " + taskId + " is at version " + existingTask.getVersion()
+                    + ", not " + expectedVersion);
+        }
+        return existingTask;
+    }
+
+    private int update(Long taskId, TaskPatch patch, Long expectedVersion) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> root = update.from(Task.class);
+        List<Predicate> changes = new ArrayList<>();
+        if (patch.title() != null) {
+            update.set(root.<String>get("title"), patch.title());
+            changes.add(cb.notEqual(root.get("title"), patch.title()));
+        }
+        if (patch.description() != null) {
+            set(cb, update, root.get("description"), patch.description().orElse(null), String.class, changes);
+        }
+        if (patch.dueDate() != null) {
+            set(cb, update, root.get("dueDate"), patch.dueDate().orElse(null), LocalDateTime.class, changes);
+        }
+        if (patch.completed() != null) {
+            update.set(root.<Boolean>get("isCompleted"), patch.completed());
+            changes.add(cb.notEqual(root.get("isCompleted"), patch.completed()));
+        }
+        // Bulk updates bypass @UpdateTimestamp and @Version, so both are set here
+        update.set(root.<LocalDateTime>get("updatedAt"), LocalDateTime.now());
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), cb.literal(1L)));
+
+        Predicate where = cb.and(cb.equal(root.get("id"), taskId), cb.or(changes.toArray(Predicate[]::new)));
+        if (expectedVersion != null) {
+            where = cb.and(where, cb.equal(root.get("version"), expectedVersion));
+        }
+        return entityManager.createQuery(update.where(where)).executeUpdate();
+    }
+
+    /**
+     * Sets a nullable column, adding the condition under which that changes it: a null-safe comparison,
+     * since SQL's {@code <>} is never true when either side is null.
+     */
+    private static <T> void set(CriteriaBuilder cb, CriteriaUpdate<Task> update, Path<T> column, T value,
+                                Class<T> type, List<Predicate> changes) {
+        if (value == null) {
+            update.set(column, cb.nullLiteral(type));
+            changes.add(cb.isNotNull(column));
+        } else {
+            update.set(column, value);
+            changes.add(cb.or(cb.isNull(column), cb.notEqual(column, value)));
+        }
+    }
+
     @Override
     @Transactional
     public Task completeTask(Long taskId) {
-        Task existingTask = getTaskById(taskId);
-        existingTask.setCompleted(true);
-        return taskRepository.save(existingTask);
+        // A single UPDATE ... RETURNING replaces the SELECT, dirty check and UPDATE of a managed entity.
+        Optional<Task> completedTask = taskRepository.completeTaskById(taskId, LocalDateTime.now());
+        if (completedTask.isEmpty()) {
+            // Either there is no such task, or it was already completed and nothing changed.
+            return taskRepository.findById(taskId)
+                    .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
+        }
+        Task task = completedTask.get();
+        eventPublisher.publishEvent(TaskChangedEvent.of(ChangeType.COMPLETED, task,
+                new TaskDueState(taskId, task.getDueDate(), false)));
+        return task;
     }
 
     @Override
     @Transactional
     public void deleteTask(Long taskId) {
-        // Check if the task exists before attempting to delete.
-        Task existingTask = getTaskById(taskId);
-        taskRepository.delete(existingTask);
+        // The DELETE returns the row it removed, if any, so no lookup is needed first.
+        Optional<TaskDueState> deleted = taskRepository.deleteTaskById(taskId);
+        if (deleted.isEmpty() && archivedTaskRepository.deleteArchivedTaskById(taskId) == 0) {
+            throw new TaskNotFoundException("Task not found with id: " + taskId);
+        }
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(taskId, deleted.orElse(null)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSearchResults searchTasks(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query cannot be blank");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        long offset = (long) Math.max(page, 0) * pageSize;
+        if (offset + pageSize > MAX_SEARCH_RESULTS) {
+            throw new InvalidRequestException("Search results are limited to the first " + MAX_SEARCH_RESULTS
+                    + " hits; refine the query instead of paging further");
+        }
+
+        List<TaskSnapshot> hits = taskRepository.search(query, pageSize + 1, (int) offset).stream()
+                .map(TaskSnapshot::from)
+                .toList();
+        boolean hasNext = hits.size() > pageSize;
+        return new TaskSearchResults(query, Math.max(page, 0), pageSize, hasNext,
+                hasNext ? hits.subList(0, pageSize) : hits);
+    }
+
+    /**
+     * Translates a client-supplied sort into entity attributes, rejecting unknown properties,
+     * and appends the id as a tie-breaker so the order is deterministic.
+     */
+    static Sort toEntitySort(Sort sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+        boolean hasId = false;
+        for (Sort.Order order : sort) {
+            String property = SORTABLE_PROPERTIES.get(order.getProperty());
+            if (property == null) {
+                throw new InvalidRequestException("Cannot sort by: " + order.getProperty());
+            }
+            hasId |= property.equals("id");
+            orders.add(order.withProperty(property));
+        }
+        if (!hasId) {
+            orders.add(Sort.Order.asc("id"));
+        }
+        return Sort.by(orders);
+    }
+
+    /**
+     * Builds the in-memory equivalent of an entity sort, for merging lists the database has already sorted.
+     */
+    static Comparator<TaskView> toComparator(Sort entitySort) {
+        Comparator<TaskView> comparator = null;
+        for (Sort.Order order : entitySort) {
+            Comparator<TaskView> next = VIEW_ORDERS.get(order.getProperty());
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator;
+    }
+
+    private static <T extends TaskView> List<T> merge(List<T> first, List<T> second, Comparator<TaskView> order) {
+        List<T> merged = new ArrayList<>(first.size() + second.size());
+        int i = 0;
+        int j = 0;
+        while (i < first.size() && j < second.size()) {
+            merged.add(order.compare(first.get(i), second.get(j)) <= 0 ? first.get(i++) : second.get(j++));
+        }
+        merged.addAll(first.subList(i, first.size()));
+        merged.addAll(second.subList(j, second.size()));
+        return merged;
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a == null || (b != null && b.isAfter(a)) ? b : a;
+    }
+
+    private static long orZero(Long value) {
+        return value == null ? 0 : value;
     }
 
     /**
@@ -75,7 +465,7 @@ public class TaskServiceImpl implements TaskService {
      * @param taskDetails the task details to compare against.
      * @return true if there are changes, false otherwise.
      */
-    private boolean checkForUpdates(Task existingTask, Task taskDetails) {
+    static boolean checkForUpdates(Task existingTask, Task taskDetails) {
         boolean updated = false;
         // Check title for changes, as it should not be null or empty
         if (!Objects.equals(existingTask.getTitle(), taskDetails.getTitle())) {
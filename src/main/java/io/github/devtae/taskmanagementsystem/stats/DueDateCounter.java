@@ -0,0 +1,101 @@
+package io.github.devtae.taskmanagementsystem.stats;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Counts due dates in one-minute buckets between a floor and a horizon, and how many fall before each of a
+ * fixed number of moving thresholds. Dates before the floor share a single count, and dates at or after the
+ * horizon are not counted at all, so memory is bounded by the minutes in between rather than by the number
+ * of tasks.
+ * <p>
+ * Each threshold keeps a running count of the dates below it. Adding or removing a date adjusts every
+ * count directly, and moving a threshold only visits the buckets it passes over. Thresholds should fall on
+ * whole minutes, and are kept between the floor and the horizon. Not thread-safe.
+ */
+class DueDateCounter {
+    private final LocalDateTime floor;
+    private final LocalDateTime horizon;
+    private final TreeMap<LocalDateTime, Long> minutes = new TreeMap<>();
+    private long earlier;
+    private final LocalDateTime[] thresholds;
+    private final long[] below;
+
+    /**
+     * @param earlier how many dates fall before the floor
+     * @param minutes how many dates fall in each minute between the floor and the horizon, keyed by the
+     *                start of the minute
+     */
+    DueDateCounter(int thresholds, LocalDateTime floor, LocalDateTime horizon, long earlier,
+                   Map<LocalDateTime, Long> minutes) {
+        this.floor = floor;
+        this.horizon = horizon;
+        this.earlier = earlier;
+        minutes.forEach((minute, count) -> {
+            if (count != 0) {
+                this.minutes.put(minute, count);
+            }
+        });
+        this.thresholds = new LocalDateTime[thresholds];
+        this.below = new long[thresholds];
+        Arrays.fill(this.thresholds, floor);
+        Arrays.fill(this.below, earlier);
+    }
+
+    /**
+     * Adds {@code delta} dates at {@code date}; a negative delta removes them.
+     */
+    void add(LocalDateTime date, long delta) {
+        LocalDateTime minute;
+        if (date.isBefore(floor)) {
+            earlier += delta;
+            minute = floor.minusMinutes(1);
+        } else if (date.isBefore(horizon)) {
+            minute = date.truncatedTo(ChronoUnit.MINUTES);
+            if (minutes.merge(minute, delta, Long::sum) == 0) {
+                minutes.remove(minute);
+            }
+        } else {
+            return;
+        }
+        for (int i = 0; i < thresholds.length; i++) {
+            if (minute.isBefore(thresholds[i])) {
+                below[i] += delta;
+            }
+        }
+    }
+
+    /**
+     * Moves the given threshold to {@code at} and returns how many dates fall before it.
+     */
+    long countBefore(int threshold, LocalDateTime at) {
+        LocalDateTime from = thresholds[threshold];
+        LocalDateTime to = at.isBefore(floor) ? floor : at.isAfter(horizon) ? horizon : at;
+        if (to.isAfter(from)) {
+            below[threshold] += sum(minutes.subMap(from, true, to, false));
+        } else if (to.isBefore(from)) {
+            below[threshold] -= sum(minutes.subMap(to, true, from, false));
+        }
+        thresholds[threshold] = to;
+        return below[threshold];
+    }
+
+    /**
+     * Whether both hold the same counts over the same range.
+     */
+    boolean sameCounts(DueDateCounter other) {
+        return floor.equals(other.floor) && horizon.equals(other.horizon) && earlier == other.earlier
+                && minutes.equals(other.minutes);
+    }
+
+    private static long sum(Map<LocalDateTime, Long> range) {
+        long sum = 0;
+        for (long count : range.values()) {
+            sum += count;
+        }
+        return sum;
+    }
+}
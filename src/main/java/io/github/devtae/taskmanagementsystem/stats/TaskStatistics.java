@@ -0,0 +1,240 @@
+package io.github.devtae.taskmanagementsystem.stats;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskCounts;
+import io.github.devtae.taskmanagementsystem.dto.TaskDueMinute;
+import io.github.devtae.taskmanagementsystem.dto.TaskDueState;
+import io.github.devtae.taskmanagementsystem.dto.TaskStats;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent;
+import io.github.devtae.taskmanagementsystem.exception.ServiceBusyException;
+import io.github.devtae.taskmanagementsystem.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps task totals and due-date buckets up to date as tasks change, so reading them costs the same
+ * however many tasks there are, and holding them takes memory for counters rather than for tasks.
+ * <p>
+ * Change events carry a task's due date and completion from before and after the change, so every event
+ * turns into exact adjustments of the counters. Open tasks are counted per minute of their due date from the
+ * start of the day the counters were loaded on to eight days later, against thresholds that follow the
+ * clock, which keeps the overdue and due-soon figures right to the minute as time passes without any
+ * writes. Every {@code reconcileInterval} the counters are replaced with COUNT queries, which also moves
+ * that window forward and corrects drift, for instance from rows changed outside the application.
+ * Archived tasks are not counted.
+ */
+@Component
+@ConditionalOnProperty(prefix = "tasks.stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskStatistics implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(TaskStatistics.class);
+    // Covers "due this week" until the day after loading, so a reconciliation a day can keep up.
+    private static final int WINDOW_DAYS = 8;
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transaction;
+    private final TaskStatsProperties properties;
+    private final Clock clock;
+    private final Counter corrections;
+
+    // Guarded by this.
+    private Counters counters;
+    private long changes;
+
+    private ScheduledExecutorService executor;
+
+    @Autowired
+    public TaskStatistics(TaskRepository taskRepository, PlatformTransactionManager transactionManager,
+                          TaskStatsProperties properties, MeterRegistry meterRegistry) {
+        this(taskRepository, transactionManager, properties, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    TaskStatistics(TaskRepository taskRepository, PlatformTransactionManager transactionManager,
+                   TaskStatsProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.taskRepository = taskRepository;
+        // Deliberately not read-only: with replica routing on, these reads stay on the primary, which is
+        // what the change events describe, rather than on a replica that may lag behind them.
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.clock = clock;
+        this.corrections = Counter.builder("tasks.stats.corrections")
+                .description("Times reconciliation found the counters had drifted from the database")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-stats");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::reconcileSafely, 0, properties.reconcileInterval().toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return executor != null;
+    }
+
+    /**
+     * Returns the current figures. Tasks count as overdue once the minute they are due in has passed.
+     *
+     * @throws ServiceBusyException if the counters have not been loaded yet, or not for too long to cover
+     *                              this week
+     */
+    public synchronized TaskStats stats() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDate today = now.toLocalDate();
+        if (counters == null || today.isAfter(counters.day.plusDays(WINDOW_DAYS - 7))) {
+            throw new ServiceBusyException("Task statistics are still loading");
+        }
+        DueDateCounter open = counters.openDueDates;
+        long overdue = open.countBefore(Counters.NOW, now.truncatedTo(ChronoUnit.MINUTES));
+        long beforeToday = open.countBefore(Counters.TODAY, today.atStartOfDay());
+        long beforeTomorrow = open.countBefore(Counters.TOMORROW, today.plusDays(1).atStartOfDay());
+        long beforeNextWeek = open.countBefore(Counters.NEXT_WEEK, startOfNextWeek(today));
+        return new TaskStats(counters.total, counters.total - counters.completed, counters.completed, overdue,
+                beforeTomorrow - beforeToday, beforeNextWeek - beforeToday, now);
+    }
+
+    /**
+     * Replaces the counters with fresh COUNT queries, unless a change arrived while they ran: the counts may
+     * or may not include it, so applying it again could count it twice.
+     *
+     * @return whether the counters were replaced
+     */
+    boolean reconcile() {
+        long seen;
+        synchronized (this) {
+            seen = changes;
+        }
+        LocalDate day = LocalDate.now(clock);
+        LocalDateTime from = day.atStartOfDay();
+        LocalDateTime to = from.plusDays(WINDOW_DAYS);
+        Counters counted = transaction.execute(status -> {
+            TaskCounts counts = taskRepository.countForStatistics(from);
+            Map<LocalDateTime, Long> minutes = new HashMap<>();
+            for (TaskDueMinute minute : taskRepository.countOpenTasksByDueMinute(from, to)) {
+                minutes.put(minute.getDueMinute(), minute.getTasks());
+            }
+            return new Counters(day, counts.total(), counts.completed(),
+                    new DueDateCounter(4, from, to, counts.dueBefore(), minutes));
+        });
+        synchronized (this) {
+            if (changes != seen) {
+                return false;
+            }
+            if (counters != null && counters.day.equals(day) && !counters.sameAs(counted)) {
+                log.warn("Task statistics drifted from the database (held {} tasks, {} completed; counted {}, {}); "
+                        + "correcting", counters.total, counters.completed, counted.total, counted.completed);
+                corrections.increment();
+            }
+            counters = counted;
+            return true;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onTaskChanged(TaskChangedEvent event) {
+        if (counters != null) {
+            counters.add(event.before(), -1);
+            counters.add(stateAfter(event), 1);
+        }
+        changes++;
+    }
+
+    // An archived task has left the tasks table the figures are reconciled against, as a deleted one has.
+    private static TaskDueState stateAfter(TaskChangedEvent event) {
+        return event.task() == null || event.type() == TaskChangedEvent.ChangeType.ARCHIVED ? null
+                : TaskDueState.of(event.task());
+    }
+
+    private LocalDateTime startOfNextWeek(LocalDate today) {
+        return today.with(TemporalAdjusters.next(properties.firstDayOfWeek())).atStartOfDay();
+    }
+
+    private void reconcileSafely() {
+        try {
+            if (!reconcile()) {
+                retryIfStale();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Task statistics reconciliation failed", e);
+        }
+    }
+
+    // Figures that cannot be served should not wait a whole interval for the next attempt.
+    private synchronized void retryIfStale() {
+        if (executor != null && (counters == null || !counters.day.equals(LocalDate.now(clock)))) {
+            executor.schedule(this::reconcileSafely, 1, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Task totals and open due dates as of the last reconciliation and every change since. Not thread-safe.
+     */
+    private static final class Counters {
+        static final int NOW = 0;
+        static final int TODAY = 1;
+        static final int TOMORROW = 2;
+        static final int NEXT_WEEK = 3;
+
+        final LocalDate day;
+        final DueDateCounter openDueDates;
+        long total;
+        long completed;
+
+        Counters(LocalDate day, long total, long completed, DueDateCounter openDueDates) {
+            this.day = day;
+            this.total = total;
+            this.completed = completed;
+            this.openDueDates = openDueDates;
+        }
+
+        void add(TaskDueState state, int delta) {
+            if (state == null) {
+                return;
+            }
+            total += delta;
+            if (state.completed()) {
+                completed += delta;
+            } else if (state.dueDate() != null) {
+                openDueDates.add(state.dueDate(), delta);
+            }
+        }
+
+        boolean sameAs(Counters other) {
+            return total == other.total && completed == other.completed
+                    && openDueDates.sameCounts(other.openDueDates);
+        }
+    }
+}
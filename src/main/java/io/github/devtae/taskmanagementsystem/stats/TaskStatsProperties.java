@@ -0,0 +1,20 @@
+package io.github.devtae.taskmanagementsystem.stats;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+
+/**
+ * Settings for task statistics.
+ *
+ * @param enabled whether statistics are kept and served at all
+ * @param reconcileInterval how often the counters are reset from COUNT queries against the database
+ * @param firstDayOfWeek the day a new week starts on, for "due this week"
+ */
+@ConfigurationProperties(prefix = "tasks.stats")
+public record TaskStatsProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("5m") Duration reconcileInterval,
+                                  @DefaultValue("MONDAY") DayOfWeek firstDayOfWeek) {
+}
@@ -0,0 +1,153 @@
+package io.github.devtae.taskmanagementsystem.transfer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads an import one row at a time, as CSV records or as lines, holding no more than one row in memory.
+ * <p>
+ * A row longer than {@code maxLength} characters, or a CSV record that does not parse, is read to its end
+ * and then reported with a {@link MalformedRecordException}, so the caller can reject it and carry on
+ * with the next row.
+ */
+final class RecordReader {
+    private final Reader reader;
+    private final int maxLength;
+    private int next = -2;
+
+    private int length;
+    private String problem;
+
+    RecordReader(Reader reader, int maxLength) {
+        this.reader = reader;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Reads the next CSV record as RFC 4180 describes it, skipping blank lines. Fields that are empty and
+     * unquoted read as {@code null}, as {@code COPY} reads them, while {@code ""} reads as an empty string.
+     *
+     * @return the record's fields, or {@code null} at the end of the input
+     */
+    List<String> readCsv() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        length = 0;
+        problem = null;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1 && c != '\r' && c != '\n') {
+            if (c == ',') {
+                fields.add(value(field, quoted));
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '"' && field.isEmpty() && !quoted) {
+                quoted = true;
+                readQuoted(field);
+            } else if (quoted) {
+                fail("Unexpected characters after a quoted field");
+            } else {
+                append(field, c);
+            }
+            c = read();
+        }
+        if (c == '\r' && peek() == '\n') {
+            read();
+        }
+        fields.add(value(field, quoted));
+        if (problem != null) {
+            throw new MalformedRecordException(problem);
+        }
+        return fields;
+    }
+
+    /**
+     * Reads the next line without its line terminator.
+     *
+     * @return the line, or {@code null} at the end of the input
+     */
+    String readLine() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        length = 0;
+        problem = null;
+        StringBuilder line = new StringBuilder();
+        while (c != -1 && c != '\n') {
+            if (c != '\r' || peek() != '\n') {
+                append(line, c);
+            }
+            c = read();
+        }
+        if (problem != null) {
+            throw new MalformedRecordException(problem);
+        }
+        return line.toString();
+    }
+
+    private void readQuoted(StringBuilder field) throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                fail("Quoted field is not closed");
+                return;
+            }
+            if (c == '"') {
+                if (peek() != '"') {
+                    return;
+                }
+                read();
+            }
+            append(field, c);
+        }
+    }
+
+    private void append(StringBuilder text, int c) {
+        if (++length > maxLength) {
+            fail("Row is longer than " + maxLength + " characters");
+        } else {
+            text.append((char) c);
+        }
+    }
+
+    private void fail(String message) {
+        if (problem == null) {
+            problem = message;
+        }
+    }
+
+    private static String value(StringBuilder field, boolean quoted) {
+        return field.isEmpty() && !quoted ? null : field.toString();
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        next = -2;
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (next == -2) {
+            next = reader.read();
+        }
+        return next;
+    }
+
+    /**
+     * A row that could not be read; the reader has already moved past it.
+     */
+    static final class MalformedRecordException extends IOException {
+        MalformedRecordException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,473 @@
+package io.github.devtae.taskmanagementsystem.transfer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.devtae.taskmanagementsystem.dto.TaskImportReport;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent.ChangeType;
+import io.github.devtae.taskmanagementsystem.exception.InvalidRequestException;
+import io.github.devtae.taskmanagementsystem.format.ResponseFormats;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import io.github.devtae.taskmanagementsystem.repository.TaskIdAllocator;
+import io.github.devtae.taskmanagementsystem.service.TaskService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Exports every task and imports tasks in bulk, as CSV or newline-delimited JSON, holding no more than one
+ * chunk of rows in memory however large the input or output.
+ * <p>
+ * On PostgreSQL, CSV is exported with {@code COPY ... TO STDOUT} straight into the response, and imported
+ * rows are written with {@code COPY ... FROM STDIN}, one chunk per transaction. Other databases, such as the
+ * H2 the tests run on, stream the export through {@link TaskService#streamAllTasks} and import with JDBC
+ * batch inserts instead; both paths read and write the same CSV.
+ * <p>
+ * Every imported row is checked against the constraints {@link Task} declares before it is written, and
+ * is given a new id, new timestamps and version 0, as a task created through the API would be. Rows that
+ * cannot be parsed or fail validation are rejected one by one; a chunk the database refuses is rejected as
+ * a whole. Imported tasks are published as {@link ChangeType#CREATED}, so the cache, statistics, reminders
+ * and change feed see them.
+ */
+@Component
+@ConditionalOnProperty(prefix = "tasks.storage", name = "engine", havingValue = "jpa", matchIfMissing = true)
+public class TaskTransfer {
+    public static final String CSV_VALUE = "text/csv";
+    public static final MediaType CSV = MediaType.parseMediaType(CSV_VALUE);
+
+    private static final Logger log = LoggerFactory.getLogger(TaskTransfer.class);
+    private static final List<String> COLUMNS = List.of("id", "title", "description", "due_date", "completed",
+            "created_at", "updated_at", "version");
+    // Only these columns are read; the others are accepted so an export can be imported again
+    private static final List<String> IMPORTED_COLUMNS = List.of("title", "description", "due_date", "completed");
+    // Timestamps and booleans are formatted as the fallback formats them, so both paths write the same CSV
+    private static final String COPY_OUT = "COPY (SELECT id, title, description, "
+            + "to_char(due_date, 'YYYY-MM-DD\"T\"HH24:MI:SS.US') AS due_date, completed::text AS completed, "
+            + "to_char(created_at, 'YYYY-MM-DD\"T\"HH24:MI:SS.US') AS created_at, "
+            + "to_char(updated_at, 'YYYY-MM-DD\"T\"HH24:MI:SS.US') AS updated_at, version "
+            + "FROM tasks ORDER BY id) TO STDOUT WITH (FORMAT csv, HEADER)";
+    private static final String COPY_IN = "COPY tasks (id, title, description, due_date, completed, created_at, "
+            + "updated_at, version) FROM STDIN WITH (FORMAT csv)";
+    private static final String INSERT = "INSERT INTO tasks (id, title, description, due_date, completed, "
+            + "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSSSS");
+
+    private final TaskService taskService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final ResponseFormats responseFormats;
+    private final TransferProperties properties;
+    private final TaskIdAllocator taskIds;
+    private final Counter imported;
+    private final Counter rejected;
+
+    public TaskTransfer(TaskService taskService, JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager, Validator validator,
+                        ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper,
+                        ResponseFormats responseFormats, TransferProperties properties,
+                        EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this.taskService = taskService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.responseFormats = responseFormats;
+        this.properties = properties;
+        this.taskIds = new TaskIdAllocator(entityManagerFactory);
+        this.imported = Counter.builder("tasks.import.rows")
+                .description("Imported rows, by whether they were written")
+                .tag("outcome", "imported")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("tasks.import.rows")
+                .description("Imported rows, by whether they were written")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Writes every task, in id order, as CSV with a header row. Missing values are empty fields, while an
+     * empty description is {@code ""}.
+     */
+    public void exportCsv(OutputStream out) throws IOException {
+        Boolean copied = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                return false;
+            }
+            try {
+                connection.unwrap(PGConnection.class).getCopyAPI().copyOut(COPY_OUT, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return true;
+        });
+        if (Boolean.TRUE.equals(copied)) {
+            return;
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(String.join(",", COLUMNS));
+        writer.write('\n');
+        StringBuilder row = new StringBuilder();
+        taskService.streamAllTasks(task -> {
+            row.setLength(0);
+            appendCsv(row, task);
+            try {
+                writer.append(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    /**
+     * Writes every task as newline-delimited JSON, in the same form as {@code GET /api/tasks/stream}.
+     */
+    public void exportNdjson(OutputStream out) throws IOException {
+        try (ResponseFormats.ValueStream<TaskSnapshot> values =
+                     responseFormats.openStream(ResponseFormats.NDJSON, TaskSnapshot.class, out)) {
+            taskService.streamAllTasks(task -> {
+                try {
+                    values.write(task);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Imports CSV with a header row naming its columns, in any order. {@code title} is required;
+     * {@code description}, {@code due_date} and {@code completed} are optional, and the other columns of an
+     * export are ignored.
+     *
+     * @throws InvalidRequestException if the header names a column tasks do not have, or no title
+     */
+    public TaskImportReport importCsv(InputStream in) throws IOException {
+        RecordReader reader = reader(in);
+        Import run = new Import();
+        List<String> header = reader.readCsv();
+        if (header == null) {
+            return run.finish();
+        }
+        int[] columns = columns(header);
+        while (true) {
+            List<String> fields;
+            try {
+                fields = reader.readCsv();
+            } catch (RecordReader.MalformedRecordException e) {
+                run.reject(run.next(), e.getMessage());
+                continue;
+            }
+            if (fields == null) {
+                break;
+            }
+            long row = run.next();
+            if (fields.size() != header.size()) {
+                run.reject(row, "Row has " + fields.size() + " fields, the header " + header.size());
+                continue;
+            }
+            try {
+                run.accept(row, task(fields, columns));
+            } catch (IllegalArgumentException e) {
+                run.reject(row, e.getMessage());
+            }
+        }
+        return run.finish();
+    }
+
+    /**
+     * Imports one JSON task per line, with the fields {@code POST /api/tasks} accepts. Blank lines are
+     * skipped.
+     */
+    public TaskImportReport importNdjson(InputStream in) throws IOException {
+        RecordReader reader = reader(in);
+        Import run = new Import();
+        while (true) {
+            String line;
+            try {
+                line = reader.readLine();
+            } catch (RecordReader.MalformedRecordException e) {
+                run.reject(run.next(), e.getMessage());
+                continue;
+            }
+            if (line == null) {
+                break;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            long row = run.next();
+            Task task;
+            try {
+                task = objectMapper.readValue(line, Task.class);
+            } catch (JsonProcessingException e) {
+                run.reject(row, "Not a valid task: " + e.getOriginalMessage());
+                continue;
+            }
+            if (task == null) {
+                run.reject(row, "Not a valid task: null");
+            } else {
+                run.accept(row, task);
+            }
+        }
+        return run.finish();
+    }
+
+    private RecordReader reader(InputStream in) {
+        return new RecordReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)),
+                properties.maxRowLength());
+    }
+
+    /**
+     * Maps each imported column to its position in the header, or -1 when the header leaves it out.
+     */
+    private static int[] columns(List<String> header) {
+        int[] columns = new int[IMPORTED_COLUMNS.size()];
+        Arrays.fill(columns, -1);
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i) == null ? "" : header.get(i).trim().toLowerCase(Locale.ROOT);
+            if (!COLUMNS.contains(name)) {
+                throw new InvalidRequestException("Unknown column '" + header.get(i) + "'; expected some of "
+                        + String.join(", ", COLUMNS));
+            }
+            int imported = IMPORTED_COLUMNS.indexOf(name);
+            if (imported >= 0) {
+                columns[imported] = i;
+            }
+        }
+        if (columns[0] < 0) {
+            throw new InvalidRequestException("The header must name a title column");
+        }
+        return columns;
+    }
+
+    private static Task task(List<String> fields, int[] columns) {
+        Task task = new Task();
+        task.setTitle(field(fields, columns[0]));
+        task.setDescription(field(fields, columns[1]));
+        String dueDate = field(fields, columns[2]);
+        if (dueDate != null && !dueDate.isBlank()) {
+            try {
+                // PostgreSQL's own timestamp output separates the date and time with a space
+                task.setDueDate(LocalDateTime.parse(dueDate.trim().replace(' ', 'T')));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("due_date: '" + dueDate + "' is not a date and time");
+            }
+        }
+        String completed = field(fields, columns[3]);
+        if (completed != null && !completed.isBlank()) {
+            task.setCompleted(switch (completed.trim().toLowerCase(Locale.ROOT)) {
+                case "true", "t" -> true;
+                case "false", "f" -> false;
+                default -> throw new IllegalArgumentException("completed: '" + completed + "' is not true or false");
+            });
+        }
+        return task;
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column < 0 ? null : fields.get(column);
+    }
+
+    private static void appendCsv(StringBuilder row, TaskSnapshot task) {
+        row.append(task.id()).append(',');
+        appendCsv(row, task.title());
+        row.append(',');
+        appendCsv(row, task.description());
+        row.append(',');
+        appendCsv(row, task.dueDate());
+        row.append(',').append(task.completed()).append(',');
+        appendCsv(row, task.createdAt());
+        row.append(',');
+        appendCsv(row, task.updatedAt());
+        row.append(',').append(task.version()).append('\n');
+    }
+
+    private static void appendCsv(StringBuilder row, LocalDateTime time) {
+        if (time != null) {
+            TIMESTAMP.formatTo(time, row);
+        }
+    }
+
+    // Quotes a value as COPY does: when it holds a delimiter, quote or line break, or is empty and so
+    // would otherwise read as null
+    private static void appendCsv(StringBuilder row, String value) {
+        if (value == null) {
+            return;
+        }
+        if (!value.isEmpty() && value.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+            row.append(value);
+            return;
+        }
+        row.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                row.append('"');
+            }
+            row.append(c);
+        }
+        row.append('"');
+    }
+
+    private record Row(long number, Task task) {
+    }
+
+    /**
+     * The state of one import: the rows read so far, the chunk waiting to be written and the rejects.
+     */
+    private final class Import {
+        private final List<Row> chunk = new ArrayList<>();
+        private final List<TaskImportReport.Reject> rejects = new ArrayList<>();
+        private long rows;
+        private long written;
+        private long rejectedRows;
+
+        long next() {
+            return ++rows;
+        }
+
+        void accept(long row, Task task) {
+            Set<ConstraintViolation<Task>> violations = validator.validate(task);
+            if (!violations.isEmpty()) {
+                reject(row, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                return;
+            }
+            chunk.add(new Row(row, task));
+            if (chunk.size() >= properties.chunkSize()) {
+                flush();
+            }
+        }
+
+        void reject(long row, String error) {
+            rejectedRows++;
+            rejected.increment();
+            if (rejects.size() < properties.maxRejects()) {
+                rejects.add(new TaskImportReport.Reject(row, error));
+            }
+        }
+
+        TaskImportReport finish() {
+            flush();
+            return new TaskImportReport(rows, written, rejectedRows, rejects, rejectedRows > rejects.size());
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            // Truncated to what the column stores, so published tasks match what is read back
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            List<Task> tasks = chunk.stream().map(Row::task).toList();
+            taskIds.assign(tasks);
+            for (Task task : tasks) {
+                task.setCreatedAt(now);
+                task.setUpdatedAt(now);
+                task.setVersion(0);
+            }
+            try {
+                transactionTemplate.executeWithoutResult(tx -> {
+                    write(chunk);
+                    for (Row row : chunk) {
+                        eventPublisher.publishEvent(TaskChangedEvent.created(row.task()));
+                    }
+                });
+                written += chunk.size();
+                imported.increment(chunk.size());
+            } catch (DataAccessException | TransactionException e) {
+                String error = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                log.warn("Could not import rows {} to {}: {}", chunk.get(0).number(),
+                        chunk.get(chunk.size() - 1).number(), error);
+                for (Row row : chunk) {
+                    reject(row.number(), "Not written: " + error);
+                }
+            }
+            chunk.clear();
+        }
+    }
+
+    private void write(List<Row> chunk) {
+        Boolean copied = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                return false;
+            }
+            StringBuilder csv = new StringBuilder(chunk.size() * 128);
+            for (Row row : chunk) {
+                appendCsv(csv, TaskSnapshot.from(row.task()));
+            }
+            try {
+                connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_IN, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return true;
+        });
+        if (Boolean.TRUE.equals(copied)) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT, chunk, chunk.size(), (statement, row) -> {
+            Task task = row.task();
+            statement.setLong(1, task.getId());
+            statement.setString(2, task.getTitle());
+            statement.setString(3, task.getDescription());
+            if (task.getDueDate() == null) {
+                statement.setNull(4, Types.TIMESTAMP);
+            } else {
+                statement.setTimestamp(4, Timestamp.valueOf(task.getDueDate()));
+            }
+            statement.setBoolean(5, task.isCompleted());
+            statement.setTimestamp(6, Timestamp.valueOf(task.getCreatedAt()));
+            statement.setTimestamp(7, Timestamp.valueOf(task.getUpdatedAt()));
+        });
+    }
+}
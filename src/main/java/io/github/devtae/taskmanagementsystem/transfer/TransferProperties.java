@@ -0,0 +1,17 @@
+package io.github.devtae.taskmanagementsystem.transfer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for bulk export and import.
+ *
+ * @param chunkSize the most imported rows written in one transaction
+ * @param maxRejects the most rejected rows listed in an import report; further rejects are only counted
+ * @param maxRowLength the most characters one imported row may hold before it is rejected unread
+ */
+@ConfigurationProperties(prefix = "tasks.transfer")
+public record TransferProperties(@DefaultValue("1000") int chunkSize,
+                                 @DefaultValue("1000") int maxRejects,
+                                 @DefaultValue("8192") int maxRowLength) {
+}
@@ -0,0 +1,3 @@
+-- Hibernate's pooled optimizer uses the ids up to each value it takes, so the next value must leave a
+-- whole block above the highest existing id. H2 has no setval, but takes a query here.
+ALTER SEQUENCE tasks_id_seq RESTART WITH (SELECT coalesce(max(id), 0) + 100 FROM tasks);
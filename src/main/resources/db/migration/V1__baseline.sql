@@ -0,0 +1,15 @@
+-- The schema as the release before Flyway left it, when Hibernate's ddl-auto=update managed the tasks table.
+-- Databases it created are baselined at this version instead of running it (spring.flyway.baseline-on-migrate
+-- in the prod profile), so everything added since goes in later migrations that tolerate objects which
+-- ddl-auto=update may already have created.
+
+CREATE TABLE tasks (
+    id          bigint       GENERATED BY DEFAULT AS IDENTITY,
+    title       varchar(100) NOT NULL,
+    description varchar(500),
+    due_date    timestamp(6),
+    completed   boolean      NOT NULL,
+    created_at  timestamp(6) NOT NULL,
+    updated_at  timestamp(6),
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,16 @@
+-- Completed tasks moved out of the tasks table once old enough.
+CREATE TABLE IF NOT EXISTS tasks_archive (
+    id          bigint       NOT NULL,
+    title       varchar(100) NOT NULL,
+    description varchar(500),
+    due_date    timestamp(6),
+    completed   boolean,
+    created_at  timestamp(6) NOT NULL,
+    updated_at  timestamp(6),
+    version     bigint       NOT NULL,
+    archived_at timestamp(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_archive_created_at_id ON tasks_archive (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_archive_archived_at ON tasks_archive (archived_at);
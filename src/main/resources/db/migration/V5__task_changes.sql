@@ -0,0 +1,11 @@
+-- The change feed. No check constraint on type, unlike Hibernate's, so new change types need no migration.
+CREATE TABLE IF NOT EXISTS task_changes (
+    seq        bigint       NOT NULL,
+    type       varchar(16)  NOT NULL,
+    task_id    bigint       NOT NULL,
+    payload    varchar(4000),
+    changed_at timestamp(6) NOT NULL,
+    PRIMARY KEY (seq)
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_changes_changed_at ON task_changes (changed_at);
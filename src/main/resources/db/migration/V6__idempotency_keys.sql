@@ -0,0 +1,12 @@
+-- Responses kept for replay by the table idempotency store.
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key varchar(255)  NOT NULL,
+    fingerprint     varchar(512)  NOT NULL,
+    status          integer,
+    headers         varchar(2000),
+    body            varchar(8000),
+    created_at      timestamp(6)  NOT NULL,
+    PRIMARY KEY (idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys (created_at);
@@ -0,0 +1,22 @@
+-- Repeat rules of recurring tasks and their completed or skipped occurrences. A database kept up to date by
+-- ddl-auto=update before this migration may have both tables already, hence IF NOT EXISTS.
+CREATE TABLE IF NOT EXISTS task_recurrences (
+    task_id    bigint       NOT NULL,
+    rule       varchar(200) NOT NULL,
+    starts_at  timestamp(6) NOT NULL,
+    updated_at timestamp(6) NOT NULL,
+    PRIMARY KEY (task_id),
+    FOREIGN KEY (task_id) REFERENCES tasks (id) ON DELETE CASCADE
+);
+
+-- No check constraint on status, so new statuses need no migration
+CREATE TABLE IF NOT EXISTS task_occurrences (
+    task_id    bigint       NOT NULL,
+    occurs_at  timestamp(6) NOT NULL,
+    status     varchar(16)  NOT NULL,
+    updated_at timestamp(6) NOT NULL,
+    PRIMARY KEY (task_id, occurs_at),
+    FOREIGN KEY (task_id) REFERENCES task_recurrences (task_id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_occurrences_occurs_at ON task_occurrences (occurs_at);
@@ -0,0 +1,7 @@
+-- The lease naming the one instance allowed to record task changes.
+CREATE TABLE IF NOT EXISTS task_change_writer (
+    id         integer      NOT NULL,
+    owner      varchar(200) NOT NULL,
+    expires_at timestamp(6) NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,3 @@
+-- Hibernate's pooled optimizer uses the ids up to each value it takes, so the next value must leave a
+-- whole block above the highest existing id.
+SELECT setval('tasks_id_seq', (SELECT coalesce(max(id), 0) + 100 FROM tasks), false);
@@ -0,0 +1,9 @@
+-- Full-text search over title (weight A) and description (weight B), as schema-postgresql.sql adds it
+-- outside the prod profile. A database that ran that script already has both, hence IF NOT EXISTS.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_search_vector ON tasks USING GIN (search_vector);
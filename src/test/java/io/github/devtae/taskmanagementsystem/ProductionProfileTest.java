@@ -0,0 +1,49 @@
+package io.github.devtae.taskmanagementsystem;
+
+import io.github.devtae.taskmanagementsystem.model.Task;
+import io.github.devtae.taskmanagementsystem.repository.TaskRepository;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springdoc.core.configuration.SpringDocConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Hibernate validates the mapping against the schema the migrations build, which production skips at boot.
+// A database of its own, so the tables other test contexts create do not make Flyway baseline it.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=validate"})
+@ActiveProfiles("prod")
+class ProductionProfileTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void whenProdProfileIsActive_thenSchemaComesFromMigrationsAndOpenApiIsOff() {
+        assertThat(Arrays.stream(flyway.info().applied()).map(MigrationInfo::getScript))
+                .containsExactly("V1__baseline.sql", "V2__task_versions_and_indexes.sql", "V3__task_id_sequence_start.sql",
+                        "V4__tasks_archive.sql", "V5__task_changes.sql", "V6__idempotency_keys.sql",
+                        "V8__task_recurrences.sql", "V9__task_change_writer.sql");
+        assertThat(context.getBeanNamesForType(SpringDocConfiguration.class)).isEmpty();
+
+        Task task = new Task();
+        task.setTitle("Migrated");
+        assertThat(taskRepository.save(task).getId()).isNotNull();
+        taskRepository.deleteAll();
+    }
+}
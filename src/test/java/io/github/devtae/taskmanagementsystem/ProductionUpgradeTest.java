@@ -0,0 +1,47 @@
+package io.github.devtae.taskmanagementsystem;
+
+import io.github.devtae.taskmanagementsystem.model.Task;
+import io.github.devtae.taskmanagementsystem.repository.TaskRepository;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A database created by the release before Flyway, which the prod profile baselines and then migrates.
+// Hibernate validates the mapping against the upgraded schema.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:upgrade;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;"
+                + "INIT=RUNSCRIPT FROM 'classpath:db/pre-flyway-schema.sql'",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=validate"})
+@ActiveProfiles("prod")
+class ProductionUpgradeTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void whenPreFlywayDatabaseIsUpgraded_thenExistingTasksAreVersionedAndNewIdsFollowThem() {
+        assertThat(Arrays.stream(flyway.info().applied()).map(info -> info.getVersion().getVersion()))
+                .containsExactly("1", "2", "3", "4", "5", "6", "8", "9");
+        assertThat(flyway.info().applied()[0].getType().isBaseline()).isTrue();
+
+        Task existing = taskRepository.findById(1L).orElseThrow();
+        assertThat(existing.getVersion()).isZero();
+        existing.setTitle("First, renamed");
+        assertThat(taskRepository.save(existing).getVersion()).isEqualTo(1);
+
+        Task task = new Task();
+        task.setTitle("Created after the upgrade");
+        assertThat(taskRepository.save(task).getId()).isGreaterThan(250L);
+    }
+}
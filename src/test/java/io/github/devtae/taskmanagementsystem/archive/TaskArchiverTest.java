@@ -0,0 +1,131 @@
+package io.github.devtae.taskmanagementsystem.archive;
+
+import io.github.devtae.taskmanagementsystem.cache.TaskCache;
+import io.github.devtae.taskmanagementsystem.dto.TaskFilter;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent.ChangeType;
+import io.github.devtae.taskmanagementsystem.exception.TaskNotFoundException;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import io.github.devtae.taskmanagementsystem.repository.ArchivedTaskRepository;
+import io.github.devtae.taskmanagementsystem.repository.TaskRepository;
+import io.github.devtae.taskmanagementsystem.service.TaskServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Each batch commits its own transaction, so the test-managed rollback transaction is switched off
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskArchiverTest {
+    private static final LocalDateTime LONG_AGO = LocalDateTime.now().minusDays(100);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final List<TaskChangedEvent> events = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        archivedTaskRepository.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void whenCompletedTasksAreOldEnough_thenTheyMoveInBatches() throws Exception {
+        List<Long> old = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            old.add(save("Old " + i, true, LONG_AGO));
+        }
+        Long open = save("Open", false, LONG_AGO);
+        Long recent = save("Recent", true, null);
+
+        assertThat(archiver(2).archive()).isEqualTo(5);
+
+        assertThat(taskRepository.findAll()).extracting(Task::getId).containsExactlyInAnyOrder(open, recent);
+        assertThat(archivedTaskRepository.findAll()).extracting(archived -> archived.getId())
+                .containsExactlyInAnyOrderElementsOf(old);
+        assertThat(events).extracting(TaskChangedEvent::type).containsOnly(ChangeType.ARCHIVED).hasSize(5);
+        assertThat(events.get(0).task().title()).isEqualTo("Old 0");
+        assertThat(meterRegistry.get("tasks.archive.moved").counter().count()).isEqualTo(5);
+        assertThat(archiver(2).archive()).isZero();
+    }
+
+    @Test
+    void whenTaskIsArchived_thenItIsStillFoundAndOnlyListedOnRequest() throws Exception {
+        Long first = save("First", true, LONG_AGO);
+        Long second = save("Second", false, null);
+        Long third = save("Third", true, LONG_AGO);
+        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, archivedTaskRepository, entityManager,
+                TaskCache.disabled(), event -> events.add((TaskChangedEvent) event));
+        TaskFilter all = new TaskFilter(null, null, null, null, null, true);
+        String before = taskService.getTasksVersion(all);
+
+        archiver(10).archive();
+
+        assertThat(taskService.getTaskById(first).getTitle()).isEqualTo("First");
+        assertThat(taskService.getTaskVersion(third).version()).isEqualTo(taskService.getTaskById(third).getVersion());
+        assertThat(taskService.findTasks(TaskFilter.none(), Sort.unsorted())).extracting(TaskSnapshot::id)
+                .containsExactly(second);
+        // Both tables are read in the same order and merged
+        assertThat(taskService.findTasks(all, Sort.by(Sort.Order.desc("id")))).extracting(TaskSnapshot::id)
+                .containsExactly(third, second, first);
+        assertThat(taskService.findTaskSummaries(new TaskFilter(true, null, null, null, null, true),
+                Sort.unsorted())).hasSize(2);
+        assertThat(taskService.getTasksVersion(all)).isEqualTo(before);
+        assertThat(taskService.getTasksVersion(TaskFilter.none())).isNotEqualTo(before);
+
+        taskService.deleteTask(first);
+        assertThatThrownBy(() -> taskService.getTaskById(first)).isInstanceOf(TaskNotFoundException.class);
+    }
+
+    private TaskArchiver archiver(int batchSize) {
+        return new TaskArchiver(taskRepository, archivedTaskRepository, transactionManager,
+                event -> events.add((TaskChangedEvent) event),
+                new ArchiveProperties(true, Duration.ofDays(90), batchSize, Duration.ofHours(1), Duration.ZERO),
+                meterRegistry, Clock.systemDefaultZone());
+    }
+
+    // The last update is stamped by Hibernate, so an older one is written behind its back
+    private Long save(String title, boolean completed, LocalDateTime updatedAt) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setCompleted(completed);
+        Long id = taskRepository.save(task).getId();
+        if (updatedAt != null) {
+            new JdbcTemplate(dataSource).update("UPDATE tasks SET updated_at = ? WHERE id = ?", updatedAt, id);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.devtae.taskmanagementsystem.cache;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private TaskCache taskCache;
+    private TaskSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        taskCache = new TaskCache(new TaskCacheProperties(true, 2, Duration.ofSeconds(30)), nanos::get);
+        snapshot = new TaskSnapshot(1L, "Test Task", null, null, false, null, null, 0);
+    }
+
+    @Test
+    void whenGetTwice_thenLoadsOnce() {
+        taskCache.get(1L, this::load);
+        Optional<TaskSnapshot> cached = taskCache.get(1L, this::load);
+
+        assertThat(cached).contains(snapshot);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void whenTtlElapses_thenReloads() {
+        taskCache.get(1L, this::load);
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        taskCache.get(1L, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void whenTaskChanged_thenEntryIsInvalidated() {
+        taskCache.get(1L, this::load);
+
+        taskCache.onTaskChanged(TaskChangedEvent.deleted(1L, null));
+        taskCache.get(1L, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void whenInvalidatedDuringLoad_thenStaleResultIsNotCached() {
+        taskCache.get(1L, id -> {
+            taskCache.invalidate(id);
+            return load(id);
+        });
+
+        assertThat(taskCache.estimatedSize()).isZero();
+    }
+
+    @Test
+    void whenMissingTask_thenNothingIsCached() {
+        Optional<TaskSnapshot> missing = taskCache.get(2L, id -> Optional.empty());
+
+        assertThat(missing).isEmpty();
+        assertThat(taskCache.estimatedSize()).isZero();
+    }
+
+    @Test
+    void whenDisabled_thenEveryGetLoads() {
+        TaskCache disabled = TaskCache.disabled();
+
+        disabled.get(1L, this::load);
+        disabled.get(1L, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private Optional<TaskSnapshot> load(Long id) {
+        loads.incrementAndGet();
+        return Optional.of(snapshot);
+    }
+}
@@ -0,0 +1,248 @@
+package io.github.devtae.taskmanagementsystem.changes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.devtae.taskmanagementsystem.dto.TaskChangeBatch;
+import io.github.devtae.taskmanagementsystem.dto.TaskChangeRecord;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent.ChangeType;
+import io.github.devtae.taskmanagementsystem.exception.ChangesExpiredException;
+import io.github.devtae.taskmanagementsystem.model.TaskChange;
+import io.github.devtae.taskmanagementsystem.repository.TaskChangeRepository;
+import io.github.devtae.taskmanagementsystem.repository.TaskChangeWriterRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Each change needs a real commit, so the test-managed rollback transaction is switched off
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ChangeFeedTest {
+
+    @Autowired
+    private TaskChangeRepository changeRepository;
+
+    @Autowired
+    private TaskChangeWriterRepository writerRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private ChangeFeed feed;
+
+    @AfterEach
+    void tearDown() {
+        if (feed != null) {
+            feed.stop();
+        }
+        changeRepository.deleteAll();
+        writerRepository.deleteAll();
+    }
+
+    @Test
+    void whenTransactionsCommitOutOfOrder_thenLaterChangesWaitForEarlierOnes() throws Exception {
+        feed = start(100);
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> transaction().executeWithoutResult(status -> {
+            feed.onTaskChanged(change(1L));
+            recorded.countDown();
+            await(release);
+        }));
+        assertThat(recorded.await(5, TimeUnit.SECONDS)).isTrue();
+
+        record(2L);
+        assertThat(feed.tip()).isZero();
+        assertThat(feed.read(0, 10).changes()).isEmpty();
+
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+        assertThat(feed.tip()).isEqualTo(2);
+        assertThat(feed.read(0, 10).changes()).extracting(TaskChangeRecord::taskId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void whenTransactionRollsBack_thenItsSequenceNumberIsSkipped() {
+        feed = start(100);
+        transaction().executeWithoutResult(status -> {
+            feed.onTaskChanged(change(1L));
+            status.setRollbackOnly();
+        });
+        record(2L);
+
+        TaskChangeBatch batch = feed.read(0, 10);
+        assertThat(batch.changes()).extracting(TaskChangeRecord::seq).containsExactly(2L);
+        assertThat(batch.next()).isEqualTo(2);
+        assertThat(batch.hasMore()).isFalse();
+        assertThat(changeRepository.count()).isOne();
+    }
+
+    @Test
+    void whenChangesFallOutOfTheBuffer_thenTheyAreReadFromTheTable() {
+        feed = start(2);
+        for (long id = 1; id <= 5; id++) {
+            record(id);
+        }
+
+        TaskChangeBatch first = feed.read(0, 3);
+        assertThat(first.changes()).extracting(TaskChangeRecord::seq).containsExactly(1L, 2L, 3L);
+        assertThat(first.hasMore()).isTrue();
+        assertThat(first.changes().get(0).task().title()).isEqualTo("Task 1");
+
+        TaskChangeBatch rest = feed.read(first.next(), 3);
+        assertThat(rest.changes()).extracting(TaskChangeRecord::seq).containsExactly(4L, 5L);
+        assertThat(rest.hasMore()).isFalse();
+    }
+
+    @Test
+    void whenRestarted_thenSequenceResumesAfterTheStoredChanges() {
+        feed = start(100);
+        record(1L);
+        record(2L);
+        feed.stop();
+
+        feed = start(100);
+        assertThat(feed.tip()).isEqualTo(2);
+        record(3L);
+        assertThat(feed.read(0, 10).changes()).extracting(TaskChangeRecord::seq).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void whenAnotherInstanceHoldsTheWriterLease_thenStartFailsUntilItStops() {
+        feed = start(100);
+
+        ChangeFeed second = feed(100);
+        assertThatThrownBy(second::start).isInstanceOf(IllegalStateException.class);
+
+        feed.stop();
+        second.start();
+        feed = second;
+        record(1L);
+        assertThat(feed.tip()).isEqualTo(1);
+    }
+
+    @Test
+    void whenSubscribedOnce_thenTheNextChangeIsDeliveredAndTheSubscriptionEnds() throws Exception {
+        feed = start(100);
+        record(1L);
+        BlockingQueue<TaskChangeBatch> received = new LinkedBlockingQueue<>();
+        ChangeFeed.Subscription subscription = feed.subscribe(feed.tip(), 10, true, received::add);
+
+        record(2L);
+
+        TaskChangeBatch batch = received.poll(5, TimeUnit.SECONDS);
+        assertThat(batch).isNotNull();
+        assertThat(batch.changes()).extracting(TaskChangeRecord::taskId).containsExactly(2L);
+        assertThat(subscription.position()).isEqualTo(2);
+
+        record(3L);
+        assertThat(received.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void whenChangeCommitsDuringHeartbeat_thenItIsDeliveredAfterIt() throws Exception {
+        feed = start(100);
+        BlockingQueue<TaskChangeBatch> received = new LinkedBlockingQueue<>();
+        CountDownLatch beating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        feed.subscribe(feed.tip(), 10, false, new ChangeSink() {
+            @Override
+            public void send(TaskChangeBatch batch) {
+                received.add(batch);
+            }
+
+            @Override
+            public void heartbeat() {
+                beating.countDown();
+                await(release);
+            }
+        });
+        // The subscription may still be busy with its first delivery attempt
+        while (!beating.await(10, TimeUnit.MILLISECONDS)) {
+            feed.heartbeat();
+        }
+
+        record(1L);
+        release.countDown();
+
+        TaskChangeBatch batch = received.poll(5, TimeUnit.SECONDS);
+        assertThat(batch).isNotNull();
+        assertThat(batch.changes()).extracting(TaskChangeRecord::taskId).containsExactly(1L);
+    }
+
+    @Test
+    void whenPositionIsOlderThanRetainedChanges_thenReadIsRejected() {
+        for (long seq = 1; seq <= 3; seq++) {
+            TaskChange change = new TaskChange();
+            change.setSeq(seq);
+            change.setType(ChangeType.DELETED);
+            change.setTaskId(seq);
+            change.setChangedAt(LocalDateTime.now().minusDays(30));
+            changeRepository.save(change);
+        }
+        feed = start(100);
+        assertThat(feed.read(0, 10).changes()).hasSize(3);
+
+        feed.purgeExpired();
+
+        assertThatThrownBy(() -> feed.read(0, 10)).isInstanceOf(ChangesExpiredException.class);
+        assertThat(feed.read(2, 10).changes()).extracting(TaskChangeRecord::seq).containsExactly(3L);
+    }
+
+    private ChangeFeed start(int bufferSize) {
+        ChangeFeed changeFeed = feed(bufferSize);
+        changeFeed.start();
+        return changeFeed;
+    }
+
+    private ChangeFeed feed(int bufferSize) {
+        ChangeFeedProperties properties = new ChangeFeedProperties(true, bufferSize, 500, Duration.ofSeconds(30), 16,
+                Duration.ofMinutes(1), Duration.ofDays(7), Duration.ofHours(1), Duration.ofMinutes(1));
+        return new ChangeFeed(changeRepository, writerRepository, entityManager, objectMapper, properties,
+                new SimpleMeterRegistry());
+    }
+
+    private void record(Long taskId) {
+        transaction().executeWithoutResult(status -> feed.onTaskChanged(change(taskId)));
+    }
+
+    private TransactionTemplate transaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private static TaskChangedEvent change(Long taskId) {
+        LocalDateTime now = LocalDateTime.now();
+        return new TaskChangedEvent(ChangeType.UPDATED, taskId,
+                new TaskSnapshot(taskId, "Task " + taskId, null, null, false, now, now, 1), null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.devtae.taskmanagementsystem.controller;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskBatchRequest;
+import io.github.devtae.taskmanagementsystem.dto.TaskBatchResponse;
+import io.github.devtae.taskmanagementsystem.dto.TaskOperation;
+import io.github.devtae.taskmanagementsystem.dto.TaskOperationResult;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import io.github.devtae.taskmanagementsystem.service.TaskBatchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TaskBatchController.class)
+public class TaskBatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TaskBatchService taskBatchService;
+
+    @Test
+    public void whenExecuteBatch_thenReturnsPerOperationResults() throws Exception {
+        Task task = new Task();
+        task.setId(1L);
+        task.setTitle("Created");
+        given(taskBatchService.execute(any(TaskBatchRequest.class))).willReturn(TaskBatchResponse.of(List.of(
+                TaskOperationResult.success(0, TaskOperation.Type.CREATE, 201, task),
+                TaskOperationResult.failure(1, TaskOperation.Type.DELETE, 7L, 404, "Task not found with id: 7"))));
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":[{\"op\":\"CREATE\",\"task\":{\"title\":\"Created\"}},"
+                                + "{\"op\":\"DELETE\",\"id\":7}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].task.id").value(1))
+                .andExpect(jsonPath("$.results[1].status").value(404))
+                .andExpect(jsonPath("$.results[1].error").value("Task not found with id: 7"));
+    }
+
+    @Test
+    public void whenExecuteAtomicBatch_withFailure_thenReturns422() throws Exception {
+        given(taskBatchService.execute(any(TaskBatchRequest.class))).willReturn(TaskBatchResponse.of(List.of(
+                TaskOperationResult.failure(0, TaskOperation.Type.COMPLETE, 7L, 404, "Task not found with id: 7"))));
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"atomic\":true,\"operations\":[{\"op\":\"COMPLETE\",\"id\":7}]}"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    public void whenExecuteBatch_withNoOperations_thenReturns400() throws Exception {
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.devtae.taskmanagementsystem.controller;
+
+import io.github.devtae.taskmanagementsystem.changes.ChangeFeed;
+import io.github.devtae.taskmanagementsystem.changes.ChangeFeedProperties;
+import io.github.devtae.taskmanagementsystem.dto.TaskChangeBatch;
+import io.github.devtae.taskmanagementsystem.dto.TaskChangeRecord;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent.ChangeType;
+import io.github.devtae.taskmanagementsystem.exception.ChangesExpiredException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = TaskChangeController.class, properties = "tasks.changes.enabled=true")
+@EnableConfigurationProperties(ChangeFeedProperties.class)
+public class TaskChangeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ChangeFeed changeFeed;
+
+    @Test
+    public void whenPollingWithoutPosition_thenReturnsEmptyBatchAtTheTip() throws Exception {
+        given(changeFeed.tip()).willReturn(42L);
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/changes"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes").isEmpty())
+                .andExpect(jsonPath("$.next").value(42));
+    }
+
+    @Test
+    public void whenChangesAreAvailable_thenPollReturnsThemWithoutWaiting() throws Exception {
+        TaskChangeRecord change = new TaskChangeRecord(8, ChangeType.DELETED, 3L, null, LocalDateTime.now());
+        given(changeFeed.read(7L, 100)).willReturn(new TaskChangeBatch(List.of(change), 8, false));
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/changes").param("since", "7"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].seq").value(8))
+                .andExpect(jsonPath("$.changes[0].type").value("DELETED"))
+                .andExpect(jsonPath("$.next").value(8));
+    }
+
+    @Test
+    public void whenPositionHasExpired_thenPollReturnsGone() throws Exception {
+        given(changeFeed.read(1L, 100)).willThrow(new ChangesExpiredException("Changes after 1 are no longer retained"));
+
+        mockMvc.perform(get("/api/tasks/changes").param("since", "1"))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    public void whenStreamReconnects_thenItResumesAfterLastEventId() throws Exception {
+        given(changeFeed.subscribe(anyLong(), anyInt(), anyBoolean(), any()))
+                .willReturn(mock(ChangeFeed.Subscription.class));
+
+        mockMvc.perform(get("/api/tasks/changes/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", "15"))
+                .andExpect(request().asyncStarted());
+
+        verify(changeFeed).subscribe(eq(15L), anyInt(), eq(false), any());
+    }
+}
@@ -1,23 +1,56 @@
 package io.github.devtae.taskmanagementsystem.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.github.devtae.taskmanagementsystem.dto.TaskFilter;
+import io.github.devtae.taskmanagementsystem.dto.TaskIngestStatus;
+import io.github.devtae.taskmanagementsystem.dto.TaskPage;
+import io.github.devtae.taskmanagementsystem.dto.TaskPatch;
+import io.github.devtae.taskmanagementsystem.dto.TaskSearchResults;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.dto.TaskSummary;
+import io.github.devtae.taskmanagementsystem.dto.TaskVersion;
+import io.github.devtae.taskmanagementsystem.format.ResponseFormats;
+import io.github.devtae.taskmanagementsystem.idempotency.IdempotencyProperties;
+import io.github.devtae.taskmanagementsystem.idempotency.IdempotencyStore;
+import io.github.devtae.taskmanagementsystem.ingest.TaskIngestor;
 import io.github.devtae.taskmanagementsystem.model.Task;
 import io.github.devtae.taskmanagementsystem.service.TaskService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.doAnswer;
 import static org.mockito.BDDMockito.doNothing;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -31,6 +64,9 @@ public class TaskControllerTest {
     @MockBean
     private TaskService taskService;
 
+    @MockBean
+    private TaskIngestor taskIngestor;
+
     private Task task1;
     private Task task2;
 
@@ -69,7 +105,7 @@ public class TaskControllerTest {
 
     @Test
     public void whenGetAllTask_thenReturns200() throws Exception {
-        given(taskService.getAllTasks()).willReturn(Arrays.asList(task1, task2));
+        given(taskService.getAllTasks()).willReturn(Arrays.asList(TaskSnapshot.from(task1), TaskSnapshot.from(task2)));
 
         mockMvc.perform(get("/api/tasks")
                 .contentType(MediaType.APPLICATION_JSON))
@@ -95,6 +131,22 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.description").value(expectedDescription1));
     }
 
+    @Test
+    public void whenCreateTaskPrefersAsync_thenReturns202WithStatusLocation() throws Exception {
+        given(taskIngestor.accepts("respond-async")).willReturn(true);
+        given(taskIngestor.submit(any(Task.class))).willReturn(TaskIngestStatus.pending(41L));
+
+        mockMvc.perform(post("/api/tasks")
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Queued\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/tasks/ingest/41"))
+                .andExpect(jsonPath("$.id").value(41))
+                .andExpect(jsonPath("$.state").value("PENDING"));
+        then(taskService).should(never()).saveTask(any());
+    }
+
     @Test
     public void whenUpdateTask_thenReturns200() throws Exception {
         String updatedTitle1 = "Updated Task";
@@ -104,7 +156,7 @@ public class TaskControllerTest {
         updatedTask.setTitle(updatedTitle1);
         updatedTask.setDescription(updatedDescription1);
 
-        given(taskService.updateTask(expectedId1, updatedTask)).willReturn(updatedTask);
+        given(taskService.updateTask(expectedId1, updatedTask, null)).willReturn(updatedTask);
 
         mockMvc.perform(put("/api/tasks/{taskId}", expectedId1)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -123,4 +175,339 @@ public class TaskControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                         .andExpect(status().isNoContent());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenGetTaskPage_thenReturnsItemsAndCursor() throws Exception {
+        given(taskService.getTaskPage("abc", 2)).willReturn(new TaskPage(List.of(TaskSnapshot.from(task1),
+                TaskSnapshot.from(task2)), "def"));
+
+        mockMvc.perform(get("/api/tasks/page")
+                        .param("cursor", "abc")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(expectedId1))
+                .andExpect(jsonPath("$.items[1].id").value(expectedId2))
+                .andExpect(jsonPath("$.nextCursor").value("def"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void whenStreamTasks_thenWritesOneJsonObjectPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<TaskSnapshot> consumer = invocation.getArgument(0);
+            consumer.accept(TaskSnapshot.from(task1));
+            consumer.accept(TaskSnapshot.from(task2));
+            return null;
+        }).when(taskService).streamAllTasks(any(Consumer.class));
+
+        String body = mockMvc.perform(get("/api/tasks/stream"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(TaskController.NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], Task.class).getTitle())
+                .isEqualTo(expectedTitle1);
+        assertThat(objectMapper.readValue(lines[1], Task.class).getTitle())
+                .isEqualTo(expectedTitle2);
+    }
+
+    @Test
+    public void whenGetAllTasks_acceptingCbor_thenRespondsInCbor() throws Exception {
+        given(taskService.getTasksVersion(any(TaskFilter.class))).willReturn("2-abc-2");
+        given(taskService.getAllTasks()).willReturn(List.of(TaskSnapshot.from(task1), TaskSnapshot.from(task2)));
+
+        byte[] body = mockMvc.perform(get("/api/tasks").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<TaskSnapshot> tasks = new CBORMapper().findAndRegisterModules()
+                .readValue(body, new TypeReference<List<TaskSnapshot>>() {
+                });
+        assertThat(tasks).containsExactly(TaskSnapshot.from(task1), TaskSnapshot.from(task2));
+    }
+
+    @Test
+    public void whenStreamTasks_acceptingSmile_thenWritesSmileValues() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<TaskSnapshot> consumer = invocation.getArgument(0);
+            consumer.accept(TaskSnapshot.from(task1));
+            consumer.accept(TaskSnapshot.from(task2));
+            return null;
+        }).when(taskService).streamAllTasks(any(Consumer.class));
+
+        byte[] body = mockMvc.perform(get("/api/tasks/stream").accept(ResponseFormats.SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ResponseFormats.SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (MappingIterator<TaskSnapshot> tasks = new SmileMapper().findAndRegisterModules()
+                .readerFor(TaskSnapshot.class).readValues(body)) {
+            assertThat(tasks.readAll()).extracting(TaskSnapshot::title).containsExactly(expectedTitle1, expectedTitle2);
+        }
+    }
+
+    @Test
+    public void whenGetAllTasks_withFilterAndSort_thenDelegatesToFindTasks() throws Exception {
+        TaskFilter filter = new TaskFilter(false, LocalDateTime.of(2024, 6, 1, 0, 0), null, null, null, false);
+        given(taskService.findTasks(filter, Sort.by(Sort.Order.desc("dueDate"))))
+                .willReturn(List.of(TaskSnapshot.from(task2)));
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("completed", "false")
+                        .param("dueBefore", "2024-06-01T00:00:00")
+                        .param("sort", "dueDate,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(expectedId2))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    public void whenGetAllTasks_withIncludeArchived_thenArchivedTasksAreListed() throws Exception {
+        TaskFilter filter = new TaskFilter(null, null, null, null, null, true);
+        given(taskService.getTasksVersion(filter)).willReturn("2-0-0");
+        given(taskService.findTasks(filter, Sort.unsorted()))
+                .willReturn(List.of(TaskSnapshot.from(task1), TaskSnapshot.from(task2)));
+
+        mockMvc.perform(get("/api/tasks").param("includeArchived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+        then(taskService).should(never()).getAllTasks();
+    }
+
+    @Test
+    public void whenGetTaskSummaries_thenDescriptionIsLeftOut() throws Exception {
+        given(taskService.getTasksVersion(any(TaskFilter.class))).willReturn("1-abc-1");
+        given(taskService.findTaskSummaries(TaskFilter.none(), Sort.unsorted())).willReturn(List.of(
+                new TaskSummary(expectedId1, expectedTitle1, null, false, null, null, 1)));
+
+        mockMvc.perform(get("/api/tasks/summaries"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"1-abc-1\""))
+                .andExpect(jsonPath("$[0].id").value(expectedId1))
+                .andExpect(jsonPath("$[0].title").value(expectedTitle1))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+    }
+
+    @Test
+    public void whenGetAllTasks_withMalformedFilter_thenReturns400() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .param("dueBefore", "tomorrow"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void whenSearchTasks_thenReturnsRankedPage() throws Exception {
+        given(taskService.searchTasks("another", 0, 20))
+                .willReturn(new TaskSearchResults("another", 0, 20, false, List.of(TaskSnapshot.from(task2))));
+
+        mockMvc.perform(get("/api/tasks/search")
+                        .param("q", "another"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(expectedId2))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    public void whenGetTaskById_thenReturnsValidators() throws Exception {
+        task1.setVersion(3);
+        task1.setUpdatedAt(LocalDateTime.of(2024, 6, 1, 12, 0));
+        given(taskService.getTaskById(expectedId1)).willReturn(task1);
+
+        mockMvc.perform(get("/api/tasks/{taskId}", expectedId1))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(jsonPath("$.version").value(3));
+    }
+
+    @Test
+    public void whenGetTaskById_withMatchingIfNoneMatch_thenReturns304WithoutLoadingTask() throws Exception {
+        given(taskService.getTaskVersion(expectedId1)).willReturn(new TaskVersion(3, LocalDateTime.now()));
+
+        mockMvc.perform(get("/api/tasks/{taskId}", expectedId1)
+                        .header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+        then(taskService).should(never()).getTaskById(any());
+    }
+
+    @Test
+    public void whenGetTaskById_asCbor_thenETagNamesTheFormatAndJsonTagDoesNotMatch() throws Exception {
+        task1.setVersion(3);
+        given(taskService.getTaskVersion(expectedId1)).willReturn(new TaskVersion(3, null));
+        given(taskService.getTaskById(expectedId1)).willReturn(task1);
+
+        mockMvc.perform(get("/api/tasks/{taskId}", expectedId1)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", "\"3-cbor\""))
+                .andExpect(header().string("Vary", "Accept"));
+
+        mockMvc.perform(get("/api/tasks/{taskId}", expectedId1)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", "\"3-cbor\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Vary", "Accept"));
+    }
+
+    @Test
+    public void whenGetTaskById_withStaleIfNoneMatch_thenReturnsTask() throws Exception {
+        task1.setVersion(4);
+        given(taskService.getTaskVersion(expectedId1)).willReturn(new TaskVersion(4, LocalDateTime.now()));
+        given(taskService.getTaskById(expectedId1)).willReturn(task1);
+
+        mockMvc.perform(get("/api/tasks/{taskId}", expectedId1)
+                        .header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.id").value(expectedId1));
+    }
+
+    @Test
+    public void whenGetTaskById_withIfModifiedSinceAfterLastUpdate_thenReturns304() throws Exception {
+        given(taskService.getTaskVersion(expectedId1))
+                .willReturn(new TaskVersion(1, LocalDateTime.of(2024, 6, 1, 12, 0)));
+
+        mockMvc.perform(get("/api/tasks/{taskId}", expectedId1)
+                        .header("If-Modified-Since", "Sat, 01 Jun 2030 12:00:00 GMT"))
+                .andExpect(status().isNotModified());
+        then(taskService).should(never()).getTaskById(any());
+    }
+
+    @Test
+    public void whenGetAllTasks_withMatchingIfNoneMatch_thenReturns304WithoutLoadingTasks() throws Exception {
+        given(taskService.getTasksVersion(any(TaskFilter.class))).willReturn("2-abc-5");
+
+        mockMvc.perform(get("/api/tasks")
+                        .header("If-None-Match", "\"2-abc-5\""))
+                .andExpect(status().isNotModified());
+        then(taskService).should(never()).getAllTasks();
+    }
+
+    @Test
+    public void whenGetAllTasks_thenReturnsCollectionETag() throws Exception {
+        given(taskService.getTasksVersion(any(TaskFilter.class))).willReturn("2-abc-5");
+        given(taskService.getAllTasks()).willReturn(List.of(TaskSnapshot.from(task1), TaskSnapshot.from(task2)));
+
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"2-abc-5\""))
+                .andExpect(header().string("Vary", "Accept"))
+                .andExpect(header().string("Cache-Control", "no-cache"));
+    }
+
+    @Test
+    public void whenUpdateTask_withIfMatch_thenPassesExpectedVersion() throws Exception {
+        given(taskService.updateTask(expectedId1, task1, 7L)).willReturn(task1);
+
+        mockMvc.perform(put("/api/tasks/{taskId}", expectedId1)
+                        .header("If-Match", "\"7\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(task1)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void whenUpdateTask_withIfMatchFromAnotherFormat_thenPassesTheSameVersion() throws Exception {
+        given(taskService.updateTask(expectedId1, task1, 7L)).willReturn(task1);
+
+        mockMvc.perform(put("/api/tasks/{taskId}", expectedId1)
+                        .header("If-Match", "\"7-smile\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(task1)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void whenUpdateTask_withWeakIfMatch_thenReturns412() throws Exception {
+        mockMvc.perform(put("/api/tasks/{taskId}", expectedId1)
+                        .header("If-Match", "W/\"7\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(task1)))
+                .andExpect(status().isPreconditionFailed());
+        then(taskService).should(never()).updateTask(any(), any(), any());
+    }
+
+    @Test
+    public void whenPatchTask_thenPassesOnlyTheNamedFields() throws Exception {
+        TaskPatch patch = new TaskPatch(null, Optional.empty(), null, true);
+        task1.setCompleted(true);
+        given(taskService.patchTask(expectedId1, patch, 7L)).willReturn(task1);
+
+        mockMvc.perform(patch("/api/tasks/{taskId}", expectedId1)
+                        .header("If-Match", "\"7\"")
+                        .contentType(TaskPatch.MEDIA_TYPE)
+                        .content("{\"description\":null,\"completed\":true}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true));
+    }
+
+    @Test
+    public void whenPatchTask_withReadOnlyOrInvalidField_thenReturns400() throws Exception {
+        mockMvc.perform(patch("/api/tasks/{taskId}", expectedId1)
+                        .contentType(TaskPatch.MEDIA_TYPE)
+                        .content("{\"version\":3}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors").value("Cannot patch field: version"));
+        mockMvc.perform(patch("/api/tasks/{taskId}", expectedId1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":null}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/tasks/{taskId}", expectedId1)
+                        .contentType(TaskPatch.MEDIA_TYPE)
+                        .content("{\"description\":\"" + "x".repeat(501) + "\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors").value("description: Description cannot be longer than 500 characters"));
+        then(taskService).should(never()).patchTask(any(), any(), any());
+    }
+
+    @Test
+    public void whenCreateTask_withRepeatedIdempotencyKey_thenSavesOnceAndReplays() throws Exception {
+        given(taskService.saveTask(task1)).willReturn(task1);
+        String body = new ObjectMapper().writeValueAsString(task1);
+
+        mockMvc.perform(post("/api/tasks").header("Idempotency-Key", "create-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+        mockMvc.perform(post("/api/tasks").header("Idempotency-Key", "create-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id").value(expectedId1));
+        mockMvc.perform(post("/api/tasks").header("Idempotency-Key", "create-1")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"Something else\"}"))
+                .andExpect(status().isUnprocessableEntity());
+        then(taskService).should(times(1)).saveTask(any());
+    }
+
+    @Test
+    public void whenCompleteTask_withRepeatedIdempotencyKey_thenCompletesOnce() throws Exception {
+        task1.setCompleted(true);
+        given(taskService.completeTask(expectedId1)).willReturn(task1);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(put("/api/tasks/{taskId}/complete", expectedId1).header("Idempotency-Key", "complete-1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.completed").value(true));
+        }
+        then(taskService).should(times(1)).completeTask(expectedId1);
+    }
+
+    @TestConfiguration
+    static class IdempotencyConfiguration {
+        @Bean
+        IdempotencyStore idempotencyStore(ObjectMapper objectMapper) {
+            return new IdempotencyStore(new IdempotencyProperties(true, 100, Duration.ofHours(1),
+                    IdempotencyProperties.Store.MEMORY, Duration.ofSeconds(5), Duration.ofMinutes(10)),
+                    objectMapper, null, null, new SimpleMeterRegistry());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.devtae.taskmanagementsystem.controller;
+
+import io.github.devtae.taskmanagementsystem.dto.ScheduledTask;
+import io.github.devtae.taskmanagementsystem.dto.TaskSchedule;
+import io.github.devtae.taskmanagementsystem.recurrence.RecurringTasks;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TaskScheduleController.class)
+public class TaskScheduleControllerTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2024, 6, 5, 9, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RecurringTasks recurringTasks;
+
+    @Test
+    public void whenGetOccurrences_thenReturnsTheRange() throws Exception {
+        given(recurringTasks.occurrences(NINE, NINE.plusDays(1)))
+                .willReturn(List.of(new ScheduledTask(1L, "Standup", NINE, false)));
+
+        mockMvc.perform(get("/api/tasks/occurrences")
+                        .param("from", "2024-06-05T09:00:00")
+                        .param("to", "2024-06-06T09:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].taskId").value(1))
+                .andExpect(jsonPath("$[0].title").value("Standup"))
+                .andExpect(jsonPath("$[0].completed").value(false));
+    }
+
+    @Test
+    public void whenPutScheduleWithBlankRule_thenReturns400() throws Exception {
+        mockMvc.perform(put("/api/tasks/1/schedule")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rule\": \" \"}"))
+                .andExpect(status().isBadRequest());
+
+        then(recurringTasks).shouldHaveNoInteractions();
+    }
+
+    @Test
+    public void whenCompleteOccurrence_thenReturnsIt() throws Exception {
+        given(recurringTasks.completeOccurrence(1L, NINE))
+                .willReturn(new ScheduledTask(1L, "Standup", NINE, true));
+
+        mockMvc.perform(put("/api/tasks/1/occurrences/2024-06-05T09:00:00/complete")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true));
+    }
+
+    @Test
+    public void whenPutSchedule_thenReturnsCanonicalRule() throws Exception {
+        given(recurringTasks.setSchedule(1L, new TaskSchedule("freq=daily", null)))
+                .willReturn(new TaskSchedule("FREQ=DAILY", NINE));
+
+        mockMvc.perform(put("/api/tasks/1/schedule")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rule\": \"freq=daily\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rule").value("FREQ=DAILY"))
+                .andExpect(jsonPath("$.startsAt").value("2024-06-05T09:00:00"));
+    }
+}
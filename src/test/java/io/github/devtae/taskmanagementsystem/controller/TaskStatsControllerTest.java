@@ -0,0 +1,49 @@
+package io.github.devtae.taskmanagementsystem.controller;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskStats;
+import io.github.devtae.taskmanagementsystem.exception.ServiceBusyException;
+import io.github.devtae.taskmanagementsystem.stats.TaskStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TaskStatsController.class)
+public class TaskStatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TaskStatistics taskStatistics;
+
+    @Test
+    public void whenGetStats_thenReturnsCounters() throws Exception {
+        given(taskStatistics.stats()).willReturn(
+                new TaskStats(10, 6, 4, 2, 1, 3, LocalDateTime.of(2024, 6, 5, 9, 0)));
+
+        mockMvc.perform(get("/api/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.open").value(6))
+                .andExpect(jsonPath("$.overdue").value(2))
+                .andExpect(jsonPath("$.dueThisWeek").value(3));
+    }
+
+    @Test
+    public void whenStatsAreLoading_thenReturns503() throws Exception {
+        given(taskStatistics.stats()).willThrow(new ServiceBusyException("Task statistics are still loading"));
+
+        mockMvc.perform(get("/api/tasks/stats"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.devtae.taskmanagementsystem.controller;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskImportReport;
+import io.github.devtae.taskmanagementsystem.transfer.TaskTransfer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TaskTransferController.class)
+public class TaskTransferControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TaskTransfer taskTransfer;
+
+    @Test
+    public void whenExportTasks_thenCsvIsStreamedUnlessNdjsonIsAccepted() throws Exception {
+        willAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("id,title\n1,A\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).given(taskTransfer).exportCsv(any());
+
+        mockMvc.perform(get("/api/tasks/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(TaskTransfer.CSV))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.csv\""))
+                .andExpect(content().string("id,title\n1,A\n"));
+
+        mockMvc.perform(get("/api/tasks/export").accept(TaskTransferController.NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(TaskTransferController.NDJSON));
+        then(taskTransfer).should().exportNdjson(any());
+    }
+
+    @Test
+    public void whenImportTasks_thenBodyIsReadByContentTypeAndReportReturned() throws Exception {
+        given(taskTransfer.importCsv(any(InputStream.class))).willReturn(new TaskImportReport(2, 1, 1,
+                List.of(new TaskImportReport.Reject(2, "title: Title cannot be blank")), false));
+
+        mockMvc.perform(post("/api/tasks/import")
+                        .contentType(TaskTransferController.CSV)
+                        .content("title\nA\n \n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejects[0].row").value(2))
+                .andExpect(jsonPath("$.rejects[0].error").value("title: Title cannot be blank"));
+        then(taskTransfer).should(never()).importNdjson(any());
+    }
+
+    @Test
+    public void whenImportTasks_asNdjson_thenLinesAreImported() throws Exception {
+        given(taskTransfer.importNdjson(any(InputStream.class)))
+                .willReturn(new TaskImportReport(1, 1, 0, List.of(), false));
+
+        mockMvc.perform(post("/api/tasks/import")
+                        .contentType(TaskTransferController.NDJSON)
+                        .content("{\"title\":\"A\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(1))
+                .andExpect(jsonPath("$.rejected").value(0));
+        then(taskTransfer).should(never()).importCsv(any());
+    }
+}
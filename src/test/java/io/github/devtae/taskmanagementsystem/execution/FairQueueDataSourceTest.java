@@ -0,0 +1,93 @@
+package io.github.devtae.taskmanagementsystem.execution;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class FairQueueDataSourceTest {
+
+    private final DataSource target = mock(DataSource.class);
+
+    @Test
+    public void getConnection_ShouldReturnPermitWhenConnectionIsClosed() throws SQLException {
+        Connection connection = mock(Connection.class);
+        given(target.getConnection()).willReturn(connection);
+        FairQueueDataSource dataSource = new FairQueueDataSource(target, 1, Duration.ofMillis(10));
+
+        Connection first = dataSource.getConnection();
+        assertThat(dataSource.getAvailablePermits()).isZero();
+        first.close();
+        first.close();
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    public void getConnection_ShouldTimeOutWhenAllPermitsAreTaken() throws SQLException {
+        given(target.getConnection()).willReturn(mock(Connection.class));
+        FairQueueDataSource dataSource = new FairQueueDataSource(target, 1, Duration.ofMillis(10));
+
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        verify(target, times(1)).getConnection();
+    }
+
+    @Test
+    public void getConnection_ShouldReturnPermitWhenTargetFails() throws SQLException {
+        given(target.getConnection()).willThrow(new SQLException("down"));
+        FairQueueDataSource dataSource = new FairQueueDataSource(target, 1, Duration.ofMillis(10));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("down");
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    public void getConnection_ShouldAdmitWaitersInArrivalOrder() throws Exception {
+        given(target.getConnection()).willAnswer(invocation -> mock(Connection.class));
+        FairQueueDataSource dataSource = new FairQueueDataSource(target, 1, Duration.ofSeconds(10));
+        Connection held = dataSource.getConnection();
+
+        List<Integer> admitted = new CopyOnWriteArrayList<>();
+        List<Thread> waiters = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int order = i;
+            Thread waiter = new Thread(() -> {
+                try (Connection ignored = dataSource.getConnection()) {
+                    admitted.add(order);
+                } catch (SQLException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            });
+            waiter.start();
+            waiters.add(waiter);
+            // Wait until this thread is parked in the queue before starting the next one
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (dataSource.getQueueLength() <= i && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+        }
+
+        held.close();
+        for (Thread waiter : waiters) {
+            waiter.join(5_000);
+        }
+
+        assertThat(admitted).containsExactly(0, 1, 2, 3, 4);
+    }
+}
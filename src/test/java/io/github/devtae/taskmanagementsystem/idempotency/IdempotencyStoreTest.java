@@ -0,0 +1,181 @@
+package io.github.devtae.taskmanagementsystem.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.devtae.taskmanagementsystem.exception.IdempotencyKeyReusedException;
+import io.github.devtae.taskmanagementsystem.idempotency.IdempotencyProperties.Store;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import io.github.devtae.taskmanagementsystem.repository.IdempotencyRecordRepository;
+import io.github.devtae.taskmanagementsystem.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Table-backed keys need real commits, so the test-managed rollback transaction is switched off
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyStoreTest {
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        recordRepository.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void whenKeyIsRepeated_thenStoredResponseIsReplayed() {
+        IdempotencyStore store = store(Store.MEMORY);
+
+        ResponseEntity<?> first = store.execute("key-1", "POST /api/tasks", Map.of("title", "A"), this::created);
+        ResponseEntity<?> second = store.execute("key-1", "POST /api/tasks", Map.of("title", "A"), this::created);
+
+        assertThat(runs).hasValue(1);
+        assertThat(first.getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER)).isFalse();
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(second.getHeaders().getETag()).isEqualTo("\"0\"");
+        assertThat(second.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(objectMapper.valueToTree(second.getBody()).get("title").asText()).isEqualTo("Run 1");
+    }
+
+    @Test
+    void whenKeyIsReusedForAnotherRequest_thenItIsRefused() {
+        IdempotencyStore store = store(Store.MEMORY);
+        store.execute("key-1", "POST /api/tasks", Map.of("title", "A"), this::created);
+
+        assertThatThrownBy(() -> store.execute("key-1", "POST /api/tasks", Map.of("title", "B"), this::created))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThatThrownBy(() -> store.execute("key-1", "PUT /api/tasks/1/complete", null, this::created))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void whenRequestFails_thenKeyCanBeRetried() {
+        IdempotencyStore store = store(Store.MEMORY);
+
+        assertThatThrownBy(() -> store.execute("key-1", "POST /api/tasks", null, () -> {
+            throw new IllegalStateException("boom");
+        })).hasMessage("boom");
+        store.execute("key-1", "POST /api/tasks", null, this::created);
+
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void whenTtlElapses_thenKeyRunsAgain() {
+        IdempotencyStore store = store(Store.MEMORY);
+        store.execute("key-1", "POST /api/tasks", null, this::created);
+        nanos.addAndGet(Duration.ofHours(2).toNanos());
+
+        store.execute("key-1", "POST /api/tasks", null, this::created);
+
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void whenDuplicatesArriveTogether_thenOnlyOneRuns() throws Exception {
+        IdempotencyStore store = store(Store.MEMORY);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<?>> first = CompletableFuture.supplyAsync(() ->
+                store.execute("key-1", "POST /api/tasks", null, () -> {
+                    started.countDown();
+                    await(release);
+                    return created();
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<ResponseEntity<?>> duplicate = CompletableFuture.supplyAsync(() ->
+                store.execute("key-1", "POST /api/tasks", null, this::created));
+
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER))
+                .isEqualTo("true");
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void whenTableBacked_thenAnotherInstanceReplaysTheResponse() {
+        store(Store.TABLE).execute("key-1", "POST /api/tasks", null, this::saveTask);
+
+        ResponseEntity<?> replayed = store(Store.TABLE).execute("key-1", "POST /api/tasks", null, this::saveTask);
+
+        assertThat(runs).hasValue(1);
+        assertThat(taskRepository.count()).isEqualTo(1);
+        assertThat(replayed.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(replayed.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(objectMapper.valueToTree(replayed.getBody()).get("title").asText()).isEqualTo("Saved");
+    }
+
+    @Test
+    void whenTableBackedRequestFails_thenNeitherTheChangeNorTheKeyIsKept() {
+        assertThatThrownBy(() -> store(Store.TABLE).execute("key-1", "POST /api/tasks", null, () -> {
+            saveTask();
+            throw new IllegalStateException("boom");
+        })).hasMessage("boom");
+
+        assertThat(taskRepository.count()).isZero();
+        assertThat(recordRepository.count()).isZero();
+    }
+
+    private IdempotencyStore store(Store store) {
+        return new IdempotencyStore(new IdempotencyProperties(true, 100, Duration.ofHours(1), store,
+                Duration.ofSeconds(5), Duration.ofMinutes(10)), objectMapper, recordRepository, transactionManager,
+                new SimpleMeterRegistry(), nanos::get, Clock.systemDefaultZone());
+    }
+
+    private ResponseEntity<?> created() {
+        Task task = new Task();
+        task.setTitle("Run " + runs.incrementAndGet());
+        return ResponseEntity.status(HttpStatus.CREATED).eTag("\"0\"").body(task);
+    }
+
+    private ResponseEntity<?> saveTask() {
+        runs.incrementAndGet();
+        Task task = new Task();
+        task.setTitle("Saved");
+        task.setDueDate(LocalDateTime.now().plusDays(1));
+        return ResponseEntity.status(HttpStatus.CREATED).body(taskRepository.save(task));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package io.github.devtae.taskmanagementsystem.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.devtae.taskmanagementsystem.dto.TaskIngestStatus;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent.ChangeType;
+import io.github.devtae.taskmanagementsystem.exception.ServiceBusyException;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import io.github.devtae.taskmanagementsystem.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The writer commits on its own thread, so the test-managed rollback transaction is switched off
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskIngestorTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @TempDir
+    private Path journalDirectory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<TaskChangedEvent> events = new CopyOnWriteArrayList<>();
+    private TaskIngestor ingestor;
+
+    @AfterEach
+    void tearDown() {
+        if (ingestor != null) {
+            ingestor.stop();
+        }
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void whenCreatesAreSubmitted_thenTheyAreWrittenUnderTheirAcceptedIds() throws Exception {
+        ingestor = start(properties(100, IngestProperties.Durability.MEMORY), this::record);
+
+        List<TaskIngestStatus> accepted = Stream.of("A", "B", "C").map(title -> ingestor.submit(task(title))).toList();
+        assertThat(accepted).extracting(TaskIngestStatus::state).containsOnly(TaskIngestStatus.State.PENDING);
+
+        for (TaskIngestStatus status : accepted) {
+            awaitState(status.id(), TaskIngestStatus.State.CREATED);
+        }
+        assertThat(taskRepository.findAllById(accepted.stream().map(TaskIngestStatus::id).toList()))
+                .extracting(Task::getTitle)
+                .containsExactlyInAnyOrder("A", "B", "C");
+        assertThat(events).extracting(TaskChangedEvent::type).containsOnly(ChangeType.CREATED).hasSize(3);
+
+        // Ids come from the entity's own generator, so ordinary saves never collide with them
+        Task saved = taskRepository.save(task("D"));
+        assertThat(accepted).extracting(TaskIngestStatus::id).doesNotContain(saved.getId());
+    }
+
+    @Test
+    void whenQueueIsFull_thenFurtherCreatesAreRefused() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ingestor = start(properties(2, IngestProperties.Durability.MEMORY), event -> {
+            writing.countDown();
+            await(release);
+        });
+
+        ingestor.submit(task("A"));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        ingestor.submit(task("B"));
+
+        assertThatThrownBy(() -> ingestor.submit(task("C"))).isInstanceOf(ServiceBusyException.class);
+
+        release.countDown();
+        awaitQueueEmpty();
+        assertThat(ingestor.submit(task("D")).state()).isEqualTo(TaskIngestStatus.State.PENDING);
+    }
+
+    @Test
+    void whenOneRowIsRejected_thenOnlyThatCreateFails() throws Exception {
+        ingestor = start(properties(100, IngestProperties.Durability.MEMORY), this::record);
+
+        Long good = ingestor.submit(task("Good")).id();
+        Long bad = ingestor.submit(task(null)).id();
+        Long alsoGood = ingestor.submit(task("Also good")).id();
+
+        awaitState(good, TaskIngestStatus.State.CREATED);
+        awaitState(alsoGood, TaskIngestStatus.State.CREATED);
+        TaskIngestStatus failed = awaitState(bad, TaskIngestStatus.State.FAILED);
+        assertThat(failed.error()).isNotBlank();
+        assertThat(taskRepository.existsById(bad)).isFalse();
+    }
+
+    @Test
+    void whenJournalHasUnwrittenCreates_thenTheyAreReplayedOnStart() throws Exception {
+        try (IngestJournal journal = new IngestJournal(journalDirectory, DataSize.ofMegabytes(1).toBytes(),
+                objectMapper)) {
+            Task written = task("Written before the crash");
+            written.setId(1_000_001L);
+            journal.append(written);
+            new JdbcTemplate(dataSource).update("INSERT INTO tasks (id, title, completed, created_at, version) "
+                    + "VALUES (1000001, 'Written before the crash', false, CURRENT_TIMESTAMP, 0)");
+            Task lost = task("Lost in the crash");
+            lost.setId(1_000_002L);
+            journal.append(lost);
+        }
+
+        ingestor = start(properties(100, IngestProperties.Durability.JOURNAL), this::record);
+
+        awaitState(1_000_002L, TaskIngestStatus.State.CREATED);
+        assertThat(taskRepository.findById(1_000_002L)).map(Task::getTitle).hasValue("Lost in the crash");
+        assertThat(events).hasSize(1);
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            assertThat(files).allMatch(file -> !file.getFileName().toString().startsWith("segment-0"));
+        }
+    }
+
+    private IngestProperties properties(int queueCapacity, IngestProperties.Durability durability) {
+        return new IngestProperties(true, false, queueCapacity, 500, Duration.ofMillis(2), durability,
+                journalDirectory, DataSize.ofMegabytes(1), Duration.ofMinutes(10));
+    }
+
+    private TaskIngestor start(IngestProperties properties, ApplicationEventPublisher publisher) {
+        TaskIngestor taskIngestor = new TaskIngestor(properties, new JdbcTemplate(dataSource), transactionManager,
+                taskRepository, publisher, objectMapper, entityManagerFactory, new SimpleMeterRegistry());
+        taskIngestor.start();
+        return taskIngestor;
+    }
+
+    private TaskIngestStatus awaitState(Long id, TaskIngestStatus.State state) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        TaskIngestStatus status = ingestor.status(id);
+        while ((status == null || status.state() != state) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = ingestor.status(id);
+        }
+        assertThat(status).isNotNull();
+        assertThat(status.state()).isEqualTo(state);
+        return status;
+    }
+
+    private void awaitQueueEmpty() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (ingestor.queued() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(ingestor.queued()).isZero();
+    }
+
+    private void record(Object event) {
+        events.add((TaskChangedEvent) event);
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
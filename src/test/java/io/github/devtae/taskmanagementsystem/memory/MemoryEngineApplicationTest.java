@@ -0,0 +1,58 @@
+package io.github.devtae.taskmanagementsystem.memory;
+
+import io.github.devtae.taskmanagementsystem.service.MemoryTaskService;
+import io.github.devtae.taskmanagementsystem.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The memory profile starts the application without a DataSource, so any bean still needing one fails here.
+@SpringBootTest
+@ActiveProfiles("memory")
+@AutoConfigureMockMvc
+class MemoryEngineApplicationTest {
+
+    @TempDir
+    private static Path directory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @DynamicPropertySource
+    static void storeDirectory(DynamicPropertyRegistry registry) {
+        registry.add("tasks.storage.directory", directory::toString);
+    }
+
+    @Test
+    void whenMemoryProfileIsActive_thenTasksAreServedWithoutADatabase() throws Exception {
+        assertThat(context.getBean(TaskService.class)).isInstanceOf(MemoryTaskService.class);
+        assertThat(context.getBeansOfType(DataSource.class)).isEmpty();
+
+        mockMvc.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Offline\",\"dueDate\":\"2030-01-01T09:00:00\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/tasks").param("completed", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Offline"));
+    }
+}
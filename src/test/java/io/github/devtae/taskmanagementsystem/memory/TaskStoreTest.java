@@ -0,0 +1,136 @@
+package io.github.devtae.taskmanagementsystem.memory;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskFilter;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskStoreTest {
+    private static final LocalDateTime DUE = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void whenStoreIsReopened_thenLogIsReplayed() throws IOException {
+        TaskStore store = open(DataSize.ofMegabytes(1));
+        long first = store.insert(task("First", DUE)).id();
+        long second = store.insert(task("Second", null)).id();
+        store.update(first, task -> new TaskSnapshot(task.id(), "Renamed", task.description(), task.dueDate(), true,
+                task.createdAt(), task.updatedAt(), task.version()));
+        store.delete(second);
+
+        TaskStore reopened = open(DataSize.ofMegabytes(1));
+
+        assertThat(reopened.size()).isEqualTo(1);
+        TaskSnapshot renamed = reopened.get(first).orElseThrow();
+        assertThat(renamed.title()).isEqualTo("Renamed");
+        assertThat(renamed.completed()).isTrue();
+        assertThat(renamed.dueDate()).isEqualTo(DUE);
+        assertThat(renamed.version()).isEqualTo(1);
+        assertThat(reopened.get(second)).isEmpty();
+        assertThat(reopened.insert(task("Third", null)).id()).isEqualTo(second + 1);
+    }
+
+    @Test
+    void whenSnapshotIsWritten_thenTheLogItCoversIsDeletedAndIdsAreNotReused() throws IOException {
+        // Small segments, so the log spans several files
+        TaskStore store = open(DataSize.ofKilobytes(1));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            ids.add(store.insert(task("Task " + i, DUE.plusDays(i))).id());
+        }
+        assertThat(files("wal-")).hasSizeGreaterThan(1);
+
+        store.snapshot();
+        store.delete(ids.get(49));
+        store.update(ids.get(0), task -> new TaskSnapshot(task.id(), task.title(), "Changed", task.dueDate(),
+                task.completed(), task.createdAt(), task.updatedAt(), task.version()));
+
+        assertThat(files("snapshot-")).hasSize(1);
+        assertThat(files("wal-")).hasSize(1);
+        TaskStore reopened = open(DataSize.ofKilobytes(1));
+        assertThat(reopened.size()).isEqualTo(49);
+        assertThat(reopened.get(ids.get(0)).orElseThrow().description()).isEqualTo("Changed");
+        assertThat(reopened.insert(task("Next", null)).id()).isEqualTo(ids.get(49) + 1);
+    }
+
+    @Test
+    void whenLogEndsInTornRecord_thenEarlierRecordsSurviveAndAppendsContinue() throws IOException {
+        TaskStore store = open(DataSize.ofMegabytes(1));
+        long first = store.insert(task("Kept", null)).id();
+        store.insert(task("Torn", null));
+        corruptLastByte(files("wal-").get(0));
+
+        TaskStore reopened = open(DataSize.ofMegabytes(1));
+        assertThat(reopened.size()).isEqualTo(1);
+        assertThat(reopened.get(first)).isPresent();
+        long next = reopened.insert(task("After", null)).id();
+
+        TaskStore again = open(DataSize.ofMegabytes(1));
+        assertThat(again.size()).isEqualTo(2);
+        assertThat(again.get(next).orElseThrow().title()).isEqualTo("After");
+    }
+
+    @Test
+    void whenSelecting_thenIndexesAnswerFiltersAndPagesFollowCreationOrder() throws IOException {
+        TaskStore store = open(DataSize.ofMegabytes(1));
+        long early = store.insert(task("Early", DUE)).id();
+        long late = store.insert(task("Late", DUE.plusDays(10))).id();
+        long undated = store.insert(task("Undated", null)).id();
+        store.update(late, task -> new TaskSnapshot(task.id(), task.title(), task.description(), task.dueDate(),
+                true, task.createdAt(), task.updatedAt(), task.version()));
+
+        assertThat(store.select(new TaskFilter(null, DUE.plusDays(20), null, null, null, false)))
+                .extracting(TaskSnapshot::id).containsExactlyInAnyOrder(early, late);
+        assertThat(store.select(new TaskFilter(false, null, DUE.minusDays(1), null, null, false)))
+                .extracting(TaskSnapshot::id).containsExactly(early);
+        assertThat(store.select(new TaskFilter(false, null, null, null, null, false)))
+                .extracting(TaskSnapshot::id).containsExactlyInAnyOrder(early, undated);
+        assertThat(store.select(TaskFilter.none())).hasSize(3);
+
+        List<TaskSnapshot> firstPage = store.page(null, 0, 2);
+        assertThat(firstPage).extracting(TaskSnapshot::id).containsExactly(early, late);
+        TaskSnapshot last = firstPage.get(1);
+        assertThat(store.page(last.createdAt(), last.id(), 2)).extracting(TaskSnapshot::id).containsExactly(undated);
+    }
+
+    private TaskStore open(DataSize segmentSize) throws IOException {
+        return new TaskStore(new StorageProperties(StorageProperties.Engine.MEMORY, directory, segmentSize,
+                Duration.ofMinutes(10), false), new SimpleMeterRegistry());
+    }
+
+    private List<Path> files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix)).sorted().toList();
+        }
+    }
+
+    // Segments are zero-filled past the last record, so its last byte is the last non-zero one
+    private static void corruptLastByte(Path segment) throws IOException {
+        byte[] bytes = Files.readAllBytes(segment);
+        int last = bytes.length - 1;
+        while (bytes[last] == 0) {
+            last--;
+        }
+        bytes[last] ^= 0x01;
+        Files.write(segment, bytes);
+    }
+
+    private static TaskSnapshot task(String title, LocalDateTime dueDate) {
+        return new TaskSnapshot(null, title, null, dueDate, false, null, null, 0);
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.devtae.taskmanagementsystem.metrics;
+
+import io.github.devtae.taskmanagementsystem.model.Task;
+import io.github.devtae.taskmanagementsystem.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"tasks.cache.enabled=false", "tasks.reminders.enabled=false",
+        "management.endpoints.web.exposure.include=prometheus",
+        "management.metrics.distribution.percentiles-histogram.http.server.requests=true",
+        "management.metrics.distribution.percentiles-histogram.hikaricp.connections.acquire=true"})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+public class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    public void prometheusEndpoint_ShouldExposeRequestServiceSqlAndErrorMetrics() throws Exception {
+        Task task = new Task();
+        task.setTitle("Observed");
+        task.setDueDate(LocalDateTime.now().plusDays(1));
+        Long id = taskService.saveTask(task).getId();
+
+        mockMvc.perform(get("/api/tasks/{taskId}", id)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks/{taskId}", Long.MAX_VALUE)).andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "http_server_requests_seconds_bucket{error=\"none\",exception=\"none\",method=\"GET\",outcome=\"SUCCESS\",status=\"200\",uri=\"/api/tasks/{taskId}\",le=")))
+                .andExpect(content().string(containsString(
+                        "tasks_service_seconds_bucket{class=\"io.github.devtae.taskmanagementsystem.service.TaskServiceImpl\"")))
+                .andExpect(content().string(containsString(
+                        "tasks_sql_statements_count{method=\"GET\",uri=\"/api/tasks/{taskId}\",} 2.0")))
+                .andExpect(content().string(containsString(
+                        "tasks_exceptions_total{exception=\"TaskNotFoundException\",status=\"404\",} 1.0")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds_bucket")));
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.devtae.taskmanagementsystem.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long WINDOW = Duration.ofMillis(100).toNanos();
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+
+    private final AtomicInteger poolWaiters = new AtomicInteger();
+    private long now = 0;
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 100, 2.0, WINDOW,
+            poolWaiters::get, now);
+
+    @Test
+    void whenBusyAndLatencyHolds_thenLimitGrows() {
+        for (int i = 0; i < 10; i++) {
+            window(20, FAST);
+        }
+        assertThat(limiter.limit()).isGreaterThan(25);
+    }
+
+    @Test
+    void whenMostlyIdle_thenLimitStays() {
+        for (int i = 0; i < 10; i++) {
+            window(2, FAST);
+        }
+        assertThat(limiter.limit()).isEqualTo(20);
+    }
+
+    @Test
+    void whenLatencyRisesWellAboveUsual_thenLimitShrinks() {
+        window(20, FAST);
+        int before = limiter.limit();
+        for (int i = 0; i < 10; i++) {
+            window(limiter.limit(), FAST * 8);
+        }
+        assertThat(limiter.limit()).isLessThan(before / 2).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    void whenLatencyRisesWithinTolerance_thenLimitDoesNotShrink() {
+        window(20, FAST);
+        int before = limiter.limit();
+        window(20, FAST * 3 / 2);
+        assertThat(limiter.limit()).isGreaterThanOrEqualTo(before);
+    }
+
+    @Test
+    void whenRequestsWaitForConnections_thenLimitComesDownToThoseHoldingOne() {
+        window(20, FAST);
+        poolWaiters.set(10);
+        for (int i = 0; i < 20; i++) {
+            window(Math.min(limiter.limit(), 20), FAST);
+        }
+        assertThat(limiter.limit()).isLessThanOrEqualTo(11);
+    }
+
+    @Test
+    void whenLimitIsReached_thenRequestsAreRefused() {
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+        limiter.release(FAST, now);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    // Runs the given number of concurrent requests with the given latency, then closes the window
+    private void window(int concurrency, long latency) {
+        for (int i = 0; i < concurrency; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        for (int i = 0; i < concurrency - 1; i++) {
+            limiter.release(latency, now);
+        }
+        now += WINDOW;
+        limiter.release(latency, now);
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.devtae.taskmanagementsystem.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong(System.nanoTime());
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 2.0,
+            Duration.ofMillis(100).toNanos(), () -> 0, now.get());
+    // Two requests a second, at most three at once, clients named by a proxy
+    private RateLimitFilter filter = filter("X-Client-Id");
+
+    @Test
+    void whenClientExceedsItsBurst_thenItIsRefusedUntilTokensRefill() throws Exception {
+        MockHttpServletResponse response = send("alice");
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("RateLimit-Limit")).isEqualTo("3");
+        assertThat(response.getHeader("RateLimit-Remaining")).isEqualTo("2");
+        assertThat(response.getHeader("RateLimit-Reset")).isEqualTo("1");
+        send("alice");
+        assertThat(send("alice").getHeader("RateLimit-Remaining")).isEqualTo("0");
+
+        MockHttpServletResponse refused = send("alice");
+        assertThat(refused.getStatus()).isEqualTo(429);
+        assertThat(refused.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(refused.getHeader("RateLimit-Reset")).isEqualTo("2");
+        assertThat(refused.getContentAsString()).contains("\"status\":429");
+
+        // Other clients have their own buckets
+        assertThat(send("bob").getStatus()).isEqualTo(200);
+
+        now.addAndGet(Duration.ofMillis(500).toNanos());
+        assertThat(send("alice").getStatus()).isEqualTo(200);
+        assertThat(send("alice").getStatus()).isEqualTo(429);
+        assertThat(meterRegistry.get("tasks.ratelimit.rejected").tag("reason", "rate").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void whenClientSendsNoHeader_thenItIsKnownByAddress() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            send(null);
+        }
+        assertThat(send(null).getStatus()).isEqualTo(429);
+        assertThat(send("carol").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void whenNoClientHeaderIsConfigured_thenClientsCannotNameThemselves() throws Exception {
+        filter = filter(null);
+        for (int i = 0; i < 3; i++) {
+            send("new id " + i);
+        }
+        assertThat(send("another new id").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void whenConcurrencyLimitIsReached_thenRequestsAreShed() throws Exception {
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+
+        MockHttpServletResponse shed = send("dave");
+        assertThat(shed.getStatus()).isEqualTo(503);
+        assertThat(shed.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(meterRegistry.get("tasks.ratelimit.rejected").tag("reason", "concurrency").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("tasks.ratelimit.concurrency.active").gauge().value()).isEqualTo(2);
+
+        limiter.release(1, now.get());
+        assertThat(send("dave").getStatus()).isEqualTo(200);
+        assertThat(limiter.inFlight()).isEqualTo(1);
+    }
+
+    private RateLimitFilter filter(String clientHeader) {
+        return new RateLimitFilter(new TokenBuckets(2, 3, 1000), limiter, clientHeader,
+                new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry, now::get);
+    }
+
+    private MockHttpServletResponse send(String client) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        if (client != null) {
+            request.addHeader("X-Client-Id", client);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
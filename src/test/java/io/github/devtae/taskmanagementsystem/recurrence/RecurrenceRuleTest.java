@@ -0,0 +1,74 @@
+package io.github.devtae.taskmanagementsystem.recurrence;
+
+import io.github.devtae.taskmanagementsystem.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecurrenceRuleTest {
+
+    // A Wednesday
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 31, 9, 30);
+
+    @Test
+    void whenRuleIsParsed_thenItPrintsInCanonicalForm() {
+        RecurrenceRule rule = RecurrenceRule.parse("rrule:byday=th,mo;freq=weekly;interval=1;count=4");
+
+        assertThat(rule.toString()).isEqualTo("FREQ=WEEKLY;BYDAY=MO,TH;COUNT=4");
+        assertThat(RecurrenceRule.parse(rule.toString())).isEqualTo(rule);
+    }
+
+    @Test
+    void whenRuleIsInvalid_thenParseIsRefused() {
+        assertThatThrownBy(() -> RecurrenceRule.parse("INTERVAL=2")).isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=HOURLY")).isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;INTERVAL=0"))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;BYDAY=MO"))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;BYMONTH=2"))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void whenDailyRuleHasRunForYears_thenOnlyTheWindowIsExpanded() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;INTERVAL=3");
+        LocalDateTime from = START.plusYears(10).withHour(0).withMinute(0);
+
+        // The window starts 3653 days after the start, 2 past a multiple of 3
+        assertThat(expand(rule, from, from.plusDays(7)))
+                .containsExactly(START.plusDays(3654), START.plusDays(3657));
+    }
+
+    @Test
+    void whenWeeklyRuleHasDaysAndCount_thenCountStartsAtTheStart() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,WE,FR;COUNT=4");
+
+        // Monday of the start's week comes before the start, so it is not counted
+        assertThat(expand(rule, START.minusDays(7), START.plusDays(30))).containsExactly(
+                START, START.plusDays(2), START.plusDays(5), START.plusDays(7));
+        assertThat(rule.occursAt(START, START.plusDays(5))).isTrue();
+        assertThat(rule.occursAt(START, START.plusDays(9))).isFalse();
+        assertThat(rule.occursAt(START, START.plusDays(5).plusMinutes(1))).isFalse();
+    }
+
+    @Test
+    void whenMonthlyRuleStartsOnTheThirtyFirst_thenShortMonthsUseTheirLastDay() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY;UNTIL=2024-05-31T09:30");
+
+        assertThat(expand(rule, START, START.plusYears(1))).containsExactly(
+                START, LocalDateTime.of(2024, 2, 29, 9, 30), LocalDateTime.of(2024, 3, 31, 9, 30),
+                LocalDateTime.of(2024, 4, 30, 9, 30), LocalDateTime.of(2024, 5, 31, 9, 30));
+    }
+
+    private static List<LocalDateTime> expand(RecurrenceRule rule, LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        rule.occurrences(START, from, to, occurrences::add);
+        return occurrences;
+    }
+}
@@ -0,0 +1,172 @@
+package io.github.devtae.taskmanagementsystem.recurrence;
+
+import io.github.devtae.taskmanagementsystem.dto.ScheduledTask;
+import io.github.devtae.taskmanagementsystem.dto.TaskSchedule;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent.ChangeType;
+import io.github.devtae.taskmanagementsystem.exception.InvalidRequestException;
+import io.github.devtae.taskmanagementsystem.exception.TaskNotFoundException;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import io.github.devtae.taskmanagementsystem.repository.TaskOccurrenceRepository;
+import io.github.devtae.taskmanagementsystem.repository.TaskRecurrenceRepository;
+import io.github.devtae.taskmanagementsystem.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Schedules are only updated in memory once a change commits, so the test-managed rollback transaction is
+// switched off
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RecurringTasksTest {
+
+    private static final LocalDateTime TODAY = LocalDateTime.of(2024, 6, 5, 0, 0);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskRecurrenceRepository recurrenceRepository;
+
+    @Autowired
+    private TaskOccurrenceRepository occurrenceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private RecurringTasks recurringTasks;
+
+    @BeforeEach
+    void setUp() {
+        recurringTasks = new RecurringTasks(taskRepository, recurrenceRepository, occurrenceRepository,
+                transactionManager, new RecurrenceProperties(true, Duration.ofDays(31), 100, Duration.ofMinutes(1)),
+                Clock.fixed(TODAY.plusHours(8).toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void whenTasksRecur_thenTodaysOccurrencesAreListedInOrder() {
+        Task standup = save("Standup", TODAY.minusDays(30).withHour(9));
+        Task review = save("Review", null);
+        Task oneOff = save("One-off", TODAY.withHour(10));
+        inTransaction(() -> recurringTasks.setSchedule(standup.getId(), new TaskSchedule("FREQ=DAILY", null)));
+        TaskSchedule weekly = inTransaction(() -> recurringTasks.setSchedule(review.getId(),
+                new TaskSchedule("freq=weekly;byday=we,fr", TODAY.minusWeeks(2).withHour(8))));
+
+        assertThat(weekly.rule()).isEqualTo("FREQ=WEEKLY;BYDAY=WE,FR");
+        assertThat(recurringTasks.occurrences(null, null)).containsExactly(
+                new ScheduledTask(review.getId(), "Review", TODAY.withHour(8), false),
+                new ScheduledTask(standup.getId(), "Standup", TODAY.withHour(9), false));
+        assertThat(recurringTasks.occurrences(TODAY.plusDays(1), TODAY.plusDays(3)))
+                .extracting(ScheduledTask::occursAt)
+                .containsExactly(TODAY.plusDays(1).withHour(9), TODAY.plusDays(2).withHour(8),
+                        TODAY.plusDays(2).withHour(9));
+        assertThat(recurringTasks.occurrences(null, null))
+                .noneMatch(occurrence -> occurrence.taskId().equals(oneOff.getId()));
+    }
+
+    @Test
+    void whenOccurrencesAreCompletedOrSkipped_thenListingsReflectThem() {
+        Task standup = save("Standup", TODAY.minusDays(3).withHour(9));
+        inTransaction(() -> recurringTasks.setSchedule(standup.getId(), new TaskSchedule("FREQ=DAILY", null)));
+        assertThat(recurringTasks.occurrences(TODAY, TODAY.plusDays(2))).hasSize(2);
+
+        inTransaction(() -> recurringTasks.completeOccurrence(standup.getId(), TODAY.withHour(9)));
+        inTransaction(() -> {
+            recurringTasks.skipOccurrence(standup.getId(), TODAY.plusDays(1).withHour(9));
+            return null;
+        });
+
+        assertThat(recurringTasks.occurrences(TODAY, TODAY.plusDays(2)))
+                .containsExactly(new ScheduledTask(standup.getId(), "Standup", TODAY.withHour(9), true));
+        assertThatThrownBy(() -> inTransaction(() ->
+                recurringTasks.completeOccurrence(standup.getId(), TODAY.withHour(10))))
+                .isInstanceOf(TaskNotFoundException.class);
+    }
+
+    @Test
+    void whenTaskChanges_thenHeldScheduleFollows() {
+        Task standup = save("Standup", TODAY.withHour(9));
+        Long taskId = standup.getId();
+        inTransaction(() -> recurringTasks.setSchedule(taskId, new TaskSchedule("FREQ=DAILY", null)));
+        assertThat(recurringTasks.occurrences(null, null)).hasSize(1);
+
+        standup.setTitle("Daily standup");
+        standup = taskRepository.save(standup);
+        recurringTasks.onTaskChanged(TaskChangedEvent.of(ChangeType.UPDATED, standup, null));
+        assertThat(recurringTasks.occurrences(null, null)).extracting(ScheduledTask::title)
+                .containsExactly("Daily standup");
+
+        standup.setCompleted(true);
+        standup = taskRepository.save(standup);
+        recurringTasks.onTaskChanged(TaskChangedEvent.of(ChangeType.COMPLETED, standup, null));
+        assertThat(recurringTasks.occurrences(null, null)).isEmpty();
+
+        taskRepository.deleteById(taskId);
+        recurringTasks.onTaskChanged(TaskChangedEvent.deleted(taskId, null));
+        assertThat(recurrenceRepository.count()).isZero();
+        assertThatThrownBy(() -> recurringTasks.getSchedule(taskId))
+                .isInstanceOf(TaskNotFoundException.class);
+    }
+
+    @Test
+    void whenScheduleIsRemoved_thenTaskNoLongerRecurs() {
+        Task standup = save("Standup", TODAY.withHour(9));
+        inTransaction(() -> recurringTasks.setSchedule(standup.getId(), new TaskSchedule("FREQ=DAILY", null)));
+        assertThat(recurringTasks.occurrences(null, null)).hasSize(1);
+
+        inTransaction(() -> {
+            recurringTasks.removeSchedule(standup.getId());
+            return null;
+        });
+
+        assertThat(recurringTasks.occurrences(null, null)).isEmpty();
+        assertThatThrownBy(() -> inTransaction(() -> {
+            recurringTasks.removeSchedule(standup.getId());
+            return null;
+        })).isInstanceOf(TaskNotFoundException.class);
+    }
+
+    @Test
+    void whenRequestIsInvalid_thenItIsRefused() {
+        Task undated = save("Undated", null);
+
+        assertThatThrownBy(() -> inTransaction(() ->
+                recurringTasks.setSchedule(undated.getId(), new TaskSchedule("FREQ=DAILY", null))))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> recurringTasks.occurrences(TODAY, TODAY))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> recurringTasks.occurrences(TODAY, TODAY.plusDays(32)))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private Task save(String title, LocalDateTime dueDate) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDueDate(dueDate);
+        return taskRepository.save(task);
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+}
@@ -0,0 +1,173 @@
+package io.github.devtae.taskmanagementsystem.reminder;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskDueDate;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent;
+import io.github.devtae.taskmanagementsystem.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReminderSchedulerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 6, 1, 9, 0);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private final MutableClock clock = new MutableClock(START.toInstant(ZoneOffset.UTC));
+    private final List<ReminderEvent> delivered = new ArrayList<>();
+    private ReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        ReminderProperties properties = new ReminderProperties(true, Duration.ofMinutes(15), Duration.ofHours(1),
+                Duration.ofMinutes(1), Duration.ofSeconds(1), 2);
+        scheduler = new ReminderScheduler(taskRepository, delivered::add, properties, clock);
+    }
+
+    @Test
+    void whenTaskApproachesAndPassesDueDate_thenUpcomingThenOverdueFire() {
+        when(taskRepository.findOpenTasksDueAfter(eq(START), eq(Long.MIN_VALUE), eq(START.plusMinutes(75)),
+                eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(dueDate(1L, START.plusMinutes(30))));
+
+        scheduler.slideWindow();
+        advance(Duration.ofMinutes(14));
+        assertThat(delivered).isEmpty();
+
+        advance(Duration.ofMinutes(1));
+        assertThat(delivered).extracting(ReminderEvent::kind).containsExactly(ReminderEvent.Kind.UPCOMING);
+
+        advance(Duration.ofMinutes(15));
+        assertThat(delivered).extracting(ReminderEvent::kind)
+                .containsExactly(ReminderEvent.Kind.UPCOMING, ReminderEvent.Kind.OVERDUE);
+        assertThat(delivered.get(1).dueDate()).isEqualTo(START.plusMinutes(30));
+        assertThat(scheduler.pending()).isZero();
+    }
+
+    @Test
+    void whenTaskIsCompleted_thenItsReminderIsCancelled() {
+        when(taskRepository.findOpenTasksDueAfter(any(), anyLong(), any(), any()))
+                .thenReturn(List.of(dueDate(1L, START.plusMinutes(30))));
+        scheduler.slideWindow();
+
+        scheduler.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.ChangeType.COMPLETED, 1L,
+                new TaskSnapshot(1L, "Task", null, START.plusMinutes(30), true, START, START, 1), null));
+        advance(Duration.ofHours(1));
+
+        assertThat(delivered).isEmpty();
+    }
+
+    @Test
+    void whenTaskIsRescheduledWithinWindow_thenReminderMoves() {
+        when(taskRepository.findOpenTasksDueAfter(any(), anyLong(), any(), any())).thenReturn(List.of());
+        scheduler.slideWindow();
+
+        scheduler.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.ChangeType.UPDATED, 1L,
+                new TaskSnapshot(1L, "Task", null, START.plusMinutes(20), false, START, START, 1), null));
+        advance(Duration.ofMinutes(5));
+
+        assertThat(delivered).extracting(ReminderEvent::taskId).containsExactly(1L);
+    }
+
+    @Test
+    void whenWindowIsFull_thenLoadingResumesAfterRemindersDrain() {
+        when(taskRepository.findOpenTasksDueAfter(eq(START), eq(Long.MIN_VALUE), any(), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(dueDate(1L, START.plusMinutes(20)), dueDate(2L, START.plusMinutes(25))));
+        scheduler.slideWindow();
+        assertThat(scheduler.pending()).isEqualTo(2);
+
+        advance(Duration.ofMinutes(26));
+        when(taskRepository.findOpenTasksDueAfter(eq(START.plusMinutes(25)), eq(2L), any(), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(dueDate(3L, START.plusMinutes(40))));
+        scheduler.slideWindow();
+
+        assertThat(scheduler.pending()).isEqualTo(1);
+    }
+
+    @Test
+    void whenWindowFillsAmongTasksDueTogether_thenEachRemindsOnce() {
+        LocalDateTime due = START.plusMinutes(30);
+        when(taskRepository.findOpenTasksDueAfter(eq(START), eq(Long.MIN_VALUE), any(), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(dueDate(1L, due), dueDate(2L, due)));
+        scheduler.slideWindow();
+
+        advance(Duration.ofMinutes(31));
+        when(taskRepository.findOpenTasksDueAfter(eq(due), eq(2L), any(), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(dueDate(3L, due)));
+        scheduler.slideWindow();
+
+        advance(Duration.ofMinutes(1));
+        assertThat(delivered).filteredOn(event -> event.kind() == ReminderEvent.Kind.UPCOMING)
+                .extracting(ReminderEvent::taskId).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    private void advance(Duration duration) {
+        long end = clock.millis() + duration.toMillis();
+        while (clock.millis() < end) {
+            clock.advance(Duration.ofSeconds(1));
+            scheduler.tick();
+        }
+    }
+
+    private static TaskDueDate dueDate(Long id, LocalDateTime dueDate) {
+        return new TaskDueDate() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getDueDate() {
+                return dueDate;
+            }
+        };
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
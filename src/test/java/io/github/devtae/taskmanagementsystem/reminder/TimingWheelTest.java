@@ -0,0 +1,84 @@
+package io.github.devtae.taskmanagementsystem.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private final List<Long> fired = new ArrayList<>();
+
+    @Test
+    void whenAdvancingPastDeadline_thenEntryFiresOnce() {
+        TimingWheel wheel = new TimingWheel(1000, 60_000, 0);
+        wheel.schedule(1L, 5_000, 5_000, ReminderEvent.Kind.OVERDUE);
+
+        wheel.advance(4_999, entry -> fired.add(entry.taskId));
+        assertThat(fired).isEmpty();
+
+        wheel.advance(5_000, entry -> fired.add(entry.taskId));
+        wheel.advance(10_000, entry -> fired.add(entry.taskId));
+        assertThat(fired).containsExactly(1L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void whenDeadlineIsSeveralRotationsAhead_thenEntryWaitsForItsTick() {
+        TimingWheel wheel = new TimingWheel(1000, 16_000, 0);
+        wheel.schedule(1L, 40_000, 40_000, ReminderEvent.Kind.OVERDUE);
+
+        wheel.advance(39_000, entry -> fired.add(entry.taskId));
+        assertThat(fired).isEmpty();
+
+        wheel.advance(40_000, entry -> fired.add(entry.taskId));
+        assertThat(fired).containsExactly(1L);
+    }
+
+    @Test
+    void whenCancelledOrRescheduled_thenOnlyTheLatestEntryFires() {
+        TimingWheel wheel = new TimingWheel(1000, 60_000, 0);
+        wheel.schedule(1L, 2_000, 2_000, ReminderEvent.Kind.OVERDUE);
+        wheel.schedule(2L, 2_000, 2_000, ReminderEvent.Kind.OVERDUE);
+        wheel.schedule(1L, 8_000, 8_000, ReminderEvent.Kind.OVERDUE);
+        assertThat(wheel.cancel(2L)).isTrue();
+
+        wheel.advance(5_000, entry -> fired.add(entry.taskId));
+        assertThat(fired).isEmpty();
+
+        wheel.advance(8_000, entry -> fired.add(entry.taskId));
+        assertThat(fired).containsExactly(1L);
+    }
+
+    @Test
+    void whenFallingMoreThanARotationBehind_thenEverythingDueFires() {
+        TimingWheel wheel = new TimingWheel(1000, 16_000, 0);
+        wheel.schedule(1L, 3_000, 3_000, ReminderEvent.Kind.OVERDUE);
+        wheel.schedule(2L, 15_000, 15_000, ReminderEvent.Kind.OVERDUE);
+        wheel.schedule(3L, 100_000, 100_000, ReminderEvent.Kind.OVERDUE);
+
+        wheel.advance(50_000, entry -> fired.add(entry.taskId));
+
+        assertThat(fired).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void whenHoldingAMillionReminders_thenEachFiresAtItsTick() {
+        TimingWheel wheel = new TimingWheel(1000, 3_600_000, 0);
+        for (long id = 0; id < 1_000_000; id++) {
+            wheel.schedule(id, 1_000 + (id % 1_000) * 1_000, 0, ReminderEvent.Kind.OVERDUE);
+        }
+        assertThat(wheel.size()).isEqualTo(1_000_000);
+
+        long[] count = {0};
+        wheel.advance(500_000, entry -> count[0]++);
+        assertThat(count[0]).isEqualTo(500_000);
+
+        wheel.advance(1_000_000, entry -> count[0]++);
+        assertThat(count[0]).isEqualTo(1_000_000);
+        assertThat(wheel.size()).isZero();
+    }
+}
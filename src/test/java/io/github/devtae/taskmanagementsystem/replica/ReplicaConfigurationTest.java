@@ -0,0 +1,75 @@
+package io.github.devtae.taskmanagementsystem.replica;
+
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The replica points at the primary's in-memory database, so it sees the same rows without replication.
+@SpringBootTest(properties = {"tasks.cache.enabled=false", "tasks.reminders.enabled=false",
+        "tasks.replicas.enabled=true",
+        "tasks.replicas.pools[0].url=jdbc:h2:mem:task_management_system;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "tasks.replicas.pools[0].username=sa"})
+@AutoConfigureMockMvc
+class ReplicaConfigurationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void whenClientWrites_thenItsReadsStayOnPrimaryWhileOthersUseTheReplica() throws Exception {
+        Cookie pinned = mockMvc.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Routed\",\"dueDate\":\"2030-01-01T09:00:00\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE_NAME))
+                .andReturn().getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+
+        double primary = connections("primary");
+        double replica = connections("replica-0");
+        mockMvc.perform(get("/api/tasks").cookie(pinned)).andExpect(status().isOk());
+        assertThat(connections("primary")).isEqualTo(primary + 1);
+        assertThat(connections("replica-0")).isEqualTo(replica);
+
+        mockMvc.perform(get("/api/tasks")).andExpect(status().isOk());
+        assertThat(connections("primary")).isEqualTo(primary + 1);
+        assertThat(connections("replica-0")).isEqualTo(replica + 1);
+    }
+
+    @Test
+    void whenSingleTaskIsFetched_thenItIsReadFromPrimaryBecauseItIsCached() throws Exception {
+        String created = mockMvc.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Cached\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Number id = JsonPath.read(created, "$.id");
+
+        double primary = connections("primary");
+        double replica = connections("replica-0");
+        mockMvc.perform(get("/api/tasks/" + id)).andExpect(status().isOk());
+        assertThat(connections("primary")).isEqualTo(primary + 1);
+        assertThat(connections("replica-0")).isEqualTo(replica);
+    }
+
+    @Test
+    void whenRoutingIsOn_thenPrimaryPoolMetricsAreStillBound() {
+        assertThat(meterRegistry.find("hikaricp.connections.pending").gauge()).isNotNull();
+    }
+
+    private double connections(String target) {
+        return meterRegistry.get("tasks.datasource.connections").tag("target", target).counter().count();
+    }
+}
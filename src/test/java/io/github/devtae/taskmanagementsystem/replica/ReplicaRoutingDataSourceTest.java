@@ -0,0 +1,187 @@
+package io.github.devtae.taskmanagementsystem.replica;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SwitchableDataSource replicaA = new SwitchableDataSource(database("replica-a"));
+    private final SwitchableDataSource replicaB = new SwitchableDataSource(database("replica-b"));
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-a", replicaA);
+        replicas.put("replica-b", replicaB);
+        routing = new ReplicaRoutingDataSource(database("primary"), replicas, meterRegistry);
+
+        DataSource dataSource = ReplicaRoutingDataSource.lazy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void whenTransactionIsReadOnly_thenReplicasAreUsedInTurn() {
+        assertThat(List.of(readOnlyMarker(), readOnlyMarker(),
+                readOnlyMarker()))
+                .containsExactly("replica-a", "replica-b", "replica-a");
+        assertThat(connections("replica-a")).isEqualTo(2);
+        assertThat(connections("replica-b")).isEqualTo(1);
+        assertThat(connections("primary")).isZero();
+    }
+
+    @Test
+    void whenTransactionWrites_thenPrimaryIsUsed() {
+        String marker = readWrite.execute(status -> {
+            jdbcTemplate.update("insert into marker (name) values ('written')");
+            return marker();
+        });
+        assertThat(marker).isEqualTo("primary");
+        assertThat(marker()).isEqualTo("primary");
+    }
+
+    @Test
+    void whenReplicaFails_thenItIsSkippedUntilHealthy() {
+        replicaA.down = true;
+        assertThat(readOnlyMarker()).isEqualTo("replica-b");
+        assertThat(readOnlyMarker()).isEqualTo("replica-b");
+
+        replicaB.down = true;
+        assertThat(readOnlyMarker()).isEqualTo("primary");
+
+        replicaA.down = false;
+        replicaB.down = false;
+        assertThat(readOnlyMarker()).isEqualTo("primary");
+        routing.checkHealth();
+        List<String> read = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            read.add(readOnlyMarker());
+        }
+        assertThat(read).containsExactlyInAnyOrder("replica-a", "replica-b");
+    }
+
+    @Test
+    void whenClientWroteRecently_thenItReadsFromPrimary() throws Exception {
+        MutableClock clock = new MutableClock(Instant.parse("2024-06-05T09:00:00Z"));
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5), clock);
+
+        MockHttpServletResponse written = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/tasks"), written,
+                (request, response) -> assertThat(readOnlyMarker()).isEqualTo("primary"));
+        Cookie cookie = written.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertThat(cookie).isNotNull();
+
+        assertThat(readAfter(filter, cookie)).isEqualTo("primary");
+        clock.advance(Duration.ofSeconds(6));
+        assertThat(readAfter(filter, cookie)).startsWith("replica-");
+        assertThat(readAfter(filter, null)).startsWith("replica-");
+    }
+
+    private String readAfter(ReadYourWritesFilter filter, Cookie cookie) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        if (cookie != null) {
+            request.setCookies(cookie);
+        }
+        String[] read = new String[1];
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> read[0] = readOnlyMarker());
+        return read[0];
+    }
+
+    private String readOnlyMarker() {
+        return readOnly.execute(status -> marker());
+    }
+
+    private String marker() {
+        return jdbcTemplate.queryForObject("select name from marker order by name limit 1", String.class);
+    }
+
+    private double connections(String target) {
+        return meterRegistry.get("tasks.datasource.connections").tag("target", target).counter().count();
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table marker (name varchar(32))");
+        jdbcTemplate.update("insert into marker (name) values (?)", name);
+        return dataSource;
+    }
+
+    private static final class SwitchableDataSource extends DelegatingDataSource {
+        volatile boolean down;
+
+        SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Replica is down");
+            }
+            return super.getConnection();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
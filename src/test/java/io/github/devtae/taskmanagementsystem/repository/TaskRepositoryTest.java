@@ -0,0 +1,260 @@
+package io.github.devtae.taskmanagementsystem.repository;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskDueDate;
+import io.github.devtae.taskmanagementsystem.dto.TaskDueState;
+import io.github.devtae.taskmanagementsystem.dto.TaskFilter;
+import io.github.devtae.taskmanagementsystem.dto.TaskPatch;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.dto.TaskSummary;
+import io.github.devtae.taskmanagementsystem.dto.TaskVersion;
+import io.github.devtae.taskmanagementsystem.cache.TaskCache;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent;
+import io.github.devtae.taskmanagementsystem.exception.PreconditionFailedException;
+import io.github.devtae.taskmanagementsystem.exception.TaskNotFoundException;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import io.github.devtae.taskmanagementsystem.service.TaskServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+class TaskRepositoryTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 7; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            taskRepository.save(task);
+        }
+        taskRepository.flush();
+    }
+
+    @Test
+    void whenWalkingPagesByKeyset_thenEveryTaskIsVisitedOnceInOrder() {
+        List<Long> visited = new ArrayList<>();
+        List<TaskSnapshot> page = taskRepository.findFirstPage(PageRequest.of(0, 3));
+        while (!page.isEmpty()) {
+            page.forEach(task -> visited.add(task.id()));
+            TaskSnapshot last = page.get(page.size() - 1);
+            page = taskRepository.findPageAfter(last.createdAt(), last.id(), PageRequest.of(0, 3));
+        }
+
+        List<Long> expected = taskRepository.findAll().stream()
+                .sorted((a, b) -> a.getCreatedAt().equals(b.getCreatedAt())
+                        ? a.getId().compareTo(b.getId())
+                        : a.getCreatedAt().compareTo(b.getCreatedAt()))
+                .map(Task::getId)
+                .toList();
+        assertThat(visited).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void whenStreamAll_thenReturnsEveryTaskOrderedById() {
+        try (Stream<TaskSnapshot> tasks = taskRepository.streamAll()) {
+            assertThat(tasks.map(TaskSnapshot::id)).isSorted().hasSize(7);
+        }
+    }
+
+    @Test
+    void whenListingViews_thenFilterAndMappedSortApplyWithoutLoadingEntities() {
+        List<Task> tasks = taskRepository.findAll(Sort.by("id"));
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).setCompleted(i < 2);
+            tasks.get(i).setDescription("Description " + i);
+        }
+        taskRepository.saveAllAndFlush(tasks);
+        entityManager.clear();
+        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, archivedTaskRepository, entityManager,
+                TaskCache.disabled(), event -> { });
+
+        // "completed" is mapped to the isCompleted attribute, and ties are broken by id
+        List<TaskSnapshot> snapshots = taskService.findTasks(TaskFilter.none(),
+                Sort.by(Sort.Order.desc("completed")));
+        assertThat(snapshots).extracting(TaskSnapshot::id).containsExactly(tasks.get(0).getId(),
+                tasks.get(1).getId(), tasks.get(2).getId(), tasks.get(3).getId(), tasks.get(4).getId(),
+                tasks.get(5).getId(), tasks.get(6).getId());
+        assertThat(snapshots.get(0).description()).isEqualTo("Description 0");
+
+        List<TaskSummary> summaries = taskService.findTaskSummaries(
+                new TaskFilter(true, null, null, null, null, false), Sort.by(Sort.Order.desc("id")));
+        assertThat(summaries).extracting(TaskSummary::id).containsExactly(tasks.get(1).getId(), tasks.get(0).getId());
+        assertThat(summaries.get(0).title()).isEqualTo(tasks.get(1).getTitle());
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void whenDeleteTaskById_thenReturnsTheDeletedRowsDueState() {
+        Task task = taskRepository.findAll().get(0);
+
+        assertThat(taskRepository.deleteTaskById(task.getId())).contains(TaskDueState.of(task));
+        assertThat(taskRepository.deleteTaskById(task.getId())).isEmpty();
+        assertThat(taskRepository.count()).isEqualTo(6);
+    }
+
+    @Test
+    void whenFindAllMatchingFilter_thenOnlyMatchingTasksAreReturned() {
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+        List<Task> tasks = taskRepository.findAll(Sort.by("id"));
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).setDueDate(now.plusDays(i));
+            tasks.get(i).setCompleted(i % 2 == 0);
+        }
+        taskRepository.saveAllAndFlush(tasks);
+
+        TaskFilter filter = new TaskFilter(false, now.plusDays(5), now, null, null, false);
+        List<Task> found = taskRepository.findAll(TaskSpecifications.matching(filter), Sort.by(Sort.Order.desc("dueDate")));
+
+        assertThat(found).extracting(Task::getId)
+                .containsExactly(tasks.get(3).getId(), tasks.get(1).getId());
+    }
+
+    @Test
+    void whenFindOpenTasksDueAfter_thenOnlyIncompleteTasksPastTheKeysetAreReturnedSoonestFirst() {
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+        List<Task> tasks = taskRepository.findAll(Sort.by("id"));
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).setDueDate(now.plusHours(tasks.size() - i));
+        }
+        tasks.get(5).setCompleted(true);
+        tasks.get(3).setDueDate(tasks.get(4).getDueDate());
+        taskRepository.saveAllAndFlush(tasks);
+
+        List<TaskDueDate> due = taskRepository.findOpenTasksDueAfter(now, Long.MIN_VALUE, now.plusHours(4),
+                PageRequest.of(0, 10));
+        assertThat(due).extracting(TaskDueDate::getId)
+                .containsExactly(tasks.get(6).getId(), tasks.get(3).getId(), tasks.get(4).getId());
+
+        // Resuming part way through tasks due at the same time
+        List<TaskDueDate> rest = taskRepository.findOpenTasksDueAfter(tasks.get(3).getDueDate(),
+                tasks.get(3).getId(), now.plusHours(4), PageRequest.of(0, 10));
+        assertThat(rest).extracting(TaskDueDate::getId).containsExactly(tasks.get(4).getId());
+    }
+
+    @Test
+    void whenTaskIsUpdated_thenVersionIsIncrementedAndReadableOnItsOwn() {
+        Task task = taskRepository.findAll().get(0);
+        long initial = taskRepository.findVersionById(task.getId()).map(TaskVersion::version).orElseThrow();
+
+        task.setTitle("Renamed");
+        taskRepository.saveAndFlush(task);
+
+        TaskVersion version = taskRepository.findVersionById(task.getId()).orElseThrow();
+        assertThat(version.version()).isEqualTo(initial + 1);
+        assertThat(version.updatedAt()).isEqualTo(task.getUpdatedAt());
+        assertThat(taskRepository.findVersionById(-1L)).isEmpty();
+    }
+
+    @Test
+    void whenAnyMatchingTaskChanges_thenCollectionVersionChanges() {
+        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, archivedTaskRepository, entityManager,
+                TaskCache.disabled(), event -> { });
+        TaskFilter open = new TaskFilter(false, null, null, null, null, false);
+        String before = taskService.getTasksVersion(open);
+        assertThat(taskService.getTasksVersion(open)).isEqualTo(before);
+
+        Task task = taskRepository.findAll().get(0);
+        task.setDescription("Changed");
+        taskRepository.saveAndFlush(task);
+        String afterUpdate = taskService.getTasksVersion(open);
+        assertThat(afterUpdate).isNotEqualTo(before);
+
+        taskRepository.deleteTaskById(taskRepository.findAll().get(1).getId());
+        assertThat(taskService.getTasksVersion(open)).isNotEqualTo(afterUpdate);
+        assertThat(taskService.getTasksVersion(new TaskFilter(true, null, null, null, null, false)))
+                .startsWith("0-0-0");
+    }
+
+    @Test
+    void whenTaskIsCompleted_thenOneUpdateReturnsTheRowAndCompletingAgainChangesNothing() {
+        List<Object> events = new ArrayList<>();
+        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, archivedTaskRepository, entityManager,
+                TaskCache.disabled(), events::add);
+        List<Task> tasks = taskRepository.findAll();
+        Task task = tasks.get(0);
+        long version = task.getVersion();
+
+        Task completed = taskService.completeTask(task.getId());
+
+        assertThat(completed.isCompleted()).isTrue();
+        assertThat(completed.getVersion()).isEqualTo(version + 1);
+        assertThat(completed.getUpdatedAt()).isNotNull();
+        assertThat(events).containsExactly(TaskChangedEvent.of(TaskChangedEvent.ChangeType.COMPLETED, completed,
+                new TaskDueState(task.getId(), task.getDueDate(), false)));
+        // Only the completed task was swapped out of the persistence context
+        assertThat(entityManager.contains(tasks.get(1))).isTrue();
+
+        Task again = taskService.completeTask(task.getId());
+        assertThat(again.getVersion()).isEqualTo(completed.getVersion());
+        assertThat(again.getUpdatedAt()).isEqualTo(completed.getUpdatedAt());
+        assertThat(events).hasSize(1);
+        assertThatThrownBy(() -> taskService.completeTask(-1L)).isInstanceOf(TaskNotFoundException.class);
+    }
+
+    @Test
+    void whenTaskIsPatched_thenOnlyNamedFieldsChangeAndNoOpPatchesWriteNothing() {
+        List<Object> events = new ArrayList<>();
+        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, archivedTaskRepository, entityManager,
+                TaskCache.disabled(), events::add);
+        Task task = taskRepository.findAll().get(0);
+        task.setDescription("Keep me");
+        taskRepository.saveAndFlush(task);
+        long version = task.getVersion();
+        // The UPDATE bypasses the persistence context, so nothing loaded beforehand may be served after it
+        entityManager.clear();
+
+        LocalDateTime due = LocalDateTime.of(2030, 1, 1, 9, 0);
+        Task patched = taskService.patchTask(task.getId(),
+                new TaskPatch("Patched", null, Optional.of(due), null), version);
+        assertThat(patched.getTitle()).isEqualTo("Patched");
+        assertThat(patched.getDescription()).isEqualTo("Keep me");
+        assertThat(patched.getDueDate()).isEqualTo(due);
+        assertThat(patched.getVersion()).isEqualTo(version + 1);
+        entityManager.clear();
+
+        Task unchanged = taskService.patchTask(task.getId(),
+                new TaskPatch("Patched", null, Optional.of(due), false), null);
+        assertThat(unchanged.getVersion()).isEqualTo(version + 1);
+        entityManager.clear();
+
+        Task cleared = taskService.patchTask(task.getId(),
+                new TaskPatch(null, Optional.empty(), null, null), version + 1);
+        assertThat(cleared.getDescription()).isNull();
+        assertThat(cleared.getVersion()).isEqualTo(version + 2);
+        assertThat(events).extracting(event -> ((TaskChangedEvent) event).type())
+                .containsExactly(TaskChangedEvent.ChangeType.UPDATED, TaskChangedEvent.ChangeType.UPDATED);
+        // The due date was named, so the event reports the one it replaced
+        assertThat(((TaskChangedEvent) events.get(0)).before())
+                .isEqualTo(new TaskDueState(task.getId(), task.getDueDate(), task.isCompleted()));
+        entityManager.clear();
+
+        assertThatThrownBy(() -> taskService.patchTask(task.getId(),
+                new TaskPatch("Stale", null, null, null), version))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> taskService.patchTask(-1L, new TaskPatch("Missing", null, null, null), null))
+                .isInstanceOf(TaskNotFoundException.class);
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.devtae.taskmanagementsystem.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Measures full-text search latency against a LIKE scan as the table grows. Needs a PostgreSQL
+ * database, so it only runs when one is given, e.g.
+ * <pre>
+ * mvn test -Dtest=TaskSearchBenchmarkTest -Dbenchmark.jdbc-url=jdbc:postgresql://localhost:5432/bench \
+ *     -Dbenchmark.username=postgres -Dbenchmark.password=postgres
+ * </pre>
+ * It works on its own {@code bench_tasks} table, built with the same generated column and GIN index
+ * as schema-postgresql.sql, and drops it afterwards.
+ */
+@EnabledIfSystemProperty(named = "benchmark.jdbc-url", matches = ".+")
+class TaskSearchBenchmarkTest {
+
+    private static final int[] TABLE_SIZES = {10_000, 100_000, 1_000_000};
+    private static final int WARMUP_QUERIES = 50;
+    private static final int MEASURED_QUERIES = 200;
+    private static final String[] WORDS = {
+            "invoice", "meeting", "report", "deploy", "review", "budget", "customer", "release",
+            "migration", "holiday", "dentist", "groceries", "training", "backup", "security", "hiring"};
+
+    @Test
+    void searchLatencyByTableSize() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(System.getProperty("benchmark.jdbc-url"),
+                System.getProperty("benchmark.username"), System.getProperty("benchmark.password"));
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_tasks");
+            statement.execute("CREATE TABLE bench_tasks (id bigserial PRIMARY KEY, title varchar(100) NOT NULL, "
+                    + "description varchar(500), search_vector tsvector GENERATED ALWAYS AS ("
+                    + "setweight(to_tsvector('english', coalesce(title, '')), 'A') || "
+                    + "setweight(to_tsvector('english', coalesce(description, '')), 'B')) STORED)");
+            statement.execute("CREATE INDEX ON bench_tasks USING GIN (search_vector)");
+
+            System.out.printf("%10s %14s %14s %14s %14s%n", "rows", "fts p50 (ms)", "fts p99 (ms)",
+                    "like p50 (ms)", "like p99 (ms)");
+            int rows = 0;
+            try {
+                for (int target : TABLE_SIZES) {
+                    insertRows(statement, rows, target);
+                    rows = target;
+                    statement.execute("ANALYZE bench_tasks");
+
+                    double[] fts = measure(connection, "SELECT id FROM bench_tasks t, "
+                            + "websearch_to_tsquery('english', ?) q WHERE t.search_vector @@ q "
+                            + "ORDER BY ts_rank(t.search_vector, q) DESC, t.id LIMIT 20", false);
+                    double[] like = measure(connection, "SELECT id FROM bench_tasks "
+                            + "WHERE title ILIKE ? OR description ILIKE ? ORDER BY id LIMIT 20", true);
+                    System.out.printf("%10d %14.3f %14.3f %14.3f %14.3f%n", rows,
+                            percentile(fts, 50), percentile(fts, 99), percentile(like, 50), percentile(like, 99));
+                }
+            } finally {
+                statement.execute("DROP TABLE bench_tasks");
+            }
+        }
+    }
+
+    private static void insertRows(Statement statement, int from, int to) throws SQLException {
+        String words = "ARRAY['" + String.join("','", WORDS) + "']";
+        statement.execute("INSERT INTO bench_tasks (title, description) "
+                + "SELECT w[1 + g % 16] || ' ' || w[1 + (g / 16) % 16] || ' ' || g, "
+                + "'Follow up on the ' || w[1 + (g / 7) % 16] || ' and ' || w[1 + (g / 3) % 16] || ' items' "
+                + "FROM generate_series(" + (from + 1) + ", " + to + ") g, (SELECT " + words + " AS w) v");
+    }
+
+    private static double[] measure(Connection connection, String sql, boolean like) throws SQLException {
+        double[] millis = new double[MEASURED_QUERIES];
+        try (PreparedStatement query = connection.prepareStatement(sql)) {
+            for (int i = 0; i < WARMUP_QUERIES + MEASURED_QUERIES; i++) {
+                String word = WORDS[i % WORDS.length] + " " + WORDS[(i * 5 + 3) % WORDS.length];
+                if (like) {
+                    String pattern = "%" + WORDS[i % WORDS.length] + "%";
+                    query.setString(1, pattern);
+                    query.setString(2, pattern);
+                } else {
+                    query.setString(1, word);
+                }
+                long start = System.nanoTime();
+                try (ResultSet resultSet = query.executeQuery()) {
+                    while (resultSet.next()) {
+                        resultSet.getLong(1);
+                    }
+                }
+                if (i >= WARMUP_QUERIES) {
+                    millis[i - WARMUP_QUERIES] = (System.nanoTime() - start) / 1_000_000.0;
+                }
+            }
+        }
+        Arrays.sort(millis);
+        return millis;
+    }
+
+    private static double percentile(double[] sorted, int percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.devtae.taskmanagementsystem.service;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskFilter;
+import io.github.devtae.taskmanagementsystem.dto.TaskPage;
+import io.github.devtae.taskmanagementsystem.dto.TaskPatch;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent.ChangeType;
+import io.github.devtae.taskmanagementsystem.exception.PreconditionFailedException;
+import io.github.devtae.taskmanagementsystem.exception.TaskNotFoundException;
+import io.github.devtae.taskmanagementsystem.memory.StorageProperties;
+import io.github.devtae.taskmanagementsystem.memory.TaskStore;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MemoryTaskServiceTest {
+
+    @TempDir
+    private Path directory;
+
+    private final List<TaskChangedEvent> events = new ArrayList<>();
+    private MemoryTaskService taskService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TaskStore taskStore = new TaskStore(new StorageProperties(StorageProperties.Engine.MEMORY, directory,
+                DataSize.ofMegabytes(1), Duration.ofMinutes(10), false), new SimpleMeterRegistry());
+        taskService = new MemoryTaskService(taskStore, event -> events.add((TaskChangedEvent) event));
+    }
+
+    @Test
+    void whenTaskIsUpdated_thenVersionIsCheckedAndOnlyRealChangesAreWritten() {
+        Task created = taskService.saveTask(task("Write report", null));
+        assertThat(created.getId()).isEqualTo(1L);
+        assertThat(created.getVersion()).isZero();
+
+        Task unchanged = taskService.updateTask(created.getId(), task("Write report", null), 0L);
+        assertThat(unchanged.getVersion()).isZero();
+
+        Task updated = taskService.updateTask(created.getId(), task("Write the report", null), 0L);
+        assertThat(updated.getVersion()).isEqualTo(1);
+        assertThat(taskService.getTaskById(created.getId()).getTitle()).isEqualTo("Write the report");
+        assertThatThrownBy(() -> taskService.updateTask(created.getId(), task("Stale", null), 0L))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThat(events).extracting(TaskChangedEvent::type).containsExactly(ChangeType.CREATED, ChangeType.UPDATED);
+    }
+
+    @Test
+    void whenTaskIsPatched_thenOnlyNamedFieldsChangeAndNoOpPatchesWriteNothing() {
+        LocalDateTime due = LocalDateTime.of(2030, 1, 1, 9, 0);
+        Task created = taskService.saveTask(task("Write report", due));
+
+        Task unchanged = taskService.patchTask(created.getId(), new TaskPatch("Write report", null, null, false), 0L);
+        assertThat(unchanged.getVersion()).isZero();
+
+        Task patched = taskService.patchTask(created.getId(), new TaskPatch(null, null, Optional.empty(), true), 0L);
+        assertThat(patched.getTitle()).isEqualTo("Write report");
+        assertThat(patched.getDueDate()).isNull();
+        assertThat(patched.isCompleted()).isTrue();
+        assertThat(patched.getVersion()).isEqualTo(1);
+        assertThatThrownBy(() -> taskService.patchTask(created.getId(), new TaskPatch("Stale", null, null, null), 0L))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThat(events).extracting(TaskChangedEvent::type).containsExactly(ChangeType.CREATED, ChangeType.UPDATED);
+    }
+
+    @Test
+    void whenTaskIsCompletedOrDeleted_thenEventsArePublishedAndMissingTasksFail() {
+        Long id = taskService.saveTask(task("Ship it", null)).getId();
+
+        assertThat(taskService.completeTask(id).isCompleted()).isTrue();
+        // Completing it again changes nothing, as in the database
+        assertThat(taskService.completeTask(id).getVersion()).isEqualTo(1);
+        taskService.deleteTask(id);
+
+        assertThat(events).extracting(TaskChangedEvent::type).containsExactly(ChangeType.CREATED,
+                ChangeType.COMPLETED, ChangeType.DELETED);
+        assertThatThrownBy(() -> taskService.getTaskById(id)).isInstanceOf(TaskNotFoundException.class);
+        assertThatThrownBy(() -> taskService.deleteTask(id)).isInstanceOf(TaskNotFoundException.class);
+        assertThatThrownBy(() -> taskService.completeTask(id)).isInstanceOf(TaskNotFoundException.class);
+    }
+
+    @Test
+    void whenListing_thenFiltersSortsPagesAndVersionsMatchTheDatabaseEngine() {
+        LocalDateTime due = LocalDateTime.of(2030, 1, 1, 9, 0);
+        Long later = taskService.saveTask(task("Later", due.plusDays(1))).getId();
+        Long sooner = taskService.saveTask(task("Sooner", due)).getId();
+        Long undated = taskService.saveTask(task("Undated", null)).getId();
+
+        assertThat(taskService.findTasks(TaskFilter.none(), Sort.by("dueDate"))).extracting(TaskSnapshot::id)
+                .containsExactly(sooner, later, undated);
+        assertThat(taskService.findTaskSummaries(new TaskFilter(null, due.plusHours(1), null, null, null, false),
+                Sort.unsorted())).hasSize(1);
+
+        TaskPage first = taskService.getTaskPage(null, 2);
+        assertThat(first.items()).extracting(TaskSnapshot::id).containsExactly(later, sooner);
+        assertThat(taskService.getTaskPage(first.nextCursor(), 2).items()).extracting(TaskSnapshot::id)
+                .containsExactly(undated);
+
+        String version = taskService.getTasksVersion(TaskFilter.none());
+        assertThat(version).startsWith("3-");
+        taskService.completeTask(undated);
+        assertThat(taskService.getTasksVersion(TaskFilter.none())).isNotEqualTo(version);
+    }
+
+    @Test
+    void whenSearching_thenEveryWordMustMatchAndExcludedWordsMustNot() {
+        Long report = taskService.saveTask(task("Quarterly report", null)).getId();
+        taskService.saveTask(task("Quarterly review", null));
+
+        assertThat(taskService.searchTasks("QUARTERLY -review", 0, 10).items()).extracting(TaskSnapshot::id)
+                .containsExactly(report);
+        assertThat(taskService.searchTasks("quarterly", 0, 1).hasNext()).isTrue();
+    }
+
+    private static Task task(String title, LocalDateTime dueDate) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDueDate(dueDate);
+        return task;
+    }
+}
@@ -0,0 +1,140 @@
+package io.github.devtae.taskmanagementsystem.service;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskBatchRequest;
+import io.github.devtae.taskmanagementsystem.dto.TaskBatchResponse;
+import io.github.devtae.taskmanagementsystem.dto.TaskOperation;
+import io.github.devtae.taskmanagementsystem.exception.InvalidRequestException;
+import io.github.devtae.taskmanagementsystem.model.ArchivedTask;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import io.github.devtae.taskmanagementsystem.repository.ArchivedTaskRepository;
+import io.github.devtae.taskmanagementsystem.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TaskBatchServiceImpl.class, LocalValidatorFactoryBean.class})
+class TaskBatchServiceImplTest {
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        archivedTaskRepository.deleteAll();
+    }
+
+    @Test
+    void whenExecuteBatch_withMixedOperations_thenEachOperationGetsItsOwnResult() {
+        Task existing = taskRepository.save(task("Existing"));
+        Task doomed = taskRepository.save(task("Doomed"));
+
+        TaskBatchResponse response = taskBatchService.execute(new TaskBatchRequest(false, List.of(
+                new TaskOperation(TaskOperation.Type.CREATE, null, task("Created")),
+                new TaskOperation(TaskOperation.Type.CREATE, null, task(" ")),
+                new TaskOperation(TaskOperation.Type.UPDATE, existing.getId(), task("Renamed")),
+                new TaskOperation(TaskOperation.Type.COMPLETE, existing.getId(), null),
+                new TaskOperation(TaskOperation.Type.DELETE, doomed.getId(), null),
+                new TaskOperation(TaskOperation.Type.COMPLETE, doomed.getId(), null))));
+
+        assertThat(response.results()).extracting("status").containsExactly(201, 400, 200, 200, 204, 404);
+        assertThat(response.succeeded()).isEqualTo(4);
+        assertThat(response.failed()).isEqualTo(2);
+        assertThat(response.results().get(0).id()).isNotNull();
+
+        Task updated = taskRepository.findById(existing.getId()).orElseThrow();
+        assertThat(updated.getTitle()).isEqualTo("Renamed");
+        assertThat(updated.isCompleted()).isTrue();
+        assertThat(taskRepository.existsById(doomed.getId())).isFalse();
+        assertThat(taskRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void whenExecuteAtomicBatch_withFailure_thenNothingIsApplied() {
+        TaskBatchResponse response = taskBatchService.execute(new TaskBatchRequest(true, List.of(
+                new TaskOperation(TaskOperation.Type.CREATE, null, task("Created")),
+                new TaskOperation(TaskOperation.Type.COMPLETE, 999_999L, null))));
+
+        assertThat(response.results()).extracting("status").containsExactly(424, 404);
+        assertThat(taskRepository.count()).isZero();
+    }
+
+    @Test
+    void whenExecuteBatch_onArchivedTasks_thenChangesAreRefusedAndDeletesReachTheArchive() {
+        ArchivedTask kept = archivedTaskRepository.save(archived(1_000_001L));
+        ArchivedTask doomed = archivedTaskRepository.save(archived(1_000_002L));
+
+        TaskBatchResponse response = taskBatchService.execute(new TaskBatchRequest(false, List.of(
+                new TaskOperation(TaskOperation.Type.UPDATE, kept.getId(), task("Renamed")),
+                new TaskOperation(TaskOperation.Type.COMPLETE, kept.getId(), null),
+                new TaskOperation(TaskOperation.Type.DELETE, doomed.getId(), null),
+                new TaskOperation(TaskOperation.Type.DELETE, doomed.getId(), null))));
+
+        assertThat(response.results()).extracting("status").containsExactly(409, 409, 204, 404);
+        assertThat(response.results().get(0).error()).contains("archived");
+        assertThat(archivedTaskRepository.findById(kept.getId())).get()
+                .extracting(ArchivedTask::getTitle).isEqualTo("Archived");
+        assertThat(archivedTaskRepository.existsById(doomed.getId())).isFalse();
+    }
+
+    @Test
+    void whenExecuteBatch_spanningSeveralChunks_thenEveryTaskIsCreated() {
+        List<TaskOperation> operations = new ArrayList<>();
+        for (int i = 0; i < TaskBatchServiceImpl.CHUNK_SIZE * 2 + 1; i++) {
+            operations.add(new TaskOperation(TaskOperation.Type.CREATE, null, task("Task " + i)));
+        }
+
+        TaskBatchResponse response = taskBatchService.execute(new TaskBatchRequest(false, operations));
+
+        assertThat(response.failed()).isZero();
+        assertThat(taskRepository.count()).isEqualTo(operations.size());
+    }
+
+    @Test
+    void whenExecuteBatch_overTheLimit_thenThrowsException() {
+        List<TaskOperation> operations = Collections.nCopies(TaskBatchServiceImpl.MAX_OPERATIONS + 1,
+                new TaskOperation(TaskOperation.Type.COMPLETE, 1L, null));
+
+        assertThatThrownBy(() -> taskBatchService.execute(new TaskBatchRequest(false, operations)))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private static ArchivedTask archived(Long id) {
+        LocalDateTime now = LocalDateTime.now();
+        ArchivedTask task = new ArchivedTask();
+        task.setId(id);
+        task.setTitle("Archived");
+        task.setCompleted(true);
+        task.setCreatedAt(now);
+        task.setUpdatedAt(now);
+        task.setArchivedAt(now);
+        return task;
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+}
@@ -1,18 +1,41 @@
 package io.github.devtae.taskmanagementsystem.service;
 
+import io.github.devtae.taskmanagementsystem.cache.TaskCache;
+import io.github.devtae.taskmanagementsystem.cache.TaskCacheProperties;
+import io.github.devtae.taskmanagementsystem.dto.TaskDueState;
+import io.github.devtae.taskmanagementsystem.dto.TaskFilter;
+import io.github.devtae.taskmanagementsystem.dto.TaskPage;
+import io.github.devtae.taskmanagementsystem.dto.TaskSearchResults;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.dto.TaskVersion;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent;
+import io.github.devtae.taskmanagementsystem.exception.InvalidRequestException;
+import io.github.devtae.taskmanagementsystem.exception.PreconditionFailedException;
 import io.github.devtae.taskmanagementsystem.exception.TaskNotFoundException;
 import io.github.devtae.taskmanagementsystem.model.Task;
+import io.github.devtae.taskmanagementsystem.repository.ArchivedTaskRepository;
 import io.github.devtae.taskmanagementsystem.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.mockito.Mockito.*;
 import static org.assertj.core.api.Assertions.*;
@@ -23,6 +46,19 @@ class TaskServiceImplTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private TaskCache taskCache = new TaskCache(new TaskCacheProperties(true, 100, Duration.ofMinutes(1)),
+            new SimpleMeterRegistry());
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
@@ -51,7 +87,7 @@ class TaskServiceImplTest {
 
     @Test
     void whenGetTaskById_thenReturnsTask() {
-        when(taskRepository.findById(expectedId1)).thenReturn(Optional.of(task1));
+        when(taskRepository.findSnapshotById(expectedId1)).thenReturn(Optional.of(TaskSnapshot.from(task1)));
 
         Task foundTask = taskService.getTaskById(expectedId1);
 
@@ -61,24 +97,46 @@ class TaskServiceImplTest {
         assertThat(foundTask.getDescription()).isEqualTo(expectedDescription1);
     }
 
+    @Test
+    void whenGetTaskByIdTwice_thenSecondCallIsServedFromCache() {
+        when(taskRepository.findSnapshotById(expectedId1)).thenReturn(Optional.of(TaskSnapshot.from(task1)));
+
+        taskService.getTaskById(expectedId1);
+        Task cachedTask = taskService.getTaskById(expectedId1);
+
+        assertThat(cachedTask).isEqualTo(task1).isNotSameAs(task1);
+        verify(taskRepository, times(1)).findSnapshotById(expectedId1);
+    }
+
     @Test
     void whenGetTaskById_withNonExistentId_thenThrowsException() {
         Long taskId = 1L;
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskRepository.findSnapshotById(taskId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> taskService.getTaskById(taskId))
                 .isInstanceOf(TaskNotFoundException.class);
     }
 
+    @Test
+    void whenGetTaskById_withArchivedTask_thenFallsBackToArchive() {
+        when(taskRepository.findSnapshotById(expectedId1)).thenReturn(Optional.empty());
+        when(archivedTaskRepository.findSnapshotById(expectedId1)).thenReturn(Optional.of(TaskSnapshot.from(task1)));
+
+        Task foundTask = taskService.getTaskById(expectedId1);
+
+        assertThat(foundTask).isEqualTo(task1);
+    }
+
     @Test
     void whenGetAllTasks_thenReturnsTasksList() {
-        when(taskRepository.findAll()).thenReturn(Arrays.asList(task1, task2));
+        when(taskRepository.findAllSnapshots()).thenReturn(Arrays.asList(TaskSnapshot.from(task1),
+                TaskSnapshot.from(task2)));
 
-        List<Task> tasks = taskService.getAllTasks();
+        List<TaskSnapshot> tasks = taskService.getAllTasks();
 
         assertThat(tasks).hasSize(2);
-        assertThat(tasks.get(0)).isEqualTo(task1);
-        assertThat(tasks.get(1)).isEqualTo(task2);
+        assertThat(tasks.get(0).title()).isEqualTo(expectedTitle1);
+        assertThat(tasks.get(1).title()).isEqualTo(expectedTitle2);
     }
 
     @Test
@@ -122,21 +180,161 @@ class TaskServiceImplTest {
 
     @Test
     void whenCompleteTask_thenTaskIsMarkedCompleted() {
-        when(taskRepository.findById(expectedId1)).thenReturn(Optional.of(task1));
-        when(taskRepository.save(any(Task.class))).thenAnswer(i -> i.getArgument(0, Task.class));
+        task1.setCompleted(true);
+        when(taskRepository.completeTaskById(eq(expectedId1), any(LocalDateTime.class))).thenReturn(Optional.of(task1));
 
         Task result = taskService.completeTask(expectedId1);
 
         assertThat(result.isCompleted()).isTrue();
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(eventPublisher).publishEvent(TaskChangedEvent.of(TaskChangedEvent.ChangeType.COMPLETED, task1,
+                new TaskDueState(expectedId1, task1.getDueDate(), false)));
+    }
+
+    @Test
+    void whenCompleteTask_withNonExistentId_thenThrowsException() {
+        when(taskRepository.completeTaskById(eq(expectedId1), any(LocalDateTime.class))).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> taskService.completeTask(expectedId1))
+                .isInstanceOf(TaskNotFoundException.class);
     }
 
     @Test
     void whenDeleteTask_thenTaskIsDeleted() {
-        when(taskRepository.findById(expectedId1)).thenReturn(Optional.of(task1));
-        doNothing().when(taskRepository).delete(any(Task.class));
+        TaskDueState deleted = TaskDueState.of(task1);
+        when(taskRepository.deleteTaskById(expectedId1)).thenReturn(Optional.of(deleted));
 
         taskService.deleteTask(expectedId1);
 
-        verify(taskRepository).delete(task1);
+        verify(taskRepository).deleteTaskById(expectedId1);
+        verify(taskRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(TaskChangedEvent.deleted(expectedId1, deleted));
+    }
+
+    @Test
+    void whenDeleteTask_withNonExistentId_thenThrowsException() {
+        when(taskRepository.deleteTaskById(expectedId1)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> taskService.deleteTask(expectedId1))
+                .isInstanceOf(TaskNotFoundException.class);
+    }
+
+    @Test
+    void whenGetTaskPage_withMoreRows_thenReturnsCursorToNextPage() {
+        task1.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        task2.setCreatedAt(LocalDateTime.of(2024, 1, 1, 10, 0));
+        TaskSnapshot snapshot1 = TaskSnapshot.from(task1);
+        TaskSnapshot snapshot2 = TaskSnapshot.from(task2);
+        when(taskRepository.findFirstPage(PageRequest.of(0, 2)))
+                .thenReturn(new ArrayList<>(List.of(snapshot1, snapshot2)));
+
+        TaskPage page = taskService.getTaskPage(null, 1);
+
+        assertThat(page.items()).containsExactly(snapshot1);
+        assertThat(page.nextCursor()).isNotNull();
+
+        when(taskRepository.findPageAfter(task1.getCreatedAt(), expectedId1, PageRequest.of(0, 2)))
+                .thenReturn(new ArrayList<>(List.of(snapshot2)));
+
+        TaskPage next = taskService.getTaskPage(page.nextCursor(), 1);
+
+        assertThat(next.items()).containsExactly(snapshot2);
+        assertThat(next.nextCursor()).isNull();
+    }
+
+    @Test
+    void whenGetTaskPage_withOversizedPage_thenSizeIsCapped() {
+        when(taskRepository.findFirstPage(any())).thenReturn(List.of());
+
+        taskService.getTaskPage(null, 1_000_000);
+
+        verify(taskRepository).findFirstPage(PageRequest.of(0, TaskServiceImpl.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void whenGetTaskPage_withMalformedCursor_thenThrowsException() {
+        assertThatThrownBy(() -> taskService.getTaskPage("not-a-cursor", 10))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void whenStreamAllTasks_thenEveryTaskReachesTheConsumer() {
+        TaskSnapshot snapshot1 = TaskSnapshot.from(task1);
+        TaskSnapshot snapshot2 = TaskSnapshot.from(task2);
+        when(taskRepository.streamAll()).thenReturn(Stream.of(snapshot1, snapshot2));
+        List<TaskSnapshot> consumed = new ArrayList<>();
+
+        taskService.streamAllTasks(consumed::add);
+
+        assertThat(consumed).containsExactly(snapshot1, snapshot2);
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void whenFindTasks_withUnknownSortProperty_thenThrowsException() {
+        assertThatThrownBy(() -> taskService.findTasks(TaskFilter.none(), Sort.by("description")))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void whenFindTasks_sortedByTitleWithArchived_thenThrowsException() {
+        TaskFilter withArchived = new TaskFilter(null, null, null, null, null, true);
+
+        assertThatThrownBy(() -> taskService.findTasks(withArchived, Sort.by("title")))
+                .isInstanceOf(InvalidRequestException.class);
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void whenSearchTasks_withMoreHits_thenReportsNextPage() {
+        when(taskRepository.search("task", 2, 1)).thenReturn(List.of(task2, task1));
+
+        TaskSearchResults results = taskService.searchTasks("task", 1, 1);
+
+        assertThat(results.items()).containsExactly(TaskSnapshot.from(task2));
+        assertThat(results.hasNext()).isTrue();
+        assertThat(results.page()).isEqualTo(1);
+    }
+
+    @Test
+    void whenSearchTasks_beyondResultLimit_thenThrowsException() {
+        assertThatThrownBy(() -> taskService.searchTasks("task", TaskServiceImpl.MAX_SEARCH_RESULTS, 1))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> taskService.searchTasks(" ", 0, 10))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void whenUpdateTask_withStaleExpectedVersion_thenThrowsException() {
+        task1.setVersion(2);
+        when(taskRepository.findById(expectedId1)).thenReturn(Optional.of(task1));
+
+        Task details = new Task();
+        details.setTitle("Changed");
+        assertThatThrownBy(() -> taskService.updateTask(expectedId1, details, 1L))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThat(task1.getTitle()).isEqualTo(expectedTitle1);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void whenGetTaskVersion_withCachedTask_thenRepositoryIsNotQueried() {
+        task1.setVersion(5);
+        when(taskRepository.findSnapshotById(expectedId1)).thenReturn(Optional.of(TaskSnapshot.from(task1)));
+        taskService.getTaskById(expectedId1);
+
+        TaskVersion version = taskService.getTaskVersion(expectedId1);
+
+        assertThat(version.version()).isEqualTo(5);
+        verify(taskRepository, never()).findVersionById(any());
+    }
+
+    @Test
+    void whenGetTaskVersion_withUncachedTask_thenReadsVersionOnly() {
+        when(taskRepository.findVersionById(expectedId1)).thenReturn(Optional.of(new TaskVersion(2, null)));
+
+        assertThat(taskService.getTaskVersion(expectedId1).version()).isEqualTo(2);
+        verify(taskRepository, never()).findById(any());
+        assertThatThrownBy(() -> taskService.getTaskVersion(expectedId2)).isInstanceOf(TaskNotFoundException.class);
     }
-}
\ No newline at end of file
+}
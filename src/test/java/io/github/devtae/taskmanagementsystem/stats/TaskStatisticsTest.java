@@ -0,0 +1,166 @@
+package io.github.devtae.taskmanagementsystem.stats;
+
+import io.github.devtae.taskmanagementsystem.dto.TaskDueState;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.dto.TaskStats;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent.ChangeType;
+import io.github.devtae.taskmanagementsystem.exception.ServiceBusyException;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import io.github.devtae.taskmanagementsystem.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+class TaskStatisticsTest {
+
+    // A Wednesday
+    private static final LocalDateTime START = LocalDateTime.of(2024, 6, 5, 9, 0);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final MutableClock clock = new MutableClock(START.toInstant(ZoneOffset.UTC));
+    private TaskStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new TaskStatistics(taskRepository, transactionManager,
+                new TaskStatsProperties(true, Duration.ofMinutes(5), DayOfWeek.MONDAY), new SimpleMeterRegistry(),
+                clock);
+    }
+
+    @Test
+    void whenNotLoadedYet_thenStatsAreRefused() {
+        assertThatThrownBy(() -> statistics.stats()).isInstanceOf(ServiceBusyException.class);
+    }
+
+    @Test
+    void whenTasksChange_thenCountsFollowTheEvents() {
+        save("Overdue", START.minusHours(1), false);
+        save("Later today", START.plusHours(3), false);
+        save("Done", START.plusHours(1), true);
+        statistics.reconcile();
+
+        assertThat(statistics.stats()).isEqualTo(stats(3, 2, 1, 1, 2, 2));
+
+        Task friday = save("Friday", START.plusDays(2), false);
+        statistics.onTaskChanged(TaskChangedEvent.created(friday));
+        Task nextWeek = save("Next week", START.plusDays(7), false);
+        statistics.onTaskChanged(TaskChangedEvent.created(nextWeek));
+        assertThat(statistics.stats()).isEqualTo(stats(5, 4, 1, 1, 2, 3));
+
+        TaskDueState fridayBefore = TaskDueState.of(friday);
+        friday.setCompleted(true);
+        statistics.onTaskChanged(TaskChangedEvent.of(ChangeType.COMPLETED, taskRepository.saveAndFlush(friday),
+                fridayBefore));
+        statistics.onTaskChanged(TaskChangedEvent.deleted(nextWeek.getId(), TaskDueState.of(nextWeek)));
+        assertThat(statistics.stats()).isEqualTo(stats(4, 2, 2, 1, 2, 2));
+
+        // Events carry both sides of a change, so they add up to the same figures in whatever order they arrive
+        TaskDueState completed = TaskDueState.of(friday);
+        TaskDueState yesterday = new TaskDueState(friday.getId(), START.minusDays(1), false);
+        TaskDueState tomorrow = new TaskDueState(friday.getId(), START.plusDays(1), false);
+        statistics.onTaskChanged(updated(yesterday, tomorrow));
+        statistics.onTaskChanged(updated(completed, yesterday));
+        assertThat(statistics.stats()).isEqualTo(stats(4, 3, 1, 1, 2, 3));
+    }
+
+    @Test
+    void whenTimePassesWithoutWrites_thenOverdueAndDueBucketsMove() {
+        save("In an hour", START.plusHours(1), false);
+        save("Tomorrow", START.plusDays(1), false);
+        save("Sunday", START.plusDays(4), false);
+        statistics.reconcile();
+        assertThat(statistics.stats()).isEqualTo(stats(3, 3, 0, 0, 1, 3));
+
+        clock.advance(Duration.ofHours(2));
+        assertThat(statistics.stats()).isEqualTo(stats(3, 3, 0, 1, 1, 3));
+
+        clock.advance(Duration.ofDays(1));
+        assertThat(statistics.stats()).isEqualTo(stats(3, 3, 0, 2, 1, 2));
+
+        // Counters loaded two days ago no longer cover the whole week
+        clock.advance(Duration.ofDays(1));
+        assertThatThrownBy(() -> statistics.stats()).isInstanceOf(ServiceBusyException.class);
+
+        // Into the next week, where nothing is due
+        clock.advance(Duration.ofDays(3));
+        assertThat(statistics.reconcile()).isTrue();
+        assertThat(statistics.stats()).isEqualTo(stats(3, 3, 0, 3, 0, 0));
+    }
+
+    @Test
+    void whenRowsChangeWithoutEvents_thenReconcileCatchesUp() {
+        save("Known", START.plusHours(1), false);
+        statistics.reconcile();
+        assertThat(statistics.stats().total()).isEqualTo(1);
+
+        save("Written elsewhere", START.minusHours(1), false);
+        statistics.reconcile();
+
+        assertThat(statistics.stats()).isEqualTo(stats(2, 2, 0, 1, 2, 2));
+    }
+
+    private static TaskChangedEvent updated(TaskDueState before, TaskDueState after) {
+        return new TaskChangedEvent(ChangeType.UPDATED, after.id(), new TaskSnapshot(after.id(), "Task", null,
+                after.dueDate(), after.completed(), START, START, 1), before);
+    }
+
+    private TaskStats stats(long total, long open, long completed, long overdue, long dueToday, long dueThisWeek) {
+        return new TaskStats(total, open, completed, overdue, dueToday, dueThisWeek, LocalDateTime.now(clock));
+    }
+
+    private Task save(String title, LocalDateTime dueDate, boolean completed) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDueDate(dueDate);
+        task.setCompleted(completed);
+        return taskRepository.saveAndFlush(task);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package io.github.devtae.taskmanagementsystem.transfer;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.devtae.taskmanagementsystem.dto.TaskImportReport;
+import io.github.devtae.taskmanagementsystem.dto.TaskSnapshot;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent;
+import io.github.devtae.taskmanagementsystem.event.TaskChangedEvent.ChangeType;
+import io.github.devtae.taskmanagementsystem.exception.InvalidRequestException;
+import io.github.devtae.taskmanagementsystem.format.ResponseFormats;
+import io.github.devtae.taskmanagementsystem.model.Task;
+import io.github.devtae.taskmanagementsystem.repository.TaskRepository;
+import io.github.devtae.taskmanagementsystem.service.TaskService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+
+// H2 is not PostgreSQL, so these cover the JDBC fallback; each chunk commits in its own transaction
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskTransferTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private final List<TaskChangedEvent> events = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void whenCsvIsImported_thenValidRowsAreWrittenAndInvalidRowsAreReported() throws IOException {
+        TaskTransfer transfer = transfer(2, 100);
+        String csv = """
+                completed,title,due_date,description
+                true,Plain,2030-01-01T09:00:00,
+                false, ,,Blank title
+                ,"Quoted, with ""quotes""\",,"Two
+                lines"
+                ,Bad date,tomorrow,
+                ,Too,many,fields,here
+                ,Spaced,2030-01-02 10:30:00,""
+                ,"Unclosed
+                """;
+
+        TaskImportReport report = transfer.importCsv(input(csv));
+
+        assertThat(report.rows()).isEqualTo(7);
+        assertThat(report.imported()).isEqualTo(3);
+        assertThat(report.rejected()).isEqualTo(4);
+        assertThat(report.truncated()).isFalse();
+        assertThat(report.rejects()).extracting(TaskImportReport.Reject::row).containsExactly(2L, 4L, 5L, 7L);
+        assertThat(report.rejects().get(0).error()).isEqualTo("title: Title cannot be blank");
+        assertThat(report.rejects().get(1).error()).startsWith("due_date:");
+        assertThat(report.rejects().get(3).error()).isEqualTo("Quoted field is not closed");
+
+        List<Task> tasks = taskRepository.findAll(Sort.by("id"));
+        assertThat(tasks).extracting(Task::getTitle).containsExactly("Plain", "Quoted, with \"quotes\"", "Spaced");
+        assertThat(tasks.get(0).isCompleted()).isTrue();
+        assertThat(tasks.get(0).getDueDate()).isEqualTo(LocalDateTime.of(2030, 1, 1, 9, 0));
+        assertThat(tasks.get(0).getDescription()).isNull();
+        assertThat(tasks.get(1).getDescription()).isEqualTo("Two\nlines");
+        assertThat(tasks.get(2).getDueDate()).isEqualTo(LocalDateTime.of(2030, 1, 2, 10, 30));
+        assertThat(tasks.get(2).getDescription()).isEmpty();
+        assertThat(events).extracting(TaskChangedEvent::type).containsOnly(ChangeType.CREATED).hasSize(3);
+        assertThat(events).extracting(TaskChangedEvent::taskId)
+                .containsExactlyElementsOf(tasks.stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void whenExportIsImportedAgain_thenEveryTaskIsCopiedUnderNewIds() throws IOException {
+        TaskTransfer transfer = transfer(100, 100);
+        Task described = task("Described, \"quoted\"");
+        described.setDescription("Line one\nline two");
+        described.setDueDate(LocalDateTime.of(2030, 6, 1, 12, 0, 0, 123_456_000));
+        Task empty = task("Empty description");
+        empty.setDescription("");
+        empty.setCompleted(true);
+        List<Task> originals = taskRepository.saveAll(List.of(described, empty, task("Bare")));
+
+        ByteArrayOutputStream export = new ByteArrayOutputStream();
+        transfer.exportCsv(export);
+        assertThat(export.toString(StandardCharsets.UTF_8))
+                .startsWith("id,title,description,due_date,completed,created_at,updated_at,version\n")
+                .contains(",\"Described, \"\"quoted\"\"\",\"Line one\nline two\",2030-06-01T12:00:00.123456,false,")
+                .contains(",Empty description,\"\",,true,");
+
+        TaskImportReport report = transfer.importCsv(new ByteArrayInputStream(export.toByteArray()));
+
+        assertThat(report.imported()).isEqualTo(3);
+        assertThat(report.rejects()).isEmpty();
+        List<Task> copies = taskRepository.findAll(Sort.by("id")).subList(3, 6);
+        assertThat(copies).extracting(Task::getId).doesNotContainAnyElementsOf(
+                originals.stream().map(Task::getId).toList());
+        assertThat(copies).extracting(Task::getTitle, Task::getDescription, Task::getDueDate, Task::isCompleted)
+                .containsExactlyElementsOf(originals.stream()
+                        .map(task -> tuple(task.getTitle(), task.getDescription(),
+                                task.getDueDate(), task.isCompleted()))
+                        .toList());
+    }
+
+    @Test
+    void whenNdjsonIsImported_thenEachLineIsATaskAndRejectsAreCapped() throws IOException {
+        TaskTransfer transfer = transfer(100, 2);
+        String ndjson = """
+                {"title":"First","dueDate":"2030-01-01T09:00:00"}
+
+                {"title":"Second","completed":true}
+                {"title":
+                {"description":"No title"}
+                {"title":"%s"}
+                """.formatted("x".repeat(200));
+
+        TaskImportReport report = transfer.importNdjson(input(ndjson));
+
+        assertThat(report.rows()).isEqualTo(5);
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.rejected()).isEqualTo(3);
+        assertThat(report.truncated()).isTrue();
+        assertThat(report.rejects()).extracting(TaskImportReport.Reject::row).containsExactly(3L, 4L);
+        assertThat(report.rejects().get(0).error()).startsWith("Not a valid task:");
+        assertThat(taskRepository.findAll()).extracting(Task::getTitle).containsExactlyInAnyOrder("First", "Second");
+
+        ByteArrayOutputStream export = new ByteArrayOutputStream();
+        transfer.exportNdjson(export);
+        assertThat(export.toString(StandardCharsets.UTF_8).lines()).hasSize(2)
+                .allMatch(line -> line.startsWith("{\"id\":"));
+    }
+
+    @Test
+    void whenRowIsTooLongOrHeaderIsUnknown_thenOnlyTheRowOrTheWholeImportIsRejected() throws IOException {
+        TaskTransfer transfer = transfer(100, 100);
+
+        TaskImportReport report = transfer.importCsv(input("title\n" + "x".repeat(10_000) + "\nKept\n"));
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.rejects()).extracting(TaskImportReport.Reject::error)
+                .containsExactly("Row is longer than 8192 characters");
+
+        assertThatThrownBy(() -> transfer.importCsv(input("title,owner\nA,me\n")))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("owner");
+        assertThatThrownBy(() -> transfer.importCsv(input("description\nNo title\n")))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThat(taskRepository.count()).isEqualTo(1);
+    }
+
+    private TaskTransfer transfer(int chunkSize, int maxRejects) {
+        TaskService taskService = mock(TaskService.class);
+        willAnswer(invocation -> {
+            Consumer<TaskSnapshot> consumer = invocation.getArgument(0);
+            taskRepository.findAll(Sort.by("id")).forEach(task -> consumer.accept(TaskSnapshot.from(task)));
+            return null;
+        }).given(taskService).streamAllTasks(any());
+        return new TaskTransfer(taskService, new JdbcTemplate(dataSource), transactionManager,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                event -> events.add((TaskChangedEvent) event), objectMapper,
+                new ResponseFormats(objectMapper, null, null), new TransferProperties(chunkSize, maxRejects, 8192),
+                entityManagerFactory, new SimpleMeterRegistry());
+    }
+
+    private static ByteArrayInputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+}
@@ -0,0 +1,17 @@
+-- The tasks table as the release before Flyway left it, with a couple of rows. Run as the H2 INIT script,
+-- so once per connection.
+CREATE TABLE IF NOT EXISTS tasks (
+    id          bigint       GENERATED BY DEFAULT AS IDENTITY,
+    title       varchar(100) NOT NULL,
+    description varchar(500),
+    due_date    timestamp(6),
+    completed   boolean      NOT NULL,
+    created_at  timestamp(6) NOT NULL,
+    updated_at  timestamp(6),
+    PRIMARY KEY (id)
+);
+
+INSERT INTO tasks (id, title, completed, created_at, updated_at)
+SELECT * FROM (VALUES (1, 'First', false, TIMESTAMP '2024-01-01 09:00:00', TIMESTAMP '2024-01-01 09:00:00'),
+                      (250, 'Last', true, TIMESTAMP '2024-01-02 09:00:00', TIMESTAMP '2024-01-02 09:00:00'))
+WHERE NOT EXISTS (SELECT 1 FROM tasks);